@@ -2,8 +2,10 @@ package com.lms.backend.config;
 
 import com.lms.backend.model.*;
 import com.lms.backend.repository.*;
+import com.lms.backend.service.ForumPostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -11,7 +13,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+// Runs first: roles and categories are needed by SyntheticDataGenerator (loadgen profile)
 @Component
+@Order(1)
 public class DataSeeder implements CommandLineRunner {
 
         @Autowired
@@ -41,6 +45,9 @@ public class DataSeeder implements CommandLineRunner {
         @Autowired
         private PasswordEncoder passwordEncoder;
 
+        @Autowired
+        private ForumPostService forumPostService;
+
         @Override
         public void run(String... args) throws Exception {
                 System.out.println("🚀 Starting Data Seeding...");
@@ -68,6 +75,12 @@ public class DataSeeder implements CommandLineRunner {
                         // 7. Update existing users/courses with missing audit fields
                         updateMissingAuditFields();
 
+                        // 8. Fill forum thread paths/counters for posts created before they existed
+                        int backfilled = forumPostService.backfillThreadCounters();
+                        if (backfilled > 0) {
+                                System.out.println("✅ Forum thread counters backfilled for " + backfilled + " posts");
+                        }
+
                         System.out.println("🎉 Data Seeding Completed Successfully!");
 
                 } catch (Exception e) {
@@ -0,0 +1,60 @@
+package com.lms.backend.config;
+
+import com.lms.backend.util.JsonFragments;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// Write-only converter for JsonFragments; registered ahead of Jackson in WebConfig
+public class JsonFragmentsHttpMessageConverter extends AbstractHttpMessageConverter<JsonFragments> {
+
+    public JsonFragmentsHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonFragments.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonFragments readInternal(Class<? extends JsonFragments> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JsonFragments is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonFragments body, MediaType contentType) {
+        List<byte[]> fragments = body.fragments();
+        long length = 2 + Math.max(0, fragments.size() - 1);
+        for (byte[] fragment : fragments) {
+            length += fragment.length;
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(JsonFragments body, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        out.write('[');
+        boolean first = true;
+        for (byte[] fragment : body.fragments()) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(fragment);
+            first = false;
+        }
+        out.write(']');
+    }
+}
@@ -0,0 +1,37 @@
+package com.lms.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Metrics wiring on top of what Actuator already records:
+ * http.server.requests (every endpoint), spring.data.repository.invocations (every repository call),
+ * hibernate.* (statistics bridge, needs hibernate.generate_statistics) and @Timed service methods.
+ * This adds the per-request SQL statement count and the query budget / N+1 check.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetPolicy queryBudgetPolicy;
+
+    public MetricsConfig(MeterRegistry meterRegistry, QueryBudgetPolicy queryBudgetPolicy) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudgetPolicy = queryBudgetPolicy;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, queryBudgetPolicy)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,72 @@
+package com.lms.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Per-endpoint SQL statement budget and N+1 detection.
+ * Violations are logged by {@link RequestMetricsInterceptor}; with lms.query-budget.fail-on-violation=true
+ * (tests) {@link QueryCountResponseAdvice} turns them into a 500 instead.
+ */
+@Component
+public class QueryBudgetPolicy {
+
+    @Value("${lms.query-budget.default:25}")
+    private int defaultBudget;
+
+    // Same statement shape this many times in one request is reported as a likely N+1
+    @Value("${lms.query-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${lms.query-budget.fail-on-violation:false}")
+    private boolean failOnViolation;
+
+    @Value("${lms.query-budget.expose-header:false}")
+    private boolean exposeHeader;
+
+    public boolean isFailOnViolation() {
+        return failOnViolation;
+    }
+
+    public boolean isExposeHeader() {
+        return exposeHeader;
+    }
+
+    public int budgetFor(Method method) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+
+    // Description of what went over budget for the current request, or null when within budget
+    public String check(Method method) {
+        int count = QueryCountInspector.current();
+        int budget = budgetFor(method);
+        StringBuilder violation = new StringBuilder();
+        if (count > budget) {
+            violation.append(count).append(" SQL statements, budget is ").append(budget);
+        }
+
+        Map<String, Integer> repeated = QueryCountInspector.repeatedShapes(repeatThreshold);
+        for (Map.Entry<String, Integer> entry : repeated.entrySet()) {
+            if (violation.length() > 0) {
+                violation.append("; ");
+            }
+            String sql = entry.getKey();
+            violation.append("repeated ").append(entry.getValue()).append("x (possible N+1): ")
+                    .append(sql.length() > 200 ? sql.substring(0, 200) + "..." : sql);
+        }
+        return violation.length() > 0 ? violation.toString() : null;
+    }
+
+    public String describe(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+}
@@ -0,0 +1,76 @@
+package com.lms.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registered as the session factory's statement inspector in {@link MetricsConfig}.
+ *
+ * Between {@link #begin()} and {@link #end()} (one HTTP request, see {@link RequestMetricsInterceptor})
+ * it also counts statements per shape, so the same query repeated once per row of a parent
+ * result (an N+1 lazy-loading loop) shows up as one shape with a high count.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<RequestQueries> CURRENT = ThreadLocal.withInitial(RequestQueries::new);
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueries queries = CURRENT.get();
+        queries.count++;
+        if (queries.shapes != null) {
+            queries.shapes.merge(shapeOf(sql), 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    public static void begin() {
+        RequestQueries queries = CURRENT.get();
+        queries.count = 0;
+        queries.shapes = new HashMap<>();
+    }
+
+    // Drops the per-shape map so threads outside a request (schedulers, exports) only keep a counter
+    public static void end() {
+        RequestQueries queries = CURRENT.get();
+        queries.count = 0;
+        queries.shapes = null;
+    }
+
+    public static int current() {
+        return CURRENT.get().count;
+    }
+
+    // Shapes executed at least `threshold` times in the current request, most frequent first
+    public static Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> shapes = CURRENT.get().shapes;
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        if (shapes == null) {
+            return repeated;
+        }
+        shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+
+    // Hibernate already binds values as '?', only IN lists of different length need folding
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    private static class RequestQueries {
+        private int count;
+        private Map<String, Integer> shapes;
+    }
+}
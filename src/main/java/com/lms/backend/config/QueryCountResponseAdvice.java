@@ -0,0 +1,55 @@
+package com.lms.backend.config;
+
+import com.lms.backend.exception.QueryBudgetExceededException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+
+// Runs right before the body is written, the last point where headers can still be set
+@RestControllerAdvice
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String HEADER = "X-Query-Count";
+    static final String REPORTED_ATTRIBUTE = QueryCountResponseAdvice.class.getName() + ".reported";
+
+    private final QueryBudgetPolicy queryBudgetPolicy;
+
+    public QueryCountResponseAdvice(QueryBudgetPolicy queryBudgetPolicy) {
+        this.queryBudgetPolicy = queryBudgetPolicy;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return queryBudgetPolicy.isExposeHeader() || queryBudgetPolicy.isFailOnViolation();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (queryBudgetPolicy.isExposeHeader()) {
+            response.getHeaders().set(HEADER, String.valueOf(QueryCountInspector.current()));
+        }
+
+        Method method = returnType.getMethod();
+        if (queryBudgetPolicy.isFailOnViolation() && method != null
+                && request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(REPORTED_ATTRIBUTE) == null) {
+            String violation = queryBudgetPolicy.check(method);
+            if (violation != null) {
+                // Mark first: the error body produced by the exception handler passes through here again
+                servletRequest.getServletRequest().setAttribute(REPORTED_ATTRIBUTE, Boolean.TRUE);
+                throw new QueryBudgetExceededException("Query budget exceeded in "
+                        + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ": " + violation);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,95 @@
+package com.lms.backend.config;
+
+import com.lms.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for {@link RateLimited} endpoints. Buckets are keyed by endpoint and by the
+ * authenticated principal, i.e. the JWT subject already validated by JwtAuthenticationFilter
+ * (anonymous callers fall back to the remote address). Rejections throw
+ * {@link TooManyRequestsException} (429 + Retry-After) and are counted per endpoint in
+ * lms.rate-limit.rejected.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final TokenBucketRateLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final boolean enabled;
+    private final Map<Method, Limit> limits = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(MeterRegistry meterRegistry, Environment environment,
+            @Value("${lms.rate-limit.enabled:true}") boolean enabled,
+            @Value("${lms.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${lms.rate-limit.stripes:64}") int stripes) {
+        this.limiter = new TokenBucketRateLimiter(maxKeys, stripes, System::nanoTime);
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.enabled = enabled;
+        Gauge.builder("lms.rate-limit.buckets", limiter, TokenBucketRateLimiter::size)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        Limit limit = limits.computeIfAbsent(handlerMethod.getMethod(), method -> resolve(rateLimited));
+        long waitNanos = limiter.tryAcquire(limit.name + '|' + caller(request), limit.permitsPerSecond, limit.burst);
+        if (waitNanos == 0) {
+            return true;
+        }
+        limit.rejected.increment();
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        throw new TooManyRequestsException("Too many requests to " + limit.name + ", slow down", retryAfterSeconds);
+    }
+
+    private Limit resolve(RateLimited rateLimited) {
+        String prefix = "lms.rate-limit.endpoints." + rateLimited.name() + ".";
+        double permitsPerSecond = environment.getProperty(prefix + "permits-per-second", Double.class,
+                rateLimited.permitsPerSecond());
+        int burst = environment.getProperty(prefix + "burst", Integer.class, rateLimited.burst());
+        Counter rejected = Counter.builder("lms.rate-limit.rejected")
+                .description("Requests rejected with 429 by the per-user rate limiter")
+                .tag("endpoint", rateLimited.name())
+                .register(meterRegistry);
+        return new Limit(rateLimited.name(), permitsPerSecond, burst, rejected);
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record Limit(String name, double permitsPerSecond, int burst, Counter rejected) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.lms.backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Token-bucket limit per user for a controller endpoint: {@code burst} requests at once, refilled at
+ * {@code permitsPerSecond}. Over the limit the request gets 429 with Retry-After. Both values can be
+ * overridden with lms.rate-limit.endpoints.&lt;name&gt;.permits-per-second / .burst. See {@link RateLimitInterceptor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    // Endpoint key used for buckets, properties and the endpoint metric tag
+    String name();
+
+    double permitsPerSecond();
+
+    int burst();
+}
@@ -0,0 +1,64 @@
+package com.lms.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Records how many SQL statements each endpoint issued (lms.http.server.queries, tagged like http.server.requests)
+// and reports endpoints that go over their query budget or repeat a statement (N+1)
+@Slf4j
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetPolicy queryBudgetPolicy;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, QueryBudgetPolicy queryBudgetPolicy) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudgetPolicy = queryBudgetPolicy;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountInspector.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        try {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("lms.http.server.queries")
+                    .description("SQL statements executed per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(QueryCountInspector.current());
+
+            if (handler instanceof HandlerMethod handlerMethod
+                    && request.getAttribute(QueryCountResponseAdvice.REPORTED_ATTRIBUTE) == null) {
+                String violation = queryBudgetPolicy.check(handlerMethod.getMethod());
+                if (violation != null) {
+                    Counter.builder("lms.http.server.query.budget.violations")
+                            .tag("method", request.getMethod())
+                            .tag("uri", uri)
+                            .register(meterRegistry)
+                            .increment();
+                    log.warn("Query budget exceeded in {} ({} {}): {}", queryBudgetPolicy.describe(handlerMethod),
+                            request.getMethod(), uri, violation);
+                }
+            }
+        } finally {
+            QueryCountInspector.end();
+        }
+    }
+}
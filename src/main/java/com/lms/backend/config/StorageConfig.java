@@ -0,0 +1,63 @@
+package com.lms.backend.config;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.lms.backend.service.ObjectStore;
+import com.lms.backend.service.impl.FileSystemObjectStore;
+import com.lms.backend.service.impl.S3ObjectStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+
+/**
+ * Remote tier for lms.storage.backend=tiered. lms.storage.remote.type=s3 talks to S3, or to any
+ * S3-compatible server (MinIO, LocalStack) when lms.storage.s3.endpoint is set; type=filesystem uses a
+ * directory instead, which is what development and the tests run against.
+ * Without explicit keys the default AWS credentials chain (env, profile, instance role) is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lms.storage.backend", havingValue = "tiered")
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "lms.storage.remote.type", havingValue = "s3")
+    public AmazonS3 s3Client(
+            @Value("${lms.storage.s3.endpoint:}") String endpoint,
+            @Value("${lms.storage.s3.region:us-east-1}") String region,
+            @Value("${lms.storage.s3.path-style:false}") boolean pathStyle,
+            @Value("${lms.storage.s3.access-key:}") String accessKey,
+            @Value("${lms.storage.s3.secret-key:}") String secretKey) {
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withPathStyleAccessEnabled(pathStyle);
+        if (StringUtils.hasText(endpoint)) {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region));
+        } else {
+            builder.withRegion(region);
+        }
+        if (StringUtils.hasText(accessKey)) {
+            builder.withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "lms.storage.remote.type", havingValue = "s3")
+    public ObjectStore s3ObjectStore(AmazonS3 s3Client,
+            @Value("${lms.storage.s3.bucket}") String bucket,
+            @Value("${lms.storage.s3.prefix:media/}") String prefix) {
+        return new S3ObjectStore(s3Client, bucket, prefix);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "lms.storage.remote.type", havingValue = "filesystem", matchIfMissing = true)
+    public ObjectStore fileSystemObjectStore(@Value("${lms.storage.remote.dir:media-store}") String dir) {
+        return new FileSystemObjectStore(Paths.get(dir));
+    }
+}
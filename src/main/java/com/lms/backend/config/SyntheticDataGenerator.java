@@ -0,0 +1,387 @@
+package com.lms.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Production-scale synthetic data for local performance work.
+ *
+ * Runs after {@link DataSeeder} when the "loadgen" profile is active, e.g.
+ * java -jar lms.backend.jar --spring.profiles.active=loadgen --loadgen.students=200000
+ *
+ * Rows are written with plain JDBC batch inserts (no entity lifecycle, no per-row BCrypt),
+ * so millions of rows take minutes instead of hours. On MySQL add rewriteBatchedStatements=true
+ * to DB_URL so each batch becomes a single multi-row INSERT.
+ *
+ * Every generated user logs in with {@link #PASSWORD}; student emails are
+ * loadgen-student-{n}@lms.test so the load harness can pick them deterministically.
+ */
+@Component
+@Profile("loadgen")
+@Order(2)
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    public static final String PASSWORD = "loadgen123";
+    public static final String STUDENT_EMAIL_PATTERN = "loadgen-student-%d@lms.test";
+
+    private static final String[] LEVELS = { "Beginner", "Intermediate", "Advanced" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${loadgen.instructors:200}")
+    private int instructors;
+
+    @Value("${loadgen.students:20000}")
+    private int students;
+
+    @Value("${loadgen.courses:1000}")
+    private int courses;
+
+    @Value("${loadgen.lessons-per-course:20}")
+    private int lessonsPerCourse;
+
+    // every n-th lesson of a course gets a quiz
+    @Value("${loadgen.quiz-every-lessons:5}")
+    private int quizEveryLessons;
+
+    @Value("${loadgen.questions-per-quiz:5}")
+    private int questionsPerQuiz;
+
+    @Value("${loadgen.enrollments-per-student:6}")
+    private int enrollmentsPerStudent;
+
+    @Value("${loadgen.max-attempts-per-quiz:3}")
+    private int maxAttemptsPerQuiz;
+
+    @Value("${loadgen.forum-threads:5000}")
+    private int forumThreads;
+
+    @Value("${loadgen.replies-per-thread:6}")
+    private int repliesPerThread;
+
+    @Value("${loadgen.activity-days:180}")
+    private int activityDays;
+
+    @Value("${loadgen.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${loadgen.seed:42}")
+    private long seed;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE 'loadgen-%'", Integer.class);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data already present ({} loadgen users), skipping generation", existing);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> instructorIds = insertUsers("instructor", instructors, "ROLE_INSTRUCTOR", now);
+        List<Long> studentIds = insertUsers("student", students, "ROLE_STUDENT", now);
+        List<Long> courseIds = insertCourses(instructorIds, random, now);
+        List<Long> lessonIds = insertLessons(courseIds, random);
+        List<Long> quizIds = insertQuizzes(lessonIds);
+        insertQuestions(quizIds, random);
+        insertEnrollmentsAndActivity(studentIds, courseIds, lessonIds, quizIds, random, now);
+        insertForumPosts(studentIds, instructorIds, random, now);
+
+        log.info("Synthetic data generated in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private List<Long> insertUsers(String kind, int count, String roleName, LocalDateTime now) {
+        Long roleId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class, roleName);
+        // One hash for everybody: BCrypt is deliberately slow and would dominate generation time
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        Timestamp created = Timestamp.valueOf(now.minusDays(activityDays));
+
+        long before = maxId("users");
+        BatchInserter batch = new BatchInserter(
+                "INSERT INTO users (username, email, password, role_id, reputation_points, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < count; i++) {
+            batch.add("Loadgen " + kind + " " + i, "loadgen-" + kind + "-" + i + "@lms.test", passwordHash,
+                    roleId, 0, created, created);
+        }
+        batch.finish();
+        return idsAfter("users", before, count + " " + kind + "s");
+    }
+
+    private List<Long> insertCourses(List<Long> instructorIds, Random random, LocalDateTime now) {
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+
+        long before = maxId("courses");
+        BatchInserter batch = new BatchInserter(
+                "INSERT INTO courses (title, description, approved, price, level, rating, total_students, duration, "
+                        + "category_id, instructor_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < courses; i++) {
+            Timestamp created = Timestamp.valueOf(now.minusDays(random.nextInt(activityDays + 1)));
+            batch.add("Loadgen Course " + i,
+                    "Synthetic course " + i + " generated for load testing.",
+                    // ~90% approved so the catalog and the admin approval queue both have data
+                    random.nextInt(10) != 0,
+                    (double) (random.nextInt(50) * 100),
+                    LEVELS[random.nextInt(LEVELS.length)],
+                    Math.round((3 + random.nextDouble() * 2) * 10) / 10.0,
+                    0,
+                    lessonsPerCourse + " lessons",
+                    categoryIds.isEmpty() ? null : categoryIds.get(random.nextInt(categoryIds.size())),
+                    instructorIds.get(random.nextInt(instructorIds.size())),
+                    created, created);
+        }
+        batch.finish();
+        return idsAfter("courses", before, courses + " courses");
+    }
+
+    private List<Long> insertLessons(List<Long> courseIds, Random random) {
+        long before = maxId("lessons");
+        BatchInserter batch = new BatchInserter(
+                "INSERT INTO lessons (title, content, media_url, position, duration_seconds, course_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)");
+        // Inserted course by course, so lesson ids come back in [course][position] order
+        for (Long courseId : courseIds) {
+            for (int position = 0; position < lessonsPerCourse; position++) {
+                batch.add("Lesson " + (position + 1),
+                        "Synthetic lesson body for course " + courseId + ", lesson " + (position + 1) + ". ".repeat(20),
+                        null, position, 300 + random.nextInt(1500), courseId);
+            }
+        }
+        batch.finish();
+        return idsAfter("lessons", before, courseIds.size() * lessonsPerCourse + " lessons");
+    }
+
+    // Returns a list parallel to lessonIds: the quiz id of that lesson, or null
+    private List<Long> insertQuizzes(List<Long> lessonIds) {
+        long before = maxId("quizzes");
+        BatchInserter batch = new BatchInserter("INSERT INTO quizzes (lesson_id, passing_score) VALUES (?, ?)");
+        for (int i = 0; i < lessonIds.size(); i++) {
+            if (hasQuiz(i)) {
+                batch.add(lessonIds.get(i), 70);
+            }
+        }
+        batch.finish();
+        List<Long> ids = idsAfter("quizzes", before, "quizzes");
+
+        List<Long> quizByLesson = new ArrayList<>(lessonIds.size());
+        int next = 0;
+        for (int i = 0; i < lessonIds.size(); i++) {
+            quizByLesson.add(hasQuiz(i) ? ids.get(next++) : null);
+        }
+        return quizByLesson;
+    }
+
+    private void insertQuestions(List<Long> quizByLesson, Random random) {
+        long before = maxId("questions");
+        BatchInserter batch = new BatchInserter(
+                "INSERT INTO questions (quiz_id, text, correct_option_index) VALUES (?, ?, ?)");
+        for (Long quizId : quizByLesson) {
+            if (quizId == null) {
+                continue;
+            }
+            for (int q = 0; q < questionsPerQuiz; q++) {
+                batch.add(quizId, "Synthetic question " + (q + 1) + " of quiz " + quizId, random.nextInt(4));
+            }
+        }
+        batch.finish();
+        List<Long> questionIds = idsAfter("questions", before, "questions");
+
+        BatchInserter options = new BatchInserter(
+                "INSERT INTO question_options (question_id, option_text) VALUES (?, ?)");
+        for (Long questionId : questionIds) {
+            for (int o = 0; o < 4; o++) {
+                options.add(questionId, "Option " + (char) ('A' + o));
+            }
+        }
+        options.finish();
+    }
+
+    private void insertEnrollmentsAndActivity(List<Long> studentIds, List<Long> courseIds, List<Long> lessonIds,
+            List<Long> quizByLesson, Random random, LocalDateTime now) {
+        BatchInserter enrollments = new BatchInserter(
+                "INSERT INTO enrollments (student_id, course_id, enrolled_at, progress, time_spent_seconds, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)");
+        BatchInserter progress = new BatchInserter(
+                "INSERT INTO lesson_progress (student_id, lesson_id, completed, completed_at, last_accessed_at, time_spent) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)");
+        BatchInserter attempts = new BatchInserter(
+                "INSERT INTO quiz_attempts (student_id, quiz_id, score, passed, completed_at) VALUES (?, ?, ?, ?, ?)");
+
+        int perStudent = Math.min(enrollmentsPerStudent, courseIds.size());
+        for (Long studentId : studentIds) {
+            // Skewed towards low course indexes so a few courses are "popular", like real catalogs
+            Set<Integer> picked = new LinkedHashSet<>();
+            while (picked.size() < perStudent) {
+                double skew = random.nextDouble();
+                picked.add((int) (skew * skew * courseIds.size()));
+            }
+
+            for (int courseIndex : picked) {
+                LocalDateTime enrolledAt = now.minusDays(random.nextInt(activityDays))
+                        .minusMinutes(random.nextInt(24 * 60));
+                long daysEnrolled = Math.max(1, Duration.between(enrolledAt, now).toDays());
+                int completed = random.nextInt(lessonsPerCourse + 1);
+                double pct = Math.round((double) completed / lessonsPerCourse * 10000) / 100.0;
+                long timeSpent = 0;
+
+                for (int position = 0; position < completed; position++) {
+                    int lessonIndex = courseIndex * lessonsPerCourse + position;
+                    LocalDateTime completedAt = enrolledAt.plusDays(position * daysEnrolled / lessonsPerCourse)
+                            .plusMinutes(random.nextInt(600));
+                    int minutes = 5 + random.nextInt(40);
+                    timeSpent += minutes * 60L;
+                    Timestamp completedTs = Timestamp.valueOf(completedAt);
+                    progress.add(studentId, lessonIds.get(lessonIndex), true, completedTs, completedTs, minutes);
+
+                    Long quizId = quizByLesson.get(lessonIndex);
+                    if (quizId != null) {
+                        int tries = 1 + random.nextInt(maxAttemptsPerQuiz);
+                        for (int t = 0; t < tries; t++) {
+                            // Last try always passes: the lesson counts as completed
+                            double score = t == tries - 1 ? 70 + random.nextInt(31) : random.nextInt(70);
+                            attempts.add(studentId, quizId, score, score >= 70,
+                                    Timestamp.valueOf(completedAt.minusMinutes((long) (tries - t) * 10)));
+                        }
+                    }
+                }
+
+                Timestamp enrolledTs = Timestamp.valueOf(enrolledAt);
+                enrollments.add(studentId, courseIds.get(courseIndex), enrolledTs, pct, timeSpent, enrolledTs);
+            }
+        }
+        enrollments.finish();
+        progress.finish();
+        attempts.finish();
+        log.info("Inserted {} enrollments, {} lesson progress rows, {} quiz attempts",
+                enrollments.getRows(), progress.getRows(), attempts.getRows());
+
+        // Per-(student, quiz) summaries, as V5__quiz_score_summaries builds them for existing attempts
+        int summaries = jdbcTemplate.update("INSERT INTO quiz_score_summaries "
+                + "(student_id, quiz_id, best_score, last_score, attempt_count, passed, last_attempt_at) "
+                + "SELECT g.student_id, g.quiz_id, g.best_score, l.score, g.attempt_count, g.passed, l.completed_at "
+                + "FROM (SELECT student_id, quiz_id, MAX(score) AS best_score, COUNT(*) AS attempt_count, "
+                + "MAX(CASE WHEN passed THEN 1 ELSE 0 END) AS passed, MAX(id) AS last_id "
+                + "FROM quiz_attempts GROUP BY student_id, quiz_id) g JOIN quiz_attempts l ON l.id = g.last_id");
+        log.info("Inserted {} quiz score summaries", summaries);
+    }
+
+    private void insertForumPosts(List<Long> studentIds, List<Long> instructorIds, Random random, LocalDateTime now) {
+        long before = maxId("forum_posts");
+        BatchInserter threads = new BatchInserter("INSERT INTO forum_posts "
+                + "(content, user_id, created_at, is_locked, depth, reply_count) VALUES (?, ?, ?, ?, 0, 0)");
+        List<LocalDateTime> threadCreated = new ArrayList<>(forumThreads);
+        for (int i = 0; i < forumThreads; i++) {
+            LocalDateTime created = now.minusDays(random.nextInt(activityDays)).minusMinutes(random.nextInt(1440));
+            threadCreated.add(created);
+            threads.add("Synthetic thread " + i + ": how do I get past this lesson?",
+                    studentIds.get(random.nextInt(studentIds.size())), Timestamp.valueOf(created), false);
+        }
+        threads.finish();
+        List<Long> threadIds = idsAfter("forum_posts", before, forumThreads + " forum threads");
+
+        long beforeReplies = maxId("forum_posts");
+        BatchInserter replies = new BatchInserter("INSERT INTO forum_posts "
+                + "(content, user_id, created_at, is_locked, parent_post_id, depth, reply_count) VALUES (?, ?, ?, ?, ?, 1, 0)");
+        BatchInserter counters = new BatchInserter(
+                "UPDATE forum_posts SET reply_count = ?, last_reply_at = ? WHERE id = ?");
+        for (int i = 0; i < threadIds.size(); i++) {
+            int count = random.nextInt(repliesPerThread * 2 + 1);
+            for (int r = 0; r < count; r++) {
+                boolean fromInstructor = random.nextInt(5) == 0;
+                Long author = fromInstructor
+                        ? instructorIds.get(random.nextInt(instructorIds.size()))
+                        : studentIds.get(random.nextInt(studentIds.size()));
+                replies.add("Reply " + (r + 1) + " to thread " + i, author,
+                        Timestamp.valueOf(threadCreated.get(i).plusMinutes(15L * (r + 1))), false, threadIds.get(i));
+            }
+            if (count > 0) {
+                counters.add(count, Timestamp.valueOf(threadCreated.get(i).plusMinutes(15L * count)), threadIds.get(i));
+            }
+        }
+        replies.finish();
+        counters.finish();
+
+        // Materialized paths (see ForumPost.path): threads are roots, every synthetic reply is one level down
+        jdbcTemplate.update("UPDATE forum_posts SET path = CONCAT(LPAD(id, 10, '0'), '/') "
+                + "WHERE id > ? AND id <= ?", before, beforeReplies);
+        jdbcTemplate.update("UPDATE forum_posts SET path = CONCAT(LPAD(parent_post_id, 10, '0'), '/', LPAD(id, 10, '0'), '/') "
+                + "WHERE id > ?", beforeReplies);
+        log.info("Inserted {} forum replies", replies.getRows());
+    }
+
+    private boolean hasQuiz(int lessonIndex) {
+        return quizEveryLessons > 0 && (lessonIndex % lessonsPerCourse) % quizEveryLessons == quizEveryLessons - 1;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    // Identity ids are assigned in insertion order; the generator is the only writer while it runs
+    private List<Long> idsAfter(String table, long before, String what) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE id > ? ORDER BY id", Long.class, before);
+        log.info("Inserted {} ({} rows)", what, ids.size());
+        return ids;
+    }
+
+    private class BatchInserter {
+        private final String sql;
+        private final List<Object[]> pending = new ArrayList<>(batchSize);
+        private long rows = 0;
+
+        BatchInserter(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... values) {
+            pending.add(values);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void finish() {
+            flush();
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, pending);
+            rows += pending.size();
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.lms.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token buckets keyed by an arbitrary string (endpoint + user).
+ *
+ * Keys are spread over lock stripes; each stripe is an access-ordered LinkedHashMap capped at
+ * maxKeys / stripes entries, so memory is bounded and the least recently used (idle) buckets are
+ * dropped first. Dropping a bucket is harmless: an idle bucket has refilled to its burst anyway.
+ * ReentrantLock rather than synchronized so virtual threads do not pin while waiting on a stripe.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Stripe[] stripes;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(int maxKeys, int stripeCount, LongSupplier nanoClock) {
+        this.stripes = new Stripe[stripeCount];
+        int perStripe = Math.max(1, maxKeys / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token will be available
+     */
+    public long tryAcquire(String key, double permitsPerSecond, int burst) {
+        Stripe stripe = stripes[Math.floorMod(spread(key.hashCode()), stripes.length)];
+        long now = nanoClock.getAsLong();
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(burst, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                double refill = (now - bucket.lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1) * permitsPerSecond;
+                bucket.tokens = Math.min(burst, bucket.tokens + refill);
+                bucket.lastRefillNanos = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    // Same bit mixing as HashMap, so keys that differ only in high bits still land on different stripes
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets;
+
+        Stripe(int capacity) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(int burst, long now) {
+            this.tokens = burst;
+            this.lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.lms.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in virtual-thread mode (Java 21+, spring.threads.virtual.enabled=true, see
+ * application-virtual-threads.properties). Spring Boot then runs Tomcat request handling on virtual
+ * threads, which also covers media upload/delete I/O; this class adds the pieces Boot does not:
+ * activity-log writes off the request path, a semaphore in front of the connection pool, and
+ * pinning diagnostics ({@link VirtualThreadPinningMonitor}).
+ * On platform threads everything stays as before.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    public static final String ACTIVITY_EXECUTOR = "activityExecutor";
+
+    @Bean(name = ACTIVITY_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor virtualActivityExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("activity-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    // Platform threads: activity rows are written inline by the caller, as they always were
+    @Bean(name = ACTIVITY_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public TaskExecutor platformActivityExecutor() {
+        return new SyncTaskExecutor();
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeoutMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                ConnectionLimitingDataSource limited =
+                        new ConnectionLimitingDataSource((DataSource) bean, maxPoolSize, connectionTimeoutMs);
+                meterRegistry.ifAvailable(registry -> Gauge
+                        .builder("lms.datasource.connection.waiting", limited,
+                                ConnectionLimitingDataSource::getWaitingThreads)
+                        .description("Threads parked waiting for a connection permit")
+                        .register(registry));
+                return limited;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${lms.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(meterRegistry, thresholdMs);
+    }
+}
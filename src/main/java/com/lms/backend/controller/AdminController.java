@@ -3,10 +3,15 @@ package com.lms.backend.controller;
 import com.lms.backend.dto.CourseDto;
 import com.lms.backend.model.User;
 import com.lms.backend.service.AdminService;
+import com.lms.backend.service.ReportExportService;
+import com.lms.backend.util.ReportWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -19,6 +24,9 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ReportExportService reportExportService;
+
     @GetMapping("/users")
     public List<User> getAllUsers() {
         return adminService.getAllUsers();
@@ -31,6 +39,13 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    // Bulk create (e.g. term-start roster import): all-or-nothing, passwords hashed in parallel
+    @PostMapping("/users/bulk")
+    public ResponseEntity<List<User>> createUsers(@RequestBody List<CreateUserRequest> requests) {
+        List<User> createdUsers = adminService.createUsers(requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdUsers);
+    }
+
     @DeleteMapping("/users/{id}")
     public String deleteUser(@PathVariable Long id) {
         adminService.deleteUser(id);
@@ -67,6 +82,46 @@ public class AdminController {
         return adminService.rejectCourse(courseId);
     }
 
+    // REPORT EXPORTS (streamed, format=csv|ndjson)
+    @GetMapping("/export/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "csv") String format) {
+        ReportWriter.Format exportFormat = ReportWriter.Format.fromParam(format);
+        return exportResponse("users", exportFormat, out -> reportExportService.exportUsers(out, exportFormat));
+    }
+
+    @GetMapping("/export/enrollments")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(defaultValue = "csv") String format) {
+        ReportWriter.Format exportFormat = ReportWriter.Format.fromParam(format);
+        return exportResponse("enrollments", exportFormat,
+                out -> reportExportService.exportEnrollments(out, exportFormat));
+    }
+
+    @GetMapping("/export/quiz-attempts")
+    public ResponseEntity<StreamingResponseBody> exportQuizAttempts(
+            @RequestParam(defaultValue = "csv") String format) {
+        ReportWriter.Format exportFormat = ReportWriter.Format.fromParam(format);
+        return exportResponse("quiz-attempts", exportFormat,
+                out -> reportExportService.exportQuizAttempts(out, exportFormat));
+    }
+
+    @GetMapping("/export/certificates")
+    public ResponseEntity<StreamingResponseBody> exportCertificates(
+            @RequestParam(defaultValue = "csv") String format) {
+        ReportWriter.Format exportFormat = ReportWriter.Format.fromParam(format);
+        return exportResponse("certificates", exportFormat,
+                out -> reportExportService.exportCertificates(out, exportFormat));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, ReportWriter.Format format,
+            StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     public static class CreateUserRequest {
         private String username;
         private String email;
@@ -2,22 +2,26 @@ package com.lms.backend.controller;
 
 import com.lms.backend.dto.LoginRequest;
 import com.lms.backend.dto.SignupRequest;
-import com.lms.backend.model.Role;
+import com.lms.backend.exception.ServiceUnavailableException;
 import com.lms.backend.model.User;
-import com.lms.backend.repository.RoleRepository;
 import com.lms.backend.repository.UserRepository;
 import com.lms.backend.security.JwtTokenProvider;
+import com.lms.backend.security.PasswordHashingExecutor;
+import com.lms.backend.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -34,82 +38,79 @@ public class AuthController {
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private AuthService authService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    // Spring MVC's async executor: token and user lookup run here, not on the hashing threads
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor requestExecutor;
+
+    // Signup and login return a CompletableFuture: the servlet thread is released while BCrypt runs
+    // on PasswordHashingExecutor, so a login burst cannot starve the Tomcat pool. When that pool is
+    // saturated the request is shed with 503 + Retry-After (see GlobalExceptionHandler).
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@RequestBody SignupRequest request) {
-        try {
-            // Check if email exists
-            if (userRepository.existsByEmail(request.getEmail())) {
-                Map<String, String> response = new HashMap<>();
-                response.put("message", "Email already exists!");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            // Always set role to STUDENT for signup
-            Role role = roleRepository.findByName(Role.RoleName.ROLE_STUDENT)
-                    .orElseGet(() -> {
-                        Role newRole = Role.builder().name(Role.RoleName.ROLE_STUDENT).build();
-                        return roleRepository.save(newRole);
-                    });
-
-            // Create user
-            User user = User.builder()
-                    .username(request.getUsername())
-                    .email(request.getEmail())
-                    .password(passwordEncoder.encode(request.getPassword()))
-                    .role(role)
-                    .build();
-
-            userRepository.save(user);
-
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "User registered successfully!");
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Registration failed: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody SignupRequest request) {
+        // Always registers a STUDENT; registerUserAsync rejects an existing email
+        return authService.registerUserAsync(request)
+                .<ResponseEntity<?>>thenApply(user -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "User registered successfully!");
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(ex -> {
+                    Throwable cause = rethrowIfUnavailable(ex);
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "Registration failed: " + cause.getMessage());
+                    return ResponseEntity.badRequest().body(response);
+                });
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody LoginRequest request) {
-        try {
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-
-            // Generate token
-            String token = jwtTokenProvider.generateToken(authentication);
-
-            // Get user details for response
-            User user = userRepository.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            // Prepare response
-            Map<String, Object> response = new HashMap<>();
-            response.put("token", token);
-            response.put("id", user.getId()); // ✅ Added ID
-            response.put("email", user.getEmail());
-            response.put("username", user.getUsername());
-            response.put("role", user.getRole().getName().name());
-            response.put("message", "Login successful!");
-
-            return ResponseEntity.ok(response);
-
-        } catch (BadCredentialsException ex) {
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Invalid email or password!");
-            return ResponseEntity.badRequest().body(response);
-        } catch (Exception ex) {
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Login failed: " + ex.getMessage());
-            return ResponseEntity.badRequest().body(response);
+    public CompletableFuture<ResponseEntity<?>> loginUser(@RequestBody LoginRequest request) {
+        // Authenticate user (BCrypt verification) on the hashing pool
+        return passwordHashingExecutor.submit(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())))
+                .<ResponseEntity<?>>thenApplyAsync(authentication -> {
+                    // Generate token
+                    String token = jwtTokenProvider.generateToken(authentication);
+
+                    // Get user details for response
+                    User user = userRepository.findByEmail(request.getEmail())
+                            .orElseThrow(() -> new RuntimeException("User not found"));
+
+                    // Prepare response
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("token", token);
+                    response.put("id", user.getId()); // ✅ Added ID
+                    response.put("email", user.getEmail());
+                    response.put("username", user.getUsername());
+                    response.put("role", user.getRole().getName().name());
+                    response.put("message", "Login successful!");
+
+                    return ResponseEntity.ok(response);
+                }, requestExecutor)
+                .exceptionally(ex -> {
+                    Throwable cause = rethrowIfUnavailable(ex);
+                    Map<String, String> response = new HashMap<>();
+                    if (cause instanceof BadCredentialsException) {
+                        response.put("message", "Invalid email or password!");
+                    } else {
+                        response.put("message", "Login failed: " + cause.getMessage());
+                    }
+                    return ResponseEntity.badRequest().body(response);
+                });
+    }
+
+    // A task shed by the hashing pool keeps its 503 + Retry-After (GlobalExceptionHandler) instead of becoming a 400
+    private static Throwable rethrowIfUnavailable(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof ServiceUnavailableException unavailable) {
+            throw unavailable;
         }
+        return cause;
     }
-}
\ No newline at end of file
+}
@@ -6,11 +6,11 @@ import com.lms.backend.model.User;
 import com.lms.backend.service.CourseService;
 import com.lms.backend.service.UserService;
 import com.lms.backend.util.CourseMapper;
+import com.lms.backend.util.ETags;
+import com.lms.backend.util.JsonFragments;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -24,11 +24,12 @@ public class CourseController {
     private UserService userService;
 
     @GetMapping
-    public List<CourseDto> getAllCourses() {
-        return courseService.getAllCourses()
-                .stream()
-                .map(CourseMapper::toDto)
-                .collect(Collectors.toList());
+    public JsonFragments getAllCourses(ServletWebRequest request) {
+        if (ETags.checkNotModified(request, courseService.getCatalogETag())) {
+            return null;
+        }
+        // Same JSON as List<CourseDto>, assembled from per-course cached fragments
+        return courseService.getAllCoursesJson();
     }
 
     @GetMapping("/{id}")
@@ -1,12 +1,16 @@
 package com.lms.backend.controller;
 
+import com.lms.backend.config.RateLimited;
 import com.lms.backend.dto.ForumPostDto;
 import com.lms.backend.dto.ForumPostRequest;
 import com.lms.backend.service.ForumPostService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/forum")
@@ -21,7 +25,36 @@ public class ForumPostController {
         return ResponseEntity.ok(forumPostService.getAllTopLevelPosts());
     }
 
+    // Thread list with reply counts, without loading any replies
+    @GetMapping("/threads")
+    public ResponseEntity<Map<String, Object>> getThreads(
+            @RequestParam(defaultValue = "latest") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(forumPostService.getThreads(sort, page, size));
+    }
+
+    // Course (or lesson) forum, newest first; follow nextBefore/nextBeforeId from the previous page
+    @GetMapping("/course/{courseId}")
+    public ResponseEntity<Map<String, Object>> getCourseThreads(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) Long lessonId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(forumPostService.getCourseThreads(courseId, lessonId, before, beforeId, size));
+    }
+
+    @GetMapping("/{postId}/replies")
+    public ResponseEntity<Map<String, Object>> getReplies(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(forumPostService.getThreadReplies(postId, page, size));
+    }
+
     @PostMapping
+    @RateLimited(name = "forum-post", permitsPerSecond = 0.2, burst = 5)
     public ResponseEntity<ForumPostDto> createPost(@RequestBody ForumPostRequest request) {
         return ResponseEntity.ok(forumPostService.createPost(request));
     }
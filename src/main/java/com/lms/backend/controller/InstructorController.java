@@ -1,19 +1,35 @@
 package com.lms.backend.controller;
 
 import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.CourseDailyStatsDto;
 import com.lms.backend.dto.LessonDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.model.User;
 import com.lms.backend.model.Category;
 import com.lms.backend.repository.CategoryRepository;
+import com.lms.backend.service.CourseImportService;
+import com.lms.backend.service.GradebookService;
 import com.lms.backend.service.InstructorService;
+import com.lms.backend.service.ReportExportService;
 import com.lms.backend.service.UserService;
 import com.lms.backend.util.CourseMapper;
 import com.lms.backend.util.LessonMapper;
+import com.lms.backend.util.ReportWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -32,6 +48,18 @@ public class InstructorController {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private CourseImportService courseImportService;
+
+    @Autowired
+    private GradebookService gradebookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // COURSE APIs
     @PostMapping("/courses")
     public CourseDto createCourse(@RequestBody CourseDto courseDto) {
@@ -55,6 +83,12 @@ public class InstructorController {
         return instructorService.getCourseWithStats(courseId);
     }
 
+    @GetMapping("/courses/{courseId}/stats/daily")
+    public List<CourseDailyStatsDto> getCourseDailyStats(@PathVariable Long courseId,
+            @RequestParam(defaultValue = "30") int days) {
+        return instructorService.getCourseDailyStats(courseId, days);
+    }
+
     @DeleteMapping("/courses/{id}")
     public String deleteCourse(@PathVariable Long id) {
         instructorService.deleteCourse(id);
@@ -89,8 +123,51 @@ public class InstructorController {
 
     @GetMapping("/courses/{courseId}/lessons")
     public List<LessonDto> getCourseLessons(@PathVariable Long courseId) {
-        List<Lesson> lessons = instructorService.getLessonsByCourse(courseId);
-        return lessons.stream().map(LessonMapper::toDto).collect(Collectors.toList());
+        return instructorService.getLessonsByCourse(courseId);
+    }
+
+    // Reorder all lessons of a course in one request: {"lessonIds": [ids in the new order]}
+    @PutMapping("/courses/{courseId}/lessons/order")
+    public List<LessonDto> reorderLessons(@PathVariable Long courseId, @RequestBody Map<String, List<Long>> body) {
+        List<Long> lessonIds = body.get("lessonIds");
+        if (lessonIds == null) {
+            throw new RuntimeException("lessonIds is required");
+        }
+        return instructorService.reorderLessons(courseId, lessonIds);
+    }
+
+    // Bulk import of lessons + quizzes from JSON or a ZIP containing it. The response is NDJSON:
+    // one progress line per batch, then a final "completed" or "failed" line (a failed import is rolled back)
+    @PostMapping("/courses/{courseId}/import")
+    public ResponseEntity<StreamingResponseBody> importLessons(@PathVariable Long courseId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        // Opened now: the open stream keeps the multipart temp file readable after the request thread returns
+        InputStream in = file.getInputStream();
+        StreamingResponseBody body = out -> {
+            Map<String, Object> result;
+            try (in) {
+                result = courseImportService.importLessons(courseId, in, totals -> writeLine(out, totals));
+            } catch (RuntimeException | IOException e) {
+                result = new LinkedHashMap<>();
+                result.put("status", "failed");
+                result.put("error", e.getMessage());
+            }
+            // Written after the transaction ended, so "completed" means the lessons are visible
+            writeLine(out, result);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Map<String, Object> line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @GetMapping("/courses/{courseId}/students")
@@ -98,6 +175,33 @@ public class InstructorController {
         return instructorService.getEnrolledStudents(courseId);
     }
 
+    // Streamed enrollment + progress report for one course (format=csv|ndjson)
+    @GetMapping("/courses/{courseId}/export/enrollments")
+    public ResponseEntity<StreamingResponseBody> exportCourseEnrollments(
+            @PathVariable Long courseId,
+            @RequestParam(defaultValue = "csv") String format) {
+        ReportWriter.Format exportFormat = ReportWriter.Format.fromParam(format);
+        StreamingResponseBody body = out -> reportExportService.exportCourseEnrollments(courseId, out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"course-" + courseId
+                        + "-enrollments." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Student x lesson/quiz matrix as NDJSON, paged by student id: pass the "nextAfterStudentId" of the
+    // last line as afterStudentId for the next page; without limit the whole course is streamed
+    @GetMapping("/courses/{courseId}/gradebook")
+    public ResponseEntity<StreamingResponseBody> getGradebook(@PathVariable Long courseId,
+            @RequestParam(required = false) Long afterStudentId,
+            @RequestParam(required = false) Integer limit) {
+        instructorService.getCourseById(courseId); // Unknown course fails before the stream starts
+        StreamingResponseBody body = out -> gradebookService.writeGradebook(courseId, afterStudentId, limit, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @PutMapping("/lessons/{lessonId}")
     public LessonDto updateLesson(@PathVariable Long lessonId, @RequestBody LessonDto lessonDto) {
         Lesson lesson = new Lesson();
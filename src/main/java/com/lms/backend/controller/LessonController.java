@@ -1,15 +1,20 @@
 package com.lms.backend.controller;
 
 import com.lms.backend.dto.LessonDto;
+import com.lms.backend.dto.LessonOutlineDto;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.service.LessonService;
+import com.lms.backend.service.TranscodeService;
+import com.lms.backend.util.ETags;
 import com.lms.backend.util.LessonMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/lessons")
@@ -19,20 +24,33 @@ public class LessonController {
     @Autowired
     private LessonService lessonService;
 
+    @Autowired
+    private TranscodeService transcodeService;
+
     // GET LESSONS BY COURSE ID
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<LessonDto>> getLessonsByCourse(@PathVariable Long courseId) {
+    public ResponseEntity<List<LessonDto>> getLessonsByCourse(@PathVariable Long courseId,
+            ServletWebRequest request) {
         try {
-            List<Lesson> lessons = lessonService.getLessonsByCourseId(courseId);
-            List<LessonDto> lessonDtos = lessons.stream()
-                    .map(LessonMapper::toDto)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(lessonDtos);
+            if (ETags.checkNotModified(request, lessonService.getLessonsETag(courseId))) {
+                return null;
+            }
+            return ResponseEntity.ok(lessonService.getLessonsByCourseId(courseId));
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
     }
 
+    // GET LESSON OUTLINE (no content) BY COURSE ID
+    @GetMapping("/course/{courseId}/outline")
+    public ResponseEntity<List<LessonOutlineDto>> getLessonOutline(@PathVariable Long courseId,
+            ServletWebRequest request) {
+        if (ETags.checkNotModified(request, lessonService.getLessonsETag(courseId))) {
+            return null;
+        }
+        return ResponseEntity.ok(lessonService.getLessonOutline(courseId));
+    }
+
     // GET LESSON BY ID
     @GetMapping("/{id}")
     public ResponseEntity<LessonDto> getLessonById(@PathVariable Long id) {
@@ -72,6 +90,30 @@ public class LessonController {
         }
     }
 
+    // UPDATE LESSON MEDIA (videos are transcoded to HLS in the background)
+    @PutMapping("/{id}/media")
+    @PreAuthorize("hasAnyAuthority('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
+    public ResponseEntity<LessonDto> updateLessonMedia(
+            @PathVariable Long id,
+            @RequestBody Map<String, String> body) {
+        try {
+            Lesson updatedLesson = lessonService.updateLessonMediaUrl(id, body.get("mediaUrl"));
+            return ResponseEntity.ok(LessonMapper.toDto(updatedLesson));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // TRANSCODE STATUS AND PROGRESS OF THE LESSON'S LATEST MEDIA
+    @GetMapping("/{id}/transcode")
+    public ResponseEntity<Map<String, Object>> getTranscodeStatus(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(transcodeService.getLatestJob(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     // DELETE LESSON
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteLesson(@PathVariable Long id) {
@@ -85,10 +127,9 @@ public class LessonController {
 
     // Get all lessons for a course
     @GetMapping("/{courseId}/lessons")
-    public ResponseEntity<List<Lesson>> getLessonsByCourseId(@PathVariable Long courseId) {
+    public ResponseEntity<List<LessonDto>> getLessonsByCourseId(@PathVariable Long courseId) {
         try {
-            List<Lesson> lessons = lessonService.getLessonsByCourseId(courseId);
-            return ResponseEntity.ok(lessons);
+            return ResponseEntity.ok(lessonService.getLessonsByCourseId(courseId));
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -0,0 +1,29 @@
+package com.lms.backend.controller;
+
+import com.lms.backend.model.User;
+import com.lms.backend.service.AuthService;
+import com.lms.backend.service.LiveEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@CrossOrigin(origins = "*")
+public class LiveController {
+
+    @Autowired
+    private LiveEventService liveEventService;
+
+    @Autowired
+    private AuthService authService;
+
+    // Push stream replacing dashboard/progress polling. Sends the JWT in the Authorization header,
+    // so the client needs a fetch-based EventSource rather than the browser's built-in one.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        User currentUser = authService.getCurrentUser();
+        return liveEventService.subscribe(currentUser);
+    }
+}
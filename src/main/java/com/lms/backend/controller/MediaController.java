@@ -1,13 +1,21 @@
 package com.lms.backend.controller;
 
 import com.lms.backend.service.MediaStorageService;
+import com.lms.backend.service.TranscodeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/media")
@@ -17,6 +25,12 @@ public class MediaController {
     @Autowired
     private MediaStorageService mediaStorageService;
 
+    @Autowired
+    private TranscodeService transcodeService;
+
+    @Value("${lms.storage.download-url-ttl:15m}")
+    private Duration defaultDownloadUrlTtl;
+
     // UPLOAD MEDIA FILE
     @PostMapping("/upload")
     public ResponseEntity<Map<String, String>> uploadMedia(
@@ -62,4 +76,51 @@ public class MediaController {
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    // SERVE STORED FILE (keys are random, so the content never changes)
+    @GetMapping("/files/{key:.+}")
+    public ResponseEntity<Resource> getFile(@PathVariable String key) {
+        Resource resource = mediaStorageService.loadFile(key);
+        MediaType mediaType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .body(resource);
+    }
+
+    // DIRECT DOWNLOAD URL (pre-signed when the object store supports it)
+    @GetMapping("/download-url")
+    public ResponseEntity<Map<String, Object>> getDownloadUrl(
+            @RequestParam String fileUrl,
+            @RequestParam(required = false) Long ttlSeconds) {
+        Duration ttl = ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : defaultDownloadUrlTtl;
+        Map<String, Object> response = new HashMap<>();
+        response.put("url", mediaStorageService.getDownloadUrl(fileUrl, ttl));
+        response.put("expiresInSeconds", ttl.getSeconds());
+        return ResponseEntity.ok(response);
+    }
+
+    // HLS MASTER PLAYLIST (every job has its own directory, so all HLS files are immutable)
+    @GetMapping("/hls/{lessonId}/{jobId}/{file:.+}")
+    public ResponseEntity<Resource> getHlsFile(@PathVariable Long lessonId, @PathVariable Long jobId,
+            @PathVariable String file) {
+        return hlsResponse(file, transcodeService.loadHlsFile(lessonId, jobId, file));
+    }
+
+    // HLS RENDITION PLAYLIST OR SEGMENT
+    @GetMapping("/hls/{lessonId}/{jobId}/{rendition}/{file:.+}")
+    public ResponseEntity<Resource> getHlsRenditionFile(@PathVariable Long lessonId, @PathVariable Long jobId,
+            @PathVariable String rendition, @PathVariable String file) {
+        return hlsResponse(file, transcodeService.loadHlsFile(lessonId, jobId, rendition + "/" + file));
+    }
+
+    private ResponseEntity<Resource> hlsResponse(String file, Resource resource) {
+        MediaType mediaType = file.endsWith(".m3u8")
+                ? MediaType.parseMediaType("application/vnd.apple.mpegurl")
+                : MediaType.parseMediaType("video/mp2t");
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .body(resource);
+    }
+}
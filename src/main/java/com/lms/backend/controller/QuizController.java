@@ -1,20 +1,26 @@
 package com.lms.backend.controller;
 
+import com.lms.backend.config.RateLimited;
+import com.lms.backend.dto.QuizScoreDto;
 import com.lms.backend.model.Quiz;
 import com.lms.backend.model.User;
 import com.lms.backend.repository.UserRepository;
 import com.lms.backend.service.QuizService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/quizzes")
 @RequiredArgsConstructor
+@Slf4j
 @CrossOrigin(origins = "*")
 public class QuizController {
 
@@ -24,18 +30,17 @@ public class QuizController {
     @GetMapping("/lesson/{lessonId}")
     public ResponseEntity<Quiz> getQuizByLesson(@PathVariable Long lessonId) {
         try {
-            System.out.println("QUIZ DEBUG: Fetching quiz for lesson: " + lessonId);
             Quiz quiz = quizService.getQuizByLesson(lessonId);
-            System.out.println("QUIZ DEBUG: Found quiz: " + quiz.getId());
+            log.debug("Found quiz {} for lesson {}", quiz.getId(), lessonId);
             return ResponseEntity.ok(quiz);
         } catch (Exception e) {
-            System.out.println(
-                    "QUIZ DEBUG: No quiz found for lesson " + lessonId + " or error occurred: " + e.getMessage());
+            log.debug("No quiz for lesson {}: {}", lessonId, e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
 
     @PostMapping("/{quizId}/submit")
+    @RateLimited(name = "quiz-submit", permitsPerSecond = 0.2, burst = 5)
     public ResponseEntity<Map<String, Object>> submitQuiz(
             @PathVariable Long quizId,
             @RequestBody Map<Long, Integer> answers,
@@ -53,4 +58,51 @@ public class QuizController {
             @RequestBody Quiz quiz) {
         return ResponseEntity.ok(quizService.saveQuiz(lessonId, quiz));
     }
+
+    // The caller's best score / attempt count / passed flag for one quiz
+    @GetMapping("/{quizId}/summary")
+    public ResponseEntity<Map<String, Object>> getQuizSummary(@PathVariable Long quizId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(quizService.getQuizSummary(currentUser(userDetails), quizId));
+    }
+
+    // The caller's attempts at one quiz, newest first
+    @GetMapping("/{quizId}/attempts")
+    public ResponseEntity<Map<String, Object>> getQuizAttempts(@PathVariable Long quizId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(quizService.getAttemptHistory(currentUser(userDetails), quizId, page, size));
+    }
+
+    // The caller's attempts at every quiz, newest first
+    @GetMapping("/my-attempts")
+    public ResponseEntity<Map<String, Object>> getMyAttempts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(quizService.getAttemptHistory(currentUser(userDetails), null, page, size));
+    }
+
+    // The caller's per-quiz summaries, optionally for one course (ordered by lesson position)
+    @GetMapping("/my-scores")
+    public ResponseEntity<List<QuizScoreDto>> getMyScores(
+            @RequestParam(required = false) Long courseId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(quizService.getStudentScores(currentUser(userDetails), courseId));
+    }
+
+    // Every student's summary for one quiz, best score first
+    @GetMapping("/{quizId}/scores")
+    @PreAuthorize("hasAnyAuthority('ROLE_INSTRUCTOR', 'ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getQuizScores(@PathVariable Long quizId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(quizService.getQuizScores(quizId, page, size));
+    }
+
+    private User currentUser(UserDetails userDetails) {
+        return userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
 }
@@ -1,16 +1,24 @@
 package com.lms.backend.controller;
 
+import com.lms.backend.config.QueryBudget;
+import com.lms.backend.config.RateLimited;
 import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.LessonOutlineDto;
+import com.lms.backend.dto.LessonProgressDto;
 import com.lms.backend.model.Course;
-import com.lms.backend.model.Enrollment;
-import com.lms.backend.model.LessonProgress;
 import com.lms.backend.model.User;
 import com.lms.backend.service.AuthService;
+import com.lms.backend.service.CourseService;
 import com.lms.backend.service.StudentService;
+import com.lms.backend.util.ETags;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -18,6 +26,7 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/student")
 @CrossOrigin(origins = "*")
+@Slf4j
 public class StudentController {
 
     @Autowired
@@ -27,7 +36,7 @@ public class StudentController {
     private AuthService authService;
 
     @Autowired
-    private com.lms.backend.repository.EnrollmentRepository enrollmentRepository;
+    private CourseService courseService;
 
     // Enroll student in a course Prevents duplicate enrollments
     @PostMapping("/enroll/{courseId}")
@@ -48,38 +57,10 @@ public class StudentController {
 
     // Get all enrolled courses for current student
     @GetMapping("/my-courses")
+    @QueryBudget(4)
     public ResponseEntity<List<CourseDto>> getMyCourses() {
         User currentUser = authService.getCurrentUser();
-        List<Enrollment> enrollments = enrollmentRepository.findByStudent(currentUser);
-        List<CourseDto> courseDtos = enrollments.stream()
-                .map(enrollment -> {
-                    CourseDto dto = convertToDto(enrollment.getCourse());
-                    dto.setProgress(enrollment.getProgress());
-                    return dto;
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDtos);
-    }
-
-    private CourseDto convertToDto(Course course) {
-        return CourseDto.builder()
-                .id(course.getId())
-                .title(course.getTitle())
-                .description(course.getDescription())
-                .coverImageUrl(course.getCoverImageUrl())
-                .price(course.getPrice())
-                .approved(course.isApproved())
-                .level(course.getLevel())
-                .duration(course.getDuration())
-                .rating(course.getRating())
-                .rating(course.getRating())
-                .totalStudents(course.getEnrollmentCount())
-                .categoryId(course.getCategory() != null ? course.getCategory().getId() : null)
-                .categoryId(course.getCategory() != null ? course.getCategory().getId() : null)
-                .categoryName(course.getCategory() != null ? course.getCategory().getName() : null)
-                .instructorId(course.getInstructor().getId())
-                .instructorName(course.getInstructor().getUsername())
-                .build();
+        return ResponseEntity.ok(studentService.getMyCourses(currentUser));
     }
 
     // Get course details with enrollment info
@@ -91,10 +72,10 @@ public class StudentController {
 
             // Add completed lesson IDs for frontend ease of use
             @SuppressWarnings("unchecked")
-            List<LessonProgress> progresses = (List<LessonProgress>) courseWithProgress.get("lessonProgresses");
+            List<LessonProgressDto> progresses = (List<LessonProgressDto>) courseWithProgress.get("lessonProgresses");
             List<Long> completedLessonIds = progresses.stream()
-                    .filter(LessonProgress::isCompleted)
-                    .map(lp -> lp.getLesson().getId())
+                    .filter(LessonProgressDto::isCompleted)
+                    .map(LessonProgressDto::getLessonId)
                     .distinct()
                     .collect(Collectors.toList());
             courseWithProgress.put("completedLessonIds", completedLessonIds);
@@ -107,6 +88,7 @@ public class StudentController {
 
     // Mark lesson as completed
     @PostMapping("/course/{courseId}/lesson/{lessonId}/complete")
+    @RateLimited(name = "lesson-complete", permitsPerSecond = 1, burst = 10)
     public ResponseEntity<?> markLessonCompleted(
             @PathVariable Long courseId,
             @PathVariable Long lessonId) {
@@ -139,7 +121,9 @@ public class StudentController {
         }
     }
 
+    // The player sends one heartbeat every 30 s per tab; the burst covers a few tabs and reconnects
     @PostMapping("/course/{courseId}/track-time")
+    @RateLimited(name = "track-time", permitsPerSecond = 0.2, burst = 10)
     public ResponseEntity<?> trackTime(
             @PathVariable Long courseId,
             @RequestBody Map<String, Long> payload) {
@@ -158,17 +142,37 @@ public class StudentController {
     public ResponseEntity<?> getLearningStats() {
         try {
             User currentUser = authService.getCurrentUser();
-            System.out.println("Processing stats for " + currentUser.getEmail());
             Map<String, Object> stats = studentService.getLearningStats(currentUser);
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
-            System.err.println("ERROR calculating student stats: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error calculating student stats", e);
             return ResponseEntity.internalServerError()
                     .body(Map.of("message", "Error calculating learning statistics: " + e.getMessage()));
         }
     }
 
+    // Daily activity calendar, defaults to the last 365 days
+    @GetMapping("/activity-calendar")
+    public ResponseEntity<?> getActivityCalendar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            User currentUser = authService.getCurrentUser();
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(364);
+            return ResponseEntity.ok(studentService.getActivityCalendar(currentUser, start, end));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // Sidebar: lesson outline with this student's completion flags, no lesson bodies
+    @GetMapping("/course/{courseId}/outline")
+    public ResponseEntity<List<LessonOutlineDto>> getLessonOutline(@PathVariable Long courseId) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(studentService.getLessonOutline(currentUser, courseId));
+    }
+
     // Get course progress
     @GetMapping("/course/{courseId}/progress")
     public ResponseEntity<Map<String, Object>> getCourseProgress(@PathVariable Long courseId) {
@@ -179,15 +183,28 @@ public class StudentController {
 
     // Get available courses (not enrolled)
     @GetMapping("/courses/available")
-    public ResponseEntity<List<Course>> getAvailableCourses() {
+    public ResponseEntity<List<Course>> getAvailableCourses(@RequestParam(required = false) Long categoryId) {
         User currentUser = authService.getCurrentUser();
-        List<Course> availableCourses = studentService.getAvailableCourses(currentUser);
+        List<Course> availableCourses = studentService.getAvailableCourses(currentUser, categoryId);
         return ResponseEntity.ok(availableCourses);
     }
 
+    // Paged available courses (CourseDto), for catalogs too large to send in one response
+    @GetMapping("/courses/available/paged")
+    public ResponseEntity<Map<String, Object>> getAvailableCoursesPage(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(studentService.getAvailableCoursesPage(currentUser, categoryId, page, size));
+    }
+
     // Get Avail Categories
     @GetMapping("/catalog")
-    public List<Course> getCourseCatalog() {
+    public List<Course> getCourseCatalog(ServletWebRequest request) {
+        if (ETags.checkNotModified(request, courseService.getCatalogETag())) {
+            return null;
+        }
         return studentService.getCourseCatalog();
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One day of a course's analytics rollup for the instructor dashboard charts
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseDailyStatsDto {
+    private LocalDate statDate;
+    private Integer newEnrollments;
+    private Integer lessonCompletions;
+    private Integer courseCompletions;
+    private Integer quizAttempts;
+    private Integer quizPasses;
+    private Double averageProgress;
+    private Long totalTimeSpentSeconds;
+}
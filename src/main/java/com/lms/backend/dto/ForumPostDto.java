@@ -16,6 +16,12 @@ public class ForumPostDto {
     private String authorRole;
     private LocalDateTime createdAt;
     private boolean locked;
+    private Long parentId;
+    private Long courseId;
+    private Long lessonId;
+    private int depth;
+    private int replyCount;
+    private LocalDateTime lastReplyAt;
     private List<ForumPostDto> replies = new ArrayList<>();
 
     // Manual constructor for safety
@@ -7,4 +7,7 @@ public class ForumPostRequest {
     private String content;
     private Long userId;
     private Long parentPostId;
+    // Top-level posts only; replies inherit the thread's course and lesson
+    private Long courseId;
+    private Long lessonId;
 }
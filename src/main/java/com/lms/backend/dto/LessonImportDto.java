@@ -0,0 +1,43 @@
+package com.lms.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One element of the "lessons" array of a course import (POST /api/instructor/courses/{id}/import)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LessonImportDto {
+    private String title;
+    private String content;
+    // Reference to already uploaded or external media; files are not embedded in the import
+    private String mediaUrl;
+    private Integer durationSeconds;
+    private QuizImport quiz;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class QuizImport {
+        private Integer passingScore;
+        private List<QuestionImport> questions;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class QuestionImport {
+        private String text;
+        private List<String> options;
+        private Integer correctOptionIndex;
+    }
+}
@@ -0,0 +1,23 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lesson row for sidebars and listings: no content body, fetch that per lesson from GET /api/lessons/{id}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonOutlineDto {
+    private Long id;
+    private String title;
+    private Integer position;
+    private Integer durationSeconds;
+    private Boolean hasQuiz;
+    private boolean completed;
+
+    // JPQL constructor projection (LessonRepository.findOutlineByCourseId); completed is filled in per student
+    public LessonOutlineDto(Long id, String title, Integer position, Integer durationSeconds, Boolean hasQuiz) {
+        this(id, title, position, durationSeconds, hasQuiz, false);
+    }
+}
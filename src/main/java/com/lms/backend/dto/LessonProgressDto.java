@@ -0,0 +1,14 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A student's progress on one lesson, without the lesson entity (LessonProgressRepository.findProgressByCourseId)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonProgressDto {
+    private Long lessonId;
+    private boolean completed;
+}
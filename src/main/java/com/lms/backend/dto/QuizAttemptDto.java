@@ -0,0 +1,21 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Attempt history row: no student or quiz entity, just the ids
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAttemptDto {
+    private Long id;
+    private Long quizId;
+    private Double score;
+    private Boolean passed;
+    private LocalDateTime completedAt;
+}
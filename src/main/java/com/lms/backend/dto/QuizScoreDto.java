@@ -0,0 +1,26 @@
+package com.lms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One QuizScoreSummary row with the names the gradebook views show
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizScoreDto {
+    private Long studentId;
+    private String studentName;
+    private Long quizId;
+    private Long lessonId;
+    private String lessonTitle;
+    private Double bestScore;
+    private Double lastScore;
+    private Integer attemptCount;
+    private Boolean passed;
+    private LocalDateTime lastAttemptAt;
+}
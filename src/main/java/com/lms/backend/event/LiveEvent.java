@@ -0,0 +1,26 @@
+package com.lms.backend.event;
+
+import java.util.Map;
+
+/**
+ * Domain event pushed to live (SSE) subscribers on one topic. Published with ApplicationEventPublisher;
+ * LiveEventServiceImpl delivers it after the publishing transaction commits.
+ */
+public record LiveEvent(String topic, String name, Map<String, Object> data) {
+
+    // Admin dashboard: activity feed entries and "stats changed" signals
+    public static final String ADMIN = "admin";
+
+    // New forum posts, for everyone
+    public static final String FORUM = "forum";
+
+    // Enrollments and completions in the instructor's courses
+    public static String instructor(Long instructorId) {
+        return "instructor." + instructorId;
+    }
+
+    // The student's own progress updates
+    public static String student(Long studentId) {
+        return "student." + studentId;
+    }
+}
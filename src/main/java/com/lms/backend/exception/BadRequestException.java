@@ -0,0 +1,8 @@
+package com.lms.backend.exception;
+
+// Malformed client input (e.g. an invalid media key): mapped to 400 by GlobalExceptionHandler
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
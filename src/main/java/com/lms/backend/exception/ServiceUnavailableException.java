@@ -0,0 +1,16 @@
+package com.lms.backend.exception;
+
+// Load shedding: mapped to 503 with a Retry-After header by GlobalExceptionHandler
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
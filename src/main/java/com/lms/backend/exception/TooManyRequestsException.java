@@ -0,0 +1,16 @@
+package com.lms.backend.exception;
+
+// Rate limiting: mapped to 429 with a Retry-After header by GlobalExceptionHandler
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
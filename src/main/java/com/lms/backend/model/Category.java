@@ -2,13 +2,20 @@ package com.lms.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "categories")
+// L2 cache READ_WRITE: rarely edited by admins, soft-locked while an update commits.
+// The courses collection is not cached (large, changes with every new course).
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lms.category")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +30,16 @@ public class Category {
 
     private String description;
 
+    // Renames change the course cards; part of CourseRepository.findCatalogVersionStamp
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
     @JsonIgnore
     private List<Course> courses = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
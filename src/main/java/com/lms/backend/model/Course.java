@@ -1,14 +1,22 @@
 package com.lms.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "courses")
+// L2 cache READ_WRITE: read on every catalog/detail request, updated by instructors/admins.
+// lessons is not cached: lessons are saved from the Lesson side, which would not evict the collection entry.
+// enrollments is not cached: it changes on every enrollment.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lms.course")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -40,8 +48,10 @@ public class Course {
     @JoinColumn(name = "instructor_id")
     private User instructor;
 
+    // Serialized without lesson bodies: content is lazy and would be loaded one lesson at a time
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
+    @JsonIgnoreProperties("content")
     private List<Lesson> lessons;
 
     // Enrollment relationship
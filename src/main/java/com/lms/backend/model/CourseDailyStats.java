@@ -0,0 +1,51 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Per-course, per-day analytics rollup maintained by AnalyticsRollupService
+@Entity
+@Table(name = "course_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "course_id", "stat_date" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Builder.Default
+    private Integer newEnrollments = 0;
+
+    @Builder.Default
+    private Integer lessonCompletions = 0;
+
+    // Certificates issued that day (course fully completed)
+    @Builder.Default
+    private Integer courseCompletions = 0;
+
+    @Builder.Default
+    private Integer quizAttempts = 0;
+
+    @Builder.Default
+    private Integer quizPasses = 0;
+
+    // Snapshot of the course totals as of the last rollup run that day
+    private Double averageProgress;
+    private Long totalTimeSpentSeconds;
+
+    private LocalDateTime updatedAt;
+}
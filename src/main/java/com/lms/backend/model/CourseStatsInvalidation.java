@@ -0,0 +1,24 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A course whose summary must be recomputed because some of its enrollments were deleted
+@Entity
+@Table(name = "course_stats_invalidations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseStatsInvalidation {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    // Marking again moves this forward, so a mark set while a rollup runs is not removed by that run
+    @Column(nullable = false)
+    private LocalDateTime markedAt;
+}
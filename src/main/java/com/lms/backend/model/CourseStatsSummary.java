@@ -0,0 +1,43 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Running per-course totals, one row per course, so course stats are a single primary key lookup
+@Entity
+@Table(name = "course_stats_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseStatsSummary {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Builder.Default
+    private Long enrollmentCount = 0L;
+
+    @Builder.Default
+    private Long completedEnrollments = 0L;
+
+    @Builder.Default
+    private Double averageProgress = 0.0;
+
+    @Builder.Default
+    private Long totalTimeSpentSeconds = 0L;
+
+    @Builder.Default
+    private Long lessonCompletions = 0L;
+
+    @Builder.Default
+    private Long quizAttempts = 0L;
+
+    @Builder.Default
+    private Long quizPasses = 0L;
+
+    private LocalDateTime updatedAt;
+}
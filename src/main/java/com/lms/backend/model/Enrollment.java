@@ -8,6 +8,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+// Enrollment with its course, the course instructor and category: everything a course card needs
+@NamedEntityGraph(name = "Enrollment.courseDetails",
+                attributeNodes = @NamedAttributeNode(value = "course", subgraph = "course"),
+                subgraphs = @NamedSubgraph(name = "course", attributeNodes = {
+                                @NamedAttributeNode("instructor"),
+                                @NamedAttributeNode("category") }))
 @Table(name = "enrollments", uniqueConstraints = {
                 @UniqueConstraint(columnNames = { "student_id", "course_id" })
 })
@@ -47,6 +53,15 @@ public class Enrollment {
         @Builder.Default
         private Long timeSpentSeconds = 0L;
 
+        // last change (progress / time spent), used by the incremental analytics rollup
+        private LocalDateTime updatedAt;
+
+        @PrePersist
+        @PreUpdate
+        protected void touchUpdatedAt() {
+                updatedAt = LocalDateTime.now();
+        }
+
         // @PrePersist
         // protected void prePersist() {
         // if (enrolledAt == null) {
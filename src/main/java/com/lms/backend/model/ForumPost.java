@@ -3,17 +3,32 @@ package com.lms.backend.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "forum_posts")
+@Table(name = "forum_posts", indexes = {
+        // Subtree lookups (thread replies, ancestor maintenance) are prefix range scans on path
+        @Index(name = "idx_forum_posts_path", columnList = "path"),
+        @Index(name = "idx_forum_posts_depth_created", columnList = "depth, created_at"),
+        // "Hot" thread listing: top-level posts by reply count, then latest reply
+        @Index(name = "idx_forum_posts_hot", columnList = "depth, reply_count, last_reply_at"),
+        // Course / lesson forum pages: equality on the scope and parent, keyset on created_at (id is the
+        // InnoDB row key, so it is part of every secondary index as the tie-breaker)
+        @Index(name = "idx_forum_posts_course_thread", columnList = "course_id, parent_post_id, created_at"),
+        @Index(name = "idx_forum_posts_lesson_thread", columnList = "lesson_id, parent_post_id, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class ForumPost {
 
+    // Max nesting below a thread root; keeps the materialized path within its column length
+    public static final int MAX_DEPTH = 20;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,15 +45,62 @@ public class ForumPost {
     @Column(name = "is_locked", nullable = false)
     private boolean locked = false;
 
+    // Null for the general forum; replies always carry their thread's course and lesson.
+    // Deleting the course or lesson moves its threads to the general forum instead of blocking the delete.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JsonIgnore
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lesson_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JsonIgnore
+    private Lesson lesson;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_post_id")
     @JsonIgnore
     private ForumPost parentPost;
 
+    // Materialized path: zero-padded ids from the thread root down to this post, each followed by '/'
+    // (e.g. "0000000007/0000000042/"). A subtree is every post whose path starts with this one's.
+    @Column(length = 255)
+    private String path;
+
+    // 0 for a thread root
+    @Column(nullable = false)
+    private int depth = 0;
+
+    // Number of posts below this one (all levels), maintained by ForumPostServiceImpl
+    @Column(name = "reply_count", nullable = false)
+    private int replyCount = 0;
+
+    @Column(name = "last_reply_at")
+    private LocalDateTime lastReplyAt;
+
     @OneToMany(mappedBy = "parentPost", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<ForumPost> replies = new ArrayList<>();
 
+    public static String pathSegment(Long id) {
+        return String.format("%010d/", id);
+    }
+
+    // Ids of the posts above this one, root first
+    public List<Long> getAncestorIds() {
+        List<Long> ids = new ArrayList<>();
+        if (path == null) {
+            return ids;
+        }
+        String[] segments = path.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            ids.add(Long.parseLong(segments[i]));
+        }
+        return ids;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
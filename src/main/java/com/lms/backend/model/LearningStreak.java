@@ -0,0 +1,37 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Incrementally maintained learning streak + daily activity bitmap, one row per student
+@Entity
+@Table(name = "learning_streaks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LearningStreak {
+
+    // Max bitmap size: 1024 bytes = 8192 days of history, older days are shifted out
+    public static final int MAX_BITMAP_BYTES = 1024;
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    private LocalDate lastActiveDate;
+
+    @Builder.Default
+    private Integer currentStreak = 0;
+
+    @Builder.Default
+    private Integer longestStreak = 0;
+
+    // Bit i of the bitmap is set when the student was active on activityStartDate + i days
+    private LocalDate activityStartDate;
+
+    @Column(length = MAX_BITMAP_BYTES)
+    private byte[] activityBitmap;
+}
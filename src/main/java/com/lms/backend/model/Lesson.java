@@ -2,11 +2,18 @@ package com.lms.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "lessons")
+// L2 cache READ_WRITE: instructors edit lessons, students read them constantly
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lms.lesson")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,6 +27,8 @@ public class Lesson {
     @NotBlank
     private String title;
 
+    // Lazy (needs bytecode enhancement, see hibernate-enhance-maven-plugin): listings never load lesson bodies
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String content;
 
@@ -27,8 +36,17 @@ public class Lesson {
     private Integer position = 0;
     private Integer durationSeconds;
 
+    // Part of the ETag version stamp of course and lesson listings
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id")
     @JsonBackReference
     private Course course;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
 }
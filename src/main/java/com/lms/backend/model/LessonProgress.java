@@ -28,7 +28,7 @@ public class LessonProgress {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lesson_id", nullable = false)
-    @JsonIgnoreProperties({"course"})
+    @JsonIgnoreProperties({"course", "content"})
     private Lesson lesson;
 
     private boolean completed = false;
@@ -2,12 +2,17 @@ package com.lms.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.util.List;
 
 @Entity
 @Table(name = "questions")
+// L2 cache READ_WRITE together with its options element collection
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lms.question")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +32,7 @@ public class Question {
     private String text;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lms.question.options")
     @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"))
     @Column(name = "option_text")
     private List<String> options;
@@ -2,6 +2,8 @@ package com.lms.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.util.ArrayList;
@@ -9,6 +11,10 @@ import java.util.List;
 
 @Entity
 @Table(name = "quizzes")
+// L2 cache READ_WRITE, questions collection included: saveQuiz always replaces it through quiz.getQuestions(),
+// which evicts the cached collection
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lms.quiz")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +34,7 @@ public class Quiz {
     private Integer passingScore = 70; // Percentage
 
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lms.quiz.questions")
     @Builder.Default
     private List<Question> questions = new ArrayList<>();
 }
@@ -0,0 +1,50 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+// Running per-(student, quiz) result, one row per pair, so best scores and gradebooks never read the attempts.
+// Maintained by QuizServiceImpl.submitQuiz with a single upsert (see QuizScoreSummaryRepository.recordAttempt)
+@Entity
+@Table(name = "quiz_score_summaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_quiz_score_summaries_student_quiz", columnNames = { "student_id", "quiz_id" })
+}, indexes = {
+        @Index(name = "idx_quiz_score_summaries_quiz_best", columnList = "quiz_id, best_score")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizScoreSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private User student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "quiz_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Quiz quiz;
+
+    private Double bestScore;
+    private Double lastScore;
+
+    @Builder.Default
+    private Integer attemptCount = 0;
+
+    // Passed in any attempt
+    private boolean passed;
+
+    private LocalDateTime lastAttemptAt;
+}
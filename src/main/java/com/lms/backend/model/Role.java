@@ -1,10 +1,15 @@
 package com.lms.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 @Entity
 @Table(name = "roles")
+// L2 cache READ_ONLY: roles are seeded once and never updated
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "lms.role")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
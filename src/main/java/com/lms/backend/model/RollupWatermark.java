@@ -0,0 +1,25 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Last processed timestamp of an incremental job; @Version stops two nodes from committing the same window
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    private LocalDateTime lastProcessedAt;
+
+    @Version
+    private Long version;
+}
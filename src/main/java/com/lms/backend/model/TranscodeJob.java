@@ -0,0 +1,73 @@
+package com.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+// One HLS transcode of a lesson's uploaded media; the table doubles as the work queue (TranscodeServiceImpl)
+@Entity
+@Table(name = "transcode_jobs", indexes = {
+        @Index(name = "idx_transcode_jobs_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_transcode_jobs_lesson", columnList = "lesson_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TranscodeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "lesson_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Lesson lesson;
+
+    @Column(nullable = false, length = 1000)
+    private String sourceUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Status status;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    // 0-100, from ffmpeg's -progress output
+    @Builder.Default
+    private int progress = 0;
+
+    @Column(length = 1000)
+    private String manifestUrl;
+
+    @Column(length = 2000)
+    private String error;
+
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        // Replaced by a newer upload before it started
+        CANCELLED
+    }
+}
@@ -2,11 +2,18 @@ package com.lms.backend.repository;
 
 import com.lms.backend.model.Certificate;
 import com.lms.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CertificateRepository extends JpaRepository<Certificate, Long> {
@@ -15,4 +22,16 @@ public interface CertificateRepository extends JpaRepository<Certificate, Long>
     Optional<Certificate> findByStudentAndCourse_Id(User student, Long courseId);
 
     List<Certificate> findByCourse(com.lms.backend.model.Course course);
+
+    // Report export rows: certificate + student + course
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT ct.id, ct.certificateCode, s.id, ct.studentName, s.email, c.id, ct.courseName, ct.issueDate "
+            + "FROM Certificate ct JOIN ct.student s JOIN ct.course c ORDER BY ct.id")
+    Stream<Object[]> streamCertificateReport();
+
+    // Analytics rollup: [courseId, day, count] of certificates (course completions) issued in (from, to]
+    @Query("SELECT ct.course.id, CAST(ct.issueDate AS LocalDate), COUNT(ct) FROM Certificate ct "
+            + "WHERE ct.issueDate > :from AND ct.issueDate <= :to "
+            + "GROUP BY ct.course.id, CAST(ct.issueDate AS LocalDate)")
+    List<Object[]> countIssuedPerCourseDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,23 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.CourseDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseDailyStatsRepository extends JpaRepository<CourseDailyStats, Long> {
+    Optional<CourseDailyStats> findByCourseIdAndStatDate(Long courseId, LocalDate statDate);
+
+    List<CourseDailyStats> findByCourseIdAndStatDateGreaterThanEqualOrderByStatDateAsc(Long courseId,
+            LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM CourseDailyStats d WHERE NOT EXISTS (SELECT c.id FROM Course c WHERE c.id = d.courseId)")
+    int deleteForRemovedCourses();
+}
@@ -2,8 +2,14 @@ package com.lms.backend.repository;
 
 import com.lms.backend.model.Course;
 import com.lms.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,8 +20,15 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByInstructor(User instructor);
 
+    // Query cache: catalog id list, invalidated by Hibernate on any write to courses
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByApprovedTrue();
 
+    // Course listing: instructor (with its eager role) and category joined in, not one select per instructor
+    @EntityGraph(attributePaths = { "instructor", "instructor.role", "category" })
+    @Query("SELECT c FROM Course c")
+    List<Course> findAllWithCardDetails();
+
     Optional<Course> findByIdAndInstructor(Long id, User instructor);
 
     List<Course> findByApprovedFalse();
@@ -24,8 +37,30 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     Optional<Course> findByTitle(String title);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByApprovedTrueAndCategoryId(Long categoryId);
 
+    // Approved courses the student is not enrolled in: anti-join on the (student_id, course_id) unique index
+    @Query(value = "SELECT c FROM Course c WHERE c.approved = true "
+            + "AND (:categoryId IS NULL OR c.category.id = :categoryId) "
+            + "AND NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = c AND e.student.id = :studentId)",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.approved = true "
+                    + "AND (:categoryId IS NULL OR c.category.id = :categoryId) "
+                    + "AND NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = c AND e.student.id = :studentId)")
+    Page<Course> findAvailableForStudent(@Param("studentId") Long studentId, @Param("categoryId") Long categoryId,
+            Pageable pageable);
+
+    // ETag version stamp for course listings: changes whenever a course, lesson or enrollment is added,
+    // updated or removed (counts catch deletes, MAX(updatedAt)/MAX(id) catch inserts and edits), and when
+    // an instructor or category shown on a card is renamed
+    @Query("SELECT COUNT(c), MAX(c.updatedAt), "
+            + "(SELECT COUNT(l) FROM Lesson l), (SELECT MAX(l.updatedAt) FROM Lesson l), "
+            + "(SELECT COUNT(e) FROM Enrollment e), (SELECT MAX(e.id) FROM Enrollment e), "
+            + "(SELECT MAX(i.updatedAt) FROM Course ic JOIN ic.instructor i), "
+            + "(SELECT MAX(cat.updatedAt) FROM Category cat) "
+            + "FROM Course c")
+    List<Object[]> findCatalogVersionStamp();
+
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
     int countEnrollmentsByCourseId(@Param("courseId") Long courseId);
 }
\ No newline at end of file
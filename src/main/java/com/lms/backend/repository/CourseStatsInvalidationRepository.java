@@ -0,0 +1,30 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.CourseStatsInvalidation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CourseStatsInvalidationRepository extends JpaRepository<CourseStatsInvalidation, Long> {
+
+    // Marks every course the student is enrolled in; run in the transaction that deletes the enrollments
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_stats_invalidations"))
+    @Query(value = "INSERT INTO course_stats_invalidations (course_id, marked_at) "
+            + "SELECT DISTINCT e.course_id, :markedAt FROM enrollments e WHERE e.student_id = :studentId "
+            + "ON DUPLICATE KEY UPDATE marked_at = :markedAt", nativeQuery = true)
+    int markStudentCourses(@Param("studentId") Long studentId, @Param("markedAt") LocalDateTime markedAt);
+
+    // Removes the mark only if it was not set again after the rollup read it
+    @Modifying
+    @Query("DELETE FROM CourseStatsInvalidation i WHERE i.courseId = :courseId AND i.markedAt = :markedAt")
+    int deleteProcessed(@Param("courseId") Long courseId, @Param("markedAt") LocalDateTime markedAt);
+}
@@ -0,0 +1,16 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.CourseStatsSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourseStatsSummaryRepository extends JpaRepository<CourseStatsSummary, Long> {
+
+    // Summaries of deleted courses (the table has no foreign key so rollups never block a course delete)
+    @Modifying
+    @Query("DELETE FROM CourseStatsSummary s WHERE NOT EXISTS (SELECT c.id FROM Course c WHERE c.id = s.courseId)")
+    int deleteForRemovedCourses();
+}
@@ -3,13 +3,20 @@ package com.lms.backend.repository;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Enrollment;
 import com.lms.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -19,11 +26,55 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     List<Enrollment> findByStudent(User student);
 
+    // Single join for enrollment + course + instructor + category (my-courses, enrolled courses)
+    @EntityGraph("Enrollment.courseDetails")
+    @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId ORDER BY e.id")
+    List<Enrollment> findWithCourseDetailsByStudentId(@Param("studentId") Long studentId);
+
+    // [courseId, enrollment count] for a batch of courses, instead of loading course.getEnrollments()
+    @Query("SELECT e.course.id, COUNT(e) FROM Enrollment e WHERE e.course.id IN :courseIds GROUP BY e.course.id")
+    List<Object[]> countByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
     // @Query("SELECT e.course FROM Enrollment e WHERE e.student = :student")
     // List<Course> findCoursesByStudent(User student);
 
+    // EnrolledCourseIndex: ids only, sorted for binary search
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId ORDER BY e.course.id")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+
     @Query("SELECT e.course FROM Enrollment e WHERE e.student.id = :studentId")
     List<Course> findCoursesByStudentId(@Param("studentId") Long studentId);
 
     List<Enrollment> findByCourseId(Long courseId);
+
+    // Report export rows: enrollment + student + course with progress
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.id, s.id, s.username, s.email, c.id, c.title, e.enrolledAt, e.progress, e.timeSpentSeconds "
+            + "FROM Enrollment e JOIN e.student s JOIN e.course c ORDER BY e.id")
+    Stream<Object[]> streamEnrollmentReport();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.id, s.id, s.username, s.email, c.id, c.title, e.enrolledAt, e.progress, e.timeSpentSeconds "
+            + "FROM Enrollment e JOIN e.student s JOIN e.course c WHERE c.id = :courseId ORDER BY e.id")
+    Stream<Object[]> streamEnrollmentReportByCourseId(@Param("courseId") Long courseId);
+
+    // ANALYTICS ROLLUP QUERIES
+    // [courseId, day, count] of enrollments created in (from, to]
+    @Query("SELECT e.course.id, CAST(e.enrolledAt AS LocalDate), COUNT(e) FROM Enrollment e "
+            + "WHERE e.enrolledAt > :from AND e.enrolledAt <= :to "
+            + "GROUP BY e.course.id, CAST(e.enrolledAt AS LocalDate)")
+    List<Object[]> countNewEnrollmentsPerCourseDay(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT DISTINCT e.course.id FROM Enrollment e WHERE e.updatedAt > :from AND e.updatedAt <= :to")
+    List<Long> findCourseIdsChangedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT DISTINCT e.course.id FROM Enrollment e")
+    List<Long> findAllEnrolledCourseIds();
+
+    // [courseId, enrollments, completed enrollments, avg progress, total seconds]
+    @Query("SELECT e.course.id, COUNT(e), SUM(CASE WHEN e.progress >= 100 THEN 1 ELSE 0 END), "
+            + "AVG(e.progress), SUM(e.timeSpentSeconds) FROM Enrollment e "
+            + "WHERE e.course.id IN :courseIds GROUP BY e.course.id")
+    List<Object[]> aggregateByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
\ No newline at end of file
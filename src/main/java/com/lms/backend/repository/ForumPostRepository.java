@@ -1,11 +1,78 @@
 package com.lms.backend.repository;
 
 import com.lms.backend.model.ForumPost;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ForumPostRepository extends JpaRepository<ForumPost, Long> {
-    List<ForumPost> findByParentPostIsNullOrderByCreatedAtDesc();
+    // The general forum (no course) as whole threads in one read: path order puts every post after its parent
+    @EntityGraph(attributePaths = { "author", "author.role" })
+    @Query("SELECT p FROM ForumPost p WHERE p.course IS NULL ORDER BY p.path")
+    List<ForumPost> findGeneralForumInPathOrder();
+
+    // Thread listing without replies; sort decides which depth-prefixed index serves it
+    @EntityGraph(attributePaths = { "author", "author.role" })
+    Page<ForumPost> findByDepth(int depth, Pageable pageable);
+
+    // Every reply in a thread (any level), for paging through it in time order
+    @EntityGraph(attributePaths = { "author", "author.role" })
+    @Query(value = "SELECT p FROM ForumPost p WHERE p.path LIKE CONCAT(:path, '%') AND p.id <> :rootId",
+            countQuery = "SELECT COUNT(p) FROM ForumPost p WHERE p.path LIKE CONCAT(:path, '%') AND p.id <> :rootId")
+    Page<ForumPost> findThreadReplies(@Param("path") String path, @Param("rootId") Long rootId, Pageable pageable);
+
+    // Course / lesson forum pages, newest first, keyset-paginated on (createdAt, id); pass Pageable of page 0
+    @EntityGraph(attributePaths = { "author", "author.role" })
+    @Query("SELECT p FROM ForumPost p WHERE p.course.id = :courseId AND p.parentPost IS NULL "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ForumPost> findCourseThreads(@Param("courseId") Long courseId, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "author", "author.role" })
+    @Query("SELECT p FROM ForumPost p WHERE p.course.id = :courseId AND p.parentPost IS NULL "
+            + "AND (p.createdAt < :before OR (p.createdAt = :before AND p.id < :beforeId)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ForumPost> findCourseThreadsBefore(@Param("courseId") Long courseId, @Param("before") LocalDateTime before,
+            @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // Filtered on the course too, so a lesson of another course lists nothing
+    @EntityGraph(attributePaths = { "author", "author.role" })
+    @Query("SELECT p FROM ForumPost p WHERE p.lesson.id = :lessonId AND p.course.id = :courseId "
+            + "AND p.parentPost IS NULL ORDER BY p.createdAt DESC, p.id DESC")
+    List<ForumPost> findLessonThreads(@Param("courseId") Long courseId, @Param("lessonId") Long lessonId,
+            Pageable pageable);
+
+    @EntityGraph(attributePaths = { "author", "author.role" })
+    @Query("SELECT p FROM ForumPost p WHERE p.lesson.id = :lessonId AND p.course.id = :courseId "
+            + "AND p.parentPost IS NULL "
+            + "AND (p.createdAt < :before OR (p.createdAt = :before AND p.id < :beforeId)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ForumPost> findLessonThreadsBefore(@Param("courseId") Long courseId, @Param("lessonId") Long lessonId,
+            @Param("before") LocalDateTime before, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT MAX(p.createdAt) FROM ForumPost p WHERE p.path LIKE CONCAT(:path, '%') AND p.id <> :postId")
+    LocalDateTime findLastReplyAt(@Param("path") String path, @Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE ForumPost p SET p.replyCount = p.replyCount + 1, p.lastReplyAt = :repliedAt WHERE p.id IN :ids")
+    int incrementReplyCounters(@Param("ids") Collection<Long> ids, @Param("repliedAt") LocalDateTime repliedAt);
+
+    @Modifying
+    @Query("UPDATE ForumPost p SET p.replyCount = p.replyCount - :removed WHERE p.id IN :ids")
+    int decrementReplyCounts(@Param("ids") Collection<Long> ids, @Param("removed") int removed);
+
+    @Modifying
+    @Query("UPDATE ForumPost p SET p.lastReplyAt = :lastReplyAt WHERE p.id = :id")
+    int updateLastReplyAt(@Param("id") Long id, @Param("lastReplyAt") LocalDateTime lastReplyAt);
+
+    boolean existsByPathIsNull();
 }
@@ -0,0 +1,38 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.LearningStreak;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface LearningStreakRepository extends JpaRepository<LearningStreak, Long> {
+
+    // Empty both when the student has no row yet and when its first activity is still being applied
+    @Query("SELECT s.lastActiveDate FROM LearningStreak s WHERE s.studentId = :studentId")
+    Optional<LocalDate> findLastActiveDate(@Param("studentId") Long studentId);
+
+    // Creates the empty row of a student's first activity; a concurrent first activity is ignored rather
+    // than failing on the primary key. The query space keeps Hibernate from evicting every L2 cache region,
+    // as it does for a native statement that does not name its tables
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "learning_streaks"))
+    @Query(value = "INSERT IGNORE INTO learning_streaks (student_id, current_streak, longest_streak) "
+            + "VALUES (:studentId, 0, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("studentId") Long studentId);
+
+    // Row lock so two activities of the same student apply one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM LearningStreak s WHERE s.studentId = :studentId")
+    Optional<LearningStreak> findByIdForUpdate(@Param("studentId") Long studentId);
+}
@@ -1,13 +1,16 @@
 package com.lms.backend.repository;
 
+import com.lms.backend.dto.LessonProgressDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.model.LessonProgress;
 import com.lms.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +29,20 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
     int countCompletedLessons(User student, Course course);
 
     List<LessonProgress> findByLesson(Lesson lesson);
+
+    @Query("SELECT lp.lesson.id FROM LessonProgress lp "
+            + "WHERE lp.student.id = :studentId AND lp.lesson.course.id = :courseId AND lp.completed = true")
+    List<Long> findCompletedLessonIds(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    // Every progress row of the student in the course in one query, the lessons are not loaded
+    @Query("SELECT new com.lms.backend.dto.LessonProgressDto(lp.lesson.id, lp.completed) FROM LessonProgress lp "
+            + "WHERE lp.student.id = :studentId AND lp.lesson.course.id = :courseId")
+    List<LessonProgressDto> findProgressByCourseId(@Param("studentId") Long studentId,
+            @Param("courseId") Long courseId);
+
+    // Analytics rollup: [courseId, day, count] of lesson completions in (from, to]
+    @Query("SELECT lp.lesson.course.id, CAST(lp.completedAt AS LocalDate), COUNT(lp) FROM LessonProgress lp "
+            + "WHERE lp.completed = true AND lp.completedAt > :from AND lp.completedAt <= :to "
+            + "GROUP BY lp.lesson.course.id, CAST(lp.completedAt AS LocalDate)")
+    List<Object[]> countCompletionsPerCourseDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
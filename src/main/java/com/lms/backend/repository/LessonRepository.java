@@ -1,18 +1,55 @@
 package com.lms.backend.repository;
 
+import com.lms.backend.dto.LessonDto;
+import com.lms.backend.dto.LessonOutlineDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LessonRepository extends JpaRepository<Lesson, Long> {
+public interface LessonRepository extends JpaRepository<Lesson, Long>, LessonRepositoryCustom {
     List<Lesson> findByCourseOrderByPositionAsc(Course course);
     Optional<Lesson> findByIdAndCourse(Long id, Course course);
     List<Lesson> findByCourse(Course course);
     long countByCourse(Course course);
     List<Lesson> findByCourseId(Long courseId);
-}
\ No newline at end of file
+
+    // Outline listing: reads neither the content column nor the quiz rows, only whether a quiz exists
+    @Query("SELECT new com.lms.backend.dto.LessonOutlineDto(l.id, l.title, l.position, l.durationSeconds, "
+            + "CASE WHEN EXISTS (SELECT 1 FROM Quiz q WHERE q.lesson = l) THEN true ELSE false END) "
+            + "FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.position")
+    List<LessonOutlineDto> findOutlineByCourseId(@Param("courseId") Long courseId);
+
+    // Full lesson listing (editor views): content is selected as a column, so the lazy attribute
+    // is not loaded one lesson at a time
+    @Query("SELECT new com.lms.backend.dto.LessonDto(l.id, l.title, l.content, l.mediaUrl, l.position, "
+            + "l.durationSeconds, l.course.id) FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.position")
+    List<LessonDto> findDtosByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT l.id FROM Lesson l WHERE l.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT COALESCE(MAX(l.position), 0) FROM Lesson l WHERE l.course.id = :courseId")
+    int findMaxPositionByCourseId(@Param("courseId") Long courseId);
+
+    // ETag version stamp for a course's lesson list
+    @Query("SELECT COUNT(l), MAX(l.updatedAt) FROM Lesson l WHERE l.course.id = :courseId")
+    List<Object[]> findVersionStampByCourseId(@Param("courseId") Long courseId);
+
+    // Points the lesson at its HLS manifest unless the instructor replaced the media while it was transcoding
+    @Modifying
+    @Transactional
+    @Query("UPDATE Lesson l SET l.mediaUrl = :manifestUrl, l.updatedAt = :now "
+            + "WHERE l.id = :lessonId AND l.mediaUrl = :sourceUrl")
+    int replaceMediaUrl(@Param("lessonId") Long lessonId, @Param("sourceUrl") String sourceUrl,
+            @Param("manifestUrl") String manifestUrl, @Param("now") LocalDateTime now);
+}
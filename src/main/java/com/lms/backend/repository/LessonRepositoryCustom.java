@@ -0,0 +1,10 @@
+package com.lms.backend.repository;
+
+import java.util.List;
+
+// Queries Spring Data cannot derive: the statement text depends on the number of lessons
+public interface LessonRepositoryCustom {
+
+    // Sets position = index + 1 for every id in orderedIds with a single UPDATE; returns the rows updated
+    int updatePositions(Long courseId, List<Long> orderedIds);
+}
@@ -0,0 +1,40 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.Lesson;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class LessonRepositoryCustomImpl implements LessonRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // HQL rather than native SQL so Hibernate evicts the cached lessons (Lesson is in the L2 cache)
+    @Override
+    @Transactional
+    public int updatePositions(Long courseId, List<Long> orderedIds) {
+        if (orderedIds.isEmpty()) {
+            return 0;
+        }
+        StringBuilder hql = new StringBuilder("UPDATE ").append(Lesson.class.getSimpleName())
+                .append(" l SET l.position = CASE l.id");
+        for (int i = 0; i < orderedIds.size(); i++) {
+            hql.append(" WHEN :id").append(i).append(" THEN ").append(i + 1);
+        }
+        hql.append(" ELSE l.position END, l.updatedAt = :now WHERE l.course.id = :courseId AND l.id IN :ids");
+
+        Query query = entityManager.createQuery(hql.toString());
+        for (int i = 0; i < orderedIds.size(); i++) {
+            query.setParameter("id" + i, orderedIds.get(i));
+        }
+        return query.setParameter("now", LocalDateTime.now())
+                .setParameter("courseId", courseId)
+                .setParameter("ids", orderedIds)
+                .executeUpdate();
+    }
+}
@@ -1,12 +1,22 @@
 package com.lms.backend.repository;
 
+import com.lms.backend.dto.QuizAttemptDto;
 import com.lms.backend.model.QuizAttempt;
 import com.lms.backend.model.User;
 import com.lms.backend.model.Quiz;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
@@ -15,4 +25,30 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
     List<QuizAttempt> findByStudentId(Long studentId);
 
     List<QuizAttempt> findByQuiz(Quiz quiz);
+
+    // Paged history newest first; ids grow with time and the (student_id, quiz_id) / (student_id, id)
+    // indexes already hold them in id order, so there is no sort
+    @Query(value = "SELECT new com.lms.backend.dto.QuizAttemptDto(a.id, a.quiz.id, a.score, a.passed, a.completedAt) "
+            + "FROM QuizAttempt a WHERE a.student.id = :studentId AND a.quiz.id = :quizId ORDER BY a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM QuizAttempt a WHERE a.student.id = :studentId AND a.quiz.id = :quizId")
+    Page<QuizAttemptDto> findQuizHistory(@Param("studentId") Long studentId, @Param("quizId") Long quizId,
+            Pageable pageable);
+
+    @Query(value = "SELECT new com.lms.backend.dto.QuizAttemptDto(a.id, a.quiz.id, a.score, a.passed, a.completedAt) "
+            + "FROM QuizAttempt a WHERE a.student.id = :studentId ORDER BY a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM QuizAttempt a WHERE a.student.id = :studentId")
+    Page<QuizAttemptDto> findStudentHistory(@Param("studentId") Long studentId, Pageable pageable);
+
+    // Report export rows: attempt + student + quiz lesson/course
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id, s.id, s.email, q.id, l.id, l.title, c.id, c.title, a.score, a.passed, a.completedAt "
+            + "FROM QuizAttempt a JOIN a.student s JOIN a.quiz q JOIN q.lesson l JOIN l.course c ORDER BY a.id")
+    Stream<Object[]> streamQuizAttemptReport();
+
+    // Analytics rollup: [courseId, day, attempts, passes] for attempts in (from, to]
+    @Query("SELECT a.quiz.lesson.course.id, CAST(a.completedAt AS LocalDate), COUNT(a), "
+            + "SUM(CASE WHEN a.passed = true THEN 1 ELSE 0 END) FROM QuizAttempt a "
+            + "WHERE a.completedAt > :from AND a.completedAt <= :to "
+            + "GROUP BY a.quiz.lesson.course.id, CAST(a.completedAt AS LocalDate)")
+    List<Object[]> countAttemptsPerCourseDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
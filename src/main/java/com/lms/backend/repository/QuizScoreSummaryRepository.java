@@ -0,0 +1,53 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.dto.QuizScoreDto;
+import com.lms.backend.model.QuizScoreSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuizScoreSummaryRepository extends JpaRepository<QuizScoreSummary, Long> {
+
+    String SCORE_DTO = "SELECT new com.lms.backend.dto.QuizScoreDto(st.id, st.username, q.id, l.id, l.title, "
+            + "s.bestScore, s.lastScore, s.attemptCount, s.passed, s.lastAttemptAt) "
+            + "FROM QuizScoreSummary s JOIN s.student st JOIN s.quiz q JOIN q.lesson l ";
+
+    Optional<QuizScoreSummary> findByStudentIdAndQuizId(Long studentId, Long quizId);
+
+    // Creates the pair's row or folds the attempt into it in one statement: concurrent submits can neither
+    // lose an update nor both insert the first row. The query space keeps the other L2 cache regions warm
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "quiz_score_summaries"))
+    @Query(value = "INSERT INTO quiz_score_summaries "
+            + "(student_id, quiz_id, best_score, last_score, attempt_count, passed, last_attempt_at) "
+            + "VALUES (:studentId, :quizId, :score, :score, 1, :passed, :completedAt) "
+            + "ON DUPLICATE KEY UPDATE attempt_count = attempt_count + 1, "
+            + "best_score = CASE WHEN best_score IS NULL OR :score > best_score THEN :score ELSE best_score END, "
+            + "last_score = :score, last_attempt_at = :completedAt, "
+            + "passed = CASE WHEN :passed THEN TRUE ELSE passed END", nativeQuery = true)
+    void recordAttempt(@Param("studentId") Long studentId, @Param("quizId") Long quizId,
+            @Param("score") Double score, @Param("passed") boolean passed,
+            @Param("completedAt") LocalDateTime completedAt);
+
+    @Query(SCORE_DTO + "WHERE st.id = :studentId ORDER BY s.lastAttemptAt DESC")
+    List<QuizScoreDto> findStudentScores(@Param("studentId") Long studentId);
+
+    @Query(SCORE_DTO + "WHERE st.id = :studentId AND l.course.id = :courseId ORDER BY l.position")
+    List<QuizScoreDto> findStudentScoresByCourse(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Query(value = SCORE_DTO + "WHERE q.id = :quizId ORDER BY s.bestScore DESC, st.id",
+            countQuery = "SELECT COUNT(s) FROM QuizScoreSummary s WHERE s.quiz.id = :quizId")
+    Page<QuizScoreDto> findQuizScores(@Param("quizId") Long quizId, Pageable pageable);
+}
@@ -0,0 +1,51 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.TranscodeJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TranscodeJobRepository extends JpaRepository<TranscodeJob, Long> {
+
+    Optional<TranscodeJob> findFirstByLessonIdOrderByIdDesc(Long lessonId);
+
+    @Query("SELECT j.id FROM TranscodeJob j WHERE j.status = com.lms.backend.model.TranscodeJob.Status.QUEUED "
+            + "AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt, j.id")
+    List<Long> findDispatchable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Compare-and-set, so a job is only ever claimed by one worker
+    @Modifying
+    @Transactional
+    @Query("UPDATE TranscodeJob j SET j.status = com.lms.backend.model.TranscodeJob.Status.RUNNING, "
+            + "j.attempts = j.attempts + 1, j.progress = 0, j.startedAt = :now "
+            + "WHERE j.id = :id AND j.status = com.lms.backend.model.TranscodeJob.Status.QUEUED")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TranscodeJob j SET j.progress = :progress WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("progress") int progress);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TranscodeJob j SET j.status = com.lms.backend.model.TranscodeJob.Status.CANCELLED, "
+            + "j.finishedAt = :now WHERE j.lesson.id = :lessonId "
+            + "AND j.status = com.lms.backend.model.TranscodeJob.Status.QUEUED")
+    int cancelQueued(@Param("lessonId") Long lessonId, @Param("now") LocalDateTime now);
+
+    // Jobs a previous process was running when it stopped
+    @Modifying
+    @Transactional
+    @Query("UPDATE TranscodeJob j SET j.status = com.lms.backend.model.TranscodeJob.Status.QUEUED, "
+            + "j.nextAttemptAt = :now WHERE j.status = com.lms.backend.model.TranscodeJob.Status.RUNNING")
+    int requeueRunning(@Param("now") LocalDateTime now);
+}
@@ -2,11 +2,18 @@ package com.lms.backend.repository;
 
 import com.lms.backend.model.Role;
 import com.lms.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,4 +24,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRoleName(Role.RoleName roleName);
     List<User> findByRoleName(Role.RoleName roleName);
 
+    // Admin bulk creation: one round trip to find which of the requested emails are taken
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Report export: scalar rows streamed with a JDBC fetch size, nothing is kept in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.id, u.username, u.email, r.name, u.reputationPoints, u.createdAt "
+            + "FROM User u LEFT JOIN u.role r ORDER BY u.id")
+    Stream<Object[]> streamUserReport();
+
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.lms.backend.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
+@Slf4j
 public class JwtTokenProvider {
 
     // For development, use a fixed secret to keep tokens valid after restart
@@ -68,15 +70,15 @@ public class JwtTokenProvider {
                     .parseClaimsJws(token);
             return true;
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token");
+            log.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token");
+            log.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token");
+            log.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty");
+            log.debug("JWT claims string is empty");
         } catch (Exception ex) {
-            System.err.println("JWT validation error: " + ex.getMessage());
+            log.debug("JWT validation error: {}", ex.getMessage());
         }
         return false;
     }
@@ -104,7 +106,7 @@ public class JwtTokenProvider {
 
             return "ROLE_STUDENT"; // Default fallback
         } catch (Exception ex) {
-            System.err.println("Error extracting role from token: " + ex.getMessage());
+            log.debug("Error extracting role from token: {}", ex.getMessage());
             return "ROLE_STUDENT";
         }
     }
@@ -0,0 +1,124 @@
+package com.lms.backend.security;
+
+import com.lms.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated bounded pool for BCrypt work (hashing on signup, verification on login).
+ *
+ * BCrypt is deliberately CPU heavy; run on servlet threads a login burst occupies every
+ * Tomcat thread and stalls unrelated endpoints. Here at most `threads` hashes run at once,
+ * at most `queue-capacity` wait, and anything beyond that is rejected immediately with
+ * {@link ServiceUnavailableException} (503 + Retry-After) instead of queueing without bound.
+ * A task that reaches a thread after waiting longer than `max-wait-ms` is shed the same way: on a
+ * small machine a full queue takes longer to drain than a client waits for its response.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final int threads;
+    private final long retryAfterSeconds;
+    private final long maxWaitNanos;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${security.password-hashing.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${security.password-hashing.max-wait-ms:5000}") long maxWaitMs) {
+        this.passwordEncoder = passwordEncoder;
+        // 0 = half the cores, so hashing can never take all CPU away from request handling
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.rejected = Counter.builder("lms.password.hashing.rejected")
+                .description("Password hashing tasks shed because the queue was full or they waited too long")
+                .register(meterRegistry);
+        log.info("Password hashing pool: {} threads, queue capacity {}", this.threads, queueCapacity);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // Any task that verifies a password, e.g. AuthenticationManager.authenticate
+    // Fails with ServiceUnavailableException: thrown when the queue is full, in the future when the task waited too long
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (System.nanoTime() - queuedAt > maxWaitNanos) {
+                    throw overloaded();
+                }
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+    }
+
+    /**
+     * Hashes many passwords (admin bulk creation) without overflowing the queue:
+     * submits at most one task per pool thread at a time and waits for each wave.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += threads) {
+            List<CompletableFuture<String>> wave = new ArrayList<>(threads);
+            for (String raw : rawPasswords.subList(from, Math.min(from + threads, rawPasswords.size()))) {
+                wave.add(encode(raw));
+            }
+            for (CompletableFuture<String> hash : wave) {
+                hashes.add(join(hash));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Waits for a hashing result on the calling thread. Unlike {@link CompletableFuture#join()} the task's own
+     * exception is rethrown, so a shed task still surfaces as {@link ServiceUnavailableException} (503).
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private ServiceUnavailableException overloaded() {
+        rejected.increment();
+        return new ServiceUnavailableException("Too many sign-in requests, please retry shortly", retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,8 +1,10 @@
 package com.lms.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -62,9 +64,15 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // USE CORS CONFIG
                 .authorizeHttpRequests(auth -> auth
+                        // Async (SSE streams, async login/exports) and error dispatches were already
+                        // authorized on the original request; the JWT filter does not run on them again
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/uploads/**").permitAll() // Allow access to uploaded files
+                        .requestMatchers(HttpMethod.GET, "/api/media/files/**").permitAll() // Same as /uploads/** for tiered storage
+                        .requestMatchers(HttpMethod.GET, "/api/media/hls/**").permitAll() // Players fetch segments without the token
                         .requestMatchers("/api/media/**").authenticated() // Media upload needs auth
 
                         // // SWAGGER:
@@ -73,6 +81,11 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-resources/**").permitAll()
                         .requestMatchers("/webjars/**").permitAll()
 
+                        // Monitoring: health + Prometheus scrape are open (block /actuator at the proxy),
+                        // everything else under /actuator is admin only
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
+
                         // Role-based protected endpoints
                         .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/instructor/**").hasAuthority("ROLE_INSTRUCTOR")
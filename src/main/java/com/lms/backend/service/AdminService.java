@@ -9,6 +9,7 @@ import java.util.Map;
 public interface AdminService {
     List<User> getAllUsers();
     User createUser(AdminController.CreateUserRequest request); // ✅ CHANGE: DTO use karo
+    List<User> createUsers(List<AdminController.CreateUserRequest> requests);
     void deleteUser(Long userId);
     User updateUserRole(Long userId, String role);
     Map<String, Object> getAdminStats();
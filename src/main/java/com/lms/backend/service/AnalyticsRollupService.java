@@ -0,0 +1,19 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.CourseDailyStats;
+import com.lms.backend.model.CourseStatsSummary;
+
+import java.util.List;
+
+public interface AnalyticsRollupService {
+
+    // Process rows changed since the last watermark into the course rollup tables
+    void runRollup();
+
+    // Call in the transaction that deletes a student's enrollments: their courses are recomputed on the next run
+    void invalidateStudentCourses(Long studentId);
+
+    CourseStatsSummary getCourseSummary(Long courseId);
+
+    List<CourseDailyStats> getDailyStats(Long courseId, int days);
+}
@@ -3,7 +3,11 @@ package com.lms.backend.service;
 import com.lms.backend.dto.SignupRequest;
 import com.lms.backend.model.User;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
     User registerUser(SignupRequest signupRequest);
+    // Hashes the password on PasswordHashingExecutor; completes with the saved user
+    CompletableFuture<User> registerUserAsync(SignupRequest signupRequest);
     User getCurrentUser();
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.ForumPostDto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Newest threads of each course forum (the first page everybody opens), invalidated on forum writes
+public interface CourseForumCache {
+    List<ForumPostDto> getRecentThreads(Long courseId, Function<Long, List<ForumPostDto>> loader);
+    int getRecentSize();
+    // Evicts now and again after the current transaction commits, so a concurrent reader cannot re-cache old rows
+    void invalidate(Long courseId);
+}
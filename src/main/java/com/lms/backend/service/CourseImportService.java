@@ -0,0 +1,19 @@
+package com.lms.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Bulk import of lessons (with quizzes) into an existing course from a JSON document or a ZIP holding one
+public interface CourseImportService {
+
+    /**
+     * Streams the lessons from the input and appends them after the course's existing lessons, in one
+     * transaction: either every lesson is imported or none is.
+     * @param progress called after every batch with the running totals
+     * @return final totals (lessons, quizzes, questions)
+     */
+    Map<String, Object> importLessons(Long courseId, InputStream in, Consumer<Map<String, Object>> progress)
+            throws IOException;
+}
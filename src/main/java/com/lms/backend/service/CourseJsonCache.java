@@ -0,0 +1,15 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.Course;
+import com.lms.backend.util.JsonFragments;
+
+import java.util.List;
+import java.util.Map;
+
+// Pre-serialized CourseDto JSON per course, reused across catalog responses until the course changes
+public interface CourseJsonCache {
+    byte[] getFragment(Course course, int enrollmentCount);
+    // enrollmentCounts: courseId -> count, missing means 0
+    JsonFragments getFragments(List<Course> courses, Map<Long, Integer> enrollmentCounts);
+    void invalidate(Long courseId);
+}
@@ -1,6 +1,7 @@
 package com.lms.backend.service;
 
 import com.lms.backend.model.Course;
+import com.lms.backend.util.JsonFragments;
 import java.util.List;
 
 public interface CourseService {
@@ -8,5 +9,9 @@ public interface CourseService {
     Course updateCourse(Long id, Course updatedCourse);
     void deleteCourse(Long id);
     List<Course> getAllCourses();
+    // /api/courses body: every course as cached CourseDto JSON, enrollment counts from one grouped query
+    JsonFragments getAllCoursesJson();
     Course getCourseById(Long id);
+    // Strong ETag for the course listings (/api/courses, /api/student/catalog), one aggregate query
+    String getCatalogETag();
 }
@@ -0,0 +1,9 @@
+package com.lms.backend.service;
+
+// Per-student set of enrolled course ids, kept in memory as a sorted long[] for cheap exclusion checks
+public interface EnrolledCourseIndex {
+    long[] getEnrolledCourseIds(Long studentId);
+    boolean isEnrolled(Long studentId, Long courseId);
+    // Call after the student's enrollments change
+    void invalidate(Long studentId);
+}
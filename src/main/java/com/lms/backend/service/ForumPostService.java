@@ -2,7 +2,9 @@ package com.lms.backend.service;
 
 import com.lms.backend.dto.ForumPostDto;
 import com.lms.backend.dto.ForumPostRequest;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface ForumPostService {
     ForumPostDto createPost(ForumPostRequest request);
@@ -12,4 +14,16 @@ public interface ForumPostService {
     void deletePost(Long postId);
 
     ForumPostDto lockPost(Long postId, boolean lock);
+
+    // Top-level posts without replies; sort is "latest" (default) or "hot"
+    Map<String, Object> getThreads(String sort, int page, int size);
+
+    // All replies under a post, oldest first, with parentId/depth for nesting on the client
+    Map<String, Object> getThreadReplies(Long postId, int page, int size);
+
+    // Newest threads of a course (or one of its lessons); pass the previous page's nextBefore/nextBeforeId for more
+    Map<String, Object> getCourseThreads(Long courseId, Long lessonId, LocalDateTime before, Long beforeId, int size);
+
+    // Fills path/depth/counters for posts created before they existed; returns the number of posts updated
+    int backfillThreadCounters();
 }
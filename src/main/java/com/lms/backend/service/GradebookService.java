@@ -0,0 +1,18 @@
+package com.lms.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Student x lesson/quiz matrix of a course for the instructor gradebook
+public interface GradebookService {
+
+    /**
+     * Writes the gradebook as NDJSON: a "columns" line (lessons in course order, quizzes), one "row" line
+     * per enrolled student in ascending id order, then an "end" line with the row count and, when the page
+     * was full, the cursor for the next page.
+     * @param afterStudentId keyset cursor: only students with a larger id (null for the first page)
+     * @param limit maximum number of rows (null for every remaining student)
+     * @return number of student rows written
+     */
+    long writeGradebook(Long courseId, Long afterStudentId, Integer limit, OutputStream out) throws IOException;
+}
@@ -1,6 +1,8 @@
 // InstructorService.java - UPDATE INTERFACE
 package com.lms.backend.service;
 
+import com.lms.backend.dto.CourseDailyStatsDto;
+import com.lms.backend.dto.LessonDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import java.util.List;
@@ -21,13 +23,18 @@ public interface InstructorService {
     // LESSON MANAGEMENT METHODS
     Lesson addLesson(Long courseId, Lesson lesson);
 
-    List<Lesson> getLessonsByCourse(Long courseId);
+    List<LessonDto> getLessonsByCourse(Long courseId);
 
     Lesson updateLesson(Long lessonId, Lesson updatedLesson);
 
     void deleteLesson(Long lessonId);
 
+    // Positions 1..n in the given order; the list must name every lesson of the course exactly once
+    List<LessonDto> reorderLessons(Long courseId, List<Long> orderedLessonIds);
+
     Map<String, Object> getCourseWithStats(Long courseId);
 
+    List<CourseDailyStatsDto> getCourseDailyStats(Long courseId, int days);
+
     List<Map<String, Object>> getEnrolledStudents(Long courseId);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.LearningStreak;
+import com.lms.backend.model.User;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LearningStreakService {
+
+    // Called on activity events (lesson completion, heartbeat, quiz submit, enrollment)
+    void recordActivity(User student);
+
+    LearningStreak recordActivity(Long studentId, LocalDate day);
+
+    // Streak as of today: 0 once a full day has been missed
+    int getCurrentStreak(Long studentId);
+
+    int getLongestStreak(Long studentId);
+
+    // Active days in [from, to] for calendar heatmaps, read from the bitmap
+    List<LocalDate> getActiveDays(Long studentId, LocalDate from, LocalDate to);
+}
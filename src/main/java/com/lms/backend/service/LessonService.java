@@ -1,13 +1,15 @@
 package com.lms.backend.service;
 
+import com.lms.backend.dto.LessonDto;
+import com.lms.backend.dto.LessonOutlineDto;
 import com.lms.backend.model.Lesson;
 import java.util.List;
 
     // Lesson Interface related for all business logic methods
 public interface LessonService {
 
-    // Get lessons through Course id @param courseID, @return List of lessons objects
-    List<Lesson> getLessonsByCourseId(Long courseId);
+    // Get lessons through Course id @param courseID, @return List of lesson DTOs (with content) ordered by position
+    List<LessonDto> getLessonsByCourseId(Long courseId);
 
     /**
      * To Get specific lesson through Lesson ID
@@ -28,7 +30,14 @@ public interface LessonService {
      // Lesson delete
     void deleteLesson(Long id);
 
-    // Media URL update method
+    // Outline (no content bodies) of a course's lessons, ordered by position
+    List<LessonOutlineDto> getLessonOutline(Long courseId);
+
+    // Strong ETag for the lesson list of a course, one aggregate query
+    String getLessonsETag(Long courseId);
+
+    // Media URL update method; video uploads are queued for HLS transcoding and the lesson is switched to the
+    // manifest when the job finishes
     Lesson updateLessonMediaUrl(Long lessonId, String mediaUrl);
 
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.User;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Server-Sent Events push channel; topics are chosen from the user's role, see LiveEvent
+public interface LiveEventService {
+    SseEmitter subscribe(User user);
+    int getSubscriberCount();
+}
@@ -1,9 +1,22 @@
 package com.lms.backend.service;
 
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+
+// Backend chosen by lms.storage.backend: local (LocalStorageServiceImpl) or tiered (TieredStorageServiceImpl)
 public interface MediaStorageService {
     String uploadFile(MultipartFile file, Long relatedId);
 
     void deleteFile(String fileUrl);
-}
\ No newline at end of file
+
+    // Stored file by key, the last segment of the URL returned by uploadFile
+    Resource loadFile(String key);
+
+    // URL the client can download from directly for at least ttl (a pre-signed object store URL when possible)
+    String getDownloadUrl(String fileUrl, Duration ttl);
+
+    // True when fileUrl points at this backend's storage, i.e. was returned by uploadFile
+    boolean isStoredUrl(String fileUrl);
+}
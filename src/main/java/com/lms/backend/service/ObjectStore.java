@@ -0,0 +1,17 @@
+package com.lms.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+// Remote (cold) tier behind TieredStorageServiceImpl: S3 or any S3-compatible store, or a directory stand-in
+public interface ObjectStore {
+    void put(String key, Path source) throws IOException;
+    // Throws NoSuchFileException when the key does not exist
+    void download(String key, Path target) throws IOException;
+    boolean exists(String key) throws IOException;
+    void delete(String key) throws IOException;
+    // Time-limited URL for downloading straight from the store, empty if the store cannot sign URLs
+    Optional<String> presignGet(String key, Duration ttl);
+}
@@ -1,8 +1,10 @@
 package com.lms.backend.service;
 
+import com.lms.backend.dto.QuizScoreDto;
 import com.lms.backend.model.Quiz;
 import com.lms.backend.model.User;
 
+import java.util.List;
 import java.util.Map;
 
 public interface QuizService {
@@ -11,4 +13,16 @@ public interface QuizService {
     Map<String, Object> submitQuiz(User student, Long quizId, Map<Long, Integer> answers);
 
     Quiz saveQuiz(Long lessonId, Quiz quiz);
+
+    // Best score, attempt count, last attempt and passed flag of the student for one quiz (one row lookup)
+    Map<String, Object> getQuizSummary(User student, Long quizId);
+
+    // The student's summaries, for all quizzes or one course (courseId may be null)
+    List<QuizScoreDto> getStudentScores(User student, Long courseId);
+
+    // Paged attempt history, newest first: one quiz, or every quiz when quizId is null
+    Map<String, Object> getAttemptHistory(User student, Long quizId, int page, int size);
+
+    // Every student's summary for one quiz, best score first (instructor view)
+    Map<String, Object> getQuizScores(Long quizId, int page, int size);
 }
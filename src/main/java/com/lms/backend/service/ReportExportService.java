@@ -0,0 +1,21 @@
+package com.lms.backend.service;
+
+import com.lms.backend.util.ReportWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Streaming report exports for admin / instructor dashboards.
+// Every method writes row by row straight to the given stream.
+public interface ReportExportService {
+
+    long exportUsers(OutputStream out, ReportWriter.Format format) throws IOException;
+
+    long exportEnrollments(OutputStream out, ReportWriter.Format format) throws IOException;
+
+    long exportCourseEnrollments(Long courseId, OutputStream out, ReportWriter.Format format) throws IOException;
+
+    long exportQuizAttempts(OutputStream out, ReportWriter.Format format) throws IOException;
+
+    long exportCertificates(OutputStream out, ReportWriter.Format format) throws IOException;
+}
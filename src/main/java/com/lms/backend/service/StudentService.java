@@ -1,9 +1,12 @@
 // StudentService.java - COMPLETE INTERFACE
 package com.lms.backend.service;
 
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.LessonOutlineDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.User;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -14,6 +17,9 @@ public interface StudentService {
 
     List<Course> getEnrolledCourses(User student);
 
+    // Course cards with progress for the student dashboard, constant number of queries
+    List<CourseDto> getMyCourses(User student);
+
     // Progress tracking methods
     Map<String, Object> getCourseWithProgress(User student, Long courseId);
 
@@ -23,10 +29,19 @@ public interface StudentService {
 
     Map<String, Object> getLearningStats(User student);
 
+    // Active days between from and to (inclusive) for the dashboard heatmap
+    Map<String, Object> getActivityCalendar(User student, LocalDate from, LocalDate to);
+
     Map<String, Object> getCourseProgress(User student, Long courseId);
 
+    // Lesson outline of a course with the student's completion flags
+    List<LessonOutlineDto> getLessonOutline(User student, Long courseId);
+
     // Course discovery methods
-    List<Course> getAvailableCourses(User student);
+    // categoryId may be null for all categories
+    List<Course> getAvailableCourses(User student, Long categoryId);
+    // Paged variant: content (CourseDto), page, size, totalElements, totalPages
+    Map<String, Object> getAvailableCoursesPage(User student, Long categoryId, int page, int size);
 
     List<Course> getCourseCatalog();
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.Lesson;
+import org.springframework.core.io.Resource;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Background HLS transcoding of lesson media (TranscodeServiceImpl)
+public interface TranscodeService {
+
+    // Queues a transcode of the lesson's current mediaUrl if it is a video; supersedes queued jobs of the lesson
+    Optional<Long> enqueue(Lesson lesson);
+
+    // Status, attempts, progress and manifest URL of the lesson's latest job
+    Map<String, Object> getLatestJob(Long lessonId);
+
+    // Master playlist, rendition playlist or segment of a finished job
+    Resource loadHlsFile(Long lessonId, Long jobId, String path);
+}
@@ -1,9 +1,16 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.config.VirtualThreadConfig;
+import com.lms.backend.event.LiveEvent;
 import com.lms.backend.model.SystemActivity;
 import com.lms.backend.repository.SystemActivityRepository;
 import com.lms.backend.service.ActivityService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,11 +22,20 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class ActivityServiceImpl implements ActivityService {
 
     @Autowired
     private SystemActivityRepository systemActivityRepository;
 
+    // Inline on platform threads; a fresh virtual thread per write in virtual-thread mode (VirtualThreadConfig)
+    @Autowired
+    @Qualifier(VirtualThreadConfig.ACTIVITY_EXECUTOR)
+    private TaskExecutor activityExecutor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public void logActivity(String type, String message, String icon) {
         SystemActivity activity = SystemActivity.builder()
@@ -28,7 +44,20 @@ public class ActivityServiceImpl implements ActivityService {
                 .icon(icon)
                 .createdAt(LocalDateTime.now())
                 .build();
-        systemActivityRepository.save(activity);
+        if (activityExecutor instanceof SyncTaskExecutor) {
+            // Platform threads: written inline, failures propagate to the caller as before
+            systemActivityRepository.save(activity);
+        } else {
+            activityExecutor.execute(() -> {
+                try {
+                    systemActivityRepository.save(activity);
+                } catch (RuntimeException e) {
+                    // Nobody is left to report to once the request has moved on; the feed is informational
+                    log.warn("Could not record activity '{}': {}", message, e.getMessage());
+                }
+            });
+        }
+        eventPublisher.publishEvent(new LiveEvent(LiveEvent.ADMIN, "activity", mapToResponse(activity)));
     }
 
     @Override
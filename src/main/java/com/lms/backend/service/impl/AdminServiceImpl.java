@@ -9,16 +9,22 @@ import com.lms.backend.repository.CourseRepository;
 import com.lms.backend.repository.RoleRepository;
 import com.lms.backend.repository.EnrollmentRepository;
 import com.lms.backend.repository.UserRepository;
+import com.lms.backend.security.PasswordHashingExecutor;
 import com.lms.backend.service.AdminService;
+import com.lms.backend.service.AnalyticsRollupService;
 import com.lms.backend.util.CourseMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,11 +43,14 @@ public class AdminServiceImpl implements AdminService {
     private EnrollmentRepository enrollmentRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
 
     @Autowired
     private com.lms.backend.service.ActivityService activityService;
 
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
     @Override
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -54,25 +63,14 @@ public class AdminServiceImpl implements AdminService {
             throw new RuntimeException("Email already exists: " + request.getEmail());
         }
 
-        // Determine role
-        String roleName = request.getRole() != null ? request.getRole() : "ROLE_STUDENT";
-
-        Role.RoleName roleEnum;
-        try {
-            roleEnum = Role.RoleName.valueOf(roleName.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Invalid role name: " + roleName);
-        }
-
         // Fetch role from DB
-        Role role = roleRepository.findByName(roleEnum)
-                .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
+        Role role = resolveRole(request.getRole(), new EnumMap<>(Role.RoleName.class));
 
-        // Create user
+        // Create user; BCrypt runs on the bounded hashing pool, not on the servlet thread's CPU budget
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(PasswordHashingExecutor.join(passwordHashingExecutor.encode(request.getPassword())))
                 .role(role)
                 .build();
 
@@ -81,6 +79,66 @@ public class AdminServiceImpl implements AdminService {
         return savedUser;
     }
 
+    @Override
+    public List<User> createUsers(List<AdminController.CreateUserRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        // Validate the whole batch up front: one query for existing emails, one lookup per distinct role
+        Set<String> emails = new HashSet<>();
+        for (AdminController.CreateUserRequest request : requests) {
+            if (!emails.add(request.getEmail())) {
+                throw new RuntimeException("Duplicate email in request: " + request.getEmail());
+            }
+        }
+        List<String> existing = userRepository.findExistingEmails(emails);
+        if (!existing.isEmpty()) {
+            throw new RuntimeException("Email already exists: " + String.join(", ", existing));
+        }
+        Map<Role.RoleName, Role> roles = new EnumMap<>(Role.RoleName.class);
+        List<Role> requestRoles = new ArrayList<>(requests.size());
+        for (AdminController.CreateUserRequest request : requests) {
+            requestRoles.add(resolveRole(request.getRole(), roles));
+        }
+
+        // Hash outside any transaction so no connection is held while BCrypt runs
+        List<String> hashes = passwordHashingExecutor.encodeAll(requests.stream()
+                .map(AdminController.CreateUserRequest::getPassword)
+                .collect(Collectors.toList()));
+
+        List<User> users = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AdminController.CreateUserRequest request = requests.get(i);
+            users.add(User.builder()
+                    .username(request.getUsername())
+                    .email(request.getEmail())
+                    .password(hashes.get(i))
+                    .role(requestRoles.get(i))
+                    .build());
+        }
+
+        // saveAll runs in a single transaction
+        List<User> savedUsers = userRepository.saveAll(users);
+        activityService.logActivity("USER", savedUsers.size() + " users created by admin", "👤");
+        return savedUsers;
+    }
+
+    private Role resolveRole(String requestedRole, Map<Role.RoleName, Role> roles) {
+        // Determine role
+        String roleName = requestedRole != null ? requestedRole : "ROLE_STUDENT";
+
+        Role.RoleName roleEnum;
+        try {
+            roleEnum = Role.RoleName.valueOf(roleName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid role name: " + roleName);
+        }
+
+        return roles.computeIfAbsent(roleEnum, name -> roleRepository.findByName(name)
+                .orElseThrow(() -> new RuntimeException("Role not found: " + roleName)));
+    }
+
     @Override
     public List<CourseDto> getPendingCourses() {
         // Return all courses that are not approved yet
@@ -119,10 +177,13 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found with id: " + userId);
         }
+        // The user's enrollments go with it; mark their courses in the same transaction
+        analyticsRollupService.invalidateStudentCourses(userId);
         userRepository.deleteById(userId);
         activityService.logActivity("USER", "User deleted (ID: " + userId + ")", "🗑️");
     }
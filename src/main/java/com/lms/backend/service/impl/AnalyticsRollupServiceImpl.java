@@ -0,0 +1,184 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.model.CourseDailyStats;
+import com.lms.backend.model.CourseStatsInvalidation;
+import com.lms.backend.model.CourseStatsSummary;
+import com.lms.backend.model.RollupWatermark;
+import com.lms.backend.repository.*;
+import com.lms.backend.service.AnalyticsRollupService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsRollupServiceImpl implements AnalyticsRollupService {
+
+    static final String WATERMARK_NAME = "course_stats";
+
+    // Rows committed a little after their timestamp was taken must still land in the next window
+    private static final long SETTLE_LAG_SECONDS = 30;
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final LessonProgressRepository lessonProgressRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final CertificateRepository certificateRepository;
+    private final CourseDailyStatsRepository courseDailyStatsRepository;
+    private final CourseStatsSummaryRepository courseStatsSummaryRepository;
+    private final RollupWatermarkRepository rollupWatermarkRepository;
+    private final CourseStatsInvalidationRepository courseStatsInvalidationRepository;
+
+    @Override
+    @Transactional
+    @Timed("lms.analytics.rollup")
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:300000}",
+            initialDelayString = "${analytics.rollup.initial-delay-ms:60000}")
+    public void runRollup() {
+        RollupWatermark watermark = rollupWatermarkRepository.findById(WATERMARK_NAME)
+                .orElseGet(() -> RollupWatermark.builder().name(WATERMARK_NAME).build());
+        boolean firstRun = watermark.getLastProcessedAt() == null;
+
+        LocalDateTime from = firstRun ? BEGINNING : watermark.getLastProcessedAt();
+        LocalDateTime to = LocalDateTime.now().minusSeconds(SETTLE_LAG_SECONDS);
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        Map<Long, CourseStatsSummary> summaries = new HashMap<>();
+        Map<String, CourseDailyStats> dailyRows = new HashMap<>();
+        Set<Long> coursesToRecompute = new HashSet<>();
+
+        // 1. Event counts inside the window are added onto the daily rows (windows never overlap)
+        for (Object[] row : enrollmentRepository.countNewEnrollmentsPerCourseDay(from, to)) {
+            CourseDailyStats daily = dailyRow(dailyRows, (Long) row[0], (LocalDate) row[1]);
+            daily.setNewEnrollments(daily.getNewEnrollments() + toInt(row[2]));
+            coursesToRecompute.add((Long) row[0]);
+        }
+
+        for (Object[] row : lessonProgressRepository.countCompletionsPerCourseDay(from, to)) {
+            CourseDailyStats daily = dailyRow(dailyRows, (Long) row[0], (LocalDate) row[1]);
+            daily.setLessonCompletions(daily.getLessonCompletions() + toInt(row[2]));
+            CourseStatsSummary summary = summary(summaries, (Long) row[0]);
+            summary.setLessonCompletions(summary.getLessonCompletions() + toLong(row[2]));
+        }
+
+        for (Object[] row : certificateRepository.countIssuedPerCourseDay(from, to)) {
+            CourseDailyStats daily = dailyRow(dailyRows, (Long) row[0], (LocalDate) row[1]);
+            daily.setCourseCompletions(daily.getCourseCompletions() + toInt(row[2]));
+        }
+
+        for (Object[] row : quizAttemptRepository.countAttemptsPerCourseDay(from, to)) {
+            CourseDailyStats daily = dailyRow(dailyRows, (Long) row[0], (LocalDate) row[1]);
+            daily.setQuizAttempts(daily.getQuizAttempts() + toInt(row[2]));
+            daily.setQuizPasses(daily.getQuizPasses() + toInt(row[3]));
+            CourseStatsSummary summary = summary(summaries, (Long) row[0]);
+            summary.setQuizAttempts(summary.getQuizAttempts() + toLong(row[2]));
+            summary.setQuizPasses(summary.getQuizPasses() + toLong(row[3]));
+        }
+
+        // 2. Progress and time spent are running state on the enrollment rows, so only the courses
+        // whose enrollments changed in the window get their totals recomputed. Deleted enrollments leave
+        // no row behind; their courses were marked by invalidateStudentCourses instead
+        coursesToRecompute.addAll(firstRun
+                ? enrollmentRepository.findAllEnrolledCourseIds()
+                : enrollmentRepository.findCourseIdsChangedBetween(from, to));
+        List<CourseStatsInvalidation> invalidations = courseStatsInvalidationRepository.findAll();
+        invalidations.forEach(invalidation -> coursesToRecompute.add(invalidation.getCourseId()));
+
+        if (!coursesToRecompute.isEmpty()) {
+            LocalDate today = to.toLocalDate();
+            Set<Long> withoutEnrollments = new HashSet<>(coursesToRecompute);
+            for (Object[] row : enrollmentRepository.aggregateByCourseIds(coursesToRecompute)) {
+                Long courseId = (Long) row[0];
+                withoutEnrollments.remove(courseId);
+                recordTotals(summaries, dailyRows, courseId, today, toLong(row[1]), toLong(row[2]),
+                        row[3] != null ? ((Number) row[3]).doubleValue() : 0.0, toLong(row[4]));
+            }
+            // The last enrollment is gone: the aggregate has no row for the course
+            for (Long courseId : withoutEnrollments) {
+                recordTotals(summaries, dailyRows, courseId, today, 0L, 0L, 0.0, 0L);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        summaries.values().forEach(s -> s.setUpdatedAt(now));
+        dailyRows.values().forEach(d -> d.setUpdatedAt(now));
+        courseStatsSummaryRepository.saveAll(summaries.values());
+        courseDailyStatsRepository.saveAll(dailyRows.values());
+        invalidations.forEach(invalidation -> courseStatsInvalidationRepository.deleteProcessed(
+                invalidation.getCourseId(), invalidation.getMarkedAt()));
+        // Stats of deleted courses, including rows just written for a course deleted with its students
+        courseStatsSummaryRepository.deleteForRemovedCourses();
+        courseDailyStatsRepository.deleteForRemovedCourses();
+
+        watermark.setLastProcessedAt(to);
+        rollupWatermarkRepository.save(watermark);
+
+        log.info("Analytics rollup processed window ({}, {}]: {} course summaries, {} daily rows",
+                from, to, summaries.size(), dailyRows.size());
+    }
+
+    @Override
+    @Transactional
+    public void invalidateStudentCourses(Long studentId) {
+        courseStatsInvalidationRepository.markStudentCourses(studentId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseStatsSummary getCourseSummary(Long courseId) {
+        return courseStatsSummaryRepository.findById(courseId)
+                .orElseGet(() -> CourseStatsSummary.builder().courseId(courseId).build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseDailyStats> getDailyStats(Long courseId, int days) {
+        LocalDate from = LocalDate.now().minusDays(Math.max(days, 1) - 1L);
+        return courseDailyStatsRepository.findByCourseIdAndStatDateGreaterThanEqualOrderByStatDateAsc(courseId,
+                from);
+    }
+
+    private void recordTotals(Map<Long, CourseStatsSummary> summaries, Map<String, CourseDailyStats> dailyRows,
+            Long courseId, LocalDate today, long enrollments, long completed, double averageProgress,
+            long timeSpentSeconds) {
+        CourseStatsSummary summary = summary(summaries, courseId);
+        summary.setEnrollmentCount(enrollments);
+        summary.setCompletedEnrollments(completed);
+        summary.setAverageProgress(averageProgress);
+        summary.setTotalTimeSpentSeconds(timeSpentSeconds);
+
+        CourseDailyStats daily = dailyRow(dailyRows, courseId, today);
+        daily.setAverageProgress(averageProgress);
+        daily.setTotalTimeSpentSeconds(timeSpentSeconds);
+    }
+
+    private CourseDailyStats dailyRow(Map<String, CourseDailyStats> rows, Long courseId, LocalDate date) {
+        return rows.computeIfAbsent(courseId + ":" + date,
+                key -> courseDailyStatsRepository.findByCourseIdAndStatDate(courseId, date)
+                        .orElseGet(() -> CourseDailyStats.builder().courseId(courseId).statDate(date).build()));
+    }
+
+    private CourseStatsSummary summary(Map<Long, CourseStatsSummary> summaries, Long courseId) {
+        return summaries.computeIfAbsent(courseId,
+                id -> courseStatsSummaryRepository.findById(id)
+                        .orElseGet(() -> CourseStatsSummary.builder().courseId(id).build()));
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
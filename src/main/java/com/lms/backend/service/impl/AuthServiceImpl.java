@@ -1,20 +1,28 @@
 package com.lms.backend.service.impl;
 
 import com.lms.backend.dto.SignupRequest;
+import com.lms.backend.exception.ServiceUnavailableException;
 import com.lms.backend.model.Role;
 import com.lms.backend.model.User;
 import com.lms.backend.repository.RoleRepository;
 import com.lms.backend.repository.UserRepository;
+import com.lms.backend.security.PasswordHashingExecutor;
 import com.lms.backend.service.AuthService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
+@Slf4j
 public class AuthServiceImpl implements AuthService {
 
     @Autowired
@@ -24,39 +32,38 @@ public class AuthServiceImpl implements AuthService {
     private RoleRepository roleRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
 
+    // Spring MVC's async executor, as in AuthController.loginUser
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor requestExecutor;
+
+    // Called on almost every request: keep it to one query and no logging at INFO
     @Override
     public User getCurrentUser() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            System.out.println("AUTH DEBUG - Authentication: " + authentication);
-            System.out.println("AUTH DEBUG - Name: " + (authentication != null ? authentication.getName() : "NULL"));
-            System.out.println("AUTH DEBUG - Authenticated: " + (authentication != null ? authentication.isAuthenticated() : "NULL"));
-
             if (authentication == null || !authentication.isAuthenticated()) {
-                System.out.println("USER NOT AUTHENTICATED");
+                log.debug("getCurrentUser: no authenticated principal");
                 throw new RuntimeException("User not authenticated");
             }
 
             String email = authentication.getName();
-            System.out.println("Looking for user with email: " + email);
-
             Optional<User> userOptional = userRepository.findByEmail(email);
 
             if (userOptional.isPresent()) {
                 User user = userOptional.get();
-                System.out.println("FOUND USER - ID: " + user.getId() + ", Email: " + user.getEmail());
+                log.debug("getCurrentUser: resolved userId={}", user.getId());
                 return user;
             } else {
-                System.out.println("USER NOT FOUND IN DATABASE: " + email);
+                log.warn("getCurrentUser: authenticated user {} not found in database", email);
                 throw new RuntimeException("User not found with email: " + email);
             }
 
         } catch (Exception e) {
-            System.out.println("ERROR in getCurrentUser: " + e.getMessage());
-            e.printStackTrace();
+            log.debug("getCurrentUser failed", e);
             throw new RuntimeException("Authentication failed: " + e.getMessage());
         }
     }
@@ -64,34 +71,44 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public User registerUser(SignupRequest signupRequest) {
         try {
-            // Check if email already exists
-            if (userRepository.existsByEmail(signupRequest.getEmail())) {
-                throw new RuntimeException("Email already exists: " + signupRequest.getEmail());
-            }
+            return PasswordHashingExecutor.join(registerUserAsync(signupRequest));
+        } catch (ServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.info("Registration failed: {}", e.getMessage());
+            throw new RuntimeException("Registration failed: " + e.getMessage());
+        }
+    }
 
-            // Get or create STUDENT role
-            Role role = roleRepository.findByName(Role.RoleName.ROLE_STUDENT)
-                    .orElseGet(() -> {
-                        Role newRole = Role.builder().name(Role.RoleName.ROLE_STUDENT).build();
-                        return roleRepository.save(newRole);
-                    });
+    @Override
+    @Timed(value = "lms.auth.register", histogram = true)
+    public CompletableFuture<User> registerUserAsync(SignupRequest signupRequest) {
+        // Check if email already exists
+        if (userRepository.existsByEmail(signupRequest.getEmail())) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Email already exists: " + signupRequest.getEmail()));
+        }
 
-            // Create new user
+        // Get or create STUDENT role
+        Role role = roleRepository.findByName(Role.RoleName.ROLE_STUDENT)
+                .orElseGet(() -> {
+                    Role newRole = Role.builder().name(Role.RoleName.ROLE_STUDENT).build();
+                    return roleRepository.save(newRole);
+                });
+
+        // BCrypt runs on the hashing pool; the save hops back to the request executor so the DB round trip
+        // does not hold a hashing thread
+        return passwordHashingExecutor.encode(signupRequest.getPassword()).thenApplyAsync(encodedPassword -> {
             User user = User.builder()
                     .username(signupRequest.getUsername())
                     .email(signupRequest.getEmail())
-                    .password(passwordEncoder.encode(signupRequest.getPassword()))
+                    .password(encodedPassword)
                     .role(role)
                     .build();
 
             User savedUser = userRepository.save(user);
-            System.out.println("USER REGISTERED - ID: " + savedUser.getId() + ", Email: " + savedUser.getEmail());
-
+            log.info("User registered: userId={}", savedUser.getId());
             return savedUser;
-
-        } catch (Exception e) {
-            System.out.println("REGISTRATION FAILED: " + e.getMessage());
-            throw new RuntimeException("Registration failed: " + e.getMessage());
-        }
+        }, requestExecutor);
     }
-}
\ No newline at end of file
+}
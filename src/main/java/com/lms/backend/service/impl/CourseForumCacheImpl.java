@@ -0,0 +1,63 @@
+package com.lms.backend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.backend.dto.ForumPostDto;
+import com.lms.backend.service.CourseForumCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Caffeine cache of courseId -> newest recent-size top-level posts as DTOs. Bounded by course count with
+ * a short TTL as a safety net; ForumPostServiceImpl invalidates the course on every post, delete or lock.
+ */
+@Service
+public class CourseForumCacheImpl implements CourseForumCache {
+
+    private final Cache<Long, List<ForumPostDto>> cache;
+    private final int recentSize;
+
+    public CourseForumCacheImpl(MeterRegistry meterRegistry,
+            @Value("${lms.forum.recent-cache.max-courses:10000}") long maxCourses,
+            @Value("${lms.forum.recent-cache.expire-after-write:5m}") Duration expireAfterWrite,
+            @Value("${lms.forum.recent-cache.size:20}") int recentSize) {
+        this.recentSize = recentSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCourses)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courseForumRecent");
+    }
+
+    @Override
+    public List<ForumPostDto> getRecentThreads(Long courseId, Function<Long, List<ForumPostDto>> loader) {
+        return cache.get(courseId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    @Override
+    public int getRecentSize() {
+        return recentSize;
+    }
+
+    @Override
+    public void invalidate(Long courseId) {
+        cache.invalidate(courseId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(courseId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.lms.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.dto.LessonImportDto;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.service.CourseImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Lessons are read one at a time from the JSON (a top-level array or an object with a "lessons" array),
+ * so memory stays at one batch however large the import is. Each batch is written with JDBC batch
+ * inserts (lessons, then quizzes, questions and options, using the generated keys of the level above):
+ * four round trips per batch instead of one per row, where Hibernate cannot batch IDENTITY inserts.
+ * The inserted rows are new, so no L2 cache entry can go stale.
+ */
+@Service
+@Slf4j
+public class CourseImportServiceImpl implements CourseImportService {
+
+    private static final String INSERT_LESSON = "INSERT INTO lessons "
+            + "(title, content, media_url, position, duration_seconds, updated_at, course_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_QUIZ = "INSERT INTO quizzes (lesson_id, passing_score) VALUES (?, ?)";
+    private static final String INSERT_QUESTION =
+            "INSERT INTO questions (quiz_id, text, correct_option_index) VALUES (?, ?, ?)";
+    private static final String INSERT_OPTION = "INSERT INTO question_options (question_id, option_text) VALUES (?, ?)";
+
+    private static final int OPTION_MAX_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final int batchSize;
+    private final int maxLessons;
+
+    public CourseImportServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            CourseRepository courseRepository, LessonRepository lessonRepository,
+            @Value("${lms.import.batch-size:100}") int batchSize,
+            @Value("${lms.import.max-lessons:5000}") int maxLessons) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxLessons = maxLessons;
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> importLessons(Long courseId, InputStream in, Consumer<Map<String, Object>> progress)
+            throws IOException {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        Totals totals = new Totals(lessonRepository.findMaxPositionByCourseId(courseId));
+        LocalDateTime now = LocalDateTime.now();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(unwrap(in))) {
+            moveToLessonsArray(parser);
+            List<LessonImportDto> batch = new ArrayList<>(batchSize);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                LessonImportDto lesson = objectMapper.readValue(parser, LessonImportDto.class);
+                validate(lesson, totals.lessons + batch.size() + 1);
+                batch.add(lesson);
+                if (batch.size() >= batchSize) {
+                    writeBatch(courseId, batch, now, totals);
+                    progress.accept(totals.toMap(false));
+                    batch.clear();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new RuntimeException("Lessons must be JSON objects");
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(courseId, batch, now, totals);
+            }
+        }
+        log.info("Imported {} lessons, {} quizzes, {} questions into course {}", totals.lessons, totals.quizzes,
+                totals.questions, courseId);
+        return totals.toMap(true);
+    }
+
+    // A ZIP (recognised by its signature) is read up to its first .json entry
+    private InputStream unwrap(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(4);
+        byte[] magic = buffered.readNBytes(4);
+        buffered.reset();
+        if (magic.length < 4 || magic[0] != 'P' || magic[1] != 'K' || magic[2] != 3 || magic[3] != 4) {
+            return buffered;
+        }
+        ZipInputStream zip = new ZipInputStream(buffered);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String name = entry.getName().toLowerCase();
+            // Skip the metadata copies macOS adds under __MACOSX/
+            if (!entry.isDirectory() && name.endsWith(".json") && !name.startsWith("__macosx/")) {
+                return zip;
+            }
+        }
+        throw new RuntimeException("ZIP import contains no .json file");
+    }
+
+    private void moveToLessonsArray(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new RuntimeException("Import must be a JSON array of lessons or an object with a \"lessons\" array");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("lessons".equals(field) && value == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new RuntimeException("Import has no \"lessons\" array");
+    }
+
+    private void validate(LessonImportDto lesson, long number) {
+        if (number > maxLessons) {
+            throw new RuntimeException("Import exceeds the limit of " + maxLessons + " lessons");
+        }
+        if (lesson.getTitle() == null || lesson.getTitle().isBlank()) {
+            throw new RuntimeException("Lesson " + number + ": title is required");
+        }
+        if (lesson.getQuiz() == null || lesson.getQuiz().getQuestions() == null) {
+            return;
+        }
+        for (LessonImportDto.QuestionImport question : lesson.getQuiz().getQuestions()) {
+            List<String> options = question.getOptions();
+            if (question.getText() == null || question.getText().isBlank() || options == null || options.isEmpty()) {
+                throw new RuntimeException("Lesson " + number + ": every question needs text and options");
+            }
+            Integer correct = question.getCorrectOptionIndex();
+            if (correct == null || correct < 0 || correct >= options.size()) {
+                throw new RuntimeException("Lesson " + number + ": correctOptionIndex out of range");
+            }
+            if (options.stream().anyMatch(o -> o == null || o.length() > OPTION_MAX_LENGTH)) {
+                throw new RuntimeException("Lesson " + number + ": options must be at most "
+                        + OPTION_MAX_LENGTH + " characters");
+            }
+        }
+    }
+
+    private void writeBatch(Long courseId, List<LessonImportDto> lessons, LocalDateTime now, Totals totals) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        int firstPosition = totals.lastPosition + 1;
+        List<Long> lessonIds = insertWithKeys(INSERT_LESSON, lessons.size(), (ps, i) -> {
+            LessonImportDto lesson = lessons.get(i);
+            ps.setString(1, lesson.getTitle());
+            ps.setString(2, lesson.getContent());
+            ps.setString(3, lesson.getMediaUrl());
+            ps.setInt(4, firstPosition + i);
+            setNullableInt(ps, 5, lesson.getDurationSeconds());
+            ps.setTimestamp(6, updatedAt);
+            ps.setLong(7, courseId);
+        });
+        totals.lessons += lessons.size();
+        totals.lastPosition += lessons.size();
+
+        List<Long> quizLessonIds = new ArrayList<>();
+        List<LessonImportDto.QuizImport> quizzes = new ArrayList<>();
+        for (int i = 0; i < lessons.size(); i++) {
+            if (lessons.get(i).getQuiz() != null) {
+                quizLessonIds.add(lessonIds.get(i));
+                quizzes.add(lessons.get(i).getQuiz());
+            }
+        }
+        if (quizzes.isEmpty()) {
+            return;
+        }
+        List<Long> quizIds = insertWithKeys(INSERT_QUIZ, quizzes.size(), (ps, i) -> {
+            ps.setLong(1, quizLessonIds.get(i));
+            Integer passingScore = quizzes.get(i).getPassingScore();
+            ps.setInt(2, passingScore != null ? passingScore : 70);
+        });
+        totals.quizzes += quizzes.size();
+
+        List<Long> questionQuizIds = new ArrayList<>();
+        List<LessonImportDto.QuestionImport> questions = new ArrayList<>();
+        for (int i = 0; i < quizzes.size(); i++) {
+            if (quizzes.get(i).getQuestions() != null) {
+                for (LessonImportDto.QuestionImport question : quizzes.get(i).getQuestions()) {
+                    questionQuizIds.add(quizIds.get(i));
+                    questions.add(question);
+                }
+            }
+        }
+        if (questions.isEmpty()) {
+            return;
+        }
+        List<Long> questionIds = insertWithKeys(INSERT_QUESTION, questions.size(), (ps, i) -> {
+            ps.setLong(1, questionQuizIds.get(i));
+            ps.setString(2, questions.get(i).getText());
+            ps.setInt(3, questions.get(i).getCorrectOptionIndex());
+        });
+        totals.questions += questions.size();
+
+        List<Object[]> options = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            for (String option : questions.get(i).getOptions()) {
+                options.add(new Object[] { questionIds.get(i), option });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_OPTION, options);
+    }
+
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    // One JDBC batch; returns the generated ids in row order
+    private List<Long> insertWithKeys(String sql, int rows, RowSetter setter) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.set(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows;
+                    }
+                }, keys);
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != rows) {
+            throw new IllegalStateException("Expected " + rows + " generated keys, got " + keyList.size());
+        }
+        List<Long> ids = new ArrayList<>(rows);
+        for (Map<String, Object> key : keyList) {
+            // Column label differs by driver (id, GENERATED_KEY), there is exactly one
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static class Totals {
+        long lessons;
+        long quizzes;
+        long questions;
+        int lastPosition;
+
+        Totals(int lastPosition) {
+            this.lastPosition = lastPosition;
+        }
+
+        Map<String, Object> toMap(boolean done) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", done ? "completed" : "running");
+            map.put("lessons", lessons);
+            map.put("quizzes", quizzes);
+            map.put("questions", questions);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.lms.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.backend.model.Course;
+import com.lms.backend.service.CourseJsonCache;
+import com.lms.backend.util.CourseMapper;
+import com.lms.backend.util.JsonFragments;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caffeine cache of courseId -> (version, JSON bytes of CourseMapper.toDto). The version is everything the
+ * card shows that can change without the course row changing (enrollment count, instructor and category
+ * names) plus updatedAt, so a stale fragment is never served: a version mismatch re-serializes and replaces it.
+ * Course writes also invalidate explicitly to free the entry early. The catalog ETag
+ * (CourseRepository.findCatalogVersionStamp) covers the same instructor and category edits, so a rename is
+ * fetched by clients rather than answered with 304, and then re-serialized here.
+ */
+@Service
+public class CourseJsonCacheImpl implements CourseJsonCache {
+
+    private record Version(LocalDateTime updatedAt, boolean approved, int enrollmentCount, String instructorName,
+            String categoryName) {
+    }
+
+    private record Fragment(Version version, byte[] json) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Fragment> cache;
+
+    public CourseJsonCacheImpl(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${lms.course-json-cache.max-courses:20000}") long maxCourses,
+            @Value("${lms.course-json-cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCourses)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courseJson");
+    }
+
+    @Override
+    public byte[] getFragment(Course course, int enrollmentCount) {
+        Version version = versionOf(course, enrollmentCount);
+        Fragment fragment = cache.getIfPresent(course.getId());
+        if (fragment == null || !fragment.version().equals(version)) {
+            fragment = new Fragment(version, serialize(course, enrollmentCount));
+            cache.put(course.getId(), fragment);
+        }
+        return fragment.json();
+    }
+
+    @Override
+    public JsonFragments getFragments(List<Course> courses, Map<Long, Integer> enrollmentCounts) {
+        List<byte[]> fragments = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            fragments.add(getFragment(course, enrollmentCounts.getOrDefault(course.getId(), 0)));
+        }
+        return new JsonFragments(fragments);
+    }
+
+    @Override
+    public void invalidate(Long courseId) {
+        cache.invalidate(courseId);
+    }
+
+    private static Version versionOf(Course course, int enrollmentCount) {
+        return new Version(course.getUpdatedAt(), course.isApproved(), enrollmentCount,
+                course.getInstructor() != null ? course.getInstructor().getUsername() : null,
+                course.getCategory() != null ? course.getCategory().getName() : null);
+    }
+
+    private byte[] serialize(Course course, int enrollmentCount) {
+        try {
+            return objectMapper.writeValueAsBytes(CourseMapper.toDto(course, enrollmentCount));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize course " + course.getId(), e);
+        }
+    }
+}
@@ -2,15 +2,23 @@ package com.lms.backend.service.impl;
 
 import com.lms.backend.model.*;
 import com.lms.backend.repository.*;
+import com.lms.backend.service.CourseJsonCache;
 import com.lms.backend.service.CourseService;
+import com.lms.backend.util.ETags;
+import com.lms.backend.util.JsonFragments;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class CourseServiceImpl implements CourseService {
 
     @Autowired
@@ -37,6 +45,9 @@ public class CourseServiceImpl implements CourseService {
     @Autowired
     private com.lms.backend.service.ActivityService activityService;
 
+    @Autowired
+    private CourseJsonCache courseJsonCache;
+
     @Override
     public Course createCourse(Course course) {
         Course saved = courseRepository.save(course);
@@ -58,6 +69,7 @@ public class CourseServiceImpl implements CourseService {
         course.setApproved(updatedCourse.isApproved());
 
         Course savedCourse = courseRepository.save(course);
+        courseJsonCache.invalidate(id);
 
         if (approvalChanged) {
             String message = savedCourse.isApproved() ? "Course approved: " + savedCourse.getTitle()
@@ -68,7 +80,7 @@ public class CourseServiceImpl implements CourseService {
             activityService.logActivity("COURSE", "Course updated: " + savedCourse.getTitle(), "📝");
         }
 
-        System.out.println("Updated course - ID: " + savedCourse.getId() + ", Approved: " + savedCourse.isApproved());
+        log.debug("Updated course id={}, approved={}", savedCourse.getId(), savedCourse.isApproved());
         return savedCourse;
     }
 
@@ -104,13 +116,34 @@ public class CourseServiceImpl implements CourseService {
 
         // 3. Delete Course (Cascades to Lessons & Enrollments in JPA entity)
         courseRepository.delete(course);
+        courseJsonCache.invalidate(id);
     }
 
     @Override
+    @Timed(value = "lms.course.catalog", histogram = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    @Override
+    @Timed(value = "lms.course.catalog.json", histogram = true)
+    public JsonFragments getAllCoursesJson() {
+        List<Course> courses = courseRepository.findAllWithCardDetails();
+        Map<Long, Integer> enrollmentCounts = new HashMap<>();
+        if (!courses.isEmpty()) {
+            List<Long> courseIds = courses.stream().map(Course::getId).collect(Collectors.toList());
+            for (Object[] row : enrollmentRepository.countByCourseIds(courseIds)) {
+                enrollmentCounts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        return courseJsonCache.getFragments(courses, enrollmentCounts);
+    }
+
+    @Override
+    public String getCatalogETag() {
+        return ETags.of("catalog", courseRepository.findCatalogVersionStamp().get(0));
+    }
+
     @Override
     public Course getCourseById(Long id) {
         return courseRepository.findById(id)
@@ -0,0 +1,63 @@
+package com.lms.backend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.service.EnrolledCourseIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caffeine cache of studentId -> sorted long[] of course ids (8 bytes per enrollment, no boxing),
+ * bounded by student count and expired after inactivity. Lookups are a binary search.
+ * Loaded from one id-only query; the enrollment write path invalidates the student's entry.
+ */
+@Service
+public class EnrolledCourseIndexImpl implements EnrolledCourseIndex {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final Cache<Long, long[]> cache;
+
+    public EnrolledCourseIndexImpl(EnrollmentRepository enrollmentRepository, MeterRegistry meterRegistry,
+            @Value("${lms.enrolled-index.max-students:50000}") long maxStudents,
+            @Value("${lms.enrolled-index.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxStudents)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "enrolledCourseIds");
+    }
+
+    @Override
+    public long[] getEnrolledCourseIds(Long studentId) {
+        return cache.get(studentId, this::load);
+    }
+
+    @Override
+    public boolean isEnrolled(Long studentId, Long courseId) {
+        return Arrays.binarySearch(getEnrolledCourseIds(studentId), courseId) >= 0;
+    }
+
+    @Override
+    public void invalidate(Long studentId) {
+        cache.invalidate(studentId);
+    }
+
+    private long[] load(Long studentId) {
+        // Already sorted by the query
+        List<Long> courseIds = enrollmentRepository.findCourseIdsByStudentId(studentId);
+        long[] ids = new long[courseIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = courseIds.get(i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.service.ObjectStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Object store stand-in backed by a directory (a shared mount, or a local folder in development and tests).
+ * Same contract as S3ObjectStore except that it cannot sign URLs, so downloads go through the application.
+ */
+public class FileSystemObjectStore implements ObjectStore {
+
+    private final Path root;
+
+    public FileSystemObjectStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the object store directory " + this.root, ex);
+        }
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        Path tmp = Files.createTempFile(root, "put-", ".tmp");
+        try {
+            Files.copy(source, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public void download(String key, Path target) throws IOException {
+        // NoSuchFileException when missing, as the interface requires
+        Files.copy(resolve(key), target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Optional<String> presignGet(String key, Duration ttl) {
+        return Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        return root.resolve(key);
+    }
+}
@@ -2,16 +2,27 @@ package com.lms.backend.service.impl;
 
 import com.lms.backend.dto.ForumPostDto;
 import com.lms.backend.dto.ForumPostRequest;
+import com.lms.backend.event.LiveEvent;
+import com.lms.backend.model.Course;
 import com.lms.backend.model.ForumPost;
+import com.lms.backend.model.Lesson;
 import com.lms.backend.model.User;
+import com.lms.backend.repository.CourseRepository;
 import com.lms.backend.repository.ForumPostRepository;
+import com.lms.backend.repository.LessonRepository;
 import com.lms.backend.repository.UserRepository;
+import com.lms.backend.service.CourseForumCache;
 import com.lms.backend.service.ForumPostService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.time.LocalDateTime;
 
@@ -21,12 +32,18 @@ import java.time.LocalDateTime;
 @Slf4j
 public class ForumPostServiceImpl implements ForumPostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ForumPostRepository forumPostRepository;
     private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final CourseForumCache courseForumCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ForumPostDto createPost(ForumPostRequest request) {
-        log.info("START createPost: content={}, userId={}, parentId={}",
+        log.debug("START createPost: content={}, userId={}, parentId={}",
                 request.getContent(), request.getUserId(), request.getParentPostId());
 
         try {
@@ -41,6 +58,9 @@ public class ForumPostServiceImpl implements ForumPostService {
             if (request.getParentPostId() != null) {
                 parentPost = forumPostRepository.findById(request.getParentPostId())
                         .orElseThrow(() -> new RuntimeException("Parent not found: " + request.getParentPostId()));
+                if (parentPost.getDepth() >= ForumPost.MAX_DEPTH) {
+                    throw new RuntimeException("Replies cannot be nested deeper than " + ForumPost.MAX_DEPTH + " levels");
+                }
             }
 
             ForumPost post = new ForumPost();
@@ -49,12 +69,30 @@ public class ForumPostServiceImpl implements ForumPostService {
             post.setParentPost(parentPost);
             post.setLocked(false);
             post.setCreatedAt(LocalDateTime.now());
+            post.setDepth(parentPost != null ? parentPost.getDepth() + 1 : 0);
+            if (parentPost != null) {
+                post.setCourse(parentPost.getCourse());
+                post.setLesson(parentPost.getLesson());
+            } else {
+                resolveScope(post, request.getCourseId(), request.getLessonId());
+            }
 
-            log.info("Saving ForumPost...");
+            log.debug("Saving ForumPost...");
             ForumPost saved = forumPostRepository.save(post);
+            // The path ends with the post's own id, so it can only be set once the id is assigned
+            String parentPath = parentPost != null ? parentPost.getPath() : "";
+            saved.setPath(parentPath + ForumPost.pathSegment(saved.getId()));
             log.info("Saved ForumPost with ID: {}", saved.getId());
 
-            return mapToDtoManualSimple(saved);
+            List<Long> ancestorIds = saved.getAncestorIds();
+            if (!ancestorIds.isEmpty()) {
+                forumPostRepository.incrementReplyCounters(ancestorIds, saved.getCreatedAt());
+            }
+            evictCourseForum(saved);
+
+            ForumPostDto dto = mapToDtoManualSimple(saved);
+            eventPublisher.publishEvent(new LiveEvent(LiveEvent.FORUM, "post-created", Map.of("post", dto)));
+            return dto;
         } catch (Exception e) {
             log.error("Error in createPost", e);
             throw new RuntimeException(e.getMessage());
@@ -62,17 +100,60 @@ public class ForumPostServiceImpl implements ForumPostService {
     }
 
     @Override
+    @Timed(value = "lms.forum.threads", histogram = true)
     public List<ForumPostDto> getAllTopLevelPosts() {
-        log.info("Fetching all top-level posts");
-        return forumPostRepository.findByParentPostIsNullOrderByCreatedAtDesc()
-                .stream()
-                .map(this::mapToDtoManual)
-                .collect(Collectors.toList());
+        log.debug("Fetching all top-level posts");
+        // Course threads are listed per course; the tree is assembled from one path-ordered read instead of
+        // walking each post's replies collection
+        Map<Long, ForumPostDto> dtos = new LinkedHashMap<>();
+        for (ForumPost post : forumPostRepository.findGeneralForumInPathOrder()) {
+            dtos.put(post.getId(), mapToDtoManualSimple(post));
+        }
+        List<ForumPostDto> roots = new ArrayList<>();
+        for (ForumPostDto dto : dtos.values()) {
+            ForumPostDto parent = dto.getParentId() != null ? dtos.get(dto.getParentId()) : null;
+            if (parent != null) {
+                parent.getReplies().add(dto);
+            } else {
+                roots.add(dto);
+            }
+        }
+        roots.sort(Comparator.comparing(ForumPostDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(ForumPostDto::getId, Comparator.reverseOrder()));
+        return roots;
     }
 
     @Override
     public void deletePost(Long postId) {
-        forumPostRepository.deleteById(postId);
+        ForumPost post = forumPostRepository.findById(postId).orElse(null);
+        if (post == null) {
+            return;
+        }
+        List<Long> ancestorIds = post.getAncestorIds();
+        int removed = post.getReplyCount() + 1;
+        String parentPath = post.getPath() != null
+                ? post.getPath().substring(0, post.getPath().length() - ForumPost.pathSegment(post.getId()).length())
+                : null;
+
+        evictCourseForum(post);
+        // Unlink from the parent first: its replies would otherwise cascade the post back in on flush,
+        // leaving the row while the counters below still subtract it
+        if (post.getParentPost() != null) {
+            post.getParentPost().getReplies().remove(post);
+        }
+        forumPostRepository.delete(post);
+        forumPostRepository.flush();
+
+        if (!ancestorIds.isEmpty()) {
+            forumPostRepository.decrementReplyCounts(ancestorIds, removed);
+            // The removed subtree may have held the latest reply; walk up from the parent
+            String path = parentPath;
+            for (int i = ancestorIds.size() - 1; i >= 0 && path != null; i--) {
+                Long ancestorId = ancestorIds.get(i);
+                forumPostRepository.updateLastReplyAt(ancestorId, forumPostRepository.findLastReplyAt(path, ancestorId));
+                path = path.substring(0, path.length() - ForumPost.pathSegment(ancestorId).length());
+            }
+        }
     }
 
     @Override
@@ -80,22 +161,154 @@ public class ForumPostServiceImpl implements ForumPostService {
         ForumPost post = forumPostRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
         post.setLocked(lock);
+        evictCourseForum(post);
         return mapToDtoManualSimple(forumPostRepository.save(post));
     }
 
-    private ForumPostDto mapToDtoManual(ForumPost post) {
-        if (post == null)
-            return null;
+    @Override
+    @Timed(value = "lms.forum.threads.page", histogram = true)
+    public Map<String, Object> getThreads(String sort, int page, int size) {
+        Sort order = "hot".equalsIgnoreCase(sort)
+                ? Sort.by(Sort.Order.desc("replyCount"), Sort.Order.desc("lastReplyAt"), Sort.Order.desc("id"))
+                : Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        Page<ForumPost> threads = forumPostRepository.findByDepth(0, pageRequest(page, size, order));
+        return pageResponse(threads);
+    }
 
-        ForumPostDto dto = mapToDtoManualSimple(post);
+    @Override
+    @Timed(value = "lms.forum.replies.page", histogram = true)
+    public Map<String, Object> getThreadReplies(Long postId, int page, int size) {
+        ForumPost post = forumPostRepository.findById(postId)
+                .orElseThrow(() -> new RuntimeException("Post not found"));
+        Sort order = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+        Page<ForumPost> replies = forumPostRepository.findThreadReplies(post.getPath(), post.getId(),
+                pageRequest(page, size, order));
+        return pageResponse(replies);
+    }
 
-        if (post.getReplies() != null) {
-            for (ForumPost reply : post.getReplies()) {
-                dto.getReplies().add(mapToDtoManual(reply));
+    @Override
+    @Timed(value = "lms.forum.course.threads", histogram = true)
+    public Map<String, Object> getCourseThreads(Long courseId, Long lessonId, LocalDateTime before, Long beforeId,
+            int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<ForumPostDto> threads;
+        if (lessonId == null && before == null && pageSize <= courseForumCache.getRecentSize()) {
+            List<ForumPostDto> recent = courseForumCache.getRecentThreads(courseId, id -> toDtos(
+                    forumPostRepository.findCourseThreads(id, PageRequest.of(0, courseForumCache.getRecentSize()))));
+            threads = recent.subList(0, Math.min(pageSize, recent.size()));
+        } else {
+            PageRequest limit = PageRequest.of(0, pageSize);
+            Long cursorId = beforeId != null ? beforeId : Long.MAX_VALUE;
+            List<ForumPost> posts;
+            if (lessonId != null) {
+                posts = before == null
+                        ? forumPostRepository.findLessonThreads(courseId, lessonId, limit)
+                        : forumPostRepository.findLessonThreadsBefore(courseId, lessonId, before, cursorId, limit);
+            } else {
+                posts = before == null
+                        ? forumPostRepository.findCourseThreads(courseId, limit)
+                        : forumPostRepository.findCourseThreadsBefore(courseId, before, cursorId, limit);
             }
+            threads = toDtos(posts);
         }
 
-        return dto;
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", threads);
+        response.put("size", pageSize);
+        // A full page means there may be more; the last row is the cursor for the next one
+        ForumPostDto last = threads.size() == pageSize ? threads.get(threads.size() - 1) : null;
+        response.put("nextBefore", last != null ? last.getCreatedAt() : null);
+        response.put("nextBeforeId", last != null ? last.getId() : null);
+        return response;
+    }
+
+    @Override
+    public int backfillThreadCounters() {
+        if (!forumPostRepository.existsByPathIsNull()) {
+            return 0;
+        }
+        // Counters depend on whole subtrees, so recompute everything from the parent links
+        List<ForumPost> posts = forumPostRepository.findAll();
+        Map<Long, List<ForumPost>> children = new HashMap<>();
+        List<ForumPost> roots = new ArrayList<>();
+        for (ForumPost post : posts) {
+            if (post.getParentPost() == null) {
+                roots.add(post);
+            } else {
+                children.computeIfAbsent(post.getParentPost().getId(), key -> new ArrayList<>()).add(post);
+            }
+        }
+        for (ForumPost root : roots) {
+            fillSubtree(root, "", 0, children);
+        }
+        log.info("Backfilled thread counters for {} forum posts", posts.size());
+        return posts.size();
+    }
+
+    private void fillSubtree(ForumPost post, String parentPath, int depth, Map<Long, List<ForumPost>> children) {
+        post.setPath(parentPath + ForumPost.pathSegment(post.getId()));
+        post.setDepth(depth);
+        int replyCount = 0;
+        LocalDateTime lastReplyAt = null;
+        for (ForumPost child : children.getOrDefault(post.getId(), List.of())) {
+            fillSubtree(child, post.getPath(), depth + 1, children);
+            replyCount += child.getReplyCount() + 1;
+            lastReplyAt = latest(lastReplyAt, latest(child.getCreatedAt(), child.getLastReplyAt()));
+        }
+        post.setReplyCount(replyCount);
+        post.setLastReplyAt(lastReplyAt);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    private void resolveScope(ForumPost post, Long courseId, Long lessonId) {
+        if (lessonId != null) {
+            Lesson lesson = lessonRepository.findById(lessonId)
+                    .orElseThrow(() -> new RuntimeException("Lesson not found: " + lessonId));
+            if (courseId != null && !lesson.getCourse().getId().equals(courseId)) {
+                throw new RuntimeException("Lesson does not belong to the specified course");
+            }
+            post.setLesson(lesson);
+            post.setCourse(lesson.getCourse());
+        } else if (courseId != null) {
+            Course course = courseRepository.findById(courseId)
+                    .orElseThrow(() -> new RuntimeException("Course not found: " + courseId));
+            post.setCourse(course);
+        }
+    }
+
+    private void evictCourseForum(ForumPost post) {
+        if (post.getCourse() != null) {
+            courseForumCache.invalidate(post.getCourse().getId());
+        }
+    }
+
+    private List<ForumPostDto> toDtos(List<ForumPost> posts) {
+        return posts.stream()
+                .map(this::mapToDtoManualSimple)
+                .collect(Collectors.toList());
+    }
+
+    private static PageRequest pageRequest(int page, int size, Sort sort) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sort);
+    }
+
+    private Map<String, Object> pageResponse(Page<ForumPost> posts) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", posts.getContent().stream()
+                .map(this::mapToDtoManualSimple)
+                .collect(Collectors.toList()));
+        response.put("page", posts.getNumber());
+        response.put("size", posts.getSize());
+        response.put("totalElements", posts.getTotalElements());
+        response.put("totalPages", posts.getTotalPages());
+        return response;
     }
 
     private ForumPostDto mapToDtoManualSimple(ForumPost post) {
@@ -112,6 +325,12 @@ public class ForumPostServiceImpl implements ForumPostService {
                 roleName,
                 post.getCreatedAt(),
                 post.isLocked());
+        dto.setParentId(post.getParentPost() != null ? post.getParentPost().getId() : null);
+        dto.setCourseId(post.getCourse() != null ? post.getCourse().getId() : null);
+        dto.setLessonId(post.getLesson() != null ? post.getLesson().getId() : null);
+        dto.setDepth(post.getDepth());
+        dto.setReplyCount(post.getReplyCount());
+        dto.setLastReplyAt(post.getLastReplyAt());
         return dto;
     }
 }
@@ -0,0 +1,216 @@
+package com.lms.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.service.GradebookService;
+import com.lms.backend.util.GradebookMatrix;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the gradebook a chunk of students at a time. Per chunk there are three statements whatever the
+ * number of students or lessons: the next enrolled students by id, then the completed lesson_progress rows
+ * and the quiz results of that id range for the course's lessons, both read in one pass into a reused
+ * {@link GradebookMatrix}. Memory is bounded by the chunk size, not the course size, and rows are written
+ * to the client as soon as their chunk is filled.
+ */
+@Service
+@Slf4j
+public class GradebookServiceImpl implements GradebookService {
+
+    private static final String SELECT_COLUMNS = "SELECT l.id, l.title, q.id FROM lessons l "
+            + "LEFT JOIN quizzes q ON q.lesson_id = l.id WHERE l.course_id = ? ORDER BY l.position, l.id";
+    private static final String SELECT_STUDENTS = "SELECT u.id, u.username FROM enrollments e "
+            + "JOIN users u ON u.id = e.student_id WHERE e.course_id = ? AND e.student_id > ? "
+            + "ORDER BY e.student_id LIMIT ?";
+    private static final String SELECT_COMPLETED = "SELECT lp.student_id, lp.lesson_id FROM lesson_progress lp "
+            + "JOIN lessons l ON l.id = lp.lesson_id "
+            + "WHERE l.course_id = ? AND lp.completed = TRUE AND lp.student_id BETWEEN ? AND ?";
+    // Best score per (student, quiz) from the summaries submitQuiz maintains instead of grouping quiz_attempts
+    private static final String SELECT_QUIZ_RESULTS = "SELECT s.student_id, s.quiz_id, s.best_score, s.passed "
+            + "FROM quiz_score_summaries s JOIN quizzes q ON q.id = s.quiz_id JOIN lessons l ON l.id = q.lesson_id "
+            + "WHERE l.course_id = ? AND s.student_id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public GradebookServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${lms.gradebook.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // One read-only transaction so every chunk sees the same snapshot, as the report exports do
+    @Override
+    @Transactional(readOnly = true)
+    public long writeGradebook(Long courseId, Long afterStudentId, Integer limit, OutputStream out)
+            throws IOException {
+        Columns columns = loadColumns(courseId);
+        GradebookMatrix matrix = new GradebookMatrix(chunkSize, columns.lessonIds.size(), columns.quizIds.size());
+        long remaining = limit != null && limit > 0 ? limit : Long.MAX_VALUE;
+        long cursor = afterStudentId != null ? afterStudentId : 0L;
+        long rows = 0;
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            // Lines are separated by the '\n' written after each object, not Jackson's default space
+            json.setRootValueSeparator(null);
+            writeColumns(json, courseId, columns);
+            while (remaining > 0) {
+                matrix.clear();
+                int fetch = (int) Math.min(chunkSize, remaining);
+                jdbcTemplate.query(SELECT_STUDENTS,
+                        rs -> {
+                            matrix.addStudent(rs.getLong(1), rs.getString(2));
+                        }, courseId, cursor, fetch);
+                if (matrix.isEmpty()) {
+                    break;
+                }
+                fill(matrix, courseId, columns);
+                for (int row = 0; row < matrix.size(); row++) {
+                    writeRow(json, matrix, row, columns);
+                }
+                json.flush();
+
+                rows += matrix.size();
+                remaining -= matrix.size();
+                cursor = matrix.lastStudentId();
+                if (matrix.size() < fetch) {
+                    break; // last chunk of the course
+                }
+            }
+            writeEnd(json, rows, remaining == 0 ? cursor : null);
+        }
+        log.info("Wrote gradebook of course {}: {} students x {} lessons", courseId, rows, columns.lessonIds.size());
+        return rows;
+    }
+
+    private Columns loadColumns(Long courseId) {
+        Columns columns = new Columns();
+        jdbcTemplate.query(SELECT_COLUMNS, rs -> {
+            long lessonId = rs.getLong(1);
+            columns.lessonIndex.put(lessonId, columns.lessonIds.size());
+            columns.lessonIds.add(lessonId);
+            columns.lessonTitles.add(rs.getString(2));
+            long quizId = rs.getLong(3);
+            if (!rs.wasNull()) {
+                columns.quizIndex.put(quizId, columns.quizIds.size());
+                columns.quizIds.add(quizId);
+                columns.quizLessonIds.add(lessonId);
+            }
+        }, courseId);
+        return columns;
+    }
+
+    // The id range of a chunk can include students of other courses; their rows are simply not found
+    private void fill(GradebookMatrix matrix, Long courseId, Columns columns) {
+        long from = matrix.firstStudentId();
+        long to = matrix.lastStudentId();
+        jdbcTemplate.query(SELECT_COMPLETED, rs -> {
+            int row = matrix.rowOf(rs.getLong(1));
+            Integer lesson = columns.lessonIndex.get(rs.getLong(2));
+            if (row >= 0 && lesson != null) {
+                matrix.markCompleted(row, lesson);
+            }
+        }, courseId, from, to);
+        if (columns.quizIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(SELECT_QUIZ_RESULTS, rs -> {
+            int row = matrix.rowOf(rs.getLong(1));
+            Integer quiz = columns.quizIndex.get(rs.getLong(2));
+            if (row >= 0 && quiz != null) {
+                matrix.setQuizResult(row, quiz, rs.getDouble(3), rs.getBoolean(4));
+            }
+        }, courseId, from, to);
+    }
+
+    private void writeColumns(JsonGenerator json, Long courseId, Columns columns) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "columns");
+        json.writeNumberField("courseId", courseId);
+        json.writeArrayFieldStart("lessons");
+        for (int i = 0; i < columns.lessonIds.size(); i++) {
+            json.writeStartObject();
+            json.writeNumberField("lessonId", columns.lessonIds.get(i));
+            json.writeStringField("title", columns.lessonTitles.get(i));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("quizzes");
+        for (int i = 0; i < columns.quizIds.size(); i++) {
+            json.writeStartObject();
+            json.writeNumberField("quizId", columns.quizIds.get(i));
+            json.writeNumberField("lessonId", columns.quizLessonIds.get(i));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    // lessons[i] is the completion of lessons column i, quizScores[j] the best score of quizzes column j (null: no attempt)
+    private void writeRow(JsonGenerator json, GradebookMatrix matrix, int row, Columns columns) throws IOException {
+        int lessonCount = columns.lessonIds.size();
+        int quizCount = columns.quizIds.size();
+        int completedCount = matrix.completedCount(row);
+
+        json.writeStartObject();
+        json.writeStringField("type", "row");
+        json.writeNumberField("studentId", matrix.studentId(row));
+        json.writeStringField("studentName", matrix.studentName(row));
+        json.writeNumberField("completedLessons", completedCount);
+        json.writeNumberField("progress", lessonCount == 0 ? 0.0 : completedCount * 100.0 / lessonCount);
+        json.writeNumberField("passedQuizzes", matrix.passedCount(row));
+        json.writeArrayFieldStart("lessons");
+        for (int lesson = 0; lesson < lessonCount; lesson++) {
+            json.writeBoolean(matrix.isCompleted(row, lesson));
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("quizScores");
+        for (int quiz = 0; quiz < quizCount; quiz++) {
+            float score = matrix.bestScore(row, quiz);
+            if (Float.isNaN(score)) {
+                json.writeNull();
+            } else {
+                json.writeNumber(score);
+            }
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeEnd(JsonGenerator json, long rows, Long nextAfterStudentId) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "end");
+        json.writeNumberField("rows", rows);
+        if (nextAfterStudentId != null) {
+            json.writeNumberField("nextAfterStudentId", nextAfterStudentId);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    // Column order of the matrix; a course has a few hundred lessons at most
+    private static class Columns {
+        final List<Long> lessonIds = new ArrayList<>();
+        final List<String> lessonTitles = new ArrayList<>();
+        final Map<Long, Integer> lessonIndex = new HashMap<>();
+        final List<Long> quizIds = new ArrayList<>();
+        final List<Long> quizLessonIds = new ArrayList<>();
+        final Map<Long, Integer> quizIndex = new HashMap<>();
+    }
+}
@@ -1,6 +1,10 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.dto.CourseDailyStatsDto;
+import com.lms.backend.dto.LessonDto;
 import com.lms.backend.model.Course;
+import com.lms.backend.model.CourseDailyStats;
+import com.lms.backend.model.CourseStatsSummary;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.model.User;
 import com.lms.backend.model.Enrollment;
@@ -8,13 +12,20 @@ import com.lms.backend.repository.CourseRepository;
 import com.lms.backend.repository.LessonRepository;
 import com.lms.backend.repository.UserRepository;
 import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.service.AnalyticsRollupService;
 import com.lms.backend.service.InstructorService;
+import com.lms.backend.util.CourseMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class InstructorServiceImpl implements InstructorService {
@@ -31,6 +42,9 @@ public class InstructorServiceImpl implements InstructorService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
     // CREATE NEW COURSE
     @Override
     public Course createCourse(Course course, Long instructorId) {
@@ -95,9 +109,9 @@ public class InstructorServiceImpl implements InstructorService {
 
     // GET LESSONS BY COURSE
     @Override
-    public List<Lesson> getLessonsByCourse(Long courseId) {
-        Course course = getCourseById(courseId);
-        return lessonRepository.findByCourse(course);
+    public List<LessonDto> getLessonsByCourse(Long courseId) {
+        getCourseById(courseId);
+        return lessonRepository.findDtosByCourseId(courseId);
     }
 
     // UPDATE LESSON
@@ -125,21 +139,76 @@ public class InstructorServiceImpl implements InstructorService {
         lessonRepository.delete(lesson);
     }
 
+    // REORDER LESSONS (one UPDATE for the whole course instead of one PUT per lesson)
+    @Override
+    @Transactional
+    public List<LessonDto> reorderLessons(Long courseId, List<Long> orderedLessonIds) {
+        getCourseById(courseId);
+        Set<Long> requested = new HashSet<>(orderedLessonIds);
+        if (requested.size() != orderedLessonIds.size()) {
+            throw new RuntimeException("Lesson order contains duplicate lessons");
+        }
+        if (!requested.equals(new HashSet<>(lessonRepository.findIdsByCourseId(courseId)))) {
+            throw new RuntimeException("Lesson order must list every lesson of the course exactly once");
+        }
+        lessonRepository.updatePositions(courseId, orderedLessonIds);
+        return lessonRepository.findDtosByCourseId(courseId);
+    }
+
     @Override
+    @Timed(value = "lms.instructor.course.stats", histogram = true)
     public Map<String, Object> getCourseWithStats(Long courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
+        // Served from the analytics rollup (refreshed every few minutes) instead of loading all enrollments
+        CourseStatsSummary summary = analyticsRollupService.getCourseSummary(courseId);
+        long enrollmentCount = summary.getEnrollmentCount();
+        double price = course.getPrice() != null ? course.getPrice() : 0.0;
+
         Map<String, Object> stats = new HashMap<>();
-        stats.put("course", course);
-        stats.put("enrollmentCount", course.getEnrollmentCount());
-        stats.put("totalLessons", course.getLessons() != null ? course.getLessons().size() : 0);
-        stats.put("totalRevenue", course.getPrice() * course.getEnrollmentCount());
+        stats.put("course", CourseMapper.toDto(course, (int) enrollmentCount));
+        stats.put("enrollmentCount", enrollmentCount);
+        stats.put("totalLessons", lessonRepository.countByCourse(course));
+        stats.put("totalRevenue", price * enrollmentCount);
+        stats.put("completedEnrollments", summary.getCompletedEnrollments());
+        stats.put("completionRate", enrollmentCount > 0
+                ? Math.round(summary.getCompletedEnrollments() * 10000.0 / enrollmentCount) / 100.0
+                : 0.0);
+        stats.put("averageProgress", Math.round(summary.getAverageProgress() * 100.0) / 100.0);
+        stats.put("totalTimeSpentSeconds", summary.getTotalTimeSpentSeconds());
+        stats.put("lessonCompletions", summary.getLessonCompletions());
+        stats.put("quizAttempts", summary.getQuizAttempts());
+        stats.put("quizPassRate", summary.getQuizAttempts() > 0
+                ? Math.round(summary.getQuizPasses() * 10000.0 / summary.getQuizAttempts()) / 100.0
+                : 0.0);
+        stats.put("statsUpdatedAt", summary.getUpdatedAt());
 
         return stats;
     }
 
     @Override
+    public List<CourseDailyStatsDto> getCourseDailyStats(Long courseId, int days) {
+        return analyticsRollupService.getDailyStats(courseId, days).stream()
+                .map(InstructorServiceImpl::toDailyStatsDto)
+                .collect(Collectors.toList());
+    }
+
+    private static CourseDailyStatsDto toDailyStatsDto(CourseDailyStats daily) {
+        return CourseDailyStatsDto.builder()
+                .statDate(daily.getStatDate())
+                .newEnrollments(daily.getNewEnrollments())
+                .lessonCompletions(daily.getLessonCompletions())
+                .courseCompletions(daily.getCourseCompletions())
+                .quizAttempts(daily.getQuizAttempts())
+                .quizPasses(daily.getQuizPasses())
+                .averageProgress(daily.getAverageProgress())
+                .totalTimeSpentSeconds(daily.getTotalTimeSpentSeconds())
+                .build();
+    }
+
+    @Override
+    @Timed(value = "lms.instructor.course.students", histogram = true)
     public List<Map<String, Object>> getEnrolledStudents(Long courseId) {
         List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
         List<Map<String, Object>> studentList = new java.util.ArrayList<>();
@@ -0,0 +1,152 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.model.LearningStreak;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.LearningStreakRepository;
+import com.lms.backend.service.LearningStreakService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class LearningStreakServiceImpl implements LearningStreakService {
+
+    private final LearningStreakRepository learningStreakRepository;
+
+    // Joins the caller's transaction (quiz submit, progress, enrollment): one pooled connection per request, and
+    // the day only counts if the activity that triggered it commits. Both entry points carry the annotation
+    // because a call from one overload to the other would bypass the proxy.
+    @Override
+    @Transactional
+    public void recordActivity(User student) {
+        apply(student.getId(), LocalDate.now());
+    }
+
+    @Override
+    @Transactional
+    public LearningStreak recordActivity(Long studentId, LocalDate day) {
+        apply(studentId, day);
+        return learningStreakRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Learning streak not found"));
+    }
+
+    private void apply(Long studentId, LocalDate day) {
+        Optional<LocalDate> lastActive = learningStreakRepository.findLastActiveDate(studentId);
+        if (lastActive.isPresent() && day.equals(lastActive.get())) {
+            // Repeated heartbeat on the same day: nothing changes, no lock is taken and no UPDATE is issued
+            return;
+        }
+        if (lastActive.isEmpty()) {
+            // The first activity of two concurrent requests creates the row, the other one reuses it
+            learningStreakRepository.insertIfAbsent(studentId);
+        }
+        // Read under the row lock, so concurrent activities of one student apply in turn on fresh state
+        LearningStreak streak = learningStreakRepository.findByIdForUpdate(studentId)
+                .orElseThrow(() -> new RuntimeException("Learning streak not found"));
+
+        LocalDate last = streak.getLastActiveDate();
+        if (last != null && day.equals(last) && isActive(streak, day)) {
+            // A concurrent activity of the same day got the lock first
+            return;
+        }
+
+        if (last == null || day.isAfter(last)) {
+            boolean continues = last != null && day.equals(last.plusDays(1));
+            streak.setCurrentStreak(continues ? streak.getCurrentStreak() + 1 : 1);
+            streak.setLastActiveDate(day);
+            streak.setLongestStreak(Math.max(streak.getLongestStreak(), streak.getCurrentStreak()));
+        }
+
+        markActive(streak, day);
+        learningStreakRepository.save(streak);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getCurrentStreak(Long studentId) {
+        return learningStreakRepository.findById(studentId)
+                .map(streak -> effectiveStreak(streak, LocalDate.now()))
+                .orElse(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getLongestStreak(Long studentId) {
+        return learningStreakRepository.findById(studentId)
+                .map(LearningStreak::getLongestStreak)
+                .orElse(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LocalDate> getActiveDays(Long studentId, LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        learningStreakRepository.findById(studentId).ifPresent(streak -> {
+            if (streak.getActivityStartDate() == null) {
+                return;
+            }
+            LocalDate start = from.isBefore(streak.getActivityStartDate()) ? streak.getActivityStartDate() : from;
+            for (LocalDate day = start; !day.isAfter(to); day = day.plusDays(1)) {
+                if (isActive(streak, day)) {
+                    days.add(day);
+                }
+            }
+        });
+        return days;
+    }
+
+    private int effectiveStreak(LearningStreak streak, LocalDate today) {
+        LocalDate last = streak.getLastActiveDate();
+        if (last == null || last.isBefore(today.minusDays(1))) {
+            return 0;
+        }
+        return streak.getCurrentStreak();
+    }
+
+    private boolean isActive(LearningStreak streak, LocalDate day) {
+        byte[] bitmap = streak.getActivityBitmap();
+        if (bitmap == null || streak.getActivityStartDate() == null) {
+            return false;
+        }
+        long offset = ChronoUnit.DAYS.between(streak.getActivityStartDate(), day);
+        if (offset < 0 || offset >= (long) bitmap.length * 8) {
+            return false;
+        }
+        return (bitmap[(int) (offset >>> 3)] & (1 << (offset & 7))) != 0;
+    }
+
+    private void markActive(LearningStreak streak, LocalDate day) {
+        if (streak.getActivityStartDate() == null) {
+            streak.setActivityStartDate(day);
+        }
+        long offset = ChronoUnit.DAYS.between(streak.getActivityStartDate(), day);
+        if (offset < 0) {
+            // Backdated before the start of the recorded history, nothing to mark
+            return;
+        }
+
+        byte[] bitmap = streak.getActivityBitmap() != null ? streak.getActivityBitmap() : new byte[0];
+        int byteIndex = (int) (offset >>> 3);
+
+        if (byteIndex >= LearningStreak.MAX_BITMAP_BYTES) {
+            // Shift whole bytes out of the front so the newest day fits in the last byte
+            int shift = byteIndex - (LearningStreak.MAX_BITMAP_BYTES - 1);
+            bitmap = shift >= bitmap.length ? new byte[0] : Arrays.copyOfRange(bitmap, shift, bitmap.length);
+            streak.setActivityStartDate(streak.getActivityStartDate().plusDays(shift * 8L));
+            byteIndex -= shift;
+        }
+
+        // Always work on a copy so Hibernate sees a new value when the bitmap changes
+        byte[] updated = Arrays.copyOf(bitmap, Math.max(bitmap.length, byteIndex + 1));
+        updated[byteIndex] |= (byte) (1 << (offset & 7));
+        streak.setActivityBitmap(updated);
+    }
+}
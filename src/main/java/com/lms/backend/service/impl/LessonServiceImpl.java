@@ -1,10 +1,14 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.dto.LessonDto;
+import com.lms.backend.dto.LessonOutlineDto;
 import com.lms.backend.model.Course;
 import com.lms.backend.model.Lesson;
 import com.lms.backend.repository.CourseRepository;
 import com.lms.backend.repository.LessonRepository;
 import com.lms.backend.service.LessonService;
+import com.lms.backend.service.TranscodeService;
+import com.lms.backend.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -19,11 +23,25 @@ public class LessonServiceImpl implements LessonService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private TranscodeService transcodeService;
+
     @Override
-    public List<Lesson> getLessonsByCourseId(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        return lessonRepository.findByCourseOrderByPositionAsc(course);
+    public List<LessonDto> getLessonsByCourseId(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        return lessonRepository.findDtosByCourseId(courseId);
+    }
+
+    @Override
+    public List<LessonOutlineDto> getLessonOutline(Long courseId) {
+        return lessonRepository.findOutlineByCourseId(courseId);
+    }
+
+    @Override
+    public String getLessonsETag(Long courseId) {
+        return ETags.of("lessons:" + courseId, lessonRepository.findVersionStampByCourseId(courseId).get(0));
     }
 
     @Override
@@ -64,6 +82,8 @@ public class LessonServiceImpl implements LessonService {
                 .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
 
         lesson.setMediaUrl(mediaUrl);
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        transcodeService.enqueue(saved);
+        return saved;
     }
 }
\ No newline at end of file
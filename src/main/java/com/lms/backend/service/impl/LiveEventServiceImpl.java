@@ -0,0 +1,280 @@
+package com.lms.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.event.LiveEvent;
+import com.lms.backend.model.Role;
+import com.lms.backend.model.User;
+import com.lms.backend.service.LiveEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Topic fan-out for SSE subscribers.
+ *
+ * Publishing never blocks on a client: each event is serialized once and offered to every subscriber's
+ * bounded queue; a small sender pool drains the queues, one drain task per subscriber at a time.
+ * A subscriber whose queue is full is a slow consumer and is disconnected (the browser's EventSource
+ * reconnects and can reload the current state). So is one whose write has been blocked for longer than
+ * the send timeout: its sender thread is interrupted so the other subscribers are not left waiting for
+ * it, and the emitter is completed once that write returns. A periodic heartbeat comment keeps proxies
+ * from closing idle streams and detects dead connections.
+ */
+@Service
+@Slf4j
+public class LiveEventServiceImpl implements LiveEventService {
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sender;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+    private final Counter delivered;
+    private final Counter evicted;
+
+    public LiveEventServiceImpl(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${lms.live.buffer-size:64}") int bufferSize,
+            @Value("${lms.live.timeout-ms:1800000}") long timeoutMs,
+            @Value("${lms.live.sender-threads:4}") int senderThreads,
+            @Value("${lms.live.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        AtomicInteger sequence = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-events-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delivered = Counter.builder("lms.live.events.delivered")
+                .description("Events written to SSE subscribers")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("lms.live.subscribers.evicted")
+                .description("SSE subscribers disconnected because their buffer was full or a write stalled")
+                .register(meterRegistry);
+        Gauge.builder("lms.live.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open SSE streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(User user) {
+        List<String> topicNames = topicsFor(user);
+        Subscriber subscriber = new Subscriber(newEmitter(timeoutMs), topicNames);
+        for (String topic : topicNames) {
+            topics.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        subscriberCount.incrementAndGet();
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+
+        subscriber.offer(SseEmitter.event().name("subscribed").data(String.join(",", topicNames)).build());
+        return subscriber.emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // After commit, so subscribers that re-read state on an event see the committed data
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLiveEvent(LiveEvent event) {
+        Set<Subscriber> subscribers = topics.get(event.topic());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        // Serialized once here rather than once per subscriber by the message converters
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event.data());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize live event {} on {}: {}", event.name(), event.topic(), e.getMessage());
+            return;
+        }
+        Set<DataWithMediaType> frame = SseEmitter.event().name(event.name()).data(json).build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${lms.live.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        topics.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    // A write still blocked after the send timeout holds a sender thread; give the thread back
+    @Scheduled(fixedRateString = "${lms.live.send-timeout-ms:10000}")
+    public void evictStalledSenders() {
+        long now = System.nanoTime();
+        topics.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .filter(subscriber -> subscriber.sendingLongerThan(now, sendTimeoutNanos))
+                .forEach(Subscriber::evictStalled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // Overridden by tests to observe what is written
+    protected SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private static List<String> topicsFor(User user) {
+        Role.RoleName role = user.getRole().getName();
+        if (role == Role.RoleName.ROLE_ADMIN) {
+            return List.of(LiveEvent.ADMIN, LiveEvent.FORUM);
+        }
+        if (role == Role.RoleName.ROLE_INSTRUCTOR) {
+            return List.of(LiveEvent.instructor(user.getId()), LiveEvent.FORUM);
+        }
+        return List.of(LiveEvent.student(user.getId()), LiveEvent.FORUM);
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final List<String> topicNames;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Completing takes the emitter's write lock, so a blocked write would block the caller: the sender
+        // thread completes the emitter once its write has returned
+        private final AtomicBoolean completePending = new AtomicBoolean();
+        // Set while a write is in progress; guarded by this
+        private Thread sendingThread;
+        private long sendStartedAt;
+
+        Subscriber(SseEmitter emitter, List<String> topicNames) {
+            this.emitter = emitter;
+            this.topicNames = topicNames;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                log.debug("Disconnecting slow SSE subscriber on {}", topicNames);
+                evict();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        synchronized boolean sendingLongerThan(long now, long nanos) {
+            return sendingThread != null && now - sendStartedAt > nanos;
+        }
+
+        synchronized void evictStalled() {
+            if (sendingThread != null) {
+                log.debug("Disconnecting SSE subscriber on {}: write blocked for over the send timeout", topicNames);
+                sendingThread.interrupt();
+                evict();
+            }
+        }
+
+        private void evict() {
+            if (closed.get()) {
+                return;
+            }
+            evicted.increment();
+            completePending.set(true);
+            close();
+            // Runs now if no drain is in progress, otherwise the running drain completes after its write
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed.get() && (frame = queue.poll()) != null) {
+                    send(frame);
+                    delivered.increment();
+                }
+            } catch (Exception e) {
+                // Client went away; the container reports it through onError/onCompletion as well
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (closed.get()) {
+                if (completePending.compareAndSet(true, false)) {
+                    emitter.complete();
+                }
+                return;
+            }
+            // An offer may have landed between the last poll and resetting the flag
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(Set<DataWithMediaType> frame) throws IOException {
+            synchronized (this) {
+                sendingThread = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                emitter.send(frame);
+            } finally {
+                synchronized (this) {
+                    sendingThread = null;
+                }
+                // An eviction that raced with the end of the write must not reach the next pooled task
+                Thread.interrupted();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                for (String topic : topicNames) {
+                    Set<Subscriber> subscribers = topics.get(topic);
+                    if (subscribers != null) {
+                        subscribers.remove(this);
+                    }
+                }
+                queue.clear();
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.exception.ResourceNotFoundException;
 import com.lms.backend.service.MediaStorageService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.util.StringUtils;
@@ -11,16 +15,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.UUID;
 
+// Single-node storage: files live in the upload directory and are served from /uploads/**
 @Service
+@ConditionalOnProperty(name = "lms.storage.backend", havingValue = "local", matchIfMissing = true)
 public class LocalStorageServiceImpl implements MediaStorageService {
 
     private final Path fileStorageLocation;
-    private final String baseUrl = "http://localhost:8080/uploads/";
+    private final String baseUrl;
 
-    public LocalStorageServiceImpl(@Value("${file.upload-dir:uploads}") String uploadDir) {
+    public LocalStorageServiceImpl(@Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${lms.storage.public-base-url:http://localhost:8080/uploads/}") String baseUrl) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
 
         try {
             Files.createDirectories(this.fileStorageLocation);
@@ -50,8 +59,7 @@ public class LocalStorageServiceImpl implements MediaStorageService {
 
     @Override
     public void deleteFile(String fileUrl) {
-        // Extract filename from URL
-        String fileName = fileUrl.replace(baseUrl, "");
+        String fileName = MediaKeys.fromUrl(fileUrl);
         try {
             Path filePath = this.fileStorageLocation.resolve(fileName);
             Files.deleteIfExists(filePath);
@@ -59,4 +67,23 @@ public class LocalStorageServiceImpl implements MediaStorageService {
             throw new RuntimeException("Could not delete file " + fileName, ex);
         }
     }
+
+    @Override
+    public Resource loadFile(String key) {
+        Path filePath = this.fileStorageLocation.resolve(MediaKeys.validate(key));
+        if (!Files.exists(filePath)) {
+            throw new ResourceNotFoundException("File not found: " + key);
+        }
+        return new FileSystemResource(filePath);
+    }
+
+    @Override
+    public boolean isStoredUrl(String fileUrl) {
+        return fileUrl != null && fileUrl.startsWith(baseUrl) && fileUrl.indexOf('/', baseUrl.length()) < 0;
+    }
+
+    @Override
+    public String getDownloadUrl(String fileUrl, Duration ttl) {
+        return baseUrl + MediaKeys.fromUrl(fileUrl);
+    }
 }
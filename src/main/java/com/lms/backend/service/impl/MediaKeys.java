@@ -0,0 +1,23 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.exception.BadRequestException;
+
+// Storage keys are single path segments (uuid_filename); anything else is rejected before touching the disk
+final class MediaKeys {
+
+    private MediaKeys() {
+    }
+
+    static String fromUrl(String fileUrl) {
+        String key = fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
+        int query = key.indexOf('?');
+        return validate(query >= 0 ? key.substring(0, query) : key);
+    }
+
+    static String validate(String key) {
+        if (key == null || key.isEmpty() || key.contains("/") || key.contains("\\") || key.contains("..")) {
+            throw new BadRequestException("Invalid media key: " + key);
+        }
+        return key;
+    }
+}
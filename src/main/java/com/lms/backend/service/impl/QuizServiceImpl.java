@@ -1,26 +1,38 @@
 package com.lms.backend.service.impl;
 
+import com.lms.backend.dto.QuizScoreDto;
 import com.lms.backend.model.*;
 import com.lms.backend.repository.LessonRepository;
 import com.lms.backend.repository.QuizAttemptRepository;
 import com.lms.backend.repository.QuizRepository;
+import com.lms.backend.repository.QuizScoreSummaryRepository;
+import com.lms.backend.service.LearningStreakService;
 import com.lms.backend.service.QuizService;
 import com.lms.backend.service.StudentService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class QuizServiceImpl implements QuizService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final QuizRepository quizRepository;
     private final QuizAttemptRepository quizAttemptRepository;
+    private final QuizScoreSummaryRepository quizScoreSummaryRepository;
     private final StudentService studentService;
     private final LessonRepository lessonRepository;
+    private final LearningStreakService learningStreakService;
 
     @Override
     public Quiz getQuizByLesson(Long lessonId) {
@@ -30,6 +42,7 @@ public class QuizServiceImpl implements QuizService {
 
     @Override
     @Transactional
+    @Timed(value = "lms.quiz.submit", histogram = true)
     public Map<String, Object> submitQuiz(User student, Long quizId, Map<Long, Integer> answers) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
@@ -70,6 +83,8 @@ public class QuizServiceImpl implements QuizService {
                 .build();
 
         quizAttemptRepository.save(attempt);
+        recordSummary(student, quiz, attempt);
+        learningStreakService.recordActivity(student);
 
         // If passed, mark the lesson as completed
         if (passed) {
@@ -111,4 +126,65 @@ public class QuizServiceImpl implements QuizService {
 
         return quizRepository.save(quiz);
     }
+
+    @Override
+    public Map<String, Object> getQuizSummary(User student, Long quizId) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("quizId", quizId);
+        quizScoreSummaryRepository.findByStudentIdAndQuizId(student.getId(), quizId).ifPresentOrElse(s -> {
+            summary.put("bestScore", s.getBestScore());
+            summary.put("lastScore", s.getLastScore());
+            summary.put("attemptCount", s.getAttemptCount());
+            summary.put("passed", s.isPassed());
+            summary.put("lastAttemptAt", s.getLastAttemptAt());
+        }, () -> {
+            summary.put("attemptCount", 0);
+            summary.put("passed", false);
+        });
+        return summary;
+    }
+
+    @Override
+    public List<QuizScoreDto> getStudentScores(User student, Long courseId) {
+        return courseId != null
+                ? quizScoreSummaryRepository.findStudentScoresByCourse(student.getId(), courseId)
+                : quizScoreSummaryRepository.findStudentScores(student.getId());
+    }
+
+    @Override
+    public Map<String, Object> getAttemptHistory(User student, Long quizId, int page, int size) {
+        PageRequest pageRequest = pageRequest(page, size);
+        return pageResponse(quizId != null
+                ? quizAttemptRepository.findQuizHistory(student.getId(), quizId, pageRequest)
+                : quizAttemptRepository.findStudentHistory(student.getId(), pageRequest));
+    }
+
+    @Override
+    public Map<String, Object> getQuizScores(Long quizId, int page, int size) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new RuntimeException("Quiz not found");
+        }
+        return pageResponse(quizScoreSummaryRepository.findQuizScores(quizId, pageRequest(page, size)));
+    }
+
+    // One atomic upsert on the unique (student_id, quiz_id) key: a concurrent first attempt of the same pair
+    // updates the row the other inserted (the second waits on its lock) instead of failing or adding a row
+    private void recordSummary(User student, Quiz quiz, QuizAttempt attempt) {
+        quizScoreSummaryRepository.recordAttempt(student.getId(), quiz.getId(), attempt.getScore(),
+                attempt.isPassed(), attempt.getCompletedAt());
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    private static Map<String, Object> pageResponse(Page<?> results) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", results.getContent());
+        response.put("page", results.getNumber());
+        response.put("size", results.getSize());
+        response.put("totalElements", results.getTotalElements());
+        response.put("totalPages", results.getTotalPages());
+        return response;
+    }
 }
@@ -0,0 +1,95 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.repository.CertificateRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.repository.QuizAttemptRepository;
+import com.lms.backend.repository.UserRepository;
+import com.lms.backend.service.ReportExportService;
+import com.lms.backend.util.ReportWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportExportServiceImpl implements ReportExportService {
+
+    private static final String[] USER_COLUMNS = {
+            "id", "username", "email", "role", "reputationPoints", "createdAt" };
+
+    private static final String[] ENROLLMENT_COLUMNS = {
+            "enrollmentId", "studentId", "studentName", "studentEmail", "courseId", "courseTitle",
+            "enrolledAt", "progress", "timeSpentSeconds" };
+
+    private static final String[] QUIZ_ATTEMPT_COLUMNS = {
+            "attemptId", "studentId", "studentEmail", "quizId", "lessonId", "lessonTitle",
+            "courseId", "courseTitle", "score", "passed", "completedAt" };
+
+    private static final String[] CERTIFICATE_COLUMNS = {
+            "certificateId", "certificateCode", "studentId", "studentName", "studentEmail",
+            "courseId", "courseName", "issueDate" };
+
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final CertificateRepository certificateRepository;
+
+    // The Stream-returning repository methods need an open transaction for as long as the cursor is read,
+    // so each export runs in its own read-only transaction on the thread that writes the response.
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out, ReportWriter.Format format) throws IOException {
+        return write("users", userRepository.streamUserReport(), new ReportWriter(out, format, USER_COLUMNS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEnrollments(OutputStream out, ReportWriter.Format format) throws IOException {
+        return write("enrollments", enrollmentRepository.streamEnrollmentReport(),
+                new ReportWriter(out, format, ENROLLMENT_COLUMNS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCourseEnrollments(Long courseId, OutputStream out, ReportWriter.Format format)
+            throws IOException {
+        return write("course " + courseId + " enrollments",
+                enrollmentRepository.streamEnrollmentReportByCourseId(courseId),
+                new ReportWriter(out, format, ENROLLMENT_COLUMNS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportQuizAttempts(OutputStream out, ReportWriter.Format format) throws IOException {
+        return write("quiz attempts", quizAttemptRepository.streamQuizAttemptReport(),
+                new ReportWriter(out, format, QUIZ_ATTEMPT_COLUMNS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCertificates(OutputStream out, ReportWriter.Format format) throws IOException {
+        return write("certificates", certificateRepository.streamCertificateReport(),
+                new ReportWriter(out, format, CERTIFICATE_COLUMNS));
+    }
+
+    private long write(String reportName, Stream<Object[]> rows, ReportWriter writer) throws IOException {
+        // try-with-resources closes the underlying JDBC cursor even if the client disconnects mid-export
+        try (rows) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeRow(iterator.next());
+            }
+        }
+        writer.flush();
+        log.info("Exported {} rows of {}", writer.getRowCount(), reportName);
+        return writer.getRowCount();
+    }
+}
@@ -0,0 +1,80 @@
+package com.lms.backend.service.impl;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.lms.backend.service.ObjectStore;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+// S3 or an S3-compatible server (MinIO, LocalStack) selected by endpoint, see StorageConfig
+public class S3ObjectStore implements ObjectStore {
+
+    private final AmazonS3 s3;
+    private final String bucket;
+    private final String prefix;
+
+    public S3ObjectStore(AmazonS3 s3, String bucket, String prefix) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        try {
+            s3.putObject(bucket, objectKey(key), source.toFile());
+        } catch (SdkClientException ex) {
+            throw new IOException("Could not upload " + key + " to s3://" + bucket, ex);
+        }
+    }
+
+    @Override
+    public void download(String key, Path target) throws IOException {
+        try {
+            s3.getObject(new GetObjectRequest(bucket, objectKey(key)), target.toFile());
+        } catch (AmazonS3Exception ex) {
+            if (ex.getStatusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw new IOException("Could not download " + key + " from s3://" + bucket, ex);
+        } catch (SdkClientException ex) {
+            throw new IOException("Could not download " + key + " from s3://" + bucket, ex);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            return s3.doesObjectExist(bucket, objectKey(key));
+        } catch (SdkClientException ex) {
+            throw new IOException("Could not check " + key + " in s3://" + bucket, ex);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(bucket, objectKey(key));
+        } catch (SdkClientException ex) {
+            throw new IOException("Could not delete " + key + " from s3://" + bucket, ex);
+        }
+    }
+
+    @Override
+    public Optional<String> presignGet(String key, Duration ttl) {
+        Date expiration = new Date(System.currentTimeMillis() + ttl.toMillis());
+        return Optional.of(s3.generatePresignedUrl(bucket, objectKey(key), expiration, HttpMethod.GET).toString());
+    }
+
+    private String objectKey(String key) {
+        return prefix + key;
+    }
+}
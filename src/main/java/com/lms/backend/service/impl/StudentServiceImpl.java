@@ -2,17 +2,34 @@ package com.lms.backend.service.impl;
 
 import com.lms.backend.model.*;
 import com.lms.backend.repository.*;
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.LessonOutlineDto;
+import com.lms.backend.dto.LessonProgressDto;
+import com.lms.backend.event.LiveEvent;
+import com.lms.backend.service.EnrolledCourseIndex;
+import com.lms.backend.service.LearningStreakService;
 import com.lms.backend.service.StudentService;
+import com.lms.backend.util.CourseMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class StudentServiceImpl implements StudentService {
 
+        private static final int MAX_PAGE_SIZE = 100;
+
         @Autowired
         private CourseRepository courseRepository;
 
@@ -31,6 +48,15 @@ public class StudentServiceImpl implements StudentService {
         @Autowired
         private CertificateRepository certificateRepository;
 
+        @Autowired
+        private LearningStreakService learningStreakService;
+
+        @Autowired
+        private EnrolledCourseIndex enrolledCourseIndex;
+
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
         @Override
         public List<Course> getCourseCatalog() {
                 // Return all approved courses
@@ -38,6 +64,7 @@ public class StudentServiceImpl implements StudentService {
         }
 
         @Override
+        @Timed(value = "lms.student.enroll", histogram = true)
         public void enrollCourse(User student, Long courseId) {
                 Course course = courseRepository.findById(courseId)
                                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
@@ -59,30 +86,50 @@ public class StudentServiceImpl implements StudentService {
                                 .build();
 
                 enrollmentRepository.save(enrollment);
+                enrolledCourseIndex.invalidate(student.getId());
+                learningStreakService.recordActivity(student);
+                publishProgress("enrolled", student, course, 0.0, null);
 
-                System.out.println("Student " + student.getEmail() + " enrolled in course: " + course.getTitle());
+                log.info("Student {} enrolled in course {}", student.getId(), courseId);
         }
 
         @Override
         public List<Course> getEnrolledCourses(User student) {
-                // Use findByStudent method for results
-                System.out.println("Getting enrolled courses for student: " + student.getEmail() + " (ID: "
-                                + student.getId() + ")");
-
-                List<Enrollment> enrollments = enrollmentRepository.findByStudent(student);
+                List<Enrollment> enrollments = enrollmentRepository.findWithCourseDetailsByStudentId(student.getId());
                 List<Course> courses = enrollments.stream()
                                 .map(Enrollment::getCourse)
                                 .collect(Collectors.toList());
 
-                System.out.println(
-                                "📚 Found " + courses.size() + " enrolled courses for student: " + student.getEmail());
+                log.debug("Found {} enrolled courses for student {}", courses.size(), student.getId());
 
-                // Debug: Print course details
-                for (Course course : courses) {
-                        System.out.println(" Course: " + course.getTitle() + " (ID: " + course.getId() + ")");
+                return courses;
+        }
+
+        @Override
+        @Timed(value = "lms.student.my-courses", histogram = true)
+        public List<CourseDto> getMyCourses(User student) {
+                List<Enrollment> enrollments = enrollmentRepository.findWithCourseDetailsByStudentId(student.getId());
+                if (enrollments.isEmpty()) {
+                        return new ArrayList<>();
                 }
 
-                return courses;
+                Set<Long> courseIds = enrollments.stream()
+                                .map(enrollment -> enrollment.getCourse().getId())
+                                .collect(Collectors.toSet());
+                Map<Long, Integer> enrollmentCounts = new HashMap<>();
+                for (Object[] row : enrollmentRepository.countByCourseIds(courseIds)) {
+                        enrollmentCounts.put((Long) row[0], ((Number) row[1]).intValue());
+                }
+
+                return enrollments.stream()
+                                .map(enrollment -> {
+                                        Course course = enrollment.getCourse();
+                                        CourseDto dto = CourseMapper.toDto(course,
+                                                        enrollmentCounts.getOrDefault(course.getId(), 0));
+                                        dto.setProgress(enrollment.getProgress());
+                                        return dto;
+                                })
+                                .collect(Collectors.toList());
         }
 
         @Override
@@ -93,15 +140,16 @@ public class StudentServiceImpl implements StudentService {
                 Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student, course)
                                 .orElseThrow(() -> new RuntimeException("You are not enrolled in this course"));
 
-                List<Lesson> lessons = lessonRepository.findByCourseOrderByPositionAsc(course);
-                List<LessonProgress> lessonProgresses = lessonProgressRepository.findByStudentAndLesson_Course(student,
-                                course);
+                // One projection query serves both the progress list and the completed flags of the outline
+                List<LessonProgressDto> lessonProgresses = lessonProgressRepository
+                                .findProgressByCourseId(student.getId(), courseId);
+                Set<Long> completedIds = lessonProgresses.stream()
+                                .filter(LessonProgressDto::isCompleted)
+                                .map(LessonProgressDto::getLessonId)
+                                .collect(Collectors.toSet());
+                List<LessonOutlineDto> lessons = lessonOutline(courseId, completedIds);
 
-                long completedLessons = lessonProgresses.stream()
-                                .filter(LessonProgress::isCompleted)
-                                .map(lp -> lp.getLesson().getId())
-                                .distinct()
-                                .count();
+                long completedLessons = lessons.stream().filter(LessonOutlineDto::isCompleted).count();
 
                 double progress = lessons.isEmpty() ? 0 : (double) completedLessons / lessons.size() * 100;
 
@@ -113,8 +161,9 @@ public class StudentServiceImpl implements StudentService {
                         generateCertificateIfMissing(student, course);
                 }
 
+                // CourseDto and lesson outlines: the Course entity would serialize every lesson body
                 Map<String, Object> response = new HashMap<>();
-                response.put("course", course);
+                response.put("course", CourseMapper.toDto(course, courseRepository.countEnrollmentsByCourseId(courseId)));
                 response.put("lessons", lessons);
                 response.put("enrollment", enrollment);
                 response.put("completedLessons", completedLessons);
@@ -126,6 +175,7 @@ public class StudentServiceImpl implements StudentService {
         }
 
         @Override
+        @Timed(value = "lms.student.lesson.complete", histogram = true)
         public void markLessonCompleted(User student, Long courseId, Long lessonId) {
                 Lesson lesson = lessonRepository.findById(lessonId)
                                 .orElseThrow(() -> new RuntimeException("Lesson not found"));
@@ -143,15 +193,21 @@ public class StudentServiceImpl implements StudentService {
 
                 progress.setStudent(student);
                 progress.setLesson(lesson);
+                // completedAt stays at the first completion, so the rollup counts a lesson once per student
+                if (!progress.isCompleted() || progress.getCompletedAt() == null) {
+                        progress.setCompletedAt(LocalDateTime.now());
+                }
                 progress.setCompleted(true);
-                progress.setCompletedAt(LocalDateTime.now());
                 progress.setLastAccessedAt(LocalDateTime.now());
 
                 lessonProgressRepository.save(progress);
-                updateCourseProgress(student, lesson.getCourse());
+                double courseProgress = updateCourseProgress(student, lesson.getCourse());
+                learningStreakService.recordActivity(student);
+                publishProgress("lesson-completed", student, lesson.getCourse(), courseProgress, lessonId);
         }
 
         @Override
+        @Timed(value = "lms.student.heartbeat", histogram = true)
         public void trackTime(User student, Long courseId, Long seconds) {
                 Course course = courseRepository.findById(courseId)
                                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -165,17 +221,13 @@ public class StudentServiceImpl implements StudentService {
 
                 enrollment.setTimeSpentSeconds(currentTime + seconds);
                 enrollmentRepository.save(enrollment);
+                learningStreakService.recordActivity(student);
         }
 
         @Override
+        @Timed(value = "lms.student.stats", histogram = true)
         public Map<String, Object> getLearningStats(User student) {
-                System.out.println("Getting learning stats for student: " + student.getEmail() + " (ID: "
-                                + student.getId() + ")");
-
                 List<Enrollment> enrollments = enrollmentRepository.findByStudent(student);
-
-                System.out.println("STATS DEBUG: Found " + enrollments.size() + " enrollments for student "
-                                + student.getEmail());
                 long totalCourses = enrollments.size();
                 long completedCourses = enrollments.stream()
                                 .filter(e -> e.getProgress() >= 100)
@@ -201,7 +253,8 @@ public class StudentServiceImpl implements StudentService {
 
                 // Convert seconds to hours for dashboard (with 1 decimal point)
                 double totalLearningHours = Math.round((totalSeconds / 3600.0) * 10.0) / 10.0;
-                int learningStreak = calculateLearningStreak(student);
+                int learningStreak = learningStreakService.getCurrentStreak(student.getId());
+                int longestStreak = learningStreakService.getLongestStreak(student.getId());
 
                 Map<String, Object> stats = new HashMap<>();
                 stats.put("totalCourses", totalCourses);
@@ -209,6 +262,7 @@ public class StudentServiceImpl implements StudentService {
                 stats.put("inProgressCourses", inProgressCourses);
                 stats.put("totalLearningHours", totalLearningHours);
                 stats.put("learningStreak", learningStreak);
+                stats.put("longestStreak", longestStreak);
                 stats.put("totalEnrollments", totalCourses);
                 stats.put("completedLessons", totalCompletedLessons);
                 double overallProgress = totalCourses > 0
@@ -217,13 +271,29 @@ public class StudentServiceImpl implements StudentService {
                 stats.put("overallProgressPercentage", Math.round(overallProgress * 100.0) / 100.0);
                 stats.put("certificates", completedCourses);
 
-                System.out.println("Stats calculated - Total courses: " + totalCourses + ", Completed: "
-                                + completedCourses);
+                log.debug("Learning stats for student {}: {} courses, {} completed", student.getId(), totalCourses,
+                                completedCourses);
 
                 return stats;
         }
 
         @Override
+        public Map<String, Object> getActivityCalendar(User student, LocalDate from, LocalDate to) {
+                if (from.isAfter(to)) {
+                        throw new RuntimeException("'from' must not be after 'to'");
+                }
+
+                Map<String, Object> calendar = new HashMap<>();
+                calendar.put("from", from);
+                calendar.put("to", to);
+                calendar.put("activeDates", learningStreakService.getActiveDays(student.getId(), from, to));
+                calendar.put("currentStreak", learningStreakService.getCurrentStreak(student.getId()));
+                calendar.put("longestStreak", learningStreakService.getLongestStreak(student.getId()));
+                return calendar;
+        }
+
+        @Override
+        @Timed(value = "lms.student.course.progress", histogram = true)
         public Map<String, Object> getCourseProgress(User student, Long courseId) {
                 Course course = courseRepository.findById(courseId)
                                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -231,15 +301,13 @@ public class StudentServiceImpl implements StudentService {
                 Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student, course)
                                 .orElseThrow(() -> new RuntimeException("You are not enrolled in this course"));
 
-                List<Lesson> lessons = lessonRepository.findByCourseOrderByPositionAsc(course);
-                List<LessonProgress> lessonProgresses = lessonProgressRepository.findByStudentAndLesson_Course(student,
-                                course);
+                List<LessonOutlineDto> lessons = lessonOutline(student, courseId);
 
                 Map<String, Object> progress = new HashMap<>();
                 progress.put("course", course);
                 progress.put("enrollment", enrollment);
                 progress.put("totalLessons", lessons.size());
-                progress.put("completedLessons", lessonProgresses.stream().filter(LessonProgress::isCompleted).count());
+                progress.put("completedLessons", lessons.stream().filter(LessonOutlineDto::isCompleted).count());
                 progress.put("progressPercentage", enrollment.getProgress());
                 progress.put("lessons", lessons.stream().map(lesson -> {
                         Map<String, Object> lessonMap = new HashMap<>();
@@ -247,12 +315,8 @@ public class StudentServiceImpl implements StudentService {
                         lessonMap.put("title", lesson.getTitle());
                         lessonMap.put("duration", lesson.getDurationSeconds());
                         lessonMap.put("position", lesson.getPosition());
-
-                        boolean isCompleted = lessonProgresses.stream()
-                                        .anyMatch(lp -> lp.getLesson().getId().equals(lesson.getId())
-                                                        && lp.isCompleted());
-                        lessonMap.put("isCompleted", isCompleted);
-
+                        lessonMap.put("hasQuiz", lesson.getHasQuiz());
+                        lessonMap.put("isCompleted", lesson.isCompleted());
                         return lessonMap;
                 }).collect(Collectors.toList()));
 
@@ -260,32 +324,72 @@ public class StudentServiceImpl implements StudentService {
         }
 
         @Override
-        public List<Course> getAvailableCourses(User student) {
-                List<Course> allApprovedCourses = courseRepository.findByApprovedTrue();
-                List<Course> enrolledCourses = getEnrolledCourses(student);
+        public List<LessonOutlineDto> getLessonOutline(User student, Long courseId) {
+                return lessonOutline(student, courseId);
+        }
+
+        // Two narrow queries (outline projection + completed lesson ids) instead of full Lesson and
+        // LessonProgress entities
+        private List<LessonOutlineDto> lessonOutline(User student, Long courseId) {
+                return lessonOutline(courseId, new HashSet<>(
+                                lessonProgressRepository.findCompletedLessonIds(student.getId(), courseId)));
+        }
+
+        private List<LessonOutlineDto> lessonOutline(Long courseId, Set<Long> completedIds) {
+                List<LessonOutlineDto> lessons = lessonRepository.findOutlineByCourseId(courseId);
+                for (LessonOutlineDto lesson : lessons) {
+                        lesson.setCompleted(completedIds.contains(lesson.getId()));
+                }
+                return lessons;
+        }
 
-                List<Course> availableCourses = allApprovedCourses.stream()
-                                .filter(course -> enrolledCourses.stream()
-                                                .noneMatch(enrolled -> enrolled.getId().equals(course.getId())))
+        // Catalog (query cache + L2) minus the cached enrolled-id array: no enrollment rows are read
+        @Override
+        public List<Course> getAvailableCourses(User student, Long categoryId) {
+                List<Course> approvedCourses = categoryId == null
+                                ? courseRepository.findByApprovedTrue()
+                                : courseRepository.findByApprovedTrueAndCategoryId(categoryId);
+                long[] enrolledCourseIds = enrolledCourseIndex.getEnrolledCourseIds(student.getId());
+
+                List<Course> availableCourses = approvedCourses.stream()
+                                .filter(course -> Arrays.binarySearch(enrolledCourseIds, course.getId()) < 0)
                                 .collect(Collectors.toList());
 
-                System.out.println(" Available courses for " + student.getEmail() + ": " + availableCourses.size());
+                log.debug("{} available courses for student {}", availableCourses.size(), student.getId());
 
                 return availableCourses;
         }
 
-        private void updateCourseProgress(User student, Course course) {
-                List<Lesson> lessons = lessonRepository.findByCourseOrderByPositionAsc(course);
-                List<LessonProgress> progressList = lessonProgressRepository.findByStudentAndLesson_Course(student,
-                                course);
+        // Anti-join in the database, so only one page of courses is loaded however large the catalog is
+        @Override
+        public Map<String, Object> getAvailableCoursesPage(User student, Long categoryId, int page, int size) {
+                Page<Course> courses = courseRepository.findAvailableForStudent(student.getId(), categoryId,
+                                PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE),
+                                                Sort.by("id")));
+
+                Map<Long, Integer> enrollmentCounts = new HashMap<>();
+                if (courses.hasContent()) {
+                        List<Long> courseIds = courses.map(Course::getId).getContent();
+                        for (Object[] row : enrollmentRepository.countByCourseIds(courseIds)) {
+                                enrollmentCounts.put((Long) row[0], ((Number) row[1]).intValue());
+                        }
+                }
 
-                long completedLessons = progressList.stream()
-                                .filter(LessonProgress::isCompleted)
-                                .map(lp -> lp.getLesson().getId())
-                                .distinct()
-                                .count();
+                Map<String, Object> response = new HashMap<>();
+                response.put("content", courses.map(course -> CourseMapper.toDto(course,
+                                enrollmentCounts.getOrDefault(course.getId(), 0))).getContent());
+                response.put("page", courses.getNumber());
+                response.put("size", courses.getSize());
+                response.put("totalElements", courses.getTotalElements());
+                response.put("totalPages", courses.getTotalPages());
+                return response;
+        }
 
-                double progress = lessons.isEmpty() ? 0 : (double) completedLessons / lessons.size() * 100;
+        private double updateCourseProgress(User student, Course course) {
+                long totalLessons = lessonRepository.countByCourse(course);
+                long completedLessons = lessonProgressRepository.countCompletedLessons(student, course);
+
+                double progress = totalLessons == 0 ? 0 : (double) completedLessons / totalLessons * 100;
 
                 Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student, course)
                                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
@@ -293,13 +397,31 @@ public class StudentServiceImpl implements StudentService {
                 enrollment.setProgress(progress);
                 enrollmentRepository.save(enrollment);
 
-                System.out.println("Updated progress for " + student.getEmail() + " in " + course.getTitle() + ": "
-                                + progress + "%");
+                log.debug("Updated progress for student {} in course {}: {}%", student.getId(), course.getId(),
+                                progress);
 
                 // Generate certificate if course completed
                 if (progress >= 100) {
                         generateCertificateIfMissing(student, course);
                 }
+                return progress;
+        }
+
+        // Live updates replace dashboard polling: the student's own view, the course instructor and admin stats
+        private void publishProgress(String name, User student, Course course, double progress, Long lessonId) {
+                Map<String, Object> data = new HashMap<>();
+                data.put("studentId", student.getId());
+                data.put("courseId", course.getId());
+                data.put("progress", progress);
+                if (lessonId != null) {
+                        data.put("lessonId", lessonId);
+                }
+                eventPublisher.publishEvent(new LiveEvent(LiveEvent.student(student.getId()), name, data));
+                if (course.getInstructor() != null) {
+                        eventPublisher.publishEvent(
+                                        new LiveEvent(LiveEvent.instructor(course.getInstructor().getId()), name, data));
+                }
+                eventPublisher.publishEvent(new LiveEvent(LiveEvent.ADMIN, "stats-changed", Map.of("reason", name)));
         }
 
         private void generateCertificateIfMissing(User student, Course course) {
@@ -320,25 +442,6 @@ public class StudentServiceImpl implements StudentService {
                                 .build();
 
                 certificateRepository.save(certificate);
-                System.out.println("🎓 Certificate generated for " + student.getEmail() + " in course: "
-                                + course.getTitle());
-        }
-
-        private int calculateLearningStreak(User student) {
-                // Check if student has any lesson progress or enrollment today
-                List<Enrollment> enrollments = enrollmentRepository.findByStudent(student);
-                boolean activeToday = enrollments.stream()
-                                .anyMatch(e -> e.getEnrolledAt() != null
-                                                && e.getEnrolledAt().toLocalDate().equals(java.time.LocalDate.now()));
-
-                if (!activeToday) {
-                        List<LessonProgress> progresses = lessonProgressRepository.findByStudent(student);
-                        activeToday = progresses.stream()
-                                        .anyMatch(p -> p.getLastAccessedAt() != null
-                                                        && p.getLastAccessedAt().toLocalDate()
-                                                                        .equals(java.time.LocalDate.now()));
-                }
-
-                return activeToday ? 1 : 0;
+                log.info("Certificate generated for student {} in course {}", student.getId(), course.getId());
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,260 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.exception.ResourceNotFoundException;
+import com.lms.backend.service.MediaStorageService;
+import com.lms.backend.service.ObjectStore;
+import com.lms.backend.util.DiskLruCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Two-tier media storage. Uploads land in a local directory (hot tier) and are replicated to the
+ * {@link ObjectStore} (S3 or a compatible store) in the background; once a copy exists remotely the
+ * local file becomes an entry of a size-bounded LRU cache and may be evicted. Reads are served from the
+ * cache and fall back to the object store, refilling the cache. Files that are not yet replicated stay
+ * pinned locally and are picked up again at startup.
+ */
+@Service
+@ConditionalOnProperty(name = "lms.storage.backend", havingValue = "tiered")
+@Slf4j
+public class TieredStorageServiceImpl implements MediaStorageService {
+
+    private static final String TMP_SUFFIX = ".part";
+
+    private final ObjectStore objectStore;
+    private final MeterRegistry meterRegistry;
+    private final Path cacheDir;
+    private final DiskLruCache cache;
+    private final String baseUrl;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    // Retries are scheduled rather than slept, so a failing upload never holds one of the threads
+    private final ScheduledExecutorService replicator;
+
+    // Keys whose replication has not completed yet; they must not be evicted or fetched remotely
+    private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+    // One in-flight remote fetch per key
+    private final Map<String, Object> fetchLocks = new ConcurrentHashMap<>();
+
+    public TieredStorageServiceImpl(ObjectStore objectStore, MeterRegistry meterRegistry,
+            @Value("${lms.storage.cache.dir:media-cache}") String cacheDir,
+            @Value("${lms.storage.cache.max-bytes:10737418240}") long maxBytes,
+            @Value("${lms.storage.tiered.public-base-url:http://localhost:8080/api/media/files/}") String baseUrl,
+            @Value("${lms.storage.replication.threads:2}") int threads,
+            @Value("${lms.storage.replication.max-attempts:5}") int maxAttempts,
+            @Value("${lms.storage.replication.backoff-ms:1000}") long retryBackoffMs) {
+        this.objectStore = objectStore;
+        this.meterRegistry = meterRegistry;
+        this.cacheDir = Paths.get(cacheDir).toAbsolutePath().normalize();
+        this.cache = new DiskLruCache(this.cacheDir, maxBytes);
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.replicator = Executors.newScheduledThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "media-replicator-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            Files.createDirectories(this.cacheDir);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the media cache directory " + this.cacheDir, ex);
+        }
+        Gauge.builder("lms.storage.cache.bytes", cache, DiskLruCache::getTotalBytes).register(meterRegistry);
+        Gauge.builder("lms.storage.replication.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    // Files left by a previous run: cache the ones already in the store, re-replicate the rest
+    @PostConstruct
+    public void recoverLocalFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir)) {
+            for (Path file : files) {
+                String key = file.getFileName().toString();
+                if (key.endsWith(TMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (Files.isRegularFile(file)) {
+                    pending.put(key, Boolean.TRUE);
+                    replicator.execute(() -> recover(key, file));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replicator.shutdownNow();
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file, Long relatedId) {
+        String fileName = StringUtils.cleanPath(file.getOriginalFilename());
+        if (fileName.contains("..") || fileName.contains("/")) {
+            throw new RuntimeException("Sorry! Filename contains invalid path sequence " + fileName);
+        }
+        String key = UUID.randomUUID().toString() + "_" + fileName;
+
+        try (InputStream in = file.getInputStream()) {
+            writeAtomically(in, key);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+        }
+
+        pending.put(key, Boolean.TRUE);
+        replicator.execute(() -> replicate(key, 1));
+        return baseUrl + key;
+    }
+
+    @Override
+    public void deleteFile(String fileUrl) {
+        String key = MediaKeys.fromUrl(fileUrl);
+        pending.remove(key);
+        cache.remove(key);
+        try {
+            Files.deleteIfExists(cache.resolve(key));
+            objectStore.delete(key);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not delete file " + key, ex);
+        }
+    }
+
+    @Override
+    public Resource loadFile(String key) {
+        MediaKeys.validate(key);
+        Path local = cache.resolve(key);
+        if ((pending.containsKey(key) || cache.touch(key)) && Files.exists(local)) {
+            meterRegistry.counter("lms.storage.cache", "result", "hit").increment();
+            return new FileSystemResource(local);
+        }
+
+        synchronized (fetchLocks.computeIfAbsent(key, k -> new Object())) {
+            try {
+                if (cache.touch(key) && Files.exists(local)) {
+                    meterRegistry.counter("lms.storage.cache", "result", "hit").increment();
+                    return new FileSystemResource(local);
+                }
+                meterRegistry.counter("lms.storage.cache", "result", "miss").increment();
+                Path tmp = Files.createTempFile(cacheDir, "fetch-", TMP_SUFFIX);
+                try {
+                    objectStore.download(key, tmp);
+                    Files.move(tmp, local, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+                cache.register(key, Files.size(local));
+                return new FileSystemResource(local);
+            } catch (NoSuchFileException ex) {
+                throw new ResourceNotFoundException("File not found: " + key);
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not load file " + key, ex);
+            } finally {
+                fetchLocks.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public boolean isStoredUrl(String fileUrl) {
+        return fileUrl != null && fileUrl.startsWith(baseUrl) && fileUrl.indexOf('/', baseUrl.length()) < 0;
+    }
+
+    @Override
+    public String getDownloadUrl(String fileUrl, Duration ttl) {
+        String key = MediaKeys.fromUrl(fileUrl);
+        // Not in the store yet: only this node has it
+        if (pending.containsKey(key)) {
+            return baseUrl + key;
+        }
+        return objectStore.presignGet(key, ttl).orElse(baseUrl + key);
+    }
+
+    public boolean isReplicated(String key) {
+        return !pending.containsKey(key);
+    }
+
+    private void writeAtomically(InputStream in, String key) throws IOException {
+        Path tmp = Files.createTempFile(cacheDir, "upload-", TMP_SUFFIX);
+        try {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, cache.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void recover(String key, Path file) {
+        try {
+            if (objectStore.exists(key)) {
+                cache.register(key, Files.size(file));
+                pending.remove(key);
+                return;
+            }
+        } catch (IOException ex) {
+            log.warn("Could not check object store for {}: {}", key, ex.getMessage());
+        }
+        replicate(key, 1);
+    }
+
+    private void replicate(String key, int attempt) {
+        if (!pending.containsKey(key)) {
+            return; // deleted meanwhile
+        }
+        Path file = cache.resolve(key);
+        try {
+            objectStore.put(key, file);
+            long size = Files.size(file);
+            // Registered before it leaves pending so a replicated file is always visible to readers
+            if (pending.containsKey(key)) {
+                cache.register(key, size);
+                pending.remove(key);
+            }
+            meterRegistry.counter("lms.storage.replication", "result", "success").increment();
+        } catch (NoSuchFileException ex) {
+            pending.remove(key);
+        } catch (IOException | RuntimeException ex) {
+            if (attempt >= maxAttempts) {
+                // Stays pinned locally; retried on the next startup
+                meterRegistry.counter("lms.storage.replication", "result", "failure").increment();
+                log.error("Replication of {} failed after {} attempts: {}", key, attempt, ex.getMessage());
+                return;
+            }
+            meterRegistry.counter("lms.storage.replication", "result", "retry").increment();
+            long delay = retryBackoffMs << Math.min(attempt - 1, 10);
+            try {
+                replicator.schedule(() -> replicate(key, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                // Shutting down: the file stays pinned and is retried on the next startup
+            }
+        }
+    }
+}
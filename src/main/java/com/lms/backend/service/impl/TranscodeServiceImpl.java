@@ -0,0 +1,434 @@
+package com.lms.backend.service.impl;
+
+import com.lms.backend.exception.ResourceNotFoundException;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.TranscodeJob;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.repository.TranscodeJobRepository;
+import com.lms.backend.service.MediaStorageService;
+import com.lms.backend.service.TranscodeService;
+import com.lms.backend.util.FfmpegHls;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Turns uploaded lesson videos into HLS rendition ladders with a local ffmpeg binary.
+ *
+ * The transcode_jobs table is the queue: enqueue() inserts a QUEUED row, a scheduled dispatcher claims
+ * due rows (compare-and-set on the status) up to the number of free workers and hands them to a fixed
+ * pool, so at most lms.transcode.workers ffmpeg processes run at once and the backlog waits in the
+ * database, not in memory. Failures are retried with exponential backoff up to max-attempts. Jobs that
+ * were RUNNING when the process stopped are re-queued at startup (one transcoding node is assumed).
+ * Each job writes to its own directory, so manifests and segments never change once served.
+ *
+ * Only media in our own storage (opened as a local file) or on lms.transcode.allowed-hosts (over http/https)
+ * is transcoded; ffmpeg gets a protocol and demuxer whitelist so a crafted source cannot make it open
+ * other URLs or local files.
+ */
+@Service
+@Slf4j
+public class TranscodeServiceImpl implements TranscodeService {
+
+    private static final Set<String> HLS_EXTENSIONS = Set.of("m3u8", "ts");
+    private static final Duration PROBE_TIMEOUT = Duration.ofMinutes(1);
+    private static final long OUTPUT_DRAIN_MS = 5_000;
+
+    private final TranscodeJobRepository transcodeJobRepository;
+    private final LessonRepository lessonRepository;
+    private final MediaStorageService mediaStorageService;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final String ffmpeg;
+    private final String ffprobe;
+    private final Path outputDir;
+    private final String baseUrl;
+    private final List<FfmpegHls.Rendition> ladder;
+    private final int segmentSeconds;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Duration timeout;
+    private final Set<String> allowedHosts;
+
+    private final ExecutorService workers;
+    private final Semaphore freeWorkers;
+    private final AtomicInteger running = new AtomicInteger();
+
+    public TranscodeServiceImpl(TranscodeJobRepository transcodeJobRepository, LessonRepository lessonRepository,
+            MediaStorageService mediaStorageService, MeterRegistry meterRegistry,
+            @Value("${lms.transcode.enabled:true}") boolean enabled,
+            @Value("${lms.transcode.ffmpeg:ffmpeg}") String ffmpeg,
+            @Value("${lms.transcode.ffprobe:ffprobe}") String ffprobe,
+            @Value("${lms.transcode.output-dir:media-hls}") String outputDir,
+            @Value("${lms.transcode.public-base-url:http://localhost:8080/api/media/hls/}") String baseUrl,
+            @Value("${lms.transcode.renditions:1080:5000k,720:2800k,480:1400k,360:800k}") String renditions,
+            @Value("${lms.transcode.segment-seconds:6}") int segmentSeconds,
+            @Value("${lms.transcode.workers:2}") int workerCount,
+            @Value("${lms.transcode.max-attempts:3}") int maxAttempts,
+            @Value("${lms.transcode.retry-backoff-ms:60000}") long retryBackoffMs,
+            @Value("${lms.transcode.timeout:2h}") Duration timeout,
+            @Value("${lms.transcode.allowed-hosts:}") String allowedHosts) {
+        this.transcodeJobRepository = transcodeJobRepository;
+        this.lessonRepository = lessonRepository;
+        this.mediaStorageService = mediaStorageService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ffmpeg = ffmpeg;
+        this.ffprobe = ffprobe;
+        this.outputDir = Paths.get(outputDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.ladder = FfmpegHls.Rendition.parseLadder(renditions);
+        this.segmentSeconds = segmentSeconds;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.timeout = timeout;
+        this.allowedHosts = Arrays.stream(allowedHosts.split(","))
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        int threads = Math.max(1, workerCount);
+        this.freeWorkers = new Semaphore(threads);
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "transcode-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("lms.transcode.running", running, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs are killed and re-queued on the next start
+        workers.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void requeueInterruptedJobs() {
+        if (!enabled) {
+            return;
+        }
+        int requeued = transcodeJobRepository.requeueRunning(LocalDateTime.now());
+        if (requeued > 0) {
+            log.info("Re-queued {} transcode jobs interrupted by the last shutdown", requeued);
+        }
+        dispatch();
+    }
+
+    @Override
+    public Optional<Long> enqueue(Lesson lesson) {
+        String sourceUrl = lesson.getMediaUrl();
+        if (!enabled || !isVideo(sourceUrl)) {
+            return Optional.empty();
+        }
+        if (!mediaStorageService.isStoredUrl(sourceUrl) && !isAllowedRemote(sourceUrl)) {
+            log.info("Not transcoding lesson {}: {} is neither stored media nor on an allowed host",
+                    lesson.getId(), sourceUrl);
+            return Optional.empty();
+        }
+        transcodeJobRepository.cancelQueued(lesson.getId(), LocalDateTime.now());
+        TranscodeJob job = transcodeJobRepository.save(TranscodeJob.builder()
+                .lesson(lesson)
+                .sourceUrl(sourceUrl)
+                .status(TranscodeJob.Status.QUEUED)
+                .build());
+
+        // Start right away instead of waiting for the next poll, but never before the row is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch();
+                }
+            });
+        } else {
+            dispatch();
+        }
+        return Optional.of(job.getId());
+    }
+
+    @Override
+    public Map<String, Object> getLatestJob(Long lessonId) {
+        TranscodeJob job = transcodeJobRepository.findFirstByLessonIdOrderByIdDesc(lessonId)
+                .orElseThrow(() -> new ResourceNotFoundException("No transcode job for lesson " + lessonId));
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("jobId", job.getId());
+        map.put("lessonId", lessonId);
+        map.put("status", job.getStatus().name());
+        map.put("progress", job.getProgress());
+        map.put("attempts", job.getAttempts());
+        map.put("sourceUrl", job.getSourceUrl());
+        map.put("manifestUrl", job.getManifestUrl());
+        map.put("error", job.getError());
+        map.put("createdAt", job.getCreatedAt());
+        map.put("startedAt", job.getStartedAt());
+        map.put("finishedAt", job.getFinishedAt());
+        return map;
+    }
+
+    @Override
+    public Resource loadHlsFile(Long lessonId, Long jobId, String path) {
+        Path jobDir = jobDir(lessonId, jobId);
+        Path file = jobDir.resolve(path).normalize();
+        String extension = path.substring(path.lastIndexOf('.') + 1);
+        if (!file.startsWith(jobDir) || !HLS_EXTENSIONS.contains(extension) || !Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("HLS file not found: " + path);
+        }
+        return new FileSystemResource(file);
+    }
+
+    // Safety net for jobs whose retry time has come and for dispatches lost to a full pool
+    @Scheduled(fixedDelayString = "${lms.transcode.poll-ms:10000}", initialDelayString = "${lms.transcode.poll-ms:10000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        int free = freeWorkers.availablePermits();
+        if (free == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Long jobId : transcodeJobRepository.findDispatchable(now, PageRequest.of(0, free))) {
+            if (!freeWorkers.tryAcquire()) {
+                return;
+            }
+            if (transcodeJobRepository.claim(jobId, now) == 0) {
+                freeWorkers.release(); // claimed by a concurrent dispatch
+                continue;
+            }
+            workers.execute(() -> {
+                running.incrementAndGet();
+                try {
+                    run(jobId);
+                } finally {
+                    running.decrementAndGet();
+                    freeWorkers.release();
+                }
+            });
+        }
+    }
+
+    private void run(Long jobId) {
+        TranscodeJob job = transcodeJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return; // lesson deleted
+        }
+        Long lessonId = job.getLesson().getId();
+        Path dir = jobDir(lessonId, jobId);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            deleteRecursively(dir);
+            Files.createDirectories(dir);
+            Input input = resolveInput(job.getSourceUrl());
+
+            FfmpegHls.Probe probe = FfmpegHls.parseProbe(
+                    exec(FfmpegHls.probeCommand(ffprobe, input.location(), input.protocols()), dir));
+            if (!probe.hasVideo()) {
+                throw new IOException("Source has no video stream");
+            }
+            List<FfmpegHls.Rendition> renditions = FfmpegHls.fitLadder(ladder, probe.height());
+            transcode(jobId, FfmpegHls.transcodeCommand(ffmpeg, input.location(), input.protocols(), dir,
+                    renditions, probe.hasAudio(), segmentSeconds), dir, probe.durationSeconds());
+
+            String manifestUrl = baseUrl + lessonId + "/" + jobId + "/" + FfmpegHls.MASTER_PLAYLIST;
+            job.setStatus(TranscodeJob.Status.SUCCEEDED);
+            job.setProgress(100);
+            job.setManifestUrl(manifestUrl);
+            job.setError(null);
+            job.setFinishedAt(LocalDateTime.now());
+            transcodeJobRepository.save(job);
+            if (lessonRepository.replaceMediaUrl(lessonId, job.getSourceUrl(), manifestUrl, LocalDateTime.now()) == 0) {
+                log.info("Lesson {} media changed while job {} ran; keeping its current media", lessonId, jobId);
+            }
+            sample.stop(meterRegistry.timer("lms.transcode.duration", "result", "success"));
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            sample.stop(meterRegistry.timer("lms.transcode.duration", "result", "failure"));
+            fail(job, e);
+        }
+    }
+
+    private void fail(TranscodeJob job, Exception e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return; // shutting down: the job stays RUNNING and requeueInterruptedJobs picks it up
+        }
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        job.setError(message.length() > 2000 ? message.substring(0, 2000) : message);
+        if (job.getAttempts() < maxAttempts) {
+            long delay = retryBackoffMs << Math.min(job.getAttempts() - 1, 10);
+            job.setStatus(TranscodeJob.Status.QUEUED);
+            job.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+            log.warn("Transcode job {} attempt {} failed, retrying in {} ms: {}", job.getId(), job.getAttempts(),
+                    delay, message);
+        } else {
+            job.setStatus(TranscodeJob.Status.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            log.error("Transcode job {} failed after {} attempts: {}", job.getId(), job.getAttempts(), message);
+        }
+        transcodeJobRepository.save(job);
+    }
+
+    // Runs ffmpeg, persisting progress whenever it moves by a whole percent
+    private void transcode(Long jobId, List<String> command, Path dir, double durationSeconds)
+            throws IOException, InterruptedException {
+        AtomicInteger reported = new AtomicInteger();
+        runProcess("ffmpeg", command, dir.resolve("ffmpeg.log"), timeout, line -> {
+            int percent = FfmpegHls.parseProgress(line, durationSeconds);
+            if (percent > reported.get()) {
+                reported.set(percent);
+                transcodeJobRepository.updateProgress(jobId, percent);
+            }
+        });
+    }
+
+    private List<String> exec(List<String> command, Path dir) throws IOException, InterruptedException {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        runProcess("ffprobe", command, dir.resolve("ffprobe.log"), PROBE_TIMEOUT, lines::add);
+        return List.copyOf(lines);
+    }
+
+    /**
+     * Runs a process with stderr going to logFile and every stdout line handed to onLine. Stdout is drained on
+     * its own thread so the worker only waits on the process itself: one that hangs without printing anything
+     * is still killed when the limit expires (or when the worker is interrupted by shutdown).
+     */
+    private void runProcess(String name, List<String> command, Path logFile, Duration limit, Consumer<String> onLine)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectError(logFile.toFile()).start();
+        Thread reader = new Thread(() -> drain(name, process, onLine), Thread.currentThread().getName() + "-" + name);
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            if (!process.waitFor(limit.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException(name + " timed out after " + limit);
+            }
+            // The process has exited; its last lines may still be in the pipe
+            reader.join(OUTPUT_DRAIN_MS);
+            if (reader.isAlive()) {
+                throw new IOException(name + " exited but its output did not end");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException(name + " exited with " + process.exitValue() + ": " + tail(logFile));
+            }
+        } finally {
+            // Also closes stdout, which ends the reader of a killed process
+            process.destroyForcibly();
+        }
+    }
+
+    private static void drain(String name, Process process, Consumer<String> onLine) {
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                try {
+                    onLine.accept(line);
+                } catch (RuntimeException e) {
+                    // Keep reading: a full pipe would stall the process until it times out
+                    log.warn("Could not handle {} output: {}", name, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.debug("{} output closed: {}", name, e.getMessage()); // process killed
+        }
+    }
+
+    private record Input(String location, String protocols) {
+    }
+
+    // Files we store are handed to ffmpeg by path, allowlisted external links by URL, anything else is refused
+    private Input resolveInput(String sourceUrl) throws IOException {
+        if (mediaStorageService.isStoredUrl(sourceUrl)) {
+            String path = mediaStorageService.loadFile(MediaKeys.fromUrl(sourceUrl)).getFile().getAbsolutePath();
+            return new Input(path, FfmpegHls.LOCAL_PROTOCOLS);
+        }
+        if (isAllowedRemote(sourceUrl)) {
+            return new Input(sourceUrl, FfmpegHls.REMOTE_PROTOCOLS);
+        }
+        throw new IOException("Source is neither stored media nor on an allowed host");
+    }
+
+    private boolean isAllowedRemote(String url) {
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            return uri.getHost() != null && uri.getUserInfo() == null
+                    && ("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))
+                    && allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT));
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    private boolean isVideo(String url) {
+        if (url == null || url.isBlank()) {
+            return false;
+        }
+        String path = url.contains("?") ? url.substring(0, url.indexOf('?')) : url;
+        return MediaTypeFactory.getMediaType(path)
+                .map(type -> type.getType().equals("video"))
+                .orElse(false);
+    }
+
+    private Path jobDir(Long lessonId, Long jobId) {
+        return outputDir.resolve(String.valueOf(lessonId)).resolve(String.valueOf(jobId));
+    }
+
+    private static String tail(Path logFile) {
+        try {
+            List<String> lines = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+            return String.join("\n", lines.subList(Math.max(0, lines.size() - 5), lines.size()));
+        } catch (IOException e) {
+            return "(no log)";
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
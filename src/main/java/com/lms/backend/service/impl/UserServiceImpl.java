@@ -2,9 +2,11 @@ package com.lms.backend.service.impl;
 
 import com.lms.backend.model.User;
 import com.lms.backend.repository.UserRepository;
+import com.lms.backend.service.AnalyticsRollupService;
 import com.lms.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
@@ -13,6 +15,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
     @Override
     public User getUserById(Long id) {
         return userRepository.findById(id)
@@ -41,8 +46,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         User existing = getUserById(id);
+        // The user's enrollments go with it; mark their courses in the same transaction
+        analyticsRollupService.invalidateStudentCourses(id);
         userRepository.delete(existing);
     }
 }
\ No newline at end of file
@@ -26,13 +26,18 @@ public class CourseMapper {
     }
 
     public static CourseDto toDto(Course course) {
+        return toDto(course, course.getEnrollmentCount());
+    }
+
+    // Same mapping without touching course.getEnrollments(), for callers that already know the count
+    public static CourseDto toDto(Course course, int enrollmentCount) {
         CourseDto dto = new CourseDto();
         dto.setId(course.getId());
         dto.setTitle(course.getTitle());
         dto.setDescription(course.getDescription());
         dto.setCoverImageUrl(course.getCoverImageUrl());
         dto.setApproved(course.isApproved());
-        dto.setEnrollmentCount(course.getEnrollments() != null ? course.getEnrollments().size() : 0);
+        dto.setEnrollmentCount(enrollmentCount);
 
         // Instructor info
         if (course.getInstructor() != null) {
@@ -47,7 +52,7 @@ public class CourseMapper {
         }
         dto.setLevel(course.getLevel());
         dto.setRating(course.getRating());
-        dto.setTotalStudents(course.getEnrollmentCount());
+        dto.setTotalStudents(enrollmentCount);
         dto.setDuration(course.getDuration());
         dto.setPrice(course.getPrice());
 
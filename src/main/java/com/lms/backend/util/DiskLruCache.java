@@ -0,0 +1,81 @@
+package com.lms.backend.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU index over the files of one directory. Only registered files count and can be evicted,
+ * so a caller can keep a file pinned (e.g. until it has been copied elsewhere) by registering it later.
+ * Eviction deletes the least recently used files until the total is back under maxBytes; readers that
+ * already opened an evicted file keep reading it (the inode lives until closed).
+ */
+public class DiskLruCache {
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public DiskLruCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public Path resolve(String key) {
+        return directory.resolve(key);
+    }
+
+    // Adds the file (or refreshes its size) as most recently used, then evicts down to maxBytes
+    public synchronized void register(String key, long size) {
+        Long previous = sizes.put(key, size);
+        totalBytes += size - (previous != null ? previous : 0L);
+        evict(key);
+    }
+
+    // Marks a read; false when the file is not (or no longer) registered
+    public synchronized boolean touch(String key) {
+        return sizes.get(key) != null;
+    }
+
+    public synchronized boolean contains(String key) {
+        return sizes.containsKey(key);
+    }
+
+    public synchronized void remove(String key) {
+        Long size = sizes.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return sizes.size();
+    }
+
+    // Never evicts the entry that was just registered, even if it alone exceeds maxBytes
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not evict " + entry.getKey(), ex);
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lms.backend.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Conditional GET for listings whose content is described by a cheap version stamp
+ * (counts and MAX(updatedAt) from one aggregate query) rather than by hashing the serialized body.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // Weak ETag over the stamp values; the scope keeps equal stamps of different listings apart.
+    // Weak because it describes the content, not the bytes, and because Tomcat only gzips responses whose
+    // ETag is weak (a strong one would keep server.compression off for exactly these large listings).
+    public static String of(String scope, Object... stamp) {
+        String source = scope + Arrays.toString(stamp);
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Marks the response as storable but always revalidated (Cache-Control: private, no-cache) and
+     * compares the ETag with If-None-Match. Returns true when a 304 has been prepared: the controller
+     * must return null right away, skipping the query and serialization.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String etag) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            // Set before Spring Security's header writer, which only adds no-store when none is present
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,194 @@
+package com.lms.backend.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command lines and output parsing for segmenting a video into an HLS rendition ladder with one ffmpeg
+ * process: the input is decoded once, split and scaled per rendition, and written as
+ * {outputDir}/{index}/playlist.m3u8 + segments plus a {outputDir}/master.m3u8 that references them.
+ */
+public final class FfmpegHls {
+
+    public static final String MASTER_PLAYLIST = "master.m3u8";
+
+    // Protocols ffmpeg may open for an input: stored files only, or plain http(s) for allowlisted hosts
+    public static final String LOCAL_PROTOCOLS = "file";
+    public static final String REMOTE_PROTOCOLS = "http,https,tcp,tls";
+    // Container demuxers accepted as a source; excludes hls, concat and the like, which open further inputs
+    public static final String VIDEO_DEMUXERS = "mov,mp4,m4a,3gp,3g2,mj2,matroska,webm,avi,flv,mpegts,mpeg";
+
+    private FfmpegHls() {
+    }
+
+    // One step of the ladder, e.g. "720:2800k"
+    public record Rendition(int height, String videoBitrate) {
+
+        public static List<Rendition> parseLadder(String ladder) {
+            List<Rendition> renditions = new ArrayList<>();
+            for (String step : ladder.split(",")) {
+                String[] parts = step.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Rendition must be height:bitrate, got " + step);
+                }
+                renditions.add(new Rendition(Integer.parseInt(parts[0].trim()), parts[1].trim()));
+            }
+            return renditions;
+        }
+    }
+
+    // What ffprobe reported about the source
+    public record Probe(double durationSeconds, int height, boolean hasVideo, boolean hasAudio) {
+    }
+
+    public static List<String> probeCommand(String ffprobe, String input, String protocols) {
+        List<String> cmd = new ArrayList<>(List.of(ffprobe, "-v", "error",
+                "-show_entries", "format=duration:stream=codec_type,height",
+                "-of", "default=noprint_wrappers=1"));
+        cmd.addAll(inputOptions(protocols));
+        cmd.add(input);
+        return cmd;
+    }
+
+    // Parses the key=value lines printed by probeCommand
+    public static Probe parseProbe(List<String> lines) {
+        double duration = 0;
+        int height = 0;
+        boolean video = false;
+        boolean audio = false;
+        for (String line : lines) {
+            int eq = line.indexOf('=');
+            if (eq < 0) {
+                continue;
+            }
+            String key = line.substring(0, eq).trim();
+            String value = line.substring(eq + 1).trim();
+            switch (key) {
+                case "codec_type" -> {
+                    video |= value.equals("video");
+                    audio |= value.equals("audio");
+                }
+                case "height" -> height = Math.max(height, parseInt(value));
+                case "duration" -> duration = Math.max(duration, parseDouble(value));
+                default -> {
+                }
+            }
+        }
+        return new Probe(duration, height, video, audio);
+    }
+
+    // Drops renditions taller than the source (no upscaling), but always keeps the smallest one
+    public static List<Rendition> fitLadder(List<Rendition> ladder, int sourceHeight) {
+        List<Rendition> fitted = new ArrayList<>();
+        Rendition smallest = null;
+        for (Rendition rendition : ladder) {
+            if (sourceHeight <= 0 || rendition.height() <= sourceHeight) {
+                fitted.add(rendition);
+            }
+            if (smallest == null || rendition.height() < smallest.height()) {
+                smallest = rendition;
+            }
+        }
+        if (fitted.isEmpty() && smallest != null) {
+            fitted.add(smallest);
+        }
+        return fitted;
+    }
+
+    public static List<String> transcodeCommand(String ffmpeg, String input, String protocols, Path outputDir,
+            List<Rendition> renditions, boolean hasAudio, int segmentSeconds) {
+        List<String> cmd = new ArrayList<>(List.of(ffmpeg, "-y", "-hide_banner", "-nostdin", "-nostats",
+                "-progress", "pipe:1"));
+        cmd.addAll(inputOptions(protocols));
+        cmd.addAll(List.of("-i", input));
+
+        StringBuilder filter = new StringBuilder("[0:v]split=").append(renditions.size());
+        for (int i = 0; i < renditions.size(); i++) {
+            filter.append("[s").append(i).append(']');
+        }
+        for (int i = 0; i < renditions.size(); i++) {
+            filter.append(";[s").append(i).append("]scale=-2:").append(renditions.get(i).height())
+                    .append("[v").append(i).append(']');
+        }
+        cmd.add("-filter_complex");
+        cmd.add(filter.toString());
+
+        StringBuilder streamMap = new StringBuilder();
+        for (int i = 0; i < renditions.size(); i++) {
+            Rendition rendition = renditions.get(i);
+            cmd.addAll(List.of("-map", "[v" + i + "]",
+                    "-c:v:" + i, "libx264",
+                    "-b:v:" + i, rendition.videoBitrate(),
+                    "-maxrate:v:" + i, rendition.videoBitrate(),
+                    "-bufsize:v:" + i, doubleBitrate(rendition.videoBitrate())));
+            if (hasAudio) {
+                cmd.addAll(List.of("-map", "0:a:0"));
+            }
+            streamMap.append(i == 0 ? "" : " ").append("v:").append(i);
+            if (hasAudio) {
+                streamMap.append(",a:").append(i);
+            }
+        }
+        if (hasAudio) {
+            cmd.addAll(List.of("-c:a", "aac", "-b:a", "128k", "-ac", "2"));
+        }
+
+        // Keyframes on segment boundaries so every rendition switches cleanly
+        cmd.addAll(List.of("-preset", "veryfast", "-sc_threshold", "0",
+                "-force_key_frames", "expr:gte(t,n_forced*" + segmentSeconds + ")",
+                "-f", "hls",
+                "-hls_time", String.valueOf(segmentSeconds),
+                "-hls_playlist_type", "vod",
+                "-hls_flags", "independent_segments",
+                "-hls_segment_filename", outputDir.resolve("%v").resolve("segment_%05d.ts").toString(),
+                "-master_pl_name", MASTER_PLAYLIST,
+                "-var_stream_map", streamMap.toString(),
+                outputDir.resolve("%v").resolve("playlist.m3u8").toString()));
+        return cmd;
+    }
+
+    // Percentage from one line of -progress output (out_time_us / out_time_ms are both microseconds), or -1
+    public static int parseProgress(String line, double durationSeconds) {
+        if (durationSeconds <= 0 || !(line.startsWith("out_time_us=") || line.startsWith("out_time_ms="))) {
+            return -1;
+        }
+        long micros;
+        try {
+            micros = Long.parseLong(line.substring(line.indexOf('=') + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1; // "N/A" before the first frame
+        }
+        int percent = (int) (micros / 1e6 / durationSeconds * 100);
+        return Math.max(0, Math.min(99, percent));
+    }
+
+    // Must precede the input they apply to
+    private static List<String> inputOptions(String protocols) {
+        return List.of("-protocol_whitelist", protocols, "-format_whitelist", VIDEO_DEMUXERS);
+    }
+
+    private static String doubleBitrate(String bitrate) {
+        char unit = Character.toLowerCase(bitrate.charAt(bitrate.length() - 1));
+        if (unit == 'k' || unit == 'm') {
+            return Integer.parseInt(bitrate.substring(0, bitrate.length() - 1)) * 2 + bitrate.substring(bitrate.length() - 1);
+        }
+        return String.valueOf(Long.parseLong(bitrate) * 2);
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.lms.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * One chunk of a course gradebook: up to {@code capacity} students (added in ascending id order) by the
+ * course's lessons and quizzes. Lesson completion and quiz passes are bitsets (one long per 64 columns),
+ * best scores a float per cell with NaN for "no attempt", so a 1000 x 200 chunk takes under 1 MB and the
+ * same instance is reused for every chunk of the course.
+ */
+public class GradebookMatrix {
+
+    private final int capacity;
+    private final int lessonWords;
+    private final int quizCount;
+    private final int quizWords;
+
+    private final long[] studentIds;
+    private final String[] studentNames;
+    private final long[] completed;
+    private final long[] passed;
+    private final float[] bestScores;
+    private int size;
+
+    public GradebookMatrix(int capacity, int lessonCount, int quizCount) {
+        this.capacity = capacity;
+        this.lessonWords = words(lessonCount);
+        this.quizCount = quizCount;
+        this.quizWords = words(quizCount);
+        this.studentIds = new long[capacity];
+        this.studentNames = new String[capacity];
+        this.completed = new long[capacity * lessonWords];
+        this.passed = new long[capacity * quizWords];
+        this.bestScores = new float[capacity * quizCount];
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(completed, 0L);
+        Arrays.fill(passed, 0L);
+        Arrays.fill(bestScores, Float.NaN);
+        Arrays.fill(studentNames, null);
+        size = 0;
+    }
+
+    // Returns the row index; ids must be strictly ascending within a chunk
+    public int addStudent(long studentId, String name) {
+        if (size == capacity) {
+            throw new IllegalStateException("Gradebook chunk is full");
+        }
+        if (size > 0 && studentId <= studentIds[size - 1]) {
+            throw new IllegalArgumentException("Student ids must be ascending");
+        }
+        studentIds[size] = studentId;
+        studentNames[size] = name;
+        return size++;
+    }
+
+    // Row of the student, or -1 when the student is not part of this chunk
+    public int rowOf(long studentId) {
+        int row = Arrays.binarySearch(studentIds, 0, size, studentId);
+        return row >= 0 ? row : -1;
+    }
+
+    public void markCompleted(int row, int lesson) {
+        completed[row * lessonWords + (lesson >>> 6)] |= 1L << lesson;
+    }
+
+    public void setQuizResult(int row, int quiz, double bestScore, boolean quizPassed) {
+        bestScores[row * quizCount + quiz] = (float) bestScore;
+        if (quizPassed) {
+            passed[row * quizWords + (quiz >>> 6)] |= 1L << quiz;
+        }
+    }
+
+    public boolean isCompleted(int row, int lesson) {
+        return (completed[row * lessonWords + (lesson >>> 6)] & (1L << lesson)) != 0;
+    }
+
+    public boolean isPassed(int row, int quiz) {
+        return (passed[row * quizWords + (quiz >>> 6)] & (1L << quiz)) != 0;
+    }
+
+    // NaN when the student has not attempted the quiz
+    public float bestScore(int row, int quiz) {
+        return bestScores[row * quizCount + quiz];
+    }
+
+    public int completedCount(int row) {
+        return bitCount(completed, row * lessonWords, lessonWords);
+    }
+
+    public int passedCount(int row) {
+        return bitCount(passed, row * quizWords, quizWords);
+    }
+
+    public long studentId(int row) {
+        return studentIds[row];
+    }
+
+    public String studentName(int row) {
+        return studentNames[row];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long firstStudentId() {
+        return studentIds[0];
+    }
+
+    public long lastStudentId() {
+        return studentIds[size - 1];
+    }
+
+    private static int bitCount(long[] bits, int from, int words) {
+        int count = 0;
+        for (int i = from; i < from + words; i++) {
+            count += Long.bitCount(bits[i]);
+        }
+        return count;
+    }
+
+    private static int words(int bits) {
+        return Math.max(1, (bits + 63) >>> 6);
+    }
+}
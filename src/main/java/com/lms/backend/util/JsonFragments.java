@@ -0,0 +1,10 @@
+package com.lms.backend.util;
+
+import java.util.List;
+
+/**
+ * A JSON array body made of already serialized elements. Written by JsonFragmentsHttpMessageConverter
+ * as '[' + fragments joined by ',' + ']' straight into the response stream, without going through Jackson.
+ */
+public record JsonFragments(List<byte[]> fragments) {
+}
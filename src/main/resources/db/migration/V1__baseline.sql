@@ -0,0 +1,163 @@
+-- Baseline: the schema as Hibernate ddl-auto=update left it before Flyway took over.
+-- Databases that already have these tables are baselined at version 1 (spring.flyway.baseline-on-migrate)
+-- and only run V2 onwards; empty databases are created from here.
+-- Kept to syntax that runs on MySQL 8 and on H2 in MySQL mode (load harness, QueryPlanTest).
+
+CREATE TABLE roles (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(30) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    reputation_points INT NOT NULL DEFAULT 0,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    password VARCHAR(255),
+    role_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE categories (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE courses (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    cover_image_url VARCHAR(255),
+    approved BIT NOT NULL DEFAULT 0,
+    price DOUBLE,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    level VARCHAR(255),
+    rating DOUBLE,
+    total_students INT,
+    duration VARCHAR(255),
+    category_id BIGINT,
+    instructor_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_courses_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_courses_instructor FOREIGN KEY (instructor_id) REFERENCES users (id)
+);
+
+CREATE TABLE lessons (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    content TEXT,
+    media_url VARCHAR(255),
+    position INT,
+    duration_seconds INT,
+    course_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_lessons_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE TABLE enrollments (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    enrolled_at DATETIME(6),
+    progress DOUBLE,
+    time_spent_seconds BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_enrollments_student_course UNIQUE (student_id, course_id),
+    CONSTRAINT fk_enrollments_student FOREIGN KEY (student_id) REFERENCES users (id),
+    CONSTRAINT fk_enrollments_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE TABLE lesson_progress (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    lesson_id BIGINT NOT NULL,
+    completed BIT NOT NULL DEFAULT 0,
+    completed_at DATETIME(6),
+    last_accessed_at DATETIME(6),
+    time_spent INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_lesson_progress_student_lesson UNIQUE (student_id, lesson_id),
+    CONSTRAINT fk_lesson_progress_student FOREIGN KEY (student_id) REFERENCES users (id),
+    CONSTRAINT fk_lesson_progress_lesson FOREIGN KEY (lesson_id) REFERENCES lessons (id)
+);
+
+CREATE TABLE quizzes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    lesson_id BIGINT NOT NULL,
+    passing_score INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_quizzes_lesson UNIQUE (lesson_id),
+    CONSTRAINT fk_quizzes_lesson FOREIGN KEY (lesson_id) REFERENCES lessons (id)
+);
+
+CREATE TABLE questions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    quiz_id BIGINT NOT NULL,
+    text TEXT NOT NULL,
+    correct_option_index INT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_questions_quiz FOREIGN KEY (quiz_id) REFERENCES quizzes (id)
+);
+
+CREATE TABLE question_options (
+    question_id BIGINT NOT NULL,
+    option_text VARCHAR(255),
+    CONSTRAINT fk_question_options_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
+
+CREATE TABLE quiz_attempts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    quiz_id BIGINT NOT NULL,
+    score DOUBLE,
+    passed BIT NOT NULL DEFAULT 0,
+    completed_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_quiz_attempts_student FOREIGN KEY (student_id) REFERENCES users (id),
+    CONSTRAINT fk_quiz_attempts_quiz FOREIGN KEY (quiz_id) REFERENCES quizzes (id)
+);
+
+CREATE TABLE certificates (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    issue_date DATETIME(6),
+    certificate_code VARCHAR(255),
+    student_name VARCHAR(255),
+    course_name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_certificates_code UNIQUE (certificate_code),
+    CONSTRAINT fk_certificates_student FOREIGN KEY (student_id) REFERENCES users (id),
+    CONSTRAINT fk_certificates_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE TABLE forum_posts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    content TEXT NOT NULL,
+    user_id BIGINT,
+    created_at DATETIME(6),
+    is_locked BIT NOT NULL DEFAULT 0,
+    parent_post_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_forum_posts_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_forum_posts_parent FOREIGN KEY (parent_post_id) REFERENCES forum_posts (id)
+);
+
+CREATE TABLE system_activities (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    type VARCHAR(255) NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    icon VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+);
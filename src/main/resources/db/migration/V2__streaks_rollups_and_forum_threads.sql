@@ -0,0 +1,76 @@
+-- Schema added on top of the pre-Flyway baseline (V1): change stamps for the catalog / rollup windows,
+-- forum thread columns, learning streaks and the analytics rollup tables.
+-- Additive only, so it runs both on fresh databases and on ones baselined at V1.
+
+-- LessonRepository.findVersionStampByCourseId, CourseRepository.findCatalogVersionStamp
+ALTER TABLE lessons ADD COLUMN updated_at DATETIME(6);
+UPDATE lessons SET updated_at = CURRENT_TIMESTAMP WHERE updated_at IS NULL;
+
+-- Analytics rollup window (EnrollmentRepository.findCourseIdsChangedBetween)
+ALTER TABLE enrollments ADD COLUMN updated_at DATETIME(6);
+UPDATE enrollments SET updated_at = enrolled_at WHERE updated_at IS NULL;
+
+-- Forum threads: owning course / lesson, materialized path and reply counters (ForumPost).
+-- Existing posts keep a NULL path; ForumPostServiceImpl fills paths and counters at startup.
+ALTER TABLE forum_posts ADD COLUMN course_id BIGINT;
+ALTER TABLE forum_posts ADD COLUMN lesson_id BIGINT;
+ALTER TABLE forum_posts ADD COLUMN path VARCHAR(255);
+ALTER TABLE forum_posts ADD COLUMN depth INT NOT NULL DEFAULT 0;
+ALTER TABLE forum_posts ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+ALTER TABLE forum_posts ADD COLUMN last_reply_at DATETIME(6);
+ALTER TABLE forum_posts ADD CONSTRAINT fk_forum_posts_course
+    FOREIGN KEY (course_id) REFERENCES courses (id) ON DELETE SET NULL;
+ALTER TABLE forum_posts ADD CONSTRAINT fk_forum_posts_lesson
+    FOREIGN KEY (lesson_id) REFERENCES lessons (id) ON DELETE SET NULL;
+
+CREATE INDEX idx_forum_posts_path ON forum_posts (path);
+CREATE INDEX idx_forum_posts_depth_created ON forum_posts (depth, created_at);
+CREATE INDEX idx_forum_posts_hot ON forum_posts (depth, reply_count, last_reply_at);
+CREATE INDEX idx_forum_posts_course_thread ON forum_posts (course_id, parent_post_id, created_at);
+CREATE INDEX idx_forum_posts_lesson_thread ON forum_posts (lesson_id, parent_post_id, created_at);
+
+CREATE TABLE learning_streaks (
+    student_id BIGINT NOT NULL,
+    last_active_date DATE,
+    current_streak INT,
+    longest_streak INT,
+    activity_start_date DATE,
+    activity_bitmap VARBINARY(1024),
+    PRIMARY KEY (student_id)
+);
+
+CREATE TABLE course_daily_stats (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    course_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    new_enrollments INT,
+    lesson_completions INT,
+    course_completions INT,
+    quiz_attempts INT,
+    quiz_passes INT,
+    average_progress DOUBLE,
+    total_time_spent_seconds BIGINT,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_course_daily_stats_course_date UNIQUE (course_id, stat_date)
+);
+
+CREATE TABLE course_stats_summary (
+    course_id BIGINT NOT NULL,
+    enrollment_count BIGINT,
+    completed_enrollments BIGINT,
+    average_progress DOUBLE,
+    total_time_spent_seconds BIGINT,
+    lesson_completions BIGINT,
+    quiz_attempts BIGINT,
+    quiz_passes BIGINT,
+    updated_at DATETIME(6),
+    PRIMARY KEY (course_id)
+);
+
+CREATE TABLE rollup_watermarks (
+    name VARCHAR(100) NOT NULL,
+    last_processed_at DATETIME(6),
+    version BIGINT,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,41 @@
+-- Secondary indexes for the repository query methods. Unique constraints and foreign keys from V1 and V2 already
+-- index: users.email, users.role_id (countByRoleName, findByRoleName), enrollments (student_id, course_id),
+-- enrollments.course_id, lesson_progress (student_id, lesson_id), lesson_progress.lesson_id, quizzes.lesson_id,
+-- questions.quiz_id, quiz_attempts.quiz_id, certificates.course_id, course_daily_stats (course_id, stat_date).
+-- QueryPlanTest runs EXPLAIN for the hot queries and fails on a full table scan.
+
+-- CourseRepository.findByApprovedTrue / findByApprovedTrueAndCategoryId / findAvailableForStudent / countByApprovedFalse
+CREATE INDEX idx_courses_approved_category ON courses (approved, category_id);
+-- CourseRepository.findByTitle (DataSeeder)
+CREATE INDEX idx_courses_title ON courses (title);
+-- CourseRepository.findCatalogVersionStamp: MAX(updated_at) read from the end of the index
+CREATE INDEX idx_courses_updated_at ON courses (updated_at);
+
+-- LessonRepository.findByCourseOrderByPositionAsc / findOutlineByCourseId / findDtosByCourseId / countByCourse
+CREATE INDEX idx_lessons_course_position ON lessons (course_id, position);
+-- LessonRepository.findVersionStampByCourseId, CourseRepository.findCatalogVersionStamp
+CREATE INDEX idx_lessons_course_updated ON lessons (course_id, updated_at);
+CREATE INDEX idx_lessons_updated_at ON lessons (updated_at);
+
+-- UserRepository.findByUsername
+CREATE INDEX idx_users_username ON users (username);
+
+-- Analytics rollup windows (EnrollmentRepository.countNewEnrollmentsPerCourseDay / findCourseIdsChangedBetween)
+CREATE INDEX idx_enrollments_enrolled_at ON enrollments (enrolled_at, course_id);
+CREATE INDEX idx_enrollments_updated_at ON enrollments (updated_at, course_id);
+
+-- LessonProgressRepository.countCompletionsPerCourseDay
+CREATE INDEX idx_lesson_progress_completed_at ON lesson_progress (completed, completed_at);
+
+-- QuizAttemptRepository.findByStudentAndQuiz / findByStudentId
+CREATE INDEX idx_quiz_attempts_student_quiz ON quiz_attempts (student_id, quiz_id);
+-- QuizAttemptRepository.countAttemptsPerCourseDay
+CREATE INDEX idx_quiz_attempts_completed_at ON quiz_attempts (completed_at);
+
+-- CertificateRepository.findByStudent / findByStudentAndCourse_Id
+CREATE INDEX idx_certificates_student_course ON certificates (student_id, course_id);
+-- CertificateRepository.countIssuedPerCourseDay
+CREATE INDEX idx_certificates_issue_date ON certificates (issue_date);
+
+-- SystemActivityRepository.findTop10ByOrderByCreatedAtDesc: newest rows straight off the index
+CREATE INDEX idx_system_activities_created_at ON system_activities (created_at DESC);
@@ -0,0 +1,22 @@
+-- HLS transcode jobs for lesson media (TranscodeJob); also the queue the transcode workers claim from
+CREATE TABLE transcode_jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    lesson_id BIGINT NOT NULL,
+    source_url VARCHAR(1000) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    progress INT NOT NULL,
+    manifest_url VARCHAR(1000),
+    error VARCHAR(2000),
+    next_attempt_at DATETIME(6),
+    created_at DATETIME(6),
+    started_at DATETIME(6),
+    finished_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transcode_jobs_lesson FOREIGN KEY (lesson_id) REFERENCES lessons (id) ON DELETE CASCADE
+);
+
+-- TranscodeJobRepository.findDispatchable
+CREATE INDEX idx_transcode_jobs_status_next ON transcode_jobs (status, next_attempt_at);
+-- TranscodeJobRepository.findFirstByLessonIdOrderByIdDesc / cancelQueued
+CREATE INDEX idx_transcode_jobs_lesson ON transcode_jobs (lesson_id, id);
@@ -0,0 +1,29 @@
+-- Per-(student, quiz) best score / attempt count / passed flag (QuizScoreSummary), kept up to date by submitQuiz
+CREATE TABLE quiz_score_summaries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    quiz_id BIGINT NOT NULL,
+    best_score DOUBLE,
+    last_score DOUBLE,
+    attempt_count INT,
+    passed BIT NOT NULL DEFAULT 0,
+    last_attempt_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_quiz_score_summaries_student_quiz UNIQUE (student_id, quiz_id),
+    CONSTRAINT fk_quiz_score_summaries_student FOREIGN KEY (student_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_quiz_score_summaries_quiz FOREIGN KEY (quiz_id) REFERENCES quizzes (id) ON DELETE CASCADE
+);
+
+-- QuizScoreSummaryRepository.findQuizScores (instructor view, best first)
+CREATE INDEX idx_quiz_score_summaries_quiz_best ON quiz_score_summaries (quiz_id, best_score);
+
+-- QuizAttemptRepository.findStudentHistory: a student's attempts newest first across quizzes
+CREATE INDEX idx_quiz_attempts_student_id ON quiz_attempts (student_id, id);
+
+-- Summaries for the attempts recorded before this migration; the latest attempt is the one with the highest id
+INSERT INTO quiz_score_summaries (student_id, quiz_id, best_score, last_score, attempt_count, passed, last_attempt_at)
+SELECT g.student_id, g.quiz_id, g.best_score, l.score, g.attempt_count, g.passed, l.completed_at
+FROM (SELECT student_id, quiz_id, MAX(score) AS best_score, COUNT(*) AS attempt_count,
+             MAX(CASE WHEN passed THEN 1 ELSE 0 END) AS passed, MAX(id) AS last_id
+      FROM quiz_attempts GROUP BY student_id, quiz_id) g
+JOIN quiz_attempts l ON l.id = g.last_id;
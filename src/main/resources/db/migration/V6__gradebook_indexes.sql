@@ -0,0 +1,2 @@
+-- GradebookServiceImpl: enrolled students of a course in id order, read a chunk at a time after a cursor
+CREATE INDEX idx_enrollments_course_student ON enrollments (course_id, student_id);
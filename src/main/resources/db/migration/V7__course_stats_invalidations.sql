@@ -0,0 +1,7 @@
+-- Courses that lost enrollments by deletion (no row left to carry an updated_at); AnalyticsRollupServiceImpl
+-- recomputes their summary on its next run and removes the mark
+CREATE TABLE course_stats_invalidations (
+    course_id BIGINT NOT NULL,
+    marked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (course_id)
+);
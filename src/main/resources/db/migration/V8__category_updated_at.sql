@@ -0,0 +1,3 @@
+-- CourseRepository.findCatalogVersionStamp: course cards show the category name, so a rename must change the
+-- catalog ETag. Existing rows stay NULL until their next edit; the stamp only needs later edits to move it.
+ALTER TABLE categories ADD COLUMN updated_at DATETIME(6);
@@ -0,0 +1,144 @@
+package com.lms.backend.benchmark;
+
+import com.lms.backend.model.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Realistic in-memory entity graphs for the JMH benchmarks, no database involved
+final class BenchmarkFixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Role role(Role.RoleName name) {
+        return Role.builder().id((long) name.ordinal() + 1).name(name).build();
+    }
+
+    static User user(long id, Role role) {
+        return User.builder()
+                .id(id)
+                .username("User " + id)
+                .email("user" + id + "@lms.test")
+                .role(role)
+                .createdAt(NOW)
+                .build();
+    }
+
+    static Course course(long id, int enrollments, int lessons) {
+        Course course = Course.builder()
+                .id(id)
+                .title("Course " + id)
+                .description(text(600))
+                .approved(true)
+                .price(4999.0)
+                .level("Intermediate")
+                .rating(4.5)
+                .totalStudents(enrollments)
+                .duration(lessons + " lessons")
+                .category(Category.builder().id(id % 10).name("Category " + id % 10).build())
+                .instructor(user(100_000 + id, role(Role.RoleName.ROLE_INSTRUCTOR)))
+                .createdAt(NOW)
+                .build();
+
+        List<Enrollment> enrollmentList = new ArrayList<>(enrollments);
+        for (int i = 0; i < enrollments; i++) {
+            enrollmentList.add(Enrollment.builder().id(id * 100_000 + i).course(course).build());
+        }
+        course.setEnrollments(enrollmentList);
+        course.setLessons(lessons(course, lessons));
+        return course;
+    }
+
+    static List<Lesson> lessons(Course course, int count) {
+        List<Lesson> lessons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lessons.add(lesson(course.getId() * 1000 + i, course, i));
+        }
+        return lessons;
+    }
+
+    static Lesson lesson(long id, Course course, int position) {
+        return Lesson.builder()
+                .id(id)
+                .title("Lesson " + (position + 1))
+                .content(text(4000))
+                .mediaUrl("/uploads/videos/lesson-" + id + ".mp4")
+                .position(position)
+                .durationSeconds(600)
+                .course(course)
+                .build();
+    }
+
+    // Every other lesson completed, in reverse order to avoid accidental best-case lookups
+    static List<LessonProgress> progress(User student, List<Lesson> lessons) {
+        List<LessonProgress> progress = new ArrayList<>();
+        for (int i = lessons.size() - 1; i >= 0; i -= 2) {
+            progress.add(LessonProgress.builder()
+                    .id((long) i)
+                    .student(student)
+                    .lesson(lessons.get(i))
+                    .completed(true)
+                    .completedAt(NOW)
+                    .lastAccessedAt(NOW)
+                    .build());
+        }
+        return progress;
+    }
+
+    static Quiz quiz(long id, Lesson lesson, int questions) {
+        Quiz quiz = Quiz.builder().id(id).lesson(lesson).passingScore(70).build();
+        for (int i = 0; i < questions; i++) {
+            quiz.getQuestions().add(Question.builder()
+                    .id(id * 1000 + i)
+                    .quiz(quiz)
+                    .text("Question " + (i + 1) + ": " + text(120))
+                    .options(List.of("Option A", "Option B", "Option C", "Option D"))
+                    .correctOptionIndex(i % 4)
+                    .build());
+        }
+        return quiz;
+    }
+
+    // Top-level threads, each with `replies` direct replies and one nested reply per reply
+    // Every post of the general forum in path order, as the repository returns it
+    static List<ForumPost> forumThreads(int threads, int replies) {
+        Role student = role(Role.RoleName.ROLE_STUDENT);
+        Role instructor = role(Role.RoleName.ROLE_INSTRUCTOR);
+        long nextId = 1;
+        List<ForumPost> posts = new ArrayList<>(threads * (1 + 2 * replies));
+        for (int t = 0; t < threads; t++) {
+            ForumPost root = post(nextId++, user(t, student), null);
+            posts.add(root);
+            for (int r = 0; r < replies; r++) {
+                ForumPost reply = post(nextId++, user(r, r % 5 == 0 ? instructor : student), root);
+                posts.add(reply);
+                posts.add(post(nextId++, user(r + 1, student), reply));
+            }
+        }
+        return posts;
+    }
+
+    private static ForumPost post(long id, User author, ForumPost parent) {
+        ForumPost post = new ForumPost();
+        post.setId(id);
+        post.setContent(text(300));
+        post.setAuthor(author);
+        post.setParentPost(parent);
+        post.setPath((parent != null ? parent.getPath() : "") + ForumPost.pathSegment(id));
+        post.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+        post.setCreatedAt(NOW);
+        return post;
+    }
+
+    private static String text(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ");
+        }
+        return sb.substring(0, length);
+    }
+}
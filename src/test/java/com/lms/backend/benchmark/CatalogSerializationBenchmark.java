@@ -0,0 +1,76 @@
+package com.lms.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lms.backend.config.JsonFragmentsHttpMessageConverter;
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.model.Course;
+import com.lms.backend.service.impl.CourseJsonCacheImpl;
+import com.lms.backend.util.CourseMapper;
+import com.lms.backend.util.JsonFragments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/courses body: map + Jackson for every course (before) vs cached per-course fragments (after)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSerializationBenchmark {
+
+    @Param({ "1000" })
+    private int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private List<Course> catalog;
+    private Map<Long, Integer> enrollmentCounts;
+    private CourseJsonCacheImpl courseJsonCache;
+    private JsonFragmentsHttpMessageConverter converter;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        catalog = new ArrayList<>(catalogSize);
+        enrollmentCounts = new HashMap<>();
+        for (int i = 0; i < catalogSize; i++) {
+            Course course = BenchmarkFixtures.course(i, 200, 0);
+            catalog.add(course);
+            enrollmentCounts.put(course.getId(), 200);
+        }
+        courseJsonCache = new CourseJsonCacheImpl(objectMapper, new SimpleMeterRegistry(), 100_000, Duration.ofHours(1));
+        // Warm: the steady state is every catalog course already serialized
+        courseJsonCache.getFragments(catalog, enrollmentCounts);
+        converter = new JsonFragmentsHttpMessageConverter();
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        List<CourseDto> dtos = new ArrayList<>(catalog.size());
+        for (Course course : catalog) {
+            dtos.add(CourseMapper.toDto(course, enrollmentCounts.get(course.getId())));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        objectMapper.writeValue(out, dtos);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cachedFragments() throws Exception {
+        JsonFragments body = courseJsonCache.getFragments(catalog, enrollmentCounts);
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+        converter.write(body, MediaType.APPLICATION_JSON, out);
+        return out.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,67 @@
+package com.lms.backend.benchmark;
+
+import com.lms.backend.dto.LessonOutlineDto;
+import com.lms.backend.model.*;
+import com.lms.backend.repository.*;
+import com.lms.backend.service.impl.StudentServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.*;
+
+// Response assembly of StudentServiceImpl.getCourseProgress for courses of different sizes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseProgressBenchmark {
+
+    @Param({ "20", "200" })
+    private int lessons;
+
+    private StudentServiceImpl studentService;
+    private User student;
+
+    @Setup
+    public void setUp() {
+        Course course = BenchmarkFixtures.course(1, 0, lessons);
+        student = BenchmarkFixtures.user(1, BenchmarkFixtures.role(Role.RoleName.ROLE_STUDENT));
+        List<LessonProgress> progress = BenchmarkFixtures.progress(student, course.getLessons());
+        Enrollment enrollment = Enrollment.builder()
+                .id(1L).student(student).course(course).progress(50.0).build();
+
+        CourseRepository courseRepository = mock(CourseRepository.class, withSettings().stubOnly());
+        EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class, withSettings().stubOnly());
+        LessonRepository lessonRepository = mock(LessonRepository.class, withSettings().stubOnly());
+        LessonProgressRepository lessonProgressRepository = mock(LessonProgressRepository.class,
+                withSettings().stubOnly());
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.findByStudentAndCourse(student, course)).thenReturn(Optional.of(enrollment));
+        // thenAnswer: the service sets completion flags on the returned outline rows
+        when(lessonRepository.findOutlineByCourseId(1L)).thenAnswer(invocation -> course.getLessons().stream()
+                .map(lesson -> new LessonOutlineDto(lesson.getId(), lesson.getTitle(), lesson.getPosition(),
+                        lesson.getDurationSeconds(), false))
+                .collect(Collectors.toList()));
+        List<Long> completedIds = progress.stream().map(lp -> lp.getLesson().getId()).collect(Collectors.toList());
+        when(lessonProgressRepository.findCompletedLessonIds(student.getId(), 1L)).thenReturn(completedIds);
+
+        studentService = new StudentServiceImpl();
+        ReflectionTestUtils.setField(studentService, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(studentService, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(studentService, "lessonRepository", lessonRepository);
+        ReflectionTestUtils.setField(studentService, "lessonProgressRepository", lessonProgressRepository);
+    }
+
+    @Benchmark
+    public Map<String, Object> getCourseProgress() {
+        return studentService.getCourseProgress(student, 1L);
+    }
+}
@@ -0,0 +1,51 @@
+package com.lms.backend.benchmark;
+
+import com.lms.backend.dto.ForumPostDto;
+import com.lms.backend.model.ForumPost;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.ForumPostRepository;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.repository.UserRepository;
+import com.lms.backend.service.CourseForumCache;
+import com.lms.backend.service.impl.ForumPostServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+// Path-ordered posts -> DTO tree assembly behind GET /api/forum (getAllTopLevelPosts)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForumTreeBenchmark {
+
+    @Param({ "50", "500" })
+    private int threads;
+
+    @Param({ "10" })
+    private int replies;
+
+    private ForumPostServiceImpl forumPostService;
+
+    @Setup
+    public void setUp() {
+        List<ForumPost> posts = BenchmarkFixtures.forumThreads(threads, replies);
+        ForumPostRepository forumPostRepository = mock(ForumPostRepository.class, withSettings().stubOnly());
+        when(forumPostRepository.findGeneralForumInPathOrder()).thenReturn(posts);
+        forumPostService = new ForumPostServiceImpl(forumPostRepository,
+                mock(UserRepository.class, withSettings().stubOnly()),
+                mock(CourseRepository.class, withSettings().stubOnly()),
+                mock(LessonRepository.class, withSettings().stubOnly()),
+                mock(CourseForumCache.class, withSettings().stubOnly()), event -> { });
+    }
+
+    @Benchmark
+    public List<ForumPostDto> getAllTopLevelPosts() {
+        return forumPostService.getAllTopLevelPosts();
+    }
+}
@@ -0,0 +1,65 @@
+package com.lms.backend.benchmark;
+
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.dto.LessonDto;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.util.CourseMapper;
+import com.lms.backend.util.LessonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    // Size of the /api/courses catalog page being mapped
+    @Param({ "50", "500" })
+    private int catalogSize;
+
+    private List<Course> catalog;
+    private Course course;
+    private List<Lesson> lessons;
+
+    @Setup
+    public void setUp() {
+        catalog = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            catalog.add(BenchmarkFixtures.course(i, 200, 0));
+        }
+        course = BenchmarkFixtures.course(1, 200, 40);
+        lessons = course.getLessons();
+    }
+
+    @Benchmark
+    public CourseDto courseToDto() {
+        return CourseMapper.toDto(course);
+    }
+
+    @Benchmark
+    public void catalogToDto(Blackhole bh) {
+        for (Course c : catalog) {
+            bh.consume(CourseMapper.toDto(c));
+        }
+    }
+
+    @Benchmark
+    public void lessonsToDto(Blackhole bh) {
+        for (Lesson lesson : lessons) {
+            bh.consume(LessonMapper.toDto(lesson));
+        }
+    }
+
+    @Benchmark
+    public LessonDto lessonToDto() {
+        return LessonMapper.toDto(lessons.get(0));
+    }
+}
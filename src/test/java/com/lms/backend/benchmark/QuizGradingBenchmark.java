@@ -0,0 +1,72 @@
+package com.lms.backend.benchmark;
+
+import com.lms.backend.model.*;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.repository.QuizAttemptRepository;
+import com.lms.backend.repository.QuizRepository;
+import com.lms.backend.repository.QuizScoreSummaryRepository;
+import com.lms.backend.service.LearningStreakService;
+import com.lms.backend.service.StudentService;
+import com.lms.backend.service.impl.QuizServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Grading path of submitQuiz; repositories are stub-only mocks so only the service logic is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuizGradingBenchmark {
+
+    @Param({ "10", "50" })
+    private int questions;
+
+    private QuizServiceImpl quizService;
+    private User student;
+    private Map<Long, Integer> answers;
+
+    @Setup
+    public void setUp() {
+        Course course = BenchmarkFixtures.course(1, 0, 1);
+        Quiz quiz = BenchmarkFixtures.quiz(1, course.getLessons().get(0), questions);
+        student = BenchmarkFixtures.user(1, BenchmarkFixtures.role(Role.RoleName.ROLE_STUDENT));
+
+        QuizRepository quizRepository = mock(QuizRepository.class, withSettings().stubOnly());
+        QuizAttemptRepository quizAttemptRepository = mock(QuizAttemptRepository.class, withSettings().stubOnly());
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(inv -> inv.getArgument(0));
+        // The summary upsert is a single statement, stubbed as a no-op
+        QuizScoreSummaryRepository quizScoreSummaryRepository =
+                mock(QuizScoreSummaryRepository.class, withSettings().stubOnly());
+
+        quizService = new QuizServiceImpl(
+                quizRepository,
+                quizAttemptRepository,
+                quizScoreSummaryRepository,
+                mock(StudentService.class, withSettings().stubOnly()),
+                mock(LessonRepository.class, withSettings().stubOnly()),
+                mock(LearningStreakService.class, withSettings().stubOnly()));
+
+        // 3 out of 4 answers correct: passes, so the lesson completion branch is included
+        answers = new HashMap<>();
+        for (Question question : quiz.getQuestions()) {
+            int answer = question.getId() % 4 == 3 ? (question.getCorrectOptionIndex() + 1) % 4
+                    : question.getCorrectOptionIndex();
+            answers.put(question.getId(), answer);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> submitQuiz() {
+        return quizService.submitQuiz(student, 1L, answers);
+    }
+}
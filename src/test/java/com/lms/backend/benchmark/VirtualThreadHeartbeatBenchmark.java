@@ -0,0 +1,126 @@
+package com.lms.backend.benchmark;
+
+import com.lms.backend.config.ConnectionLimitingDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 5k concurrent track-time heartbeats: a fixed platform pool sized like Tomcat's default (200 threads)
+// against one virtual thread per request with ConnectionLimitingDataSource in front of the pool.
+// The connection pool is simulated (fixed size, queryMillis per statement); requestIoMillis is blocking
+// time spent outside the database. virtual needs a Java 21 runtime (mvn -Pjava21,benchmark ...).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadHeartbeatBenchmark {
+
+    private static final int HEARTBEATS = 5000;
+
+    @Param({ "platform", "virtual" })
+    private String threads;
+
+    @Param({ "200" })
+    private int platformThreads;
+
+    @Param({ "30" })
+    private int connections;
+
+    @Param({ "1" })
+    private long queryMillis;
+
+    @Param({ "0", "20" })
+    private long requestIoMillis;
+
+    private Executor executor;
+    private ExecutorService platformPool;
+    private DataSource dataSource;
+
+    @Setup
+    public void setUp() {
+        DataSource pool = new SimulatedPool(connections);
+        if ("virtual".equals(threads)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("heartbeat-");
+            virtual.setVirtualThreads(true);
+            executor = virtual;
+            dataSource = new ConnectionLimitingDataSource(pool, connections, 30_000);
+        } else {
+            platformPool = Executors.newFixedThreadPool(platformThreads);
+            executor = platformPool;
+            dataSource = pool;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HEARTBEATS)
+    public void concurrentHeartbeats() throws Exception {
+        CountDownLatch done = new CountDownLatch(HEARTBEATS);
+        for (int i = 0; i < HEARTBEATS; i++) {
+            executor.execute(() -> {
+                try {
+                    heartbeat();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private void heartbeat() {
+        try {
+            if (requestIoMillis > 0) {
+                Thread.sleep(requestIoMillis);
+            }
+            try (Connection connection = dataSource.getConnection()) {
+                // trackTime: one read and one update
+                Thread.sleep(queryMillis);
+                Thread.sleep(queryMillis);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Fixed-size pool stand-in: getConnection blocks until one of `size` connections is free
+    private static class SimulatedPool extends AbstractDataSource {
+        private final Semaphore available;
+
+        SimulatedPool(int size) {
+            this.available = new Semaphore(size);
+        }
+
+        @Override
+        public Connection getConnection() {
+            available.acquireUninterruptibly();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                            available.release();
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.lms.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.dto.CourseDto;
+import com.lms.backend.model.Category;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.User;
+import com.lms.backend.service.impl.CourseJsonCacheImpl;
+import com.lms.backend.util.CourseMapper;
+import com.lms.backend.util.JsonFragments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The cached listing must be the exact bytes Jackson wrote for List<CourseDto> before
+class JsonFragmentsHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CourseJsonCacheImpl courseJsonCache =
+            new CourseJsonCacheImpl(objectMapper, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+
+    @Test
+    void writesTheSameBytesAsJackson() throws Exception {
+        User instructor = User.builder().id(2L).username("teacher \"T\"").email("t@example.test").build();
+        Category category = Category.builder().id(3L).name("Programming").build();
+        List<Course> courses = List.of(
+                Course.builder().id(1L).title("Java").description("Ünïcode — and \n newlines").approved(true)
+                        .instructor(instructor).category(category).price(19.99).rating(4.5)
+                        .updatedAt(LocalDateTime.of(2025, 1, 1, 12, 0)).build(),
+                Course.builder().id(2L).title("Go").build(),
+                Course.builder().id(3L).title("Rust").level("ADVANCED").duration("3h").instructor(instructor).build());
+        Map<Long, Integer> counts = Map.of(1L, 12, 3L, 1);
+        // Served twice: the second write comes from the cache
+        courseJsonCache.getFragments(courses, counts);
+
+        assertSameAsJackson(courses, counts);
+    }
+
+    @Test
+    void emptyListIsAnEmptyArray() throws Exception {
+        MockHttpOutputMessage written = assertSameAsJackson(List.of(), Map.of());
+
+        assertEquals("[]", written.getBodyAsString());
+    }
+
+    @Test
+    void singleCourseHasNoSeparator() throws Exception {
+        assertSameAsJackson(List.of(Course.builder().id(1L).title("Java").build()), Map.of());
+    }
+
+    private MockHttpOutputMessage assertSameAsJackson(List<Course> courses, Map<Long, Integer> counts)
+            throws Exception {
+        MockHttpOutputMessage fragments = new MockHttpOutputMessage();
+        new JsonFragmentsHttpMessageConverter().write(courseJsonCache.getFragments(courses, counts),
+                MediaType.APPLICATION_JSON, fragments);
+
+        List<CourseDto> dtos = courses.stream()
+                .map(course -> CourseMapper.toDto(course, counts.getOrDefault(course.getId(), 0)))
+                .toList();
+        MockHttpOutputMessage jackson = new MockHttpOutputMessage();
+        new MappingJackson2HttpMessageConverter(objectMapper).write(dtos,
+                new ParameterizedTypeReference<List<CourseDto>>() { }.getType(), MediaType.APPLICATION_JSON, jackson);
+
+        assertArrayEquals(jackson.getBodyAsBytes(), fragments.getBodyAsBytes());
+        assertEquals(MediaType.APPLICATION_JSON, fragments.getHeaders().getContentType());
+        assertEquals(fragments.getBodyAsBytes().length, fragments.getHeaders().getContentLength());
+        return fragments;
+    }
+}
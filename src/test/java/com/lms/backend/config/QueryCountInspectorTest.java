@@ -0,0 +1,50 @@
+package com.lms.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountInspectorTest {
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @AfterEach
+    void tearDown() {
+        QueryCountInspector.end();
+    }
+
+    @Test
+    void testRepeatedShapes_DetectsLazyLoadingLoop() {
+        QueryCountInspector.begin();
+        inspector.inspect("select e1_0.id from enrollments e1_0 where e1_0.student_id=?");
+        for (int i = 0; i < 6; i++) {
+            inspector.inspect("select c1_0.id,c1_0.title from courses c1_0 where c1_0.id=?");
+        }
+
+        Map<String, Integer> repeated = QueryCountInspector.repeatedShapes(5);
+
+        assertEquals(7, QueryCountInspector.current());
+        assertEquals(Map.of("select c1_0.id,c1_0.title from courses c1_0 where c1_0.id=?", 6), repeated);
+    }
+
+    @Test
+    void testShapeOf_FoldsInListsAndWhitespace() {
+        assertEquals("select * from lessons where id in (?)",
+                QueryCountInspector.shapeOf("select *  from lessons\n where id in (?, ?,?)"));
+        assertEquals(QueryCountInspector.shapeOf("select * from t where id in (?,?)"),
+                QueryCountInspector.shapeOf("select * from t where id in (?,?,?,?)"));
+    }
+
+    @Test
+    void testOutsideRequest_OnlyCounts() {
+        QueryCountInspector.end();
+        inspector.inspect("select 1");
+        inspector.inspect("select 1");
+
+        assertEquals(2, QueryCountInspector.current());
+        assertTrue(QueryCountInspector.repeatedShapes(1).isEmpty());
+    }
+}
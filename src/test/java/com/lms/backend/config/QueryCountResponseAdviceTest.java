@@ -0,0 +1,100 @@
+package com.lms.backend.config;
+
+import com.lms.backend.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// fail-on-violation: an endpoint over its budget answers 500 instead of only being logged
+class QueryCountResponseAdviceTest {
+
+    private static final QueryCountInspector INSPECTOR = new QueryCountInspector();
+
+    private final QueryBudgetPolicy policy = new QueryBudgetPolicy();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(policy, "defaultBudget", 25);
+        ReflectionTestUtils.setField(policy, "repeatThreshold", 5);
+        ReflectionTestUtils.setField(policy, "failOnViolation", true);
+        ReflectionTestUtils.setField(policy, "exposeHeader", true);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BudgetedController())
+                .setControllerAdvice(new QueryCountResponseAdvice(policy), new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCountInspector.end();
+    }
+
+    @Test
+    void withinBudgetIsServed() throws Exception {
+        mockMvc.perform(get("/budgeted").param("statements", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountResponseAdvice.HEADER, "3"))
+                .andExpect(jsonPath("$.ok").value(true));
+    }
+
+    @Test
+    void overBudgetThrowsQueryBudgetExceeded() throws Exception {
+        mockMvc.perform(get("/budgeted").param("statements", "4"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value(
+                        "Query budget exceeded in BudgetedController.budgeted: 4 SQL statements, budget is 3"));
+    }
+
+    @Test
+    void repeatedShapeThrowsEvenWithinBudget() throws Exception {
+        mockMvc.perform(get("/unbudgeted").param("statements", "6"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value(containsString(
+                        "repeated 6x (possible N+1): select u1_0.id from users u1_0 where u1_0.id=?")));
+    }
+
+    @Test
+    void violationsOnlyLoggedWhenNotFailing() throws Exception {
+        ReflectionTestUtils.setField(policy, "failOnViolation", false);
+
+        mockMvc.perform(get("/budgeted").param("statements", "4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountResponseAdvice.HEADER, "4"));
+    }
+
+    @RestController
+    static class BudgetedController {
+
+        @GetMapping("/budgeted")
+        @QueryBudget(3)
+        public Map<String, Object> budgeted(@RequestParam int statements) {
+            return run(statements);
+        }
+
+        @GetMapping("/unbudgeted")
+        public Map<String, Object> unbudgeted(@RequestParam int statements) {
+            return run(statements);
+        }
+
+        // Stands in for RequestMetricsInterceptor.preHandle and a lazy-loading loop
+        private static Map<String, Object> run(int statements) {
+            QueryCountInspector.begin();
+            for (int i = 0; i < statements; i++) {
+                INSPECTOR.inspect("select u1_0.id from users u1_0 where u1_0.id=?");
+            }
+            return Map.of("ok", true);
+        }
+    }
+}
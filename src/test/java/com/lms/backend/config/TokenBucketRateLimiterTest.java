@@ -0,0 +1,65 @@
+package com.lms.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testTryAcquire_BurstThenRejectsWithWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 4, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("track-time|a@lms.com", 0.5, 3));
+        }
+        long wait = limiter.tryAcquire("track-time|a@lms.com", 0.5, 3);
+
+        assertEquals(TimeUnit.SECONDS.toNanos(2), wait);
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTimeUpToBurst() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 4, now::get);
+        limiter.tryAcquire("k", 1, 2);
+        limiter.tryAcquire("k", 1, 2);
+        assertTrue(limiter.tryAcquire("k", 1, 2) > 0);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertEquals(0, limiter.tryAcquire("k", 1, 2));
+        assertEquals(0, limiter.tryAcquire("k", 1, 2));
+        assertTrue(limiter.tryAcquire("k", 1, 2) > 0, "Refill must be capped at the burst size");
+    }
+
+    @Test
+    void testTryAcquire_KeysAreIndependent() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 4, now::get);
+        limiter.tryAcquire("quiz-submit|a", 1, 1);
+
+        assertTrue(limiter.tryAcquire("quiz-submit|a", 1, 1) > 0);
+        assertEquals(0, limiter.tryAcquire("quiz-submit|b", 1, 1));
+        assertEquals(0, limiter.tryAcquire("forum-post|a", 1, 1));
+    }
+
+    @Test
+    void testTryAcquire_EvictsLeastRecentlyUsedKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, now::get);
+        limiter.tryAcquire("hot", 1, 1);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("cold-" + i, 1, 1);
+            limiter.tryAcquire("hot", 1, 1);
+        }
+
+        assertEquals(10, limiter.size());
+        // "hot" was touched on every round, so it kept its (empty) bucket
+        assertTrue(limiter.tryAcquire("hot", 1, 1) > 0);
+        // "cold-0" was evicted and starts over with a full bucket
+        assertEquals(0, limiter.tryAcquire("cold-0", 1, 1));
+    }
+}
@@ -0,0 +1,66 @@
+package com.lms.backend.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Raw nanosecond samples; one instance per worker thread, merged after the run
+class LatencyLog {
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean ok) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencyLog other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.samples[i], true);
+        }
+        errors += other.errors;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    double percentileMillis(double p) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return percentileMillis(sorted, p);
+    }
+
+    Map<String, Object> summary(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", size);
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", Math.round(size / elapsedSeconds * 10) / 10.0);
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p95Ms", percentileMillis(sorted, 0.95));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("maxMs", size == 0 ? 0.0 : sorted[size - 1] / 1e6);
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return Math.round(sorted[Math.max(0, index)] / 1e3) / 1e3;
+    }
+}
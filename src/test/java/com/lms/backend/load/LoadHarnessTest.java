@@ -0,0 +1,304 @@
+package com.lms.backend.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.config.SyntheticDataGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays a realistic student traffic mix against the full application on an embedded H2 database
+ * seeded by {@link SyntheticDataGenerator}, and reports throughput and latency percentiles per operation.
+ *
+ * Excluded from the normal build; run with: mvn -Pload test
+ * Sizes, duration and mix weights live in application-loadtest.properties and can be overridden
+ * with -D system properties, e.g. -Dloadtest.virtual-users=64.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({ "loadtest", "loadgen" })
+class LoadHarnessTest {
+
+    enum Operation {
+        HEARTBEAT, DASHBOARD, MY_COURSES, CATALOG, QUIZ_SUBMIT
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.virtual-users}")
+    private int virtualUsers;
+
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${loadtest.think-time-ms}")
+    private long thinkTimeMs;
+
+    @Value("${loadtest.mix.heartbeat}")
+    private int heartbeatWeight;
+
+    @Value("${loadtest.mix.dashboard}")
+    private int dashboardWeight;
+
+    @Value("${loadtest.mix.my-courses}")
+    private int myCoursesWeight;
+
+    @Value("${loadtest.mix.catalog}")
+    private int catalogWeight;
+
+    @Value("${loadtest.mix.quiz-submit}")
+    private int quizSubmitWeight;
+
+    @Value("${loadtest.report-file}")
+    private String reportFile;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void replayTrafficMix() throws Exception {
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < virtualUsers; i++) {
+            users.add(login(String.format(SyntheticDataGenerator.STUDENT_EMAIL_PATTERN, i)));
+        }
+        Operation[] mix = buildMix();
+
+        run(users, mix, warmupSeconds);
+        long start = System.nanoTime();
+        Map<Operation, LatencyLog> results = run(users, mix, durationSeconds);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = report(results, elapsedSeconds);
+        String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        System.out.println("Load harness results:\n" + json);
+        File out = new File(reportFile);
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, report);
+
+        long total = ((Number) report.get("totalRequests")).longValue();
+        double errorRate = ((Number) report.get("errorRate")).doubleValue();
+        assertTrue(total > 0, "No requests completed");
+        assertTrue(errorRate < 0.01, "Error rate too high: " + errorRate);
+    }
+
+    // Closed loop: every virtual user sends its next request as soon as the previous one returns
+    private Map<Operation, LatencyLog> run(List<VirtualUser> users, Operation[] mix, int seconds) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(users.size());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<Map<Operation, LatencyLog>>> futures = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                VirtualUser user = users.get(i);
+                long seed = i;
+                futures.add(pool.submit(() -> drive(user, mix, new Random(seed), deadline)));
+            }
+
+            Map<Operation, LatencyLog> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, LatencyLog>> future : futures) {
+                future.get().forEach((op, log) -> merged.computeIfAbsent(op, k -> new LatencyLog()).addAll(log));
+            }
+            return merged;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Map<Operation, LatencyLog> drive(VirtualUser user, Operation[] mix, Random random, long deadline)
+            throws InterruptedException {
+        Map<Operation, LatencyLog> logs = new EnumMap<>(Operation.class);
+        while (System.nanoTime() < deadline) {
+            Operation op = mix[random.nextInt(mix.length)];
+            if (op == Operation.QUIZ_SUBMIT && user.quizzes.isEmpty()) {
+                op = Operation.HEARTBEAT;
+            }
+            HttpRequest request = buildRequest(op, user, random);
+
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (java.io.IOException e) {
+                ok = false;
+            }
+            logs.computeIfAbsent(op, k -> new LatencyLog()).record(System.nanoTime() - start, ok);
+
+            if (thinkTimeMs > 0) {
+                Thread.sleep(thinkTimeMs);
+            }
+        }
+        return logs;
+    }
+
+    private HttpRequest buildRequest(Operation op, VirtualUser user, Random random) {
+        switch (op) {
+            case HEARTBEAT: {
+                long courseId = user.courseIds[random.nextInt(user.courseIds.length)];
+                return post(user, "/api/student/course/" + courseId + "/track-time", "{\"seconds\":30}");
+            }
+            case DASHBOARD:
+                return get(user, "/api/student/stats");
+            case MY_COURSES:
+                return get(user, "/api/student/my-courses");
+            case CATALOG:
+                return get(user, "/api/courses");
+            case QUIZ_SUBMIT: {
+                QuizFixture quiz = user.quizzes.get(random.nextInt(user.quizzes.size()));
+                Map<String, Integer> answers = new LinkedHashMap<>();
+                for (long questionId : quiz.questionIds) {
+                    answers.put(String.valueOf(questionId), random.nextInt(4));
+                }
+                try {
+                    return post(user, "/api/quizzes/" + quiz.quizId + "/submit",
+                            objectMapper.writeValueAsString(answers));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            default:
+                throw new IllegalArgumentException("Unknown operation " + op);
+        }
+    }
+
+    private VirtualUser login(String email) throws Exception {
+        String body = objectMapper.writeValueAsString(
+                Map.of("email", email, "password", SyntheticDataGenerator.PASSWORD));
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "Login failed for " + email + ": " + response.body());
+
+        JsonNode json = objectMapper.readTree(response.body());
+        long studentId = json.get("id").asLong();
+
+        long[] courseIds = jdbcTemplate.queryForList(
+                "SELECT course_id FROM enrollments WHERE student_id = ?", Long.class, studentId)
+                .stream().mapToLong(Long::longValue).toArray();
+        assertTrue(courseIds.length > 0, email + " has no enrollments");
+
+        List<QuizFixture> quizzes = new ArrayList<>();
+        for (long courseId : courseIds) {
+            for (Long quizId : jdbcTemplate.queryForList(
+                    "SELECT q.id FROM quizzes q JOIN lessons l ON q.lesson_id = l.id WHERE l.course_id = ?",
+                    Long.class, courseId)) {
+                long[] questionIds = jdbcTemplate.queryForList(
+                        "SELECT id FROM questions WHERE quiz_id = ?", Long.class, quizId)
+                        .stream().mapToLong(Long::longValue).toArray();
+                quizzes.add(new QuizFixture(quizId, questionIds));
+            }
+        }
+        return new VirtualUser(json.get("token").asText(), courseIds, quizzes);
+    }
+
+    private Operation[] buildMix() {
+        List<Operation> mix = new ArrayList<>();
+        addWeighted(mix, Operation.HEARTBEAT, heartbeatWeight);
+        addWeighted(mix, Operation.DASHBOARD, dashboardWeight);
+        addWeighted(mix, Operation.MY_COURSES, myCoursesWeight);
+        addWeighted(mix, Operation.CATALOG, catalogWeight);
+        addWeighted(mix, Operation.QUIZ_SUBMIT, quizSubmitWeight);
+        assertFalse(mix.isEmpty(), "Traffic mix has no weights");
+        return mix.toArray(new Operation[0]);
+    }
+
+    private static void addWeighted(List<Operation> mix, Operation op, int weight) {
+        for (int i = 0; i < weight; i++) {
+            mix.add(op);
+        }
+    }
+
+    private Map<String, Object> report(Map<Operation, LatencyLog> results, double elapsedSeconds) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, LatencyLog> entry : results.entrySet()) {
+            LatencyLog log = entry.getValue();
+            total += log.size();
+            errors += log.errors();
+            operations.put(entry.getKey().name().toLowerCase(), log.summary(elapsedSeconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtualUsers", virtualUsers);
+        report.put("durationSeconds", Math.round(elapsedSeconds * 10) / 10.0);
+        report.put("totalRequests", total);
+        report.put("throughputPerSecond", Math.round(total / elapsedSeconds * 10) / 10.0);
+        report.put("errorRate", total == 0 ? 0.0 : (double) errors / total);
+        report.put("operations", operations);
+        return report;
+    }
+
+    private HttpRequest get(VirtualUser user, String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + user.token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(VirtualUser user, String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + user.token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static class VirtualUser {
+        final String token;
+        final long[] courseIds;
+        final List<QuizFixture> quizzes;
+
+        VirtualUser(String token, long[] courseIds, List<QuizFixture> quizzes) {
+            this.token = token;
+            this.courseIds = courseIds;
+            this.quizzes = quizzes;
+        }
+    }
+
+    private static class QuizFixture {
+        final long quizId;
+        final long[] questionIds;
+
+        QuizFixture(long quizId, long[] questionIds) {
+            this.quizId = quizId;
+            this.questionIds = questionIds;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.lms.backend.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.config.SyntheticDataGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures catalog latency before and during a login storm (many concurrent BCrypt logins, as at term start).
+ *
+ * BCrypt runs on the bounded PasswordHashingExecutor, so the storm should leave Tomcat threads free for
+ * other endpoints: excess logins are shed with 503 + Retry-After instead of stalling /api/courses.
+ *
+ * Excluded from the normal build; run with: mvn -Pload test -Dtest=LoginStormLoadTest
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({ "loadtest", "loadgen" })
+class LoginStormLoadTest {
+
+    // Storm p95 may grow by this factor (or this many ms, whichever is larger) over the baseline p95
+    private static final double MAX_P95_GROWTH = 3.0;
+    private static final double MAX_P95_GROWTH_MS = 50.0;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.login-storm.clients}")
+    private int stormClients;
+
+    @Value("${loadtest.login-storm.catalog-clients}")
+    private int catalogClients;
+
+    @Value("${loadtest.login-storm.phase-seconds}")
+    private int phaseSeconds;
+
+    @Value("${loadgen.students}")
+    private int students;
+
+    @Value("${loadtest.login-storm.report-file}")
+    private String reportFile;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void catalogLatencyStaysStableDuringLoginStorm() throws Exception {
+        HttpResponse<String> catalogLogin = login(0);
+        assertEquals(200, catalogLogin.statusCode(), "Login failed: " + catalogLogin.body());
+        String catalogToken = objectMapper.readTree(catalogLogin.body()).get("token").asText();
+
+        // Warm up JIT, caches and connection pools before measuring
+        measureCatalog(catalogToken, Math.max(1, phaseSeconds / 4), null);
+        LatencyLog baseline = measureCatalog(catalogToken, phaseSeconds, null);
+        LoginCounts logins = new LoginCounts();
+        LatencyLog storm = measureCatalog(catalogToken, phaseSeconds, logins);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("stormClients", stormClients);
+        report.put("catalogClients", catalogClients);
+        report.put("phaseSeconds", phaseSeconds);
+        report.put("cores", Runtime.getRuntime().availableProcessors());
+        report.put("catalogBaseline", baseline.summary(phaseSeconds));
+        report.put("catalogDuringStorm", storm.summary(phaseSeconds));
+        report.put("loginsOk", logins.ok.get());
+        report.put("loginsShed503", logins.shed.get());
+        report.put("loginsFailed", logins.failed.get());
+        System.out.println("Login storm results:\n"
+                + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        File out = new File(reportFile);
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, report);
+
+        assertTrue(logins.ok.get() > 0, "No login succeeded during the storm");
+        assertEquals(0, logins.failed.get(), "Logins failed with something other than 503, e.g. " + logins.samples);
+        assertEquals(0, baseline.errors() + storm.errors(), "Catalog requests failed");
+        // The hashing pool leaves half the cores to request handling; with a single core there is nothing
+        // to leave, so the catalog necessarily shares the CPU with BCrypt and only correctness is checked
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (cores < 2) {
+            System.out.println("Catalog p95 bound not checked: needs at least 2 cores, found " + cores);
+            return;
+        }
+        double baselineP95 = baseline.percentileMillis(0.95);
+        double stormP95 = storm.percentileMillis(0.95);
+        double allowed = Math.max(baselineP95 * MAX_P95_GROWTH, baselineP95 + MAX_P95_GROWTH_MS);
+        assertTrue(stormP95 <= allowed, "Catalog p95 went from " + baselineP95 + " ms to " + stormP95
+                + " ms during the login storm (allowed " + allowed + " ms)");
+    }
+
+    // Catalog clients run closed loop; when logins is non-null the storm clients run alongside them
+    private LatencyLog measureCatalog(String token, int seconds, LoginCounts logins) throws Exception {
+        int stormThreads = logins == null ? 0 : stormClients;
+        ExecutorService pool = Executors.newFixedThreadPool(catalogClients + stormThreads);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            for (int i = 0; i < stormThreads; i++) {
+                int offset = i;
+                pool.submit(() -> storm(offset, deadline, logins));
+            }
+            List<Future<LatencyLog>> futures = new ArrayList<>();
+            for (int i = 0; i < catalogClients; i++) {
+                futures.add(pool.submit(() -> catalog(token, deadline)));
+            }
+
+            LatencyLog merged = new LatencyLog();
+            for (Future<LatencyLog> future : futures) {
+                merged.addAll(future.get());
+            }
+            return merged;
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private LatencyLog catalog(String token, long deadline) {
+        LatencyLog log = new LatencyLog();
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/courses"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (Exception e) {
+                ok = false;
+            }
+            log.record(System.nanoTime() - start, ok);
+        }
+        return log;
+    }
+
+    private Void storm(int offset, long deadline, LoginCounts logins) {
+        int student = offset;
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = login(student % students);
+                int status = response.statusCode();
+                if (status == 200) {
+                    logins.ok.incrementAndGet();
+                } else if (status == 503) {
+                    logins.shed.incrementAndGet();
+                } else {
+                    logins.fail(status + " " + response.body());
+                }
+            } catch (Exception e) {
+                logins.fail(e.toString());
+            }
+            student += stormClients;
+        }
+        return null;
+    }
+
+    private HttpResponse<String> login(int student) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "email", String.format(SyntheticDataGenerator.STUDENT_EMAIL_PATTERN, student),
+                "password", SyntheticDataGenerator.PASSWORD));
+        return http.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static class LoginCounts {
+        final AtomicLong ok = new AtomicLong();
+        final AtomicLong shed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        // First few failures, so an assertion failure says why
+        final Queue<String> samples = new ConcurrentLinkedQueue<>();
+
+        void fail(String reason) {
+            if (failed.incrementAndGet() <= 5) {
+                samples.add(reason);
+            }
+        }
+    }
+}
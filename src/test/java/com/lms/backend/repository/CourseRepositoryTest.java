@@ -0,0 +1,69 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.Category;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The catalog ETag must move with everything a course card shows, including names from other tables
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class CourseRepositoryTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User instructor;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        instructor = entityManager.persist(User.builder().username("teacher").email("teacher@example.test").build());
+        category = entityManager.persist(Category.builder().name("Databases").build());
+        entityManager.persist(Course.builder().title("SQL").instructor(instructor).category(category).build());
+        entityManager.flush();
+    }
+
+    @Test
+    void instructorRenameChangesTheCatalogStamp() {
+        String before = stamp();
+
+        instructor.setUsername("professor");
+        entityManager.flush();
+
+        assertNotEquals(before, stamp());
+    }
+
+    @Test
+    void categoryRenameChangesTheCatalogStamp() {
+        String before = stamp();
+
+        category.setName("Data");
+        entityManager.flush();
+
+        assertNotEquals(before, stamp());
+    }
+
+    @Test
+    void unchangedCatalogKeepsItsStamp() {
+        assertEquals(stamp(), stamp());
+    }
+
+    private String stamp() {
+        return Arrays.toString(courseRepository.findCatalogVersionStamp().get(0));
+    }
+}
@@ -0,0 +1,60 @@
+package com.lms.backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database that already had the pre-Flyway schema is baselined at V1 (spring.flyway.baseline-on-migrate)
+ * and must get every later table, column and index from V2 onwards, with its existing rows intact.
+ * A new migration bumps LATEST_VERSION and adds what it creates to the assertions below.
+ */
+class MigrationUpgradeTest {
+
+    private static final String LATEST_VERSION = "8";
+
+    @Test
+    void baselinedDatabaseGetsEveryLaterMigration() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration-upgrade;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Stand-in for the existing production schema, then data written by the old version
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration")
+                .target(MigrationVersion.fromVersion("1")).load().migrate();
+        jdbc.update("INSERT INTO courses (title, approved) VALUES ('Existing course', TRUE)");
+        jdbc.update("INSERT INTO lessons (title, position, course_id) VALUES ('Existing lesson', 1, 1)");
+        jdbc.update("INSERT INTO forum_posts (content, created_at, is_locked) VALUES ('Hello', CURRENT_TIMESTAMP, FALSE)");
+        jdbc.update("INSERT INTO categories (name) VALUES ('Existing category')");
+
+        Flyway flyway = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load();
+        flyway.migrate();
+
+        assertEquals(LATEST_VERSION, flyway.info().current().getVersion().getVersion(),
+                "a new migration needs its own assertions here");
+
+        assertNotNull(jdbc.queryForObject("SELECT updated_at FROM lessons WHERE id = 1", Object.class),
+                "existing lessons get a version stamp");
+        assertEquals(0, jdbc.queryForObject("SELECT depth FROM forum_posts WHERE id = 1", Integer.class));
+        for (String table : new String[] { "learning_streaks", "course_daily_stats", "course_stats_summary",
+                "rollup_watermarks", "transcode_jobs", "quiz_score_summaries", "course_stats_invalidations" }) {
+            assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class), table);
+        }
+        // V3 and V6 only add indexes
+        for (String index : new String[] { "idx_courses_updated_at", "idx_lessons_course_position",
+                "idx_quiz_attempts_student_quiz", "idx_system_activities_created_at",
+                "idx_enrollments_course_student" }) {
+            assertEquals(1, jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.indexes WHERE LOWER(index_name) = ?", Integer.class,
+                    index), index);
+        }
+        assertNull(jdbc.queryForObject("SELECT updated_at FROM categories WHERE name = 'Existing category'",
+                Object.class), "existing categories get the column, stamped on their next edit");
+    }
+}
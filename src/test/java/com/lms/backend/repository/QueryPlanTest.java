@@ -0,0 +1,126 @@
+package com.lms.backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the Flyway migrations to an embedded H2 (MySQL mode) and EXPLAINs the SQL behind the hot repository
+ * queries. Fails when any table in a plan is read with a full scan, i.e. when a migration drops or forgets
+ * the index a query depends on. Add new hot queries here together with their index migration.
+ */
+class QueryPlanTest {
+
+    private static JdbcDataSource dataSource;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:query-plans;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("LessonProgressRepository.findByStudentAndLesson_Course",
+                        "SELECT lp.id FROM lesson_progress lp JOIN lessons l ON l.id = lp.lesson_id "
+                                + "WHERE lp.student_id = 1 AND l.course_id = 1"),
+                Arguments.of("LessonProgressRepository.findCompletedLessonIds",
+                        "SELECT lp.lesson_id FROM lesson_progress lp JOIN lessons l ON l.id = lp.lesson_id "
+                                + "WHERE lp.student_id = 1 AND l.course_id = 1 AND lp.completed = TRUE"),
+                Arguments.of("CourseRepository.findByApprovedTrueAndCategoryId",
+                        "SELECT c.id FROM courses c WHERE c.approved = TRUE AND c.category_id = 1"),
+                Arguments.of("CourseRepository.findAvailableForStudent",
+                        "SELECT c.id FROM courses c WHERE c.approved = TRUE AND c.category_id = 1 "
+                                + "AND NOT EXISTS (SELECT 1 FROM enrollments e WHERE e.course_id = c.id AND e.student_id = 1)"),
+                Arguments.of("SystemActivityRepository.findTop10ByOrderByCreatedAtDesc",
+                        "SELECT a.id FROM system_activities a ORDER BY a.created_at DESC LIMIT 10"),
+                Arguments.of("LessonRepository.findByCourseOrderByPositionAsc",
+                        "SELECT l.id FROM lessons l WHERE l.course_id = 1 ORDER BY l.position"),
+                Arguments.of("LessonRepository.findVersionStampByCourseId",
+                        "SELECT COUNT(l.id), MAX(l.updated_at) FROM lessons l WHERE l.course_id = 1"),
+                Arguments.of("UserRepository.countByRoleName",
+                        "SELECT COUNT(u.id) FROM users u JOIN roles r ON r.id = u.role_id WHERE r.name = 'ROLE_STUDENT'"),
+                Arguments.of("UserRepository.findByEmail",
+                        "SELECT u.id FROM users u WHERE u.email = 'student@lms.test'"),
+                Arguments.of("EnrollmentRepository.findCourseIdsByStudentId",
+                        "SELECT e.course_id FROM enrollments e WHERE e.student_id = 1 ORDER BY e.course_id"),
+                Arguments.of("EnrollmentRepository.findByCourseId",
+                        "SELECT e.id FROM enrollments e WHERE e.course_id = 1"),
+                Arguments.of("EnrollmentRepository.countNewEnrollmentsPerCourseDay",
+                        "SELECT e.course_id, COUNT(e.id) FROM enrollments e "
+                                + "WHERE e.enrolled_at > TIMESTAMP '2025-01-01 00:00:00' "
+                                + "AND e.enrolled_at <= TIMESTAMP '2025-01-02 00:00:00' GROUP BY e.course_id"),
+                Arguments.of("LessonProgressRepository.countCompletionsPerCourseDay",
+                        "SELECT lp.lesson_id, COUNT(lp.id) FROM lesson_progress lp WHERE lp.completed = TRUE "
+                                + "AND lp.completed_at > TIMESTAMP '2025-01-01 00:00:00' "
+                                + "AND lp.completed_at <= TIMESTAMP '2025-01-02 00:00:00' GROUP BY lp.lesson_id"),
+                Arguments.of("QuizAttemptRepository.findByStudentAndQuiz",
+                        "SELECT a.id FROM quiz_attempts a WHERE a.student_id = 1 AND a.quiz_id = 1"),
+                Arguments.of("GradebookServiceImpl.SELECT_STUDENTS",
+                        "SELECT u.id FROM enrollments e JOIN users u ON u.id = e.student_id "
+                                + "WHERE e.course_id = 1 AND e.student_id > 0 ORDER BY e.student_id LIMIT 1000"),
+                Arguments.of("GradebookServiceImpl.SELECT_COMPLETED",
+                        "SELECT lp.student_id, lp.lesson_id FROM lesson_progress lp JOIN lessons l ON l.id = lp.lesson_id "
+                                + "WHERE l.course_id = 1 AND lp.completed = TRUE AND lp.student_id BETWEEN 1 AND 1000"),
+                Arguments.of("GradebookServiceImpl.SELECT_QUIZ_RESULTS",
+                        "SELECT s.student_id, s.best_score FROM quiz_score_summaries s "
+                                + "JOIN quizzes q ON q.id = s.quiz_id JOIN lessons l ON l.id = q.lesson_id "
+                                + "WHERE l.course_id = 1 AND s.student_id BETWEEN 1 AND 1000"),
+                Arguments.of("QuizAttemptRepository.findStudentHistory",
+                        "SELECT a.id FROM quiz_attempts a WHERE a.student_id = 1 ORDER BY a.id DESC LIMIT 20"),
+                Arguments.of("QuizScoreSummaryRepository.findByStudentIdAndQuizId",
+                        "SELECT s.id FROM quiz_score_summaries s WHERE s.student_id = 1 AND s.quiz_id = 1"),
+                Arguments.of("QuizScoreSummaryRepository.findQuizScores",
+                        "SELECT s.id FROM quiz_score_summaries s WHERE s.quiz_id = 1 ORDER BY s.best_score DESC LIMIT 50"),
+                Arguments.of("QuizAttemptRepository.countAttemptsPerCourseDay",
+                        "SELECT a.quiz_id, COUNT(a.id) FROM quiz_attempts a "
+                                + "WHERE a.completed_at > TIMESTAMP '2025-01-01 00:00:00' "
+                                + "AND a.completed_at <= TIMESTAMP '2025-01-02 00:00:00' GROUP BY a.quiz_id"),
+                Arguments.of("CertificateRepository.findByStudentAndCourse_Id",
+                        "SELECT ct.id FROM certificates ct WHERE ct.student_id = 1 AND ct.course_id = 1"),
+                Arguments.of("QuizRepository.findByLessonId",
+                        "SELECT q.id FROM quizzes q WHERE q.lesson_id = 1"),
+                Arguments.of("ForumPostRepository.findCourseThreads",
+                        "SELECT p.id FROM forum_posts p WHERE p.course_id = 1 AND p.parent_post_id IS NULL "
+                                + "ORDER BY p.created_at DESC, p.id DESC LIMIT 20"),
+                Arguments.of("ForumPostRepository.findThreadReplies",
+                        "SELECT p.id FROM forum_posts p WHERE p.path LIKE '0000000001/%' AND p.id <> 1"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void testHotQuery_UsesAnIndex(String query, String sql) throws Exception {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("tableScan"), query + " does a full table scan:\n" + plan);
+    }
+
+    private static String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.Course;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.Quiz;
+import com.lms.backend.model.QuizScoreSummary;
+import com.lms.backend.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Submits commit on their own like concurrent requests do, so the test runs without a surrounding transaction
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuizScoreSummaryRepositoryTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private QuizScoreSummaryRepository quizScoreSummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private User student;
+    private Course course;
+    private Lesson lesson;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        student = userRepository.save(User.builder().username("quiz taker").email("taker@example.test").build());
+        course = courseRepository.save(Course.builder().title("Quiz course").build());
+        lesson = lessonRepository.save(Lesson.builder().title("Quiz lesson").position(1).course(course).build());
+        quiz = quizRepository.save(Quiz.builder().lesson(lesson).passingScore(70).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        quizScoreSummaryRepository.deleteAll();
+        quizRepository.delete(quiz);
+        lessonRepository.delete(lesson);
+        courseRepository.delete(course);
+        userRepository.delete(student);
+    }
+
+    @Test
+    void firstAttemptInsertsAndLaterAttemptsFold() {
+        LocalDateTime first = LocalDateTime.of(2025, 6, 1, 10, 0);
+
+        record(80.0, true, first);
+        record(40.0, false, first.plusHours(1));
+
+        QuizScoreSummary summary = summary();
+        assertEquals(2, summary.getAttemptCount());
+        assertEquals(80.0, summary.getBestScore());
+        assertEquals(40.0, summary.getLastScore());
+        assertTrue(summary.isPassed(), "a failed retake does not undo an earlier pass");
+        assertEquals(first.plusHours(1), summary.getLastAttemptAt());
+    }
+
+    @Test
+    void concurrentSubmitsOfANewPairCountEveryAttempt() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> submits = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                double score = 10.0 * (i + 1);
+                submits.add(pool.submit(() -> {
+                    start.await();
+                    record(score, score >= 70, LocalDateTime.now());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> submit : submits) {
+                submit.get(30, TimeUnit.SECONDS); // rethrows a unique key violation
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        QuizScoreSummary summary = summary();
+        assertEquals(THREADS, summary.getAttemptCount());
+        assertEquals(10.0 * THREADS, summary.getBestScore());
+        assertTrue(summary.isPassed());
+        assertEquals(1, quizScoreSummaryRepository.count());
+    }
+
+    private void record(double score, boolean passed, LocalDateTime completedAt) {
+        transaction.executeWithoutResult(status -> quizScoreSummaryRepository.recordAttempt(student.getId(),
+                quiz.getId(), score, passed, completedAt));
+    }
+
+    private QuizScoreSummary summary() {
+        return quizScoreSummaryRepository.findByStudentIdAndQuizId(student.getId(), quiz.getId()).orElseThrow();
+    }
+}
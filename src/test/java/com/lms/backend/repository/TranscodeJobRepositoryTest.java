@@ -0,0 +1,118 @@
+package com.lms.backend.repository;
+
+import com.lms.backend.model.Course;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.TranscodeJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class TranscodeJobRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TranscodeJobRepository transcodeJobRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        Course course = entityManager.persist(Course.builder().title("Video course").build());
+        lesson = entityManager.persist(Lesson.builder().title("Intro").mediaUrl("http://cdn/a.mp4")
+                .position(1).course(course).build());
+    }
+
+    @Test
+    void claimIsACompareAndSet() {
+        TranscodeJob job = queued(LocalDateTime.now().minusMinutes(1));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(1, transcodeJobRepository.claim(job.getId(), now));
+        assertEquals(0, transcodeJobRepository.claim(job.getId(), now), "a running job cannot be claimed again");
+
+        TranscodeJob claimed = reload(job);
+        assertEquals(TranscodeJob.Status.RUNNING, claimed.getStatus());
+        assertEquals(1, claimed.getAttempts());
+    }
+
+    @Test
+    void onlyDueQueuedJobsAreDispatchable() {
+        LocalDateTime now = LocalDateTime.now();
+        TranscodeJob due = queued(now.minusMinutes(1));
+        queued(now.plusMinutes(5)); // backing off
+        TranscodeJob running = queued(now.minusMinutes(2));
+        transcodeJobRepository.claim(running.getId(), now);
+
+        assertEquals(List.of(due.getId()),
+                transcodeJobRepository.findDispatchable(now, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void requeueRunningMakesInterruptedJobsDueAgain() {
+        LocalDateTime now = LocalDateTime.now();
+        TranscodeJob job = queued(now.minusMinutes(1));
+        transcodeJobRepository.claim(job.getId(), now);
+
+        assertEquals(1, transcodeJobRepository.requeueRunning(now));
+
+        TranscodeJob requeued = reload(job);
+        assertEquals(TranscodeJob.Status.QUEUED, requeued.getStatus());
+        assertEquals(1, requeued.getAttempts(), "the interrupted attempt still counts");
+    }
+
+    @Test
+    void cancelQueuedLeavesRunningJobsAlone() {
+        LocalDateTime now = LocalDateTime.now();
+        TranscodeJob waiting = queued(now);
+        TranscodeJob running = queued(now);
+        transcodeJobRepository.claim(running.getId(), now);
+
+        assertEquals(1, transcodeJobRepository.cancelQueued(lesson.getId(), now));
+
+        assertEquals(TranscodeJob.Status.CANCELLED, reload(waiting).getStatus());
+        assertEquals(TranscodeJob.Status.RUNNING, reload(running).getStatus());
+    }
+
+    @Test
+    void replaceMediaUrlOnlyWhenTheSourceIsStillCurrent() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(0, lessonRepository.replaceMediaUrl(lesson.getId(), "http://cdn/old.mp4", "hls/1/master.m3u8", now));
+        assertEquals(1, lessonRepository.replaceMediaUrl(lesson.getId(), "http://cdn/a.mp4", "hls/1/master.m3u8", now));
+
+        entityManager.clear();
+        assertEquals("hls/1/master.m3u8", lessonRepository.findById(lesson.getId()).orElseThrow().getMediaUrl());
+    }
+
+    private TranscodeJob queued(LocalDateTime nextAttemptAt) {
+        return entityManager.persistAndFlush(TranscodeJob.builder()
+                .lesson(lesson)
+                .sourceUrl(lesson.getMediaUrl())
+                .status(TranscodeJob.Status.QUEUED)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    private TranscodeJob reload(TranscodeJob job) {
+        entityManager.clear();
+        return transcodeJobRepository.findById(job.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,125 @@
+package com.lms.backend.security;
+
+import com.lms.backend.exception.GlobalExceptionHandler;
+import com.lms.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    // Stands in for BCrypt: cheap and recognizable
+    private static final PasswordEncoder ENCODER = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void fullPoolAndQueueAreRejectedWith503AndRetryAfter() throws Exception {
+        executor = new PasswordHashingExecutor(ENCODER, meterRegistry, 1, 1, 7, 60_000);
+        CompletableFuture<Object> running = blockTheThread();
+        CompletableFuture<String> queued = executor.encode("queued");
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> executor.encode("rejected"));
+
+        assertEquals(7, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.counter("lms.password.hashing.rejected").count());
+        ResponseEntity<?> response = new GlobalExceptionHandler().handleServiceUnavailable(ex);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals("hash:queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void taskThatWaitedTooLongIsShedWithoutRunning() throws Exception {
+        executor = new PasswordHashingExecutor(ENCODER, meterRegistry, 1, 10, 2, 50);
+        CompletableFuture<Object> running = blockTheThread();
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<Boolean> waiting = executor.submit(() -> ran.getAndSet(true));
+
+        Thread.sleep(100);
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        CompletionException ex = assertThrows(CompletionException.class, waiting::join);
+        assertInstanceOf(ServiceUnavailableException.class, ex.getCause());
+        assertFalse(ran.get());
+        assertEquals(1.0, meterRegistry.counter("lms.password.hashing.rejected").count());
+    }
+
+    @Test
+    void encodeAllKeepsInputOrderAcrossWaves() {
+        executor = new PasswordHashingExecutor(ENCODER, meterRegistry, 2, 2, 2, 60_000);
+        release.countDown();
+
+        assertEquals(List.of("hash:a", "hash:b", "hash:c", "hash:d", "hash:e"),
+                executor.encodeAll(List.of("a", "b", "c", "d", "e")));
+    }
+
+    @Test
+    void encodeAllSurfacesShedding() throws Exception {
+        executor = new PasswordHashingExecutor(ENCODER, meterRegistry, 1, 10, 2, 50);
+        CompletableFuture<Object> running = blockTheThread();
+        new Thread(() -> {
+            sleep(100);
+            release.countDown();
+        }).start();
+
+        // Unwrapped, so the admin endpoint answers 503 rather than 500
+        assertThrows(ServiceUnavailableException.class, () -> executor.encodeAll(List.of("a")));
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<Object> blockTheThread() {
+        return executor.submit(() -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.lms.backend.service;
+
+import com.lms.backend.controller.AdminController;
+import com.lms.backend.exception.ServiceUnavailableException;
+import com.lms.backend.model.Role;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.repository.RoleRepository;
+import com.lms.backend.repository.UserRepository;
+import com.lms.backend.security.PasswordHashingExecutor;
+import com.lms.backend.service.impl.AdminServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    @InjectMocks
+    private AdminServiceImpl adminService;
+
+    @Test
+    void createUsersHashesTheBatchOnceAndSavesItInOneCall() {
+        Role student = Role.builder().id(1L).name(Role.RoleName.ROLE_STUDENT).build();
+        Role instructor = Role.builder().id(2L).name(Role.RoleName.ROLE_INSTRUCTOR).build();
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+        when(roleRepository.findByName(Role.RoleName.ROLE_STUDENT)).thenReturn(Optional.of(student));
+        when(roleRepository.findByName(Role.RoleName.ROLE_INSTRUCTOR)).thenReturn(Optional.of(instructor));
+        when(passwordHashingExecutor.encodeAll(List.of("p1", "p2", "p3"))).thenReturn(List.of("h1", "h2", "h3"));
+        when(userRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<User> users = adminService.createUsers(List.of(
+                request("a@example.test", "p1", null),
+                request("b@example.test", "p2", "ROLE_INSTRUCTOR"),
+                request("c@example.test", "p3", "role_student")));
+
+        assertEquals(List.of("h1", "h2", "h3"), users.stream().map(User::getPassword).toList());
+        assertEquals(List.of(student, instructor, student), users.stream().map(User::getRole).toList());
+        // One lookup per distinct role, not per user
+        verify(roleRepository, times(1)).findByName(Role.RoleName.ROLE_STUDENT);
+        verify(userRepository, times(1)).saveAll(anyList());
+        verify(activityService).logActivity(eq("USER"), eq("3 users created by admin"), anyString());
+    }
+
+    @Test
+    void shedHashKeepsItsServiceUnavailable() {
+        when(userRepository.existsByEmail("a@example.test")).thenReturn(false);
+        when(roleRepository.findByName(Role.RoleName.ROLE_STUDENT))
+                .thenReturn(Optional.of(Role.builder().id(1L).name(Role.RoleName.ROLE_STUDENT).build()));
+        when(passwordHashingExecutor.encode("p1")).thenReturn(CompletableFuture.failedFuture(
+                new ServiceUnavailableException("Too many sign-in requests, please retry shortly", 2)));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> adminService.createUser(request("a@example.test", "p1", null)));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void deleteUserMarksTheStudentsCoursesBeforeTheEnrollmentsGo() {
+        when(userRepository.existsById(7L)).thenReturn(true);
+
+        adminService.deleteUser(7L);
+
+        InOrder order = inOrder(analyticsRollupService, userRepository);
+        order.verify(analyticsRollupService).invalidateStudentCourses(7L);
+        order.verify(userRepository).deleteById(7L);
+    }
+
+    @Test
+    void duplicateEmailInTheBatchIsRejectedBeforeHashing() {
+        assertThrows(RuntimeException.class, () -> adminService.createUsers(List.of(
+                request("a@example.test", "p1", null),
+                request("a@example.test", "p2", null))));
+
+        verifyNoInteractions(passwordHashingExecutor);
+        verify(userRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void existingEmailIsRejectedBeforeHashing() {
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of("b@example.test"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> adminService.createUsers(List.of(
+                request("a@example.test", "p1", null),
+                request("b@example.test", "p2", null))));
+
+        assertTrue(ex.getMessage().contains("b@example.test"));
+        verifyNoInteractions(passwordHashingExecutor);
+    }
+
+    @Test
+    void invalidRoleIsRejectedBeforeHashing() {
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+
+        assertThrows(RuntimeException.class, () -> adminService.createUsers(List.of(
+                request("a@example.test", "p1", "ROLE_SUPERUSER"))));
+
+        verifyNoInteractions(passwordHashingExecutor);
+    }
+
+    @Test
+    void emptyBatchDoesNothing() {
+        assertEquals(List.of(), adminService.createUsers(List.of()));
+
+        verifyNoInteractions(userRepository, passwordHashingExecutor);
+    }
+
+    private static AdminController.CreateUserRequest request(String email, String password, String role) {
+        AdminController.CreateUserRequest request = new AdminController.CreateUserRequest();
+        request.setUsername(email.substring(0, email.indexOf('@')));
+        request.setEmail(email);
+        request.setPassword(password);
+        request.setRole(role);
+        return request;
+    }
+}
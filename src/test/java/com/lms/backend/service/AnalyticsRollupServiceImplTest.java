@@ -0,0 +1,168 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.Course;
+import com.lms.backend.model.CourseStatsSummary;
+import com.lms.backend.model.Enrollment;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.LessonProgress;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.CourseStatsInvalidationRepository;
+import com.lms.backend.repository.CourseStatsSummaryRepository;
+import com.lms.backend.service.impl.AnalyticsRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(AnalyticsRollupServiceImpl.class)
+class AnalyticsRollupServiceImplTest {
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private CourseStatsSummaryRepository courseStatsSummaryRepository;
+
+    @Autowired
+    private CourseStatsInvalidationRepository courseStatsInvalidationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Course course;
+    private Lesson lesson;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        course = entityManager.persist(Course.builder().title("Rollup course").build());
+        lesson = entityManager.persist(Lesson.builder().title("Intro").position(1).course(course).build());
+        alice = entityManager.persist(User.builder().username("alice").email("alice@example.test").build());
+        bob = entityManager.persist(User.builder().username("bob").email("bob@example.test").build());
+        enroll(alice, 100.0, 600L);
+        enroll(bob, 50.0, 300L);
+        complete(alice, LocalDateTime.now().minusHours(1));
+        backdateEnrollments(LocalDateTime.now().minusHours(1));
+    }
+
+    @Test
+    void eventsBeforeTheWatermarkAreCountedOnce() {
+        analyticsRollupService.runRollup();
+        analyticsRollupService.runRollup();
+
+        CourseStatsSummary summary = summary();
+        assertEquals(1, summary.getLessonCompletions());
+        assertEquals(2, summary.getEnrollmentCount());
+        assertEquals(1, summary.getCompletedEnrollments());
+        assertEquals(75.0, summary.getAverageProgress(), 0.001);
+        assertEquals(900, summary.getTotalTimeSpentSeconds());
+
+        // Committed late with a timestamp behind the watermark: that window is closed
+        complete(bob, LocalDateTime.now().minusHours(1));
+        analyticsRollupService.runRollup();
+
+        assertEquals(1, summary().getLessonCompletions());
+    }
+
+    @Test
+    void deletedEnrollmentsAreSubtracted() {
+        analyticsRollupService.runRollup();
+        assertEquals(2, summary().getEnrollmentCount());
+
+        deleteStudent(bob);
+        analyticsRollupService.runRollup();
+
+        CourseStatsSummary summary = summary();
+        assertEquals(1, summary.getEnrollmentCount());
+        assertEquals(100.0, summary.getAverageProgress(), 0.001);
+        assertEquals(600, summary.getTotalTimeSpentSeconds());
+        assertEquals(0, courseStatsInvalidationRepository.count());
+
+        deleteStudent(alice);
+        analyticsRollupService.runRollup();
+
+        summary = summary();
+        assertEquals(0, summary.getEnrollmentCount());
+        assertEquals(0, summary.getCompletedEnrollments());
+        assertEquals(0.0, summary.getAverageProgress(), 0.001);
+        assertEquals(0, summary.getTotalTimeSpentSeconds());
+        // Counted events stay: the completion happened
+        assertEquals(1, summary.getLessonCompletions());
+    }
+
+    @Test
+    void statsOfDeletedCoursesAreRemoved() {
+        analyticsRollupService.runRollup();
+        assertTrue(courseStatsSummaryRepository.existsById(course.getId()));
+
+        entityManager.getEntityManager()
+                .createQuery("DELETE FROM LessonProgress").executeUpdate();
+        analyticsRollupService.invalidateStudentCourses(alice.getId());
+        analyticsRollupService.invalidateStudentCourses(bob.getId());
+        entityManager.getEntityManager()
+                .createQuery("DELETE FROM Enrollment").executeUpdate();
+        entityManager.getEntityManager()
+                .createQuery("DELETE FROM Lesson").executeUpdate();
+        entityManager.getEntityManager()
+                .createQuery("DELETE FROM Course c WHERE c.id = :id").setParameter("id", course.getId())
+                .executeUpdate();
+        entityManager.clear();
+        analyticsRollupService.runRollup();
+        entityManager.clear();
+
+        assertFalse(courseStatsSummaryRepository.existsById(course.getId()));
+        assertEquals(0, courseStatsInvalidationRepository.count());
+    }
+
+    // The service deletes a user as AdminServiceImpl.deleteUser does: mark, then remove the enrollments
+    private void deleteStudent(User student) {
+        analyticsRollupService.invalidateStudentCourses(student.getId());
+        entityManager.getEntityManager()
+                .createQuery("DELETE FROM Enrollment e WHERE e.student.id = :id")
+                .setParameter("id", student.getId())
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private CourseStatsSummary summary() {
+        entityManager.flush();
+        entityManager.clear();
+        return courseStatsSummaryRepository.findById(course.getId()).orElseThrow();
+    }
+
+    private void enroll(User student, double progress, long timeSpentSeconds) {
+        entityManager.persist(Enrollment.builder().student(student).course(course)
+                .progress(progress).timeSpentSeconds(timeSpentSeconds).build());
+    }
+
+    private void complete(User student, LocalDateTime completedAt) {
+        LessonProgress progress = new LessonProgress();
+        progress.setStudent(student);
+        progress.setLesson(lesson);
+        progress.setCompleted(true);
+        progress.setCompletedAt(completedAt);
+        entityManager.persistAndFlush(progress);
+    }
+
+    // Rows younger than the settle lag are left for a later run
+    private void backdateEnrollments(LocalDateTime at) {
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE enrollments SET enrolled_at = :at, updated_at = :at")
+                .setParameter("at", at)
+                .executeUpdate();
+        entityManager.clear();
+    }
+}
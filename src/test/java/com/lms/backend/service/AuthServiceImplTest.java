@@ -4,17 +4,22 @@ import com.lms.backend.model.User;
 import com.lms.backend.model.Role;
 import com.lms.backend.model.Role.RoleName;
 import com.lms.backend.dto.SignupRequest;
+import com.lms.backend.exception.ServiceUnavailableException;
 import com.lms.backend.repository.UserRepository;
 import com.lms.backend.repository.RoleRepository;
+import com.lms.backend.security.PasswordHashingExecutor;
 import com.lms.backend.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,11 +35,17 @@ class AuthServiceImplTest {
     private RoleRepository roleRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
 
     @InjectMocks
     private AuthServiceImpl authService;
 
+    @BeforeEach
+    void setUp() {
+        // Runs the post-hash save inline instead of on the request executor
+        ReflectionTestUtils.setField(authService, "requestExecutor", (Executor) Runnable::run);
+    }
+
     @Test
     void testRegisterUser_Success() {
         // Setup
@@ -59,7 +70,7 @@ class AuthServiceImplTest {
         // Mock only required calls - REMOVED unnecessary stubbing
         when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
         when(roleRepository.findByName(RoleName.ROLE_STUDENT)).thenReturn(Optional.of(studentRole));
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(passwordHashingExecutor.encode("password123")).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
 
         // Execute
@@ -92,4 +103,22 @@ class AuthServiceImplTest {
 
         verify(userRepository, never()).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRegisterUser_HashingPoolSaturated() {
+        SignupRequest signupRequest = SignupRequest.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password("password123")
+                .build();
+
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
+        when(roleRepository.findByName(RoleName.ROLE_STUDENT)).thenReturn(Optional.of(Role.builder().build()));
+        when(passwordHashingExecutor.encode("password123")).thenReturn(CompletableFuture.failedFuture(
+                new ServiceUnavailableException("Too many sign-in requests, please retry shortly", 2)));
+
+        // Not rewrapped as "Registration failed", so the client still gets 503 + Retry-After
+        assertThrows(ServiceUnavailableException.class, () -> authService.registerUser(signupRequest));
+        verify(userRepository, never()).save(any(User.class));
+    }
+}
@@ -0,0 +1,97 @@
+package com.lms.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.model.Category;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.service.impl.CourseJsonCacheImpl;
+import com.lms.backend.service.impl.CourseServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A rename in another table must reach clients end to end: a new catalog ETag (no stale 304) and a
+// re-serialized card from the JSON cache
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class CatalogListingTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CourseServiceImpl courseService = new CourseServiceImpl();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private User instructor;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(courseService, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(courseService, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(courseService, "courseJsonCache",
+                new CourseJsonCacheImpl(objectMapper, new SimpleMeterRegistry(), 100, Duration.ofHours(1)));
+
+        instructor = entityManager.persist(User.builder().username("teacher").email("teacher@example.test").build());
+        category = entityManager.persist(Category.builder().name("Databases").build());
+        entityManager.persist(Course.builder().title("SQL").approved(true).instructor(instructor)
+                .category(category).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void instructorRenameIsServedWithANewETag() throws Exception {
+        String etag = courseService.getCatalogETag();
+        assertEquals("teacher", card().get("instructorName").asText());
+
+        rename(() -> entityManager.find(User.class, instructor.getId()).setUsername("professor"));
+
+        assertNotEquals(etag, courseService.getCatalogETag());
+        assertEquals("professor", card().get("instructorName").asText());
+    }
+
+    @Test
+    void categoryRenameIsServedWithANewETag() throws Exception {
+        String etag = courseService.getCatalogETag();
+        assertEquals("Databases", card().get("categoryName").asText());
+
+        rename(() -> entityManager.find(Category.class, category.getId()).setName("Data"));
+
+        assertNotEquals(etag, courseService.getCatalogETag());
+        assertEquals("Data", card().get("categoryName").asText());
+    }
+
+    private void rename(Runnable edit) {
+        edit.run();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private JsonNode card() throws Exception {
+        byte[] fragment = courseService.getAllCoursesJson().fragments().get(0);
+        entityManager.clear();
+        return objectMapper.readTree(fragment);
+    }
+}
@@ -0,0 +1,186 @@
+package com.lms.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.controller.InstructorController;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.service.impl.CourseImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The import commits or rolls back on its own, so the test runs without a surrounding transaction
+@DataJpaTest(properties = "lms.import.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({ CourseImportServiceImpl.class, JacksonAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseImportServiceImplTest {
+
+    private static final String LESSONS = """
+            {"course": {"note": "ignored"}, "lessons": [
+              {"title": "One", "content": "c1", "durationSeconds": 60},
+              {"title": "Two", "mediaUrl": "https://cdn.example.test/two.mp4",
+               "quiz": {"passingScore": 80, "questions": [
+                 {"text": "Q1", "options": ["a", "b"], "correctOptionIndex": 1},
+                 {"text": "Q2", "options": ["a", "b", "c"], "correctOptionIndex": 0}]}},
+              {"title": "Three", "quiz": {"questions": [
+                 {"text": "Q3", "options": ["x", "y"], "correctOptionIndex": 0}]}}
+            ]}
+            """;
+
+    @Autowired
+    private CourseImportService courseImportService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = courseRepository.save(Course.builder().title("Import target").build());
+        lessonRepository.save(Lesson.builder().title("Existing").position(3).course(course).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM question_options WHERE question_id IN (SELECT q.id FROM questions q "
+                + "JOIN quizzes z ON z.id = q.quiz_id JOIN lessons l ON l.id = z.lesson_id WHERE l.course_id = ?)",
+                course.getId());
+        jdbcTemplate.update("DELETE FROM questions WHERE quiz_id IN (SELECT z.id FROM quizzes z "
+                + "JOIN lessons l ON l.id = z.lesson_id WHERE l.course_id = ?)", course.getId());
+        jdbcTemplate.update("DELETE FROM quizzes WHERE lesson_id IN (SELECT id FROM lessons WHERE course_id = ?)",
+                course.getId());
+        jdbcTemplate.update("DELETE FROM lessons WHERE course_id = ?", course.getId());
+        courseRepository.deleteById(course.getId());
+    }
+
+    @Test
+    void importsJsonAfterTheExistingLessons() throws Exception {
+        List<Map<String, Object>> progress = new ArrayList<>();
+
+        Map<String, Object> result = courseImportService.importLessons(course.getId(),
+                new ByteArrayInputStream(LESSONS.getBytes(StandardCharsets.UTF_8)), progress::add);
+
+        assertEquals("completed", result.get("status"));
+        assertEquals(3L, result.get("lessons"));
+        assertEquals(2L, result.get("quizzes"));
+        assertEquals(3L, result.get("questions"));
+        // Batches of two: one progress line for the first batch, the last one is the result
+        assertEquals(1, progress.size());
+        assertEquals(2L, progress.get(0).get("lessons"));
+        assertImported();
+    }
+
+    @Test
+    void importsTheJsonEntryOfAZip() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("__MACOSX/._course.json"));
+            zip.write(new byte[] { 0, 5, 22, 7 });
+            zip.putNextEntry(new ZipEntry("README.txt"));
+            zip.write("not json".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("export/Course.JSON"));
+            zip.write(LESSONS.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<String, Object> result = courseImportService.importLessons(course.getId(),
+                new ByteArrayInputStream(bytes.toByteArray()), totals -> { });
+
+        assertEquals("completed", result.get("status"));
+        assertImported();
+    }
+
+    @Test
+    void badLessonRollsBackEarlierBatchesAndEndsWithAFailedLine() throws Exception {
+        String lessons = """
+                [{"title": "One"}, {"title": "Two", "quiz": {"questions": [
+                   {"text": "Q1", "options": ["a"], "correctOptionIndex": 0}]}},
+                 {"title": "Three"},
+                 {"title": "Four", "quiz": {"questions": [
+                   {"text": "Q2", "options": ["a", "b"], "correctOptionIndex": 2}]}}]
+                """;
+        InstructorController controller = new InstructorController();
+        ReflectionTestUtils.setField(controller, "courseImportService", courseImportService);
+        ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+
+        StreamingResponseBody body = controller.importLessons(course.getId(), new MockMultipartFile("file",
+                "lessons.json", "application/json", lessons.getBytes(StandardCharsets.UTF_8))).getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("running", objectMapper.readTree(lines[0]).get("status").asText());
+        assertEquals(2, objectMapper.readTree(lines[0]).get("lessons").asInt());
+        assertEquals("failed", objectMapper.readTree(lines[1]).get("status").asText());
+        assertEquals("Lesson 4: correctOptionIndex out of range", objectMapper.readTree(lines[1]).get("error").asText());
+        // The first batch was written before the bad lesson was read and went with the rollback
+        assertEquals(1, count("SELECT COUNT(*) FROM lessons WHERE course_id = ?"));
+        assertEquals(0, count("SELECT COUNT(*) FROM quizzes z JOIN lessons l ON l.id = z.lesson_id "
+                + "WHERE l.course_id = ?"));
+    }
+
+    private void assertImported() {
+        List<Map<String, Object>> lessons = jdbcTemplate.queryForList(
+                "SELECT title, position, duration_seconds, media_url FROM lessons WHERE course_id = ? ORDER BY position",
+                course.getId());
+        assertEquals(List.of("Existing", "One", "Two", "Three"), lessons.stream().map(l -> l.get("title")).toList());
+        assertEquals(List.of(3, 4, 5, 6), lessons.stream().map(l -> ((Number) l.get("position")).intValue()).toList());
+        assertEquals(60, ((Number) lessons.get(1).get("duration_seconds")).intValue());
+        assertEquals("https://cdn.example.test/two.mp4", lessons.get(2).get("media_url"));
+
+        List<Map<String, Object>> quizzes = jdbcTemplate.queryForList("SELECT l.title, z.passing_score FROM quizzes z "
+                + "JOIN lessons l ON l.id = z.lesson_id WHERE l.course_id = ? ORDER BY l.position", course.getId());
+        assertEquals(2, quizzes.size());
+        assertEquals(80, ((Number) quizzes.get(0).get("passing_score")).intValue());
+        assertEquals(70, ((Number) quizzes.get(1).get("passing_score")).intValue());
+
+        assertEquals(3, count("SELECT COUNT(*) FROM questions q JOIN quizzes z ON z.id = q.quiz_id "
+                + "JOIN lessons l ON l.id = z.lesson_id WHERE l.course_id = ?"));
+        assertEquals(7, count("SELECT COUNT(*) FROM question_options o JOIN questions q ON q.id = o.question_id "
+                + "JOIN quizzes z ON z.id = q.quiz_id JOIN lessons l ON l.id = z.lesson_id WHERE l.course_id = ?"));
+        assertEquals(1, count("SELECT COUNT(*) FROM questions q JOIN quizzes z ON z.id = q.quiz_id "
+                + "JOIN lessons l ON l.id = z.lesson_id WHERE l.course_id = ? AND q.text = 'Q1' "
+                + "AND q.correct_option_index = 1"));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, course.getId());
+    }
+}
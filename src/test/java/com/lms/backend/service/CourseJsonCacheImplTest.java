@@ -0,0 +1,104 @@
+package com.lms.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.model.Category;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.User;
+import com.lms.backend.service.impl.CourseJsonCacheImpl;
+import com.lms.backend.util.JsonFragments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseJsonCacheImplTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private CourseJsonCacheImpl courseJsonCache;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        courseJsonCache = new CourseJsonCacheImpl(objectMapper, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+        User instructor = User.builder().id(2L).username("teacher").email("teacher@example.test").build();
+        Category category = Category.builder().id(3L).name("Programming").build();
+        course = Course.builder().id(1L).title("Java").approved(true).instructor(instructor).category(category)
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 12, 0)).build();
+    }
+
+    @Test
+    void unchangedCourseIsServedFromTheCache() {
+        byte[] first = courseJsonCache.getFragment(course, 5);
+
+        assertSame(first, courseJsonCache.getFragment(course, 5));
+    }
+
+    @Test
+    void updatedAtChangeReserializes() throws Exception {
+        byte[] first = courseJsonCache.getFragment(course, 5);
+        course.setTitle("Java 21");
+        course.setUpdatedAt(course.getUpdatedAt().plusSeconds(1));
+
+        byte[] second = courseJsonCache.getFragment(course, 5);
+
+        assertNotSame(first, second);
+        assertEquals("Java 21", json(second).get("title").asText());
+    }
+
+    @Test
+    void enrollmentCountChangeReserializes() throws Exception {
+        courseJsonCache.getFragment(course, 5);
+
+        JsonNode json = json(courseJsonCache.getFragment(course, 6));
+
+        assertEquals(6, json.get("enrollmentCount").asInt());
+        assertEquals(6, json.get("totalStudents").asInt());
+    }
+
+    // Renames do not touch the course row, so updatedAt alone would serve the old name
+    @Test
+    void instructorOrCategoryRenameReserializes() throws Exception {
+        courseJsonCache.getFragment(course, 5);
+
+        course.getInstructor().setUsername("professor");
+        assertEquals("professor", json(courseJsonCache.getFragment(course, 5)).get("instructorName").asText());
+
+        course.getCategory().setName("Software");
+        assertEquals("Software", json(courseJsonCache.getFragment(course, 5)).get("categoryName").asText());
+    }
+
+    @Test
+    void invalidateDropsTheEntry() {
+        byte[] first = courseJsonCache.getFragment(course, 5);
+
+        courseJsonCache.invalidate(course.getId());
+
+        byte[] second = courseJsonCache.getFragment(course, 5);
+        assertNotSame(first, second);
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void fragmentsFollowTheCourseOrderWithMissingCountsAsZero() throws Exception {
+        Course other = Course.builder().id(7L).title("Go").build();
+
+        JsonFragments fragments = courseJsonCache.getFragments(List.of(other, course), Map.of(1L, 4));
+
+        assertEquals(2, fragments.fragments().size());
+        assertEquals(7, json(fragments.fragments().get(0)).get("id").asInt());
+        assertEquals(0, json(fragments.fragments().get(0)).get("enrollmentCount").asInt());
+        assertEquals(4, json(fragments.fragments().get(1)).get("enrollmentCount").asInt());
+    }
+
+    private JsonNode json(byte[] fragment) throws Exception {
+        return objectMapper.readTree(fragment);
+    }
+}
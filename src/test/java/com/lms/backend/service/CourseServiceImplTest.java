@@ -4,10 +4,13 @@ import com.lms.backend.model.Course;
 import com.lms.backend.model.User;
 import com.lms.backend.model.Role;
 import com.lms.backend.model.Role.RoleName;
+import com.lms.backend.repository.CertificateRepository;
 import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.LessonRepository;
 import com.lms.backend.service.impl.CourseServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,6 +28,18 @@ class CourseServiceImplTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private CourseJsonCache courseJsonCache;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private CertificateRepository certificateRepository;
+
+    @Mock
+    private ActivityService activityService;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -139,4 +154,29 @@ class CourseServiceImplTest {
         // Verify
         verify(courseRepository).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateCourseInvalidatesTheCachedJson() {
+        Course course = Course.builder().id(1L).title("Old").build();
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(courseRepository.save(course)).thenReturn(course);
+
+        courseService.updateCourse(1L, Course.builder().title("New").build());
+
+        InOrder order = inOrder(courseRepository, courseJsonCache);
+        order.verify(courseRepository).save(course);
+        order.verify(courseJsonCache).invalidate(1L);
+    }
+
+    @Test
+    void deleteCourseInvalidatesTheCachedJson() {
+        Course course = Course.builder().id(1L).title("Gone").build();
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        courseService.deleteCourse(1L);
+
+        InOrder order = inOrder(courseRepository, courseJsonCache);
+        order.verify(courseRepository).delete(course);
+        order.verify(courseJsonCache).invalidate(1L);
+    }
+}
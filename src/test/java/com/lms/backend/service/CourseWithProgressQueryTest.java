@@ -0,0 +1,126 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.LessonOutlineDto;
+import com.lms.backend.dto.LessonProgressDto;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.Enrollment;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.LessonProgress;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.CertificateRepository;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.repository.LessonProgressRepository;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.service.impl.StudentServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counts what getCourseWithProgress loads: progress rows come from one projection query, no Lesson or
+// LessonProgress entity is initialized
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class CourseWithProgressQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private LessonProgressRepository lessonProgressRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    private final StudentServiceImpl studentService = new StudentServiceImpl();
+    private User student;
+    private Course course;
+    private Lesson intro;
+    private Lesson basics;
+    private Lesson advanced;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentService, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(studentService, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(studentService, "lessonRepository", lessonRepository);
+        ReflectionTestUtils.setField(studentService, "lessonProgressRepository", lessonProgressRepository);
+        ReflectionTestUtils.setField(studentService, "certificateRepository", certificateRepository);
+
+        student = entityManager.persist(User.builder().username("learner").email("learner@example.test").build());
+        User other = entityManager.persist(User.builder().username("other").email("other@example.test").build());
+        course = entityManager.persist(Course.builder().title("Progress course").build());
+        Course otherCourse = entityManager.persist(Course.builder().title("Other course").build());
+        intro = entityManager.persist(Lesson.builder().title("Intro").position(1).course(course).build());
+        basics = entityManager.persist(Lesson.builder().title("Basics").position(2).course(course).build());
+        advanced = entityManager.persist(Lesson.builder().title("Advanced").position(3).course(course).build());
+        Lesson elsewhere = entityManager.persist(
+                Lesson.builder().title("Elsewhere").position(1).course(otherCourse).build());
+        entityManager.persist(Enrollment.builder().student(student).course(course).build());
+
+        progress(student, intro, true);
+        progress(student, basics, false);
+        progress(student, elsewhere, true);
+        progress(other, advanced, true);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void progressIsProjectedWithoutLoadingLessons() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Map<String, Object> response = studentService.getCourseWithProgress(student, course.getId());
+
+        @SuppressWarnings("unchecked")
+        List<LessonProgressDto> progresses = (List<LessonProgressDto>) response.get("lessonProgresses");
+        assertEquals(2, progresses.size());
+        assertTrue(progresses.contains(new LessonProgressDto(intro.getId(), true)));
+        assertTrue(progresses.contains(new LessonProgressDto(basics.getId(), false)));
+
+        @SuppressWarnings("unchecked")
+        List<LessonOutlineDto> lessons = (List<LessonOutlineDto>) response.get("lessons");
+        assertEquals(List.of(true, false, false), lessons.stream().map(LessonOutlineDto::isCompleted).toList());
+        assertEquals(1L, response.get("completedLessons"));
+        assertEquals(3, response.get("totalLessons"));
+
+        assertEquals(0, statistics.getEntityStatistics(Lesson.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(LessonProgress.class.getName()).getLoadCount());
+    }
+
+    private void progress(User user, Lesson lesson, boolean completed) {
+        LessonProgress progress = new LessonProgress();
+        progress.setStudent(user);
+        progress.setLesson(lesson);
+        progress.setCompleted(completed);
+        entityManager.persist(progress);
+    }
+}
@@ -0,0 +1,317 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.ForumPostDto;
+import com.lms.backend.dto.ForumPostRequest;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.ForumPost;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.ForumPostRepository;
+import com.lms.backend.service.impl.CourseForumCacheImpl;
+import com.lms.backend.service.impl.ForumPostServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counter updates are bulk JPQL statements, so every step clears the persistence context and reads the rows back,
+// as the next request would
+@DataJpaTest(properties = "lms.forum.recent-cache.size=3")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({ ForumPostServiceImpl.class, CourseForumCacheImpl.class, ForumPostServiceImplTest.Metrics.class })
+class ForumPostServiceImplTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ForumPostService forumPostService;
+
+    @Autowired
+    private ForumPostRepository forumPostRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User author;
+    private Course course;
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        author = entityManager.persist(User.builder().username("poster").email("poster@example.test").build());
+        course = entityManager.persist(Course.builder().title("Forum course").build());
+        lesson = entityManager.persist(Lesson.builder().title("Forum lesson").position(1).course(course).build());
+        entityManager.flush();
+    }
+
+    @Test
+    void repliesExtendTheParentPathAndInheritTheScope() {
+        ForumPostDto root = post(null, lesson.getId(), null);
+        ForumPostDto reply = post(null, null, root.getId());
+        ForumPostDto nested = post(null, null, reply.getId());
+
+        ForumPost stored = forumPostRepository.findById(nested.getId()).orElseThrow();
+        assertEquals(ForumPost.pathSegment(root.getId()) + ForumPost.pathSegment(reply.getId())
+                + ForumPost.pathSegment(nested.getId()), stored.getPath());
+        assertEquals(List.of(root.getId(), reply.getId()), stored.getAncestorIds());
+        assertEquals(List.of(0, 1, 2), List.of(root.getDepth(), reply.getDepth(), nested.getDepth()));
+        assertEquals(course.getId(), nested.getCourseId());
+        assertEquals(lesson.getId(), nested.getLessonId());
+    }
+
+    @Test
+    void repliesBelowMaxDepthAreRejected() {
+        ForumPostDto parent = post(course.getId(), null, null);
+        for (int depth = 1; depth <= ForumPost.MAX_DEPTH; depth++) {
+            parent = post(null, null, parent.getId());
+        }
+        assertEquals(ForumPost.MAX_DEPTH, parent.getDepth());
+        Long deepest = parent.getId();
+
+        assertThrows(RuntimeException.class, () -> post(null, null, deepest));
+    }
+
+    @Test
+    void lessonOfAnotherCourseIsRejected() {
+        Course other = entityManager.persist(Course.builder().title("Other").build());
+
+        assertThrows(RuntimeException.class, () -> {
+            ForumPostRequest request = request(other.getId(), lesson.getId(), null);
+            forumPostService.createPost(request);
+        });
+    }
+
+    @Test
+    void generalForumListsUnscopedThreadsWithTheirReplyTrees() {
+        ForumPostDto older = post(null, null, null);
+        ForumPostDto reply = post(null, null, older.getId());
+        ForumPostDto nested = post(null, null, reply.getId());
+        ForumPostDto sibling = post(null, null, older.getId());
+        ForumPostDto newer = post(null, null, null);
+        post(course.getId(), null, null);
+        setCreatedAt(newer.getId(), createdAt(older.getId()).plusMinutes(1));
+
+        List<ForumPostDto> threads = forumPostService.getAllTopLevelPosts();
+
+        assertEquals(List.of(newer.getId(), older.getId()), threads.stream().map(ForumPostDto::getId).toList());
+        ForumPostDto thread = threads.get(1);
+        assertEquals(List.of(reply.getId(), sibling.getId()),
+                thread.getReplies().stream().map(ForumPostDto::getId).toList());
+        assertEquals(List.of(nested.getId()),
+                thread.getReplies().get(0).getReplies().stream().map(ForumPostDto::getId).toList());
+        assertEquals(3, thread.getReplyCount());
+    }
+
+    @Test
+    void everyAncestorCountsTheReplyAndItsTime() {
+        ForumPostDto root = post(course.getId(), null, null);
+        ForumPostDto first = post(null, null, root.getId());
+        ForumPostDto second = post(null, null, root.getId());
+        ForumPostDto nested = post(null, null, first.getId());
+
+        assertCounters(root.getId(), 3, createdAt(nested.getId()));
+        assertCounters(first.getId(), 1, createdAt(nested.getId()));
+        assertCounters(second.getId(), 0, null);
+        assertCounters(nested.getId(), 0, null);
+    }
+
+    @Test
+    void deletingASubtreeSubtractsItFromEveryAncestor() {
+        ForumPostDto root = post(course.getId(), null, null);
+        ForumPostDto branch = post(null, null, root.getId());
+        ForumPostDto kept = post(null, null, root.getId());
+        ForumPostDto leaf = post(null, null, branch.getId());
+        ForumPostDto leafReply = post(null, null, leaf.getId());
+        assertCounters(root.getId(), 4, createdAt(leafReply.getId()));
+
+        forumPostService.deletePost(leaf.getId());
+        clear();
+        assertFalse(forumPostRepository.existsById(leaf.getId()));
+        assertFalse(forumPostRepository.existsById(leafReply.getId()));
+        assertCounters(branch.getId(), 0, null);
+        assertCounters(root.getId(), 2, createdAt(kept.getId()));
+
+        forumPostService.deletePost(branch.getId());
+        clear();
+        assertFalse(forumPostRepository.existsById(branch.getId()));
+        assertCounters(root.getId(), 1, createdAt(kept.getId()));
+
+        forumPostService.deletePost(kept.getId());
+        clear();
+        assertFalse(forumPostRepository.existsById(kept.getId()));
+        assertCounters(root.getId(), 0, null);
+    }
+
+    @Test
+    void threadRepliesArePagedInTimeOrderAcrossLevels() {
+        ForumPostDto root = post(course.getId(), null, null);
+        ForumPostDto a = post(null, null, root.getId());
+        ForumPostDto b = post(null, null, a.getId());
+        ForumPostDto c = post(null, null, root.getId());
+        ForumPostDto d = post(null, null, b.getId());
+        post(course.getId(), null, null);
+
+        Map<String, Object> first = forumPostService.getThreadReplies(root.getId(), 0, 3);
+        Map<String, Object> second = forumPostService.getThreadReplies(root.getId(), 1, 3);
+
+        assertEquals(List.of(a.getId(), b.getId(), c.getId()), ids(first));
+        assertEquals(List.of(d.getId()), ids(second));
+        assertEquals(4L, first.get("totalElements"));
+        // A subtree: the replies below one reply
+        assertEquals(List.of(b.getId(), d.getId()), ids(forumPostService.getThreadReplies(a.getId(), 0, 10)));
+    }
+
+    @Test
+    void courseThreadsArePagedByCursorWithIdBreakingTies() {
+        List<Long> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Long id = post(course.getId(), null, null).getId();
+            threads.add(id);
+            post(null, null, id);
+        }
+        // The middle two threads share a timestamp: the cursor's id decides which side each falls on
+        LocalDateTime tie = LocalDateTime.now().minusMinutes(1);
+        setCreatedAt(threads.get(0), tie.minusMinutes(1));
+        setCreatedAt(threads.get(1), tie);
+        setCreatedAt(threads.get(2), tie);
+        setCreatedAt(threads.get(3), tie.plusMinutes(1));
+        Course other = entityManager.persist(Course.builder().title("Other").build());
+        post(other.getId(), null, null);
+
+        Map<String, Object> page = forumPostService.getCourseThreads(course.getId(), null, null, null, 2);
+        assertEquals(List.of(threads.get(3), threads.get(2)), ids(page));
+        assertEquals(threads.get(2), page.get("nextBeforeId"));
+
+        page = forumPostService.getCourseThreads(course.getId(), null,
+                (LocalDateTime) page.get("nextBefore"), (Long) page.get("nextBeforeId"), 2);
+        assertEquals(List.of(threads.get(1), threads.get(0)), ids(page));
+
+        // The last page was full, so it still hands out a cursor; the next one is empty and ends the walk
+        page = forumPostService.getCourseThreads(course.getId(), null,
+                (LocalDateTime) page.get("nextBefore"), (Long) page.get("nextBeforeId"), 2);
+        assertTrue(ids(page).isEmpty());
+        assertNull(page.get("nextBefore"));
+        assertNull(page.get("nextBeforeId"));
+
+        page = forumPostService.getCourseThreads(course.getId(), null, null, null, 5);
+        assertEquals(4, ids(page).size());
+        assertNull(page.get("nextBeforeId"), "a partial page is the last one");
+    }
+
+    @Test
+    void lessonThreadsOnlyListTheLessonsThreads() {
+        ForumPostDto inLesson = post(null, lesson.getId(), null);
+        post(null, null, inLesson.getId());
+        post(course.getId(), null, null);
+
+        Map<String, Object> page = forumPostService.getCourseThreads(course.getId(), lesson.getId(), null, null, 10);
+
+        assertEquals(List.of(inLesson.getId()), ids(page));
+
+        // The lesson belongs to another course than the one in the URL
+        Course other = entityManager.persist(Course.builder().title("Other").build());
+        assertTrue(ids(forumPostService.getCourseThreads(other.getId(), lesson.getId(), null, null, 10)).isEmpty());
+        assertTrue(ids(forumPostService.getCourseThreads(other.getId(), lesson.getId(),
+                LocalDateTime.now().plusDays(1), Long.MAX_VALUE, 10)).isEmpty());
+    }
+
+    @Test
+    void recentThreadsAreCachedUntilThePostsOfTheCourseChange() {
+        ForumPostDto older = post(course.getId(), null, null);
+        ForumPostDto newer = post(course.getId(), null, null);
+        assertEquals(List.of(newer.getId(), older.getId()), ids(recent()));
+
+        // Written around the service: the cached first page does not see it
+        ForumPost bypass = new ForumPost();
+        bypass.setContent("bypass");
+        bypass.setCourse(entityManager.find(Course.class, course.getId()));
+        forumPostRepository.saveAndFlush(bypass);
+        assertEquals(2, ids(recent()).size());
+
+        ForumPostDto newest = post(course.getId(), null, null);
+        assertEquals(List.of(newest.getId(), bypass.getId(), newer.getId()), ids(recent()));
+
+        forumPostService.lockPost(newest.getId(), true);
+        clear();
+        assertTrue(contents(recent()).get(0).isLocked());
+
+        forumPostService.deletePost(newest.getId());
+        clear();
+        assertEquals(List.of(bypass.getId(), newer.getId(), older.getId()), ids(recent()));
+    }
+
+    private Map<String, Object> recent() {
+        return forumPostService.getCourseThreads(course.getId(), null, null, null, 3);
+    }
+
+    private ForumPostDto post(Long courseId, Long lessonId, Long parentId) {
+        ForumPostDto dto = forumPostService.createPost(request(courseId, lessonId, parentId));
+        clear();
+        return dto;
+    }
+
+    private ForumPostRequest request(Long courseId, Long lessonId, Long parentId) {
+        ForumPostRequest request = new ForumPostRequest();
+        request.setContent("post");
+        request.setUserId(author.getId());
+        request.setCourseId(courseId);
+        request.setLessonId(lessonId);
+        request.setParentPostId(parentId);
+        return request;
+    }
+
+    private void assertCounters(Long postId, int replyCount, LocalDateTime lastReplyAt) {
+        ForumPost post = forumPostRepository.findById(postId).orElseThrow();
+        assertEquals(replyCount, post.getReplyCount(), "replyCount of " + postId);
+        assertEquals(lastReplyAt, post.getLastReplyAt(), "lastReplyAt of " + postId);
+    }
+
+    // The column keeps microseconds, the returned DTO the clock's full precision
+    private LocalDateTime createdAt(Long postId) {
+        return forumPostRepository.findById(postId).orElseThrow().getCreatedAt();
+    }
+
+    private void setCreatedAt(Long postId, LocalDateTime createdAt) {
+        entityManager.getEntityManager().createQuery("UPDATE ForumPost p SET p.createdAt = :at WHERE p.id = :id")
+                .setParameter("at", createdAt)
+                .setParameter("id", postId)
+                .executeUpdate();
+        clear();
+    }
+
+    private void clear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ForumPostDto> contents(Map<String, Object> page) {
+        return (List<ForumPostDto>) page.get("content");
+    }
+
+    private static List<Long> ids(Map<String, Object> page) {
+        return contents(page).stream().map(ForumPostDto::getId).toList();
+    }
+}
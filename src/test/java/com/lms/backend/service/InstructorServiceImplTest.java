@@ -0,0 +1,93 @@
+package com.lms.backend.service;
+
+import com.lms.backend.dto.CourseDailyStatsDto;
+import com.lms.backend.model.Course;
+import com.lms.backend.model.CourseDailyStats;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.service.impl.InstructorServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InstructorServiceImplTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    @InjectMocks
+    private InstructorServiceImpl instructorService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(courseRepository.findById(1L)).thenReturn(Optional.of(new Course()));
+        lenient().when(lessonRepository.findIdsByCourseId(1L)).thenReturn(List.of(10L, 11L, 12L));
+    }
+
+    @Test
+    void testReorderLessons_OneUpdateForTheWholeCourse() {
+        instructorService.reorderLessons(1L, List.of(12L, 10L, 11L));
+
+        verify(lessonRepository).updatePositions(1L, List.of(12L, 10L, 11L));
+        verify(lessonRepository, never()).save(any());
+        verify(lessonRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testReorderLessons_MissingLesson() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> instructorService.reorderLessons(1L, List.of(12L, 10L)));
+
+        assertEquals("Lesson order must list every lesson of the course exactly once", ex.getMessage());
+        verify(lessonRepository, never()).updatePositions(anyLong(), any());
+    }
+
+    @Test
+    void testReorderLessons_LessonOfAnotherCourse() {
+        assertThrows(RuntimeException.class, () -> instructorService.reorderLessons(1L, List.of(12L, 10L, 99L)));
+        verify(lessonRepository, never()).updatePositions(anyLong(), any());
+    }
+
+    @Test
+    void testReorderLessons_Duplicate() {
+        reset(lessonRepository);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> instructorService.reorderLessons(1L, List.of(10L, 10L, 11L)));
+
+        assertEquals("Lesson order contains duplicate lessons", ex.getMessage());
+    }
+
+    @Test
+    void testGetCourseDailyStats_MapsRowsWithoutEntityColumns() {
+        LocalDate day = LocalDate.of(2025, 6, 1);
+        when(analyticsRollupService.getDailyStats(1L, 7)).thenReturn(List.of(CourseDailyStats.builder()
+                .id(99L).courseId(1L).statDate(day).newEnrollments(3).quizAttempts(5).quizPasses(4)
+                .averageProgress(42.5).updatedAt(LocalDateTime.now()).build()));
+
+        List<CourseDailyStatsDto> stats = instructorService.getCourseDailyStats(1L, 7);
+
+        assertEquals(List.of(CourseDailyStatsDto.builder().statDate(day).newEnrollments(3).lessonCompletions(0)
+                .courseCompletions(0).quizAttempts(5).quizPasses(4).averageProgress(42.5).build()), stats);
+    }
+}
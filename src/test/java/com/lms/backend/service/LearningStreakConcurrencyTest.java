@@ -0,0 +1,139 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.Category;
+import com.lms.backend.model.LearningStreak;
+import com.lms.backend.repository.CategoryRepository;
+import com.lms.backend.repository.LearningStreakRepository;
+import com.lms.backend.service.impl.LearningStreakServiceImpl;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every call commits its own transaction like a request does, so the test itself runs without one
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(LearningStreakServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LearningStreakConcurrencyTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+    private static final int THREADS = 8;
+    private static final int STUDENTS = 25;
+
+    @Autowired
+    private LearningStreakService learningStreakService;
+
+    @Autowired
+    private LearningStreakRepository learningStreakRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        learningStreakRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentFirstActivitiesCreateOneRow() throws Exception {
+        // Many students so the read-then-insert window is hit on every run
+        for (long studentId = 1; studentId <= STUDENTS; studentId++) {
+            long id = studentId;
+            runConcurrently(() -> learningStreakService.recordActivity(id, DAY));
+        }
+
+        assertEquals(STUDENTS, learningStreakRepository.count());
+        LearningStreak streak = learningStreakRepository.findById(7L).orElseThrow();
+        assertEquals(1, streak.getCurrentStreak());
+        assertEquals(DAY, streak.getLastActiveDate());
+        assertEquals(List.of(DAY), learningStreakService.getActiveDays(7L, DAY, DAY));
+    }
+
+    @Test
+    void firstInsertDoesNotEvictOtherCacheRegions() {
+        Category category = categoryRepository.save(Category.builder().name("Streak cache probe").build());
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        categoryRepository.findById(category.getId());
+        assertTrue(cache.contains(Category.class, category.getId()));
+
+        learningStreakService.recordActivity(42L, DAY);
+
+        assertTrue(cache.contains(Category.class, category.getId()));
+        categoryRepository.delete(category);
+    }
+
+    @Test
+    void activityJoinsTheCallersTransactionAndRollsBackWithIt() {
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+
+        caller.executeWithoutResult(status -> {
+            learningStreakService.recordActivity(42L, DAY);
+            status.setRollbackOnly(); // e.g. the quiz submission failed after recording the activity
+        });
+        assertFalse(learningStreakRepository.existsById(42L));
+
+        caller.executeWithoutResult(status -> learningStreakService.recordActivity(42L, DAY));
+        assertEquals(DAY, learningStreakRepository.findById(42L).orElseThrow().getLastActiveDate());
+    }
+
+    @Test
+    void concurrentActivitiesOfTheNextDayExtendTheStreakOnce() throws Exception {
+        learningStreakService.recordActivity(42L, DAY);
+
+        runConcurrently(() -> learningStreakService.recordActivity(42L, DAY.plusDays(1)));
+
+        LearningStreak streak = learningStreakRepository.findById(42L).orElseThrow();
+        assertEquals(2, streak.getCurrentStreak());
+        assertEquals(2, streak.getLongestStreak());
+    }
+
+    private void runConcurrently(Runnable activity) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    activity.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(30, TimeUnit.SECONDS); // rethrows a duplicate key or lock failure
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
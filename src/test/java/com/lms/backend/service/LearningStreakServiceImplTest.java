@@ -0,0 +1,111 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.LearningStreak;
+import com.lms.backend.repository.LearningStreakRepository;
+import com.lms.backend.service.impl.LearningStreakServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LearningStreakServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private LearningStreakRepository learningStreakRepository;
+
+    @InjectMocks
+    private LearningStreakServiceImpl learningStreakService;
+
+    private LearningStreak stored;
+
+    @BeforeEach
+    void setUp() {
+        stored = null;
+        lenient().when(learningStreakRepository.findById(1L)).thenAnswer(inv -> Optional.ofNullable(stored));
+        lenient().when(learningStreakRepository.findByIdForUpdate(1L)).thenAnswer(inv -> Optional.ofNullable(stored));
+        lenient().when(learningStreakRepository.findLastActiveDate(1L))
+                .thenAnswer(inv -> Optional.ofNullable(stored).map(LearningStreak::getLastActiveDate));
+        lenient().when(learningStreakRepository.insertIfAbsent(1L)).thenAnswer(inv -> {
+            if (stored != null) {
+                return 0;
+            }
+            stored = LearningStreak.builder().studentId(1L).build();
+            return 1;
+        });
+        lenient().when(learningStreakRepository.save(any(LearningStreak.class))).thenAnswer(inv -> {
+            stored = inv.getArgument(0);
+            return stored;
+        });
+    }
+
+    @Test
+    void testRecordActivity_ConsecutiveDaysExtendStreak() {
+        learningStreakService.recordActivity(1L, DAY);
+        learningStreakService.recordActivity(1L, DAY.plusDays(1));
+        LearningStreak streak = learningStreakService.recordActivity(1L, DAY.plusDays(2));
+
+        assertEquals(3, streak.getCurrentStreak());
+        assertEquals(3, streak.getLongestStreak());
+        assertEquals(DAY.plusDays(2), streak.getLastActiveDate());
+    }
+
+    @Test
+    void testRecordActivity_GapResetsCurrentButKeepsLongest() {
+        learningStreakService.recordActivity(1L, DAY);
+        learningStreakService.recordActivity(1L, DAY.plusDays(1));
+        LearningStreak streak = learningStreakService.recordActivity(1L, DAY.plusDays(5));
+
+        assertEquals(1, streak.getCurrentStreak());
+        assertEquals(2, streak.getLongestStreak());
+    }
+
+    @Test
+    void testRecordActivity_SameDayDoesNotWrite() {
+        learningStreakService.recordActivity(1L, DAY);
+        learningStreakService.recordActivity(1L, DAY);
+        learningStreakService.recordActivity(1L, DAY);
+
+        verify(learningStreakRepository, times(1)).save(any(LearningStreak.class));
+        verify(learningStreakRepository, times(1)).findByIdForUpdate(1L);
+        assertEquals(1, stored.getCurrentStreak());
+    }
+
+    @Test
+    void testGetActiveDays_ReadsBitmap() {
+        learningStreakService.recordActivity(1L, DAY);
+        learningStreakService.recordActivity(1L, DAY.plusDays(3));
+        learningStreakService.recordActivity(1L, DAY.plusDays(20));
+
+        List<LocalDate> days = learningStreakService.getActiveDays(1L, DAY.minusDays(10), DAY.plusDays(30));
+
+        assertEquals(List.of(DAY, DAY.plusDays(3), DAY.plusDays(20)), days);
+    }
+
+    @Test
+    void testRecordActivity_BitmapWindowShiftsOldDaysOut() {
+        learningStreakService.recordActivity(1L, DAY);
+        LocalDate farFuture = DAY.plusDays(LearningStreak.MAX_BITMAP_BYTES * 8L + 100);
+        learningStreakService.recordActivity(1L, farFuture);
+
+        assertEquals(LearningStreak.MAX_BITMAP_BYTES, stored.getActivityBitmap().length);
+        assertEquals(List.of(farFuture), learningStreakService.getActiveDays(1L, DAY, farFuture));
+    }
+
+    @Test
+    void testGetCurrentStreak_NoRowIsZero() {
+        assertEquals(0, learningStreakService.getCurrentStreak(1L));
+    }
+}
@@ -0,0 +1,191 @@
+package com.lms.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.backend.event.LiveEvent;
+import com.lms.backend.model.Role;
+import com.lms.backend.model.User;
+import com.lms.backend.service.impl.LiveEventServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveEventServiceImplTest {
+
+    private static final long SEND_TIMEOUT_MS = 50;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LiveEventServiceImpl liveEventService;
+    private boolean nextEmitterStalls;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        if (liveEventService != null) {
+            liveEventService.shutdown();
+        }
+    }
+
+    @Test
+    void eventsReachTheSubscribersOfTheirTopic() throws Exception {
+        start(64, 4);
+        RecordingEmitter alice = subscribe(1L, Role.RoleName.ROLE_STUDENT);
+        RecordingEmitter bob = subscribe(2L, Role.RoleName.ROLE_STUDENT);
+        RecordingEmitter teacher = subscribe(3L, Role.RoleName.ROLE_INSTRUCTOR);
+
+        liveEventService.onLiveEvent(new LiveEvent(LiveEvent.FORUM, "forum-post", Map.of("postId", 9)));
+        liveEventService.onLiveEvent(new LiveEvent(LiveEvent.student(1L), "lesson-completed", Map.of("progress", 50)));
+        liveEventService.onLiveEvent(new LiveEvent(LiveEvent.instructor(3L), "enrolled", Map.of("courseId", 4)));
+
+        await(() -> alice.frames.size() == 3 && bob.frames.size() == 2 && teacher.frames.size() == 3);
+        assertTrue(alice.frames.get(0).contains("event:subscribed\ndata:student.1,forum"));
+        assertTrue(alice.frames.get(1).contains("event:forum-post\ndata:{\"postId\":9}"));
+        assertTrue(alice.frames.get(2).contains("event:lesson-completed\ndata:{\"progress\":50}"));
+        assertTrue(bob.frames.get(1).contains("event:forum-post"));
+        assertTrue(teacher.frames.get(2).contains("event:enrolled"));
+        assertEquals(8, meterRegistry.counter("lms.live.events.delivered").count());
+    }
+
+    @Test
+    void closedStreamsAreUnsubscribed() throws Exception {
+        start(64, 4);
+        RecordingEmitter alice = subscribe(1L, Role.RoleName.ROLE_STUDENT);
+        RecordingEmitter bob = subscribe(2L, Role.RoleName.ROLE_STUDENT);
+        await(() -> alice.frames.size() == 1);
+
+        alice.completion.run();
+        liveEventService.onLiveEvent(new LiveEvent(LiveEvent.FORUM, "forum-post", Map.of("postId", 9)));
+
+        await(() -> bob.frames.size() == 2);
+        assertEquals(1, alice.frames.size());
+        assertEquals(1, liveEventService.getSubscriberCount());
+        // A second callback (timeout after completion) does not count the stream twice
+        alice.completion.run();
+        assertEquals(1, liveEventService.getSubscriberCount());
+    }
+
+    @Test
+    void subscriberWithAFullBufferIsDisconnected() throws Exception {
+        start(2, 4);
+        RecordingEmitter slow = subscribe(1L, Role.RoleName.ROLE_STUDENT, true);
+        await(() -> slow.sending);
+
+        for (int i = 0; i < 3; i++) {
+            liveEventService.onLiveEvent(new LiveEvent(LiveEvent.student(1L), "lesson-completed", Map.of("n", i)));
+        }
+
+        assertEquals(0, liveEventService.getSubscriberCount());
+        assertEquals(1, meterRegistry.counter("lms.live.subscribers.evicted").count());
+        // Completed by the sender once the blocked write returns, not by the publisher
+        assertFalse(slow.completed);
+        slow.release.countDown();
+        await(() -> slow.completed);
+        assertEquals(1, slow.frames.size());
+    }
+
+    @Test
+    void stalledWriteIsInterruptedSoOtherSubscribersAreServed() throws Exception {
+        start(64, 1);
+        RecordingEmitter stalled = subscribe(1L, Role.RoleName.ROLE_STUDENT, true);
+        await(() -> stalled.sending);
+        RecordingEmitter bob = subscribe(2L, Role.RoleName.ROLE_STUDENT);
+
+        Thread.sleep(SEND_TIMEOUT_MS * 2);
+        assertTrue(bob.frames.isEmpty(), "the only sender thread is blocked");
+        liveEventService.evictStalledSenders();
+
+        await(() -> bob.frames.size() == 1 && stalled.completed);
+        assertEquals(1, liveEventService.getSubscriberCount());
+        liveEventService.onLiveEvent(new LiveEvent(LiveEvent.FORUM, "forum-post", Map.of("postId", 9)));
+        await(() -> bob.frames.size() == 2);
+        assertTrue(stalled.frames.isEmpty());
+    }
+
+    private void start(int bufferSize, int senderThreads) {
+        liveEventService = new LiveEventServiceImpl(new ObjectMapper(), meterRegistry, bufferSize, 60_000,
+                senderThreads, SEND_TIMEOUT_MS) {
+            @Override
+            protected SseEmitter newEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter(nextEmitterStalls);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(Long userId, Role.RoleName role) {
+        return subscribe(userId, role, false);
+    }
+
+    private RecordingEmitter subscribe(Long userId, Role.RoleName role, boolean stalls) {
+        User user = new User();
+        user.setId(userId);
+        user.setRole(Role.builder().name(role).build());
+        nextEmitterStalls = stalls;
+        return (RecordingEmitter) liveEventService.subscribe(user);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    // Records the frames instead of writing to a response; a stalling one blocks in its first write like a
+    // client that stopped reading
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        final boolean stalls;
+        volatile boolean sending;
+        volatile boolean completed;
+        volatile Runnable completion;
+
+        RecordingEmitter(boolean stalls) {
+            this.stalls = stalls;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (stalls) {
+                sending = true;
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("write interrupted");
+                }
+            }
+            List<String> parts = new ArrayList<>();
+            items.forEach(item -> parts.add(String.valueOf(item.getData())));
+            frames.add(String.join("", parts));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completion = callback;
+        }
+    }
+}
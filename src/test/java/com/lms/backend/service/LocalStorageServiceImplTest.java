@@ -0,0 +1,49 @@
+package com.lms.backend.service;
+
+import com.lms.backend.exception.BadRequestException;
+import com.lms.backend.exception.ResourceNotFoundException;
+import com.lms.backend.service.impl.LocalStorageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageServiceImplTest {
+
+    private static final String BASE_URL = "http://localhost:8080/uploads/";
+
+    @TempDir
+    Path uploadDir;
+
+    private LocalStorageServiceImpl storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalStorageServiceImpl(uploadDir.toString(), BASE_URL);
+    }
+
+    @Test
+    void storedFileIsLoadedByKey() throws Exception {
+        String url = storage.uploadFile(new MockMultipartFile("file", "a.txt", "text/plain", "abc".getBytes()), 1L);
+
+        assertTrue(storage.isStoredUrl(url));
+        String key = url.substring(BASE_URL.length());
+        assertEquals("abc", storage.loadFile(key).getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void unknownKeyIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> storage.loadFile("missing_a.txt"));
+    }
+
+    @Test
+    void invalidKeyIsABadRequest() {
+        assertThrows(BadRequestException.class, () -> storage.loadFile("../application.properties"));
+        assertThrows(BadRequestException.class, () -> storage.deleteFile(BASE_URL + ".."));
+    }
+}
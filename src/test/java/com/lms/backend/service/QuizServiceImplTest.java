@@ -0,0 +1,99 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.*;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.repository.QuizAttemptRepository;
+import com.lms.backend.repository.QuizRepository;
+import com.lms.backend.repository.QuizScoreSummaryRepository;
+import com.lms.backend.service.impl.QuizServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizServiceImplTest {
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private QuizScoreSummaryRepository quizScoreSummaryRepository;
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private LearningStreakService learningStreakService;
+
+    @InjectMocks
+    private QuizServiceImpl quizService;
+
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        student = new User();
+        student.setId(7L);
+
+        Course course = new Course();
+        course.setId(3L);
+        Lesson lesson = Lesson.builder().id(5L).course(course).build();
+        Quiz quiz = Quiz.builder().id(1L).lesson(lesson).passingScore(70).questions(new ArrayList<>()).build();
+        quiz.getQuestions().add(Question.builder().id(11L).text("q1").options(List.of("a", "b")).correctOptionIndex(0).build());
+        quiz.getQuestions().add(Question.builder().id(12L).text("q2").options(List.of("a", "b")).correctOptionIndex(1).build());
+
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void testSubmitQuiz_FailedAttemptIsFoldedIntoSummary() {
+        quizService.submitQuiz(student, 1L, Map.of(11L, 0, 12L, 0));
+
+        verify(quizScoreSummaryRepository).recordAttempt(eq(7L), eq(1L), eq(50.0), eq(false), any());
+        verify(quizScoreSummaryRepository, never()).save(any());
+        verify(studentService, never()).markLessonCompleted(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testSubmitQuiz_PassedAttemptCompletesLesson() {
+        Map<String, Object> result = quizService.submitQuiz(student, 1L, Map.of(11L, 0, 12L, 1));
+
+        assertEquals(true, result.get("passed"));
+        verify(quizScoreSummaryRepository).recordAttempt(eq(7L), eq(1L), eq(100.0), eq(true), any());
+        verify(studentService).markLessonCompleted(student, 3L, 5L);
+    }
+
+    @Test
+    void testGetQuizSummary_NoAttempts() {
+        reset(quizRepository, quizAttemptRepository);
+        when(quizScoreSummaryRepository.findByStudentIdAndQuizId(7L, 1L)).thenReturn(Optional.empty());
+
+        Map<String, Object> summary = quizService.getQuizSummary(student, 1L);
+
+        assertEquals(0, summary.get("attemptCount"));
+        assertEquals(false, summary.get("passed"));
+        verify(quizScoreSummaryRepository, never()).recordAttempt(any(), any(), any(), anyBoolean(), any());
+    }
+}
@@ -0,0 +1,126 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.Role.RoleName;
+import com.lms.backend.repository.CertificateRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.repository.QuizAttemptRepository;
+import com.lms.backend.repository.UserRepository;
+import com.lms.backend.service.impl.ReportExportServiceImpl;
+import com.lms.backend.util.ReportWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportExportServiceImplTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long HEAP_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private CertificateRepository certificateRepository;
+
+    @InjectMocks
+    private ReportExportServiceImpl reportExportService;
+
+    @Test
+    void testExportUsers_Csv() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        when(userRepository.streamUserReport()).thenReturn(Stream.of(
+                new Object[] { 1L, "Komal, Singh", "komal@lms.com", RoleName.ROLE_STUDENT, 5, createdAt },
+                new Object[] { 2L, "Rahul \"RK\" Kumar", "rahul@lms.com", RoleName.ROLE_INSTRUCTOR, 0, null }));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = reportExportService.exportUsers(out, ReportWriter.Format.CSV);
+
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,username,email,role,reputationPoints,createdAt", lines[0]);
+        assertEquals("1,\"Komal, Singh\",komal@lms.com,ROLE_STUDENT,5,2025-01-15T10:30", lines[1]);
+        assertEquals("2,\"Rahul \"\"RK\"\" Kumar\",rahul@lms.com,ROLE_INSTRUCTOR,0,", lines[2]);
+    }
+
+    @Test
+    void testExportCertificates_Ndjson() throws Exception {
+        when(certificateRepository.streamCertificateReport()).thenReturn(Stream.<Object[]>of(
+                new Object[] { 7L, "CERT-1", 3L, "Kajal", "kajal@lms.com", 9L, "Java", null }));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportExportService.exportCertificates(out, ReportWriter.Format.NDJSON);
+
+        assertEquals("{\"certificateId\":7,\"certificateCode\":\"CERT-1\",\"studentId\":3,\"studentName\":\"Kajal\","
+                + "\"studentEmail\":\"kajal@lms.com\",\"courseId\":9,\"courseName\":\"Java\",\"issueDate\":null}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportEnrollments_MillionRowsWithBoundedHeap() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        CountingOutputStream sink = new CountingOutputStream();
+        AtomicLong bytesAtMidpoint = new AtomicLong();
+        AtomicLong heapAtMidpoint = new AtomicLong();
+        LocalDateTime enrolledAt = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+        // Rows are generated lazily, like a JDBC cursor; at the midpoint we check the writer has already
+        // pushed output downstream and that the live heap has not grown with the row count.
+        Stream<Object[]> rows = LongStream.range(0, ROWS).mapToObj(i -> {
+            if (i == ROWS / 2) {
+                bytesAtMidpoint.set(sink.count);
+                System.gc();
+                heapAtMidpoint.set(memory.getHeapMemoryUsage().getUsed());
+            }
+            return new Object[] { i, i % 5000, "student" + i, "student" + i + "@lms.com", i % 40,
+                    "Course " + (i % 40), enrolledAt, (double) (i % 101), i * 30 };
+        });
+        when(enrollmentRepository.streamEnrollmentReport()).thenReturn(rows);
+
+        long exported = reportExportService.exportEnrollments(sink, ReportWriter.Format.NDJSON);
+
+        assertEquals(ROWS, exported);
+        assertTrue(bytesAtMidpoint.get() > sink.count / 3,
+                "Output should be streamed while rows are still being produced");
+        assertTrue(heapAtMidpoint.get() - baseline < HEAP_BUDGET_BYTES,
+                "Heap grew by " + (heapAtMidpoint.get() - baseline) + " bytes during export");
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
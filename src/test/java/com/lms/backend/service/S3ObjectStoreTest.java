@@ -0,0 +1,92 @@
+package com.lms.backend.service;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.lms.backend.config.StorageConfig;
+import com.lms.backend.service.impl.S3ObjectStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3ObjectStoreTest {
+
+    private static final Path FILE = Path.of("a_intro.mp4");
+
+    @Mock
+    private AmazonS3 s3;
+
+    @Test
+    void keysAreStoredUnderThePrefix() throws Exception {
+        S3ObjectStore store = new S3ObjectStore(s3, "lms-media", "media/");
+        when(s3.doesObjectExist("lms-media", "media/a_intro.mp4")).thenReturn(true);
+
+        store.put("a_intro.mp4", FILE);
+        store.download("a_intro.mp4", FILE);
+        assertTrue(store.exists("a_intro.mp4"));
+        store.delete("a_intro.mp4");
+
+        verify(s3).putObject("lms-media", "media/a_intro.mp4", FILE.toFile());
+        ArgumentCaptor<GetObjectRequest> get = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3).getObject(get.capture(), eq(FILE.toFile()));
+        assertEquals("lms-media", get.getValue().getBucketName());
+        assertEquals("media/a_intro.mp4", get.getValue().getKey());
+        verify(s3).deleteObject("lms-media", "media/a_intro.mp4");
+    }
+
+    @Test
+    void missingObjectIsNoSuchFile() {
+        S3ObjectStore store = new S3ObjectStore(s3, "lms-media", "media/");
+        AmazonS3Exception notFound = new AmazonS3Exception("Not Found");
+        notFound.setStatusCode(404);
+        when(s3.getObject(any(GetObjectRequest.class), any(File.class))).thenThrow(notFound);
+
+        NoSuchFileException ex = assertThrows(NoSuchFileException.class, () -> store.download("gone.mp4", FILE));
+        assertEquals("gone.mp4", ex.getFile());
+    }
+
+    @Test
+    void clientFailuresAreIoExceptions() {
+        S3ObjectStore store = new S3ObjectStore(s3, "lms-media", "media/");
+        AmazonS3Exception denied = new AmazonS3Exception("Access Denied");
+        denied.setStatusCode(403);
+        when(s3.getObject(any(GetObjectRequest.class), any(File.class))).thenThrow(denied);
+        when(s3.putObject("lms-media", "media/a_intro.mp4", FILE.toFile()))
+                .thenThrow(new SdkClientException("Unable to execute HTTP request"));
+
+        assertThrows(IOException.class, () -> store.download("a_intro.mp4", FILE));
+        assertThrows(IOException.class, () -> store.put("a_intro.mp4", FILE));
+    }
+
+    // Presigning is computed locally, so a real client against an unreachable endpoint is enough
+    @Test
+    void presignedUrlPointsAtTheObjectAndExpires() {
+        AmazonS3 client = new StorageConfig().s3Client("http://localhost:9000", "us-east-1", true,
+                "test-access", "test-secret");
+        S3ObjectStore store = new S3ObjectStore(client, "lms-media", "media/");
+
+        URI url = URI.create(store.presignGet("a_intro.mp4", Duration.ofMinutes(5)).orElseThrow());
+
+        assertEquals("localhost", url.getHost());
+        assertEquals("/lms-media/media/a_intro.mp4", url.getPath());
+        assertTrue(url.getQuery().contains("X-Amz-Credential=test-access/"), url.getQuery());
+        assertTrue(url.getQuery().contains("X-Amz-Signature="), url.getQuery());
+        long expires = Long.parseLong(url.getQuery().replaceAll(".*X-Amz-Expires=(\\d+).*", "$1"));
+        assertTrue(expires > 290 && expires <= 300, "expires in the requested 5 minutes: " + expires);
+    }
+}
@@ -0,0 +1,114 @@
+package com.lms.backend.service;
+
+import com.lms.backend.model.Course;
+import com.lms.backend.model.Enrollment;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.LessonProgress;
+import com.lms.backend.model.User;
+import com.lms.backend.repository.CertificateRepository;
+import com.lms.backend.repository.CourseRepository;
+import com.lms.backend.repository.EnrollmentRepository;
+import com.lms.backend.repository.LessonProgressRepository;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.repository.UserRepository;
+import com.lms.backend.service.impl.StudentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentServiceImplTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private LessonProgressRepository lessonProgressRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CertificateRepository certificateRepository;
+
+    @Mock
+    private LearningStreakService learningStreakService;
+
+    @Mock
+    private EnrolledCourseIndex enrolledCourseIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StudentServiceImpl studentService;
+
+    private User student;
+    private Course course;
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        student = new User();
+        student.setId(1L);
+        course = Course.builder().id(10L).title("Course").build();
+        lesson = Lesson.builder().id(100L).title("Lesson").course(course).build();
+        Enrollment enrollment = Enrollment.builder().student(student).course(course).build();
+        when(lessonRepository.findById(100L)).thenReturn(Optional.of(lesson));
+        when(enrollmentRepository.findByStudentAndCourse(student, course)).thenReturn(Optional.of(enrollment));
+        when(lessonRepository.countByCourse(course)).thenReturn(2L);
+        when(lessonProgressRepository.countCompletedLessons(student, course)).thenReturn(1);
+    }
+
+    @Test
+    void firstCompletionIsTimestamped() {
+        when(lessonProgressRepository.findByStudentAndLesson(student, lesson)).thenReturn(Optional.empty());
+
+        studentService.markLessonCompleted(student, 10L, 100L);
+
+        LessonProgress saved = savedProgress();
+        assertTrue(saved.isCompleted());
+        assertNotNull(saved.getCompletedAt());
+    }
+
+    // The rollup counts completions by completedAt; moving it would count the lesson again
+    @Test
+    void recompletingKeepsTheFirstCompletionTime() {
+        LocalDateTime firstCompletion = LocalDateTime.now().minusDays(3);
+        LessonProgress progress = new LessonProgress();
+        progress.setStudent(student);
+        progress.setLesson(lesson);
+        progress.setCompleted(true);
+        progress.setCompletedAt(firstCompletion);
+        when(lessonProgressRepository.findByStudentAndLesson(student, lesson)).thenReturn(Optional.of(progress));
+
+        studentService.markLessonCompleted(student, 10L, 100L);
+
+        LessonProgress saved = savedProgress();
+        assertEquals(firstCompletion, saved.getCompletedAt());
+        assertTrue(saved.getLastAccessedAt().isAfter(firstCompletion));
+    }
+
+    private LessonProgress savedProgress() {
+        ArgumentCaptor<LessonProgress> captor = ArgumentCaptor.forClass(LessonProgress.class);
+        verify(lessonProgressRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
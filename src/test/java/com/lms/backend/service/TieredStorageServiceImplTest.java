@@ -0,0 +1,226 @@
+package com.lms.backend.service;
+
+import com.lms.backend.exception.BadRequestException;
+import com.lms.backend.exception.ResourceNotFoundException;
+import com.lms.backend.service.impl.FileSystemObjectStore;
+import com.lms.backend.service.impl.TieredStorageServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredStorageServiceImplTest {
+
+    private static final String BASE_URL = "https://cdn.example.test/media/";
+
+    @TempDir
+    Path tmp;
+
+    private Path cacheDir;
+    private Path storeDir;
+    private SimpleMeterRegistry meterRegistry;
+    private TieredStorageServiceImpl storage;
+
+    @BeforeEach
+    void setUp() {
+        cacheDir = tmp.resolve("cache");
+        storeDir = tmp.resolve("store");
+        meterRegistry = new SimpleMeterRegistry();
+        // Room for two 10-byte files
+        storage = newStorage(25);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+    }
+
+    @Test
+    void uploadReturnsConfiguredUrlAndReplicates() throws Exception {
+        String url = storage.uploadFile(file("a.txt", "0123456789"), 1L);
+
+        assertTrue(url.startsWith(BASE_URL));
+        String key = url.substring(BASE_URL.length());
+        awaitReplicated(key);
+        assertEquals("0123456789", Files.readString(storeDir.resolve(key)));
+        assertEquals(1.0, meterRegistry.counter("lms.storage.replication", "result", "success").count());
+        // The filesystem stand-in cannot sign URLs, so downloads go through the application
+        assertEquals(url, storage.getDownloadUrl(url, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void evictedFilesAreFetchedBackFromTheObjectStore() throws Exception {
+        String first = key(storage.uploadFile(file("a.txt", "aaaaaaaaaa"), 1L));
+        awaitReplicated(first);
+        String second = key(storage.uploadFile(file("b.txt", "bbbbbbbbbb"), 1L));
+        awaitReplicated(second);
+        String third = key(storage.uploadFile(file("c.txt", "cccccccccc"), 1L));
+        awaitReplicated(third);
+
+        assertFalse(Files.exists(cacheDir.resolve(first)), "least recently used file should be evicted");
+
+        Resource resource = storage.loadFile(first);
+        assertEquals("aaaaaaaaaa", new String(resource.getContentAsByteArray()));
+        assertTrue(Files.exists(cacheDir.resolve(first)));
+        assertEquals(1.0, meterRegistry.counter("lms.storage.cache", "result", "miss").count());
+    }
+
+    @Test
+    void deleteRemovesBothTiers() throws Exception {
+        String url = storage.uploadFile(file("a.txt", "0123456789"), 1L);
+        String key = key(url);
+        awaitReplicated(key);
+
+        storage.deleteFile(url);
+
+        assertFalse(Files.exists(cacheDir.resolve(key)));
+        assertFalse(Files.exists(storeDir.resolve(key)));
+        assertThrows(ResourceNotFoundException.class, () -> storage.loadFile(key));
+    }
+
+    @Test
+    void unreplicatedFilesAreReplicatedOnStartup() throws Exception {
+        storage.shutdown();
+        Files.writeString(cacheDir.resolve("left-over_a.txt"), "0123456789");
+
+        storage = newStorage(25);
+        storage.recoverLocalFiles();
+
+        awaitReplicated("left-over_a.txt");
+        assertTrue(Files.exists(storeDir.resolve("left-over_a.txt")));
+    }
+
+    @Test
+    void rejectsKeysOutsideTheCache() {
+        assertThrows(BadRequestException.class, () -> storage.loadFile("../secret.txt"));
+    }
+
+    @Test
+    void unknownKeyIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> storage.loadFile("missing_a.txt"));
+    }
+
+    @Test
+    void failedReplicationIsRetriedWithBackoff() throws Exception {
+        storage.shutdown();
+        FlakyObjectStore store = new FlakyObjectStore(2);
+        storage = newStorage(store, 10);
+
+        String key = key(storage.uploadFile(file("a.txt", "0123456789"), 1L));
+
+        awaitReplicated(key);
+        assertEquals(3, store.attempts);
+        assertEquals(2.0, meterRegistry.counter("lms.storage.replication", "result", "retry").count());
+    }
+
+    @Test
+    void waitingRetryDoesNotHoldTheReplicationThread() throws Exception {
+        storage.shutdown();
+        // The first upload fails once and waits a minute for its retry on the only replication thread
+        storage = newStorage(new FlakyObjectStore(1), 60_000);
+        String waiting = key(storage.uploadFile(file("a.txt", "0123456789"), 1L));
+        String next = key(storage.uploadFile(file("b.txt", "0123456789"), 1L));
+
+        awaitReplicated(next);
+        assertFalse(storage.isReplicated(waiting));
+    }
+
+    @Test
+    void downloadUrlIsPresignedOnceReplicated() throws Exception {
+        storage.shutdown();
+        FlakyObjectStore store = new FlakyObjectStore(1);
+        store.presignBase = "https://bucket.s3.example.test/";
+        storage = newStorage(store, 60_000);
+        String url = storage.uploadFile(file("a.txt", "0123456789"), 1L);
+
+        // Still pending: only this node has the file
+        assertEquals(url, storage.getDownloadUrl(url, Duration.ofMinutes(5)));
+
+        String replicated = storage.uploadFile(file("b.txt", "0123456789"), 1L);
+        awaitReplicated(key(replicated));
+        assertEquals("https://bucket.s3.example.test/" + key(replicated) + "?ttl=300",
+                storage.getDownloadUrl(replicated, Duration.ofMinutes(5)));
+    }
+
+    private TieredStorageServiceImpl newStorage(long maxBytes) {
+        return new TieredStorageServiceImpl(new FileSystemObjectStore(storeDir), meterRegistry,
+                cacheDir.toString(), maxBytes, BASE_URL, 1, 3, 10);
+    }
+
+    private TieredStorageServiceImpl newStorage(ObjectStore store, long backoffMs) {
+        return new TieredStorageServiceImpl(store, meterRegistry, cacheDir.toString(), 25, BASE_URL, 1, 3,
+                backoffMs);
+    }
+
+    private void awaitReplicated(String key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!storage.isReplicated(key)) {
+            assertTrue(System.currentTimeMillis() < deadline, "replication of " + key + " timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    private static String key(String url) {
+        return url.substring(BASE_URL.length());
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes());
+    }
+
+    // Fails the first puts of the first key it sees, optionally signs URLs like S3 does
+    private class FlakyObjectStore implements ObjectStore {
+
+        private final FileSystemObjectStore delegate = new FileSystemObjectStore(storeDir);
+        private final int failures;
+        private volatile String flakyKey;
+        private volatile int attempts;
+        private volatile String presignBase;
+
+        FlakyObjectStore(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public synchronized void put(String key, Path source) throws IOException {
+            if (flakyKey == null) {
+                flakyKey = key;
+            }
+            if (key.equals(flakyKey) && ++attempts <= failures) {
+                throw new IOException("store unavailable");
+            }
+            delegate.put(key, source);
+        }
+
+        @Override
+        public void download(String key, Path target) throws IOException {
+            delegate.download(key, target);
+        }
+
+        @Override
+        public boolean exists(String key) throws IOException {
+            return delegate.exists(key);
+        }
+
+        @Override
+        public void delete(String key) throws IOException {
+            delegate.delete(key);
+        }
+
+        @Override
+        public Optional<String> presignGet(String key, Duration ttl) {
+            return Optional.ofNullable(presignBase).map(base -> base + key + "?ttl=" + ttl.getSeconds());
+        }
+    }
+}
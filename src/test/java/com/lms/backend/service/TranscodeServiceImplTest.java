@@ -0,0 +1,192 @@
+package com.lms.backend.service;
+
+import com.lms.backend.exception.ResourceNotFoundException;
+import com.lms.backend.model.Lesson;
+import com.lms.backend.model.TranscodeJob;
+import com.lms.backend.repository.LessonRepository;
+import com.lms.backend.repository.TranscodeJobRepository;
+import com.lms.backend.service.impl.TranscodeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TranscodeServiceImplTest {
+
+    private static final long BACKOFF_MS = 60_000;
+
+    @Mock
+    private TranscodeJobRepository transcodeJobRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private MediaStorageService mediaStorageService;
+
+    @TempDir
+    Path outputDir;
+
+    private TranscodeServiceImpl transcodeService;
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        // A missing binary makes every attempt fail the way a broken source would
+        transcodeService = new TranscodeServiceImpl(transcodeJobRepository, lessonRepository, mediaStorageService,
+                new SimpleMeterRegistry(), true, "/nonexistent/ffmpeg", "/nonexistent/ffprobe",
+                outputDir.toString(), "http://localhost/api/media/hls/", "720:2800k", 6, 1, 3, BACKOFF_MS,
+                Duration.ofMinutes(1), "cdn.example.test");
+        lesson = new Lesson();
+        lesson.setId(5L);
+        when(transcodeJobRepository.save(any(TranscodeJob.class))).thenAnswer(inv -> {
+            TranscodeJob job = inv.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(99L);
+            }
+            return job;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transcodeService.shutdown();
+    }
+
+    @Test
+    void refusesSourcesOutsideStorageAndAllowlist() {
+        lesson.setMediaUrl("http://169.254.169.254/latest/meta-data/video.mp4");
+
+        assertEquals(Optional.empty(), transcodeService.enqueue(lesson));
+
+        lesson.setMediaUrl("file:///etc/passwd.mp4");
+        assertEquals(Optional.empty(), transcodeService.enqueue(lesson));
+        verify(transcodeJobRepository, never()).save(any());
+    }
+
+    @Test
+    void queuesStoredAndAllowlistedSources() {
+        when(mediaStorageService.isStoredUrl("http://localhost/uploads/a_intro.mp4")).thenReturn(true);
+
+        lesson.setMediaUrl("http://localhost/uploads/a_intro.mp4");
+        assertEquals(Optional.of(99L), transcodeService.enqueue(lesson));
+
+        lesson.setMediaUrl("https://CDN.example.test/videos/intro.mp4");
+        assertEquals(Optional.of(99L), transcodeService.enqueue(lesson));
+        verify(transcodeJobRepository, times(2)).cancelQueued(eq(5L), any());
+    }
+
+    @Test
+    void failedAttemptIsRequeuedWithExponentialBackoff() {
+        TranscodeJob job = claimedJob(2);
+
+        transcodeService.dispatch();
+
+        verify(transcodeJobRepository, timeout(5000)).save(job);
+        assertEquals(TranscodeJob.Status.QUEUED, job.getStatus());
+        LocalDateTime expected = LocalDateTime.now().plus(Duration.ofMillis(BACKOFF_MS * 2));
+        assertTrue(Duration.between(job.getNextAttemptAt(), expected).abs().toSeconds() < 5,
+                "second failure waits twice the base backoff");
+        assertNotNull(job.getError());
+        verify(lessonRepository, never()).replaceMediaUrl(any(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void lastAttemptFailsTheJob() {
+        TranscodeJob job = claimedJob(3);
+
+        transcodeService.dispatch();
+
+        verify(transcodeJobRepository, timeout(5000)).save(job);
+        assertEquals(TranscodeJob.Status.FAILED, job.getStatus());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void silentlyHangingFfmpegIsKilledAtTheTimeout() throws Exception {
+        // ffprobe reports a video stream; ffmpeg never prints a line and never exits on its own
+        Path ffprobe = script("ffprobe", "echo codec_type=video; echo height=720; echo duration=60");
+        Path ffmpeg = script("ffmpeg", "exec sleep 60");
+        transcodeService.shutdown();
+        transcodeService = new TranscodeServiceImpl(transcodeJobRepository, lessonRepository, mediaStorageService,
+                new SimpleMeterRegistry(), true, ffmpeg.toString(), ffprobe.toString(),
+                outputDir.toString(), "http://localhost/api/media/hls/", "720:2800k", 6, 1, 3, BACKOFF_MS,
+                Duration.ofMillis(300), "cdn.example.test");
+        TranscodeJob job = claimedJob(1);
+
+        transcodeService.dispatch();
+
+        verify(transcodeJobRepository, timeout(5000)).save(job);
+        assertEquals(TranscodeJob.Status.QUEUED, job.getStatus());
+        assertEquals("ffmpeg timed out after PT0.3S", job.getError());
+    }
+
+    @Test
+    void missingHlsFileIsNotFound() throws Exception {
+        Path jobDir = Files.createDirectories(outputDir.resolve("5").resolve("7"));
+        Files.writeString(jobDir.resolve("master.m3u8"), "#EXTM3U");
+        Files.writeString(outputDir.resolve("other.m3u8"), "#EXTM3U");
+
+        assertNotNull(transcodeService.loadHlsFile(5L, 7L, "master.m3u8"));
+        assertThrows(ResourceNotFoundException.class, () -> transcodeService.loadHlsFile(5L, 7L, "720p/index.m3u8"));
+        assertThrows(ResourceNotFoundException.class, () -> transcodeService.loadHlsFile(5L, 7L, "../../other.m3u8"));
+    }
+
+    @Test
+    void lessonWithoutJobIsNotFound() {
+        when(transcodeJobRepository.findFirstByLessonIdOrderByIdDesc(5L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> transcodeService.getLatestJob(5L));
+    }
+
+    @Test
+    void lostClaimDoesNotRunTheJob() {
+        when(transcodeJobRepository.findDispatchable(any(), any())).thenReturn(List.of(7L));
+        when(transcodeJobRepository.claim(eq(7L), any())).thenReturn(0);
+
+        transcodeService.dispatch();
+
+        verify(transcodeJobRepository, after(200).never()).findById(7L);
+    }
+
+    private TranscodeJob claimedJob(int attempts) {
+        TranscodeJob job = TranscodeJob.builder()
+                .id(7L)
+                .lesson(lesson)
+                .sourceUrl("https://cdn.example.test/videos/intro.mp4")
+                .status(TranscodeJob.Status.RUNNING)
+                .attempts(attempts)
+                .build();
+        when(transcodeJobRepository.findDispatchable(any(), any())).thenReturn(List.of(7L));
+        when(transcodeJobRepository.claim(eq(7L), any())).thenReturn(1);
+        when(transcodeJobRepository.findById(7L)).thenReturn(Optional.of(job));
+        return job;
+    }
+
+    private Path script(String name, String body) throws Exception {
+        Path script = Files.writeString(outputDir.resolve(name + ".sh"), "#!/bin/sh\n" + body + "\n");
+        assertTrue(script.toFile().setExecutable(true));
+        return script;
+    }
+}
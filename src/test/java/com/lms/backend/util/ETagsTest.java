@@ -0,0 +1,58 @@
+package com.lms.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void tagsAreWeakAndScoped() {
+        String etag = ETags.of("catalog", 12L, "2025-01-01T00:00");
+
+        assertTrue(etag.startsWith("W/\"") && etag.endsWith("\""));
+        assertEquals(etag, ETags.of("catalog", 12L, "2025-01-01T00:00"));
+        assertNotEquals(etag, ETags.of("lessons:1", 12L, "2025-01-01T00:00"));
+    }
+
+    @Test
+    void matchingIfNoneMatchPreparesA304() {
+        String etag = ETags.of("catalog", 12L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(ETags.checkNotModified(new ServletWebRequest(get(etag), response), etag));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void strongFormOfTheTagStillMatches() {
+        String etag = ETags.of("catalog", 12L);
+        String strong = etag.substring(2);
+
+        assertTrue(ETags.checkNotModified(new ServletWebRequest(get(strong), new MockHttpServletResponse()), etag));
+    }
+
+    @Test
+    void changedStampIsServedInFull() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = new ServletWebRequest(get(ETags.of("catalog", 11L)), response);
+
+        assertFalse(ETags.checkNotModified(request, ETags.of("catalog", 12L)));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return request;
+    }
+}
@@ -0,0 +1,78 @@
+package com.lms.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FfmpegHlsTest {
+
+    private static final List<FfmpegHls.Rendition> LADDER =
+            FfmpegHls.Rendition.parseLadder("1080:5000k, 720:2800k,360:800k");
+
+    @Test
+    void parsesProbeOutput() {
+        FfmpegHls.Probe probe = FfmpegHls.parseProbe(List.of(
+                "codec_type=video", "height=720", "codec_type=audio", "height=N/A", "duration=125.400000"));
+
+        assertEquals(125.4, probe.durationSeconds(), 1e-9);
+        assertEquals(720, probe.height());
+        assertTrue(probe.hasVideo());
+        assertTrue(probe.hasAudio());
+    }
+
+    @Test
+    void ladderNeverUpscales() {
+        assertEquals(List.of(720, 360), heights(FfmpegHls.fitLadder(LADDER, 720)));
+        assertEquals(List.of(360), heights(FfmpegHls.fitLadder(LADDER, 240)));
+        assertEquals(List.of(1080, 720, 360), heights(FfmpegHls.fitLadder(LADDER, 0)));
+    }
+
+    @Test
+    void buildsOneStreamMapEntryPerRendition() {
+        List<String> cmd = FfmpegHls.transcodeCommand("ffmpeg", "in.mp4", FfmpegHls.LOCAL_PROTOCOLS, Path.of("out"),
+                FfmpegHls.fitLadder(LADDER, 720), true, 6);
+
+        assertEquals("v:0,a:0 v:1,a:1", cmd.get(cmd.indexOf("-var_stream_map") + 1));
+        assertEquals("[0:v]split=2[s0][s1];[s0]scale=-2:720[v0];[s1]scale=-2:360[v1]",
+                cmd.get(cmd.indexOf("-filter_complex") + 1));
+        assertEquals("5600k", cmd.get(cmd.indexOf("-bufsize:v:0") + 1));
+        assertEquals(FfmpegHls.MASTER_PLAYLIST, cmd.get(cmd.indexOf("-master_pl_name") + 1));
+    }
+
+    @Test
+    void silentSourcesMapNoAudio() {
+        List<String> cmd = FfmpegHls.transcodeCommand("ffmpeg", "in.mp4", FfmpegHls.LOCAL_PROTOCOLS, Path.of("out"),
+                FfmpegHls.fitLadder(LADDER, 360), false, 6);
+
+        assertEquals("v:0", cmd.get(cmd.indexOf("-var_stream_map") + 1));
+        assertFalse(cmd.contains("0:a:0"));
+    }
+
+    @Test
+    void inputsAreRestrictedToWhitelistedProtocolsAndDemuxers() {
+        List<String> probe = FfmpegHls.probeCommand("ffprobe", "in.mp4", FfmpegHls.LOCAL_PROTOCOLS);
+        List<String> transcode = FfmpegHls.transcodeCommand("ffmpeg", "https://cdn.example.test/in.mp4",
+                FfmpegHls.REMOTE_PROTOCOLS, Path.of("out"), FfmpegHls.fitLadder(LADDER, 360), true, 6);
+
+        assertEquals("file", probe.get(probe.indexOf("-protocol_whitelist") + 1));
+        assertTrue(probe.indexOf("-protocol_whitelist") < probe.indexOf("in.mp4"));
+        assertEquals("http,https,tcp,tls", transcode.get(transcode.indexOf("-protocol_whitelist") + 1));
+        assertTrue(transcode.indexOf("-format_whitelist") < transcode.indexOf("-i"));
+        assertFalse(transcode.get(transcode.indexOf("-format_whitelist") + 1).contains("hls"));
+    }
+
+    @Test
+    void progressIsCappedBelowCompletion() {
+        assertEquals(50, FfmpegHls.parseProgress("out_time_us=5000000", 10));
+        assertEquals(99, FfmpegHls.parseProgress("out_time_ms=20000000", 10));
+        assertEquals(-1, FfmpegHls.parseProgress("out_time_us=N/A", 10));
+        assertEquals(-1, FfmpegHls.parseProgress("frame=12", 10));
+    }
+
+    private static List<Integer> heights(List<FfmpegHls.Rendition> renditions) {
+        return renditions.stream().map(FfmpegHls.Rendition::height).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.lms.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradebookMatrixTest {
+
+    @Test
+    void packsCompletionAcrossWordBoundaries() {
+        GradebookMatrix matrix = new GradebookMatrix(2, 130, 0);
+        int first = matrix.addStudent(10, "a");
+        int second = matrix.addStudent(20, "b");
+
+        matrix.markCompleted(first, 0);
+        matrix.markCompleted(first, 63);
+        matrix.markCompleted(first, 64);
+        matrix.markCompleted(first, 129);
+
+        assertTrue(matrix.isCompleted(first, 63));
+        assertTrue(matrix.isCompleted(first, 64));
+        assertFalse(matrix.isCompleted(first, 65));
+        assertEquals(4, matrix.completedCount(first));
+        assertEquals(0, matrix.completedCount(second), "rows must not share bits");
+    }
+
+    @Test
+    void recordsQuizScoresWithNaNForNoAttempt() {
+        GradebookMatrix matrix = new GradebookMatrix(1, 3, 2);
+        int row = matrix.addStudent(1, "a");
+
+        matrix.setQuizResult(row, 1, 85.5, true);
+
+        assertTrue(Float.isNaN(matrix.bestScore(row, 0)));
+        assertEquals(85.5f, matrix.bestScore(row, 1));
+        assertFalse(matrix.isPassed(row, 0));
+        assertTrue(matrix.isPassed(row, 1));
+        assertEquals(1, matrix.passedCount(row));
+    }
+
+    @Test
+    void findsStudentsByIdAndResetsBetweenChunks() {
+        GradebookMatrix matrix = new GradebookMatrix(3, 1, 1);
+        matrix.addStudent(5, "a");
+        matrix.addStudent(9, "b");
+        matrix.markCompleted(matrix.rowOf(9), 0);
+        matrix.setQuizResult(matrix.rowOf(9), 0, 40, false);
+
+        assertEquals(1, matrix.rowOf(9));
+        assertEquals(-1, matrix.rowOf(7), "student in the id range but not enrolled");
+        assertEquals(9, matrix.lastStudentId());
+        assertThrows(IllegalArgumentException.class, () -> matrix.addStudent(8, "c"));
+
+        matrix.clear();
+        assertTrue(matrix.isEmpty());
+        int row = matrix.addStudent(12, "d");
+        assertFalse(matrix.isCompleted(row, 0));
+        assertTrue(Float.isNaN(matrix.bestScore(row, 0)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.lms.backend.util;
+
+import com.lms.backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportWriterTest {
+
+    @Test
+    void formatParamDefaultsToCsvAndIgnoresCase() {
+        assertEquals(ReportWriter.Format.CSV, ReportWriter.Format.fromParam(null));
+        assertEquals(ReportWriter.Format.CSV, ReportWriter.Format.fromParam(" "));
+        assertEquals(ReportWriter.Format.NDJSON, ReportWriter.Format.fromParam(" ndjson "));
+    }
+
+    // Client input: GlobalExceptionHandler turns it into a 400, not a 500
+    @Test
+    void unknownFormatIsABadRequest() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> ReportWriter.Format.fromParam("xml"));
+
+        assertEquals("Unsupported export format: xml", ex.getMessage());
+    }
+
+    @Test
+    void csvQuotesValuesThatNeedIt() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportWriter writer = new ReportWriter(out, ReportWriter.Format.CSV, "id", "title");
+        writer.writeRow(1L, "Intro, part \"one\"");
+        writer.writeRow(2L, null);
+        writer.flush();
+
+        assertEquals("id,title\n1,\"Intro, part \"\"one\"\"\"\n2,\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(2, writer.getRowCount());
+    }
+}